@@ -0,0 +1,53 @@
+#!/usr/bin/env sh
+# Measures container startup as the time from `docker run` to the first successful /api/actuator/health.
+#
+# Usage: docker/startup-benchmark.sh <image> [runs]
+# DB_URL, DB_USERNAME and DB_PASSWORD must point at a database reachable from the container;
+# any other variable listed in EXTRA_ENV (space separated NAME=value pairs) is passed through.
+set -eu
+
+IMAGE="${1:?usage: $0 <image> [runs]}"
+RUNS="${2:-5}"
+PORT="${PORT:-18080}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+HEALTH_URL="http://localhost:${PORT}/api/actuator/health"
+
+now_ms() {
+  date +%s%3N
+}
+
+total=0
+run=1
+while [ "$run" -le "$RUNS" ]; do
+  env_args=""
+  for pair in ${EXTRA_ENV:-}; do
+    env_args="$env_args -e $pair"
+  done
+
+  start=$(now_ms)
+  # shellcheck disable=SC2086
+  container=$(docker run -d -p "${PORT}:8080" \
+    -e DB_URL="${DB_URL:?DB_URL is required}" \
+    -e DB_USERNAME="${DB_USERNAME:?DB_USERNAME is required}" \
+    -e DB_PASSWORD="${DB_PASSWORD:?DB_PASSWORD is required}" \
+    $env_args "$IMAGE")
+
+  deadline=$((start + TIMEOUT_SECONDS * 1000))
+  until curl -fs -o /dev/null "$HEALTH_URL"; do
+    if [ "$(now_ms)" -gt "$deadline" ]; then
+      echo "run $run: no healthy response within ${TIMEOUT_SECONDS}s" >&2
+      docker logs --tail 50 "$container" >&2
+      docker rm -f "$container" > /dev/null
+      exit 1
+    fi
+    sleep 0.1
+  done
+  elapsed=$(($(now_ms) - start))
+  docker rm -f "$container" > /dev/null
+
+  echo "run $run: ${elapsed} ms"
+  total=$((total + elapsed))
+  run=$((run + 1))
+done
+
+echo "image $IMAGE: average ${total}/${RUNS} = $((total / RUNS)) ms to first healthy response"
@@ -0,0 +1,24 @@
+package com.bankflow.config;
+
+import com.bankflow.service.directory.AccountDirectory;
+import com.bankflow.service.directory.AccountDirectoryProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Wires the memory-mapped account number directory used to resolve account numbers without a query.
+ */
+@Configuration
+@EnableConfigurationProperties(AccountDirectoryProperties.class)
+public class AccountDirectoryConfig {
+
+    @Bean
+    public AccountDirectory accountDirectory(AccountDirectoryProperties accountDirectoryProperties,
+                                             JdbcTemplate jdbcTemplate,
+                                             PlatformTransactionManager transactionManager) {
+        return new AccountDirectory(accountDirectoryProperties, jdbcTemplate, transactionManager);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bankflow.config;
+
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.BankingService;
+import com.bankflow.service.events.AccountEventHub;
+import com.bankflow.service.events.AccountEventsProperties;
+import com.bankflow.service.impl.PostingsBankingService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Wires the hub that streams account activity to Server-Sent Events subscribers.
+ */
+@Configuration
+@EnableConfigurationProperties(AccountEventsProperties.class)
+public class AccountEventsConfig {
+
+    @Bean
+    public AccountEventHub accountEventHub(AccountEventsProperties accountEventsProperties,
+                                           TransactionRepository transactionRepository,
+                                           AccountRepository accountRepository,
+                                           ObjectProvider<BankingService> bankingService,
+                                           ObjectProvider<PostingsBankingService> postingsBankingService,
+                                           PlatformTransactionManager transactionManager) {
+        // The postings engine leaves accounts.balance at the opening balance
+        return new AccountEventHub(accountEventsProperties, transactionRepository, accountRepository, bankingService,
+                account -> {
+                    PostingsBankingService postings = postingsBankingService.getIfAvailable();
+                    return postings != null ? postings.currentBalance(account) : account.getBalance();
+                }, transactionManager);
+    }
+}
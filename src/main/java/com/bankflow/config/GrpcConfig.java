@@ -0,0 +1,39 @@
+package com.bankflow.config;
+
+import com.bankflow.grpc.BankingGrpcService;
+import com.bankflow.grpc.GrpcProperties;
+import com.bankflow.grpc.GrpcServer;
+import com.bankflow.security.JwtServerInterceptor;
+import com.bankflow.security.JwtTokenProvider;
+import com.bankflow.security.RateLimitServerInterceptor;
+import com.bankflow.security.RateLimiter;
+import com.bankflow.service.BankingService;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Serves {@code bankflow.v1.BankingService} over gRPC for internal callers, rate limited and authenticated
+ * like the REST API: the same buckets and the same JWTs.
+ */
+@Configuration
+@EnableConfigurationProperties(GrpcProperties.class)
+@ConditionalOnProperty(name = "app.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcConfig {
+
+    @Bean
+    public BankingGrpcService bankingGrpcService(BankingService bankingService, Validator validator, GrpcProperties grpcProperties) {
+        return new BankingGrpcService(bankingService, validator, grpcProperties);
+    }
+
+    @Bean
+    public GrpcServer grpcServer(GrpcProperties grpcProperties, BankingGrpcService bankingGrpcService,
+                                 RateLimiter rateLimiter, JwtTokenProvider jwtTokenProvider) {
+        return new GrpcServer(grpcProperties, List.of(bankingGrpcService),
+                List.of(new RateLimitServerInterceptor(rateLimiter), new JwtServerInterceptor(jwtTokenProvider)));
+    }
+}
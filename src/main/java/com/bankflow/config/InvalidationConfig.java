@@ -0,0 +1,27 @@
+package com.bankflow.config;
+
+import com.bankflow.service.invalidation.InvalidationBus;
+import com.bankflow.service.invalidation.InvalidationListener;
+import com.bankflow.service.invalidation.InvalidationProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Wires the LISTEN/NOTIFY bus that keeps each instance's local caches in step with writes made on the others.
+ */
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationConfig {
+
+    @Bean
+    public InvalidationBus invalidationBus(InvalidationProperties invalidationProperties,
+                                           JdbcTemplate jdbcTemplate,
+                                           DataSourceProperties dataSourceProperties,
+                                           ObjectProvider<InvalidationListener> listeners) {
+        return new InvalidationBus(invalidationProperties, jdbcTemplate, dataSourceProperties, listeners.orderedStream().toList());
+    }
+}
@@ -0,0 +1,24 @@
+package com.bankflow.config;
+
+import com.bankflow.service.bloom.KeyFilterProperties;
+import com.bankflow.service.bloom.KeyFilters;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Wires the Bloom filters that answer "does not exist" for account numbers and usernames without a query.
+ */
+@Configuration
+@EnableConfigurationProperties(KeyFilterProperties.class)
+public class KeyFilterConfig {
+
+    @Bean
+    public KeyFilters keyFilters(KeyFilterProperties keyFilterProperties,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        return new KeyFilters(keyFilterProperties, jdbcTemplate, transactionManager);
+    }
+}
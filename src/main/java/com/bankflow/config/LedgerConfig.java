@@ -0,0 +1,40 @@
+package com.bankflow.config;
+
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.invalidation.InvalidationBus;
+import com.bankflow.service.ledger.LedgerEngine;
+import com.bankflow.service.ledger.LedgerJournal;
+import com.bankflow.service.ledger.LedgerProperties;
+import com.bankflow.service.limits.TransactionLimitService;
+import com.bankflow.service.rollups.MonthlyRollupService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Wires the in-memory ledger engine when {@code app.banking.engine=ledger}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.banking.engine", havingValue = "ledger")
+@EnableConfigurationProperties(LedgerProperties.class)
+public class LedgerConfig {
+
+    @Bean
+    public LedgerJournal ledgerJournal(AccountRepository accountRepository,
+                                       TransactionRepository transactionRepository,
+                                       TransactionLimitService transactionLimitService,
+                                       MonthlyRollupService monthlyRollupService,
+                                       InvalidationBus invalidationBus,
+                                       PlatformTransactionManager transactionManager) {
+        return new LedgerJournal(accountRepository, transactionRepository, transactionLimitService, monthlyRollupService,
+                invalidationBus, transactionManager);
+    }
+
+    @Bean
+    public LedgerEngine ledgerEngine(LedgerJournal ledgerJournal, LedgerProperties ledgerProperties) {
+        return new LedgerEngine(ledgerJournal, ledgerProperties);
+    }
+}
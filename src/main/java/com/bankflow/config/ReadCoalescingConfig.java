@@ -0,0 +1,20 @@
+package com.bankflow.config;
+
+import com.bankflow.service.coalescing.ReadCoalescer;
+import com.bankflow.service.coalescing.ReadCoalescingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the single-flight layer that lets concurrent identical account reads share one query.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadCoalescingProperties.class)
+public class ReadCoalescingConfig {
+
+    @Bean
+    public ReadCoalescer readCoalescer(ReadCoalescingProperties readCoalescingProperties) {
+        return new ReadCoalescer(readCoalescingProperties);
+    }
+}
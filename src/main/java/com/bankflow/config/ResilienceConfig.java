@@ -0,0 +1,43 @@
+package com.bankflow.config;
+
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+
+/**
+ * Resilience4j wiring for the service layer.
+ * <p>
+ * The bulkhead aspect order is hard-coded to {@link Ordered#LOWEST_PRECEDENCE} in Resilience4j 2.x,
+ * which ties with the transaction interceptor. Binding the bulkhead properties through a subclass
+ * that takes its order from {@code app.resilience.bulkhead-aspect-order} lets the permit be acquired
+ * before a transaction checks out a pooled connection.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties(prefix = "resilience4j.bulkhead")
+    public OrderedBulkheadProperties orderedBulkheadProperties(
+            @Value("${app.resilience.bulkhead-aspect-order:" + Ordered.LOWEST_PRECEDENCE + "}") int bulkheadAspectOrder) {
+        return new OrderedBulkheadProperties(bulkheadAspectOrder);
+    }
+
+    public static class OrderedBulkheadProperties extends BulkheadProperties {
+
+        private final int bulkheadAspectOrder;
+
+        public OrderedBulkheadProperties(int bulkheadAspectOrder) {
+            this.bulkheadAspectOrder = bulkheadAspectOrder;
+        }
+
+        @Override
+        public int getBulkheadAspectOrder() {
+            return bulkheadAspectOrder;
+        }
+    }
+}
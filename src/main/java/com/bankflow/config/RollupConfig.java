@@ -0,0 +1,13 @@
+package com.bankflow.config;
+
+import com.bankflow.service.rollups.MonthlyRollupProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the settings of the monthly rollup rebuild job.
+ */
+@Configuration
+@EnableConfigurationProperties(MonthlyRollupProperties.class)
+public class RollupConfig {
+}
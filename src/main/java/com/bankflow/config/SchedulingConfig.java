@@ -0,0 +1,21 @@
+package com.bankflow.config;
+
+import com.bankflow.service.interest.InterestAccrualProperties;
+import com.bankflow.service.reconciliation.ReconciliationProperties;
+import com.bankflow.service.scheduling.ScheduledTransferProperties;
+import com.bankflow.service.statements.StatementProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs: the standing-order executor, end-of-day interest accrual, monthly
+ * statements, balance reconciliation and, with {@code app.banking.engine=postings}, balance
+ * checkpoints.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ScheduledTransferProperties.class, InterestAccrualProperties.class, StatementProperties.class,
+        ReconciliationProperties.class})
+public class SchedulingConfig {
+}
@@ -0,0 +1,24 @@
+package com.bankflow.config;
+
+import com.bankflow.service.limits.TransactionLimitProperties;
+import com.bankflow.service.limits.TransactionLimitService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+
+/**
+ * Wires the daily and monthly transaction limits enforced by every banking engine.
+ */
+@Configuration
+@EnableConfigurationProperties(TransactionLimitProperties.class)
+public class TransactionLimitConfig {
+
+    @Bean
+    public TransactionLimitService transactionLimitService(TransactionLimitProperties transactionLimitProperties,
+                                                           JdbcTemplate jdbcTemplate) {
+        return new TransactionLimitService(transactionLimitProperties, jdbcTemplate, Clock.systemDefaultZone());
+    }
+}
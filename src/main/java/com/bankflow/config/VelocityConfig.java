@@ -0,0 +1,26 @@
+package com.bankflow.config;
+
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.service.velocity.VelocityEngine;
+import com.bankflow.service.velocity.VelocityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+
+/**
+ * Wires the velocity engine consulted by every banking engine before money leaves an account.
+ */
+@Configuration
+@EnableConfigurationProperties(VelocityProperties.class)
+public class VelocityConfig {
+
+    @Bean
+    public VelocityEngine velocityEngine(VelocityProperties velocityProperties,
+                                         AccountRepository accountRepository,
+                                         JdbcTemplate jdbcTemplate) {
+        return new VelocityEngine(velocityProperties, accountRepository, jdbcTemplate, Clock.systemDefaultZone());
+    }
+}
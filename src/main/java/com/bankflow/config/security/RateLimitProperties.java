@@ -0,0 +1,73 @@
+package com.bankflow.config.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limits per route group. Groups are matched in declaration order and the
+ * first group whose path patterns (or gRPC method patterns) match the request wins.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the number of tracked buckets (users plus client IPs).
+     */
+    private long maxKeys = 100_000;
+
+    /**
+     * Buckets not touched for this long are evicted.
+     */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /**
+     * Proxies in front of the service that each append the address they were connected from to
+     * {@code X-Forwarded-For}. The client IP is the entry this many places from the right, since
+     * anything further left was sent by the client; 0 uses the connection's address.
+     */
+    private int trustedProxies = 0;
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+
+        /**
+         * Ant-style patterns relative to the servlet context path, e.g. {@code /v1/accounts/transfer}.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Ant-style patterns over full gRPC method names, e.g. {@code bankflow.v1.BankingService/Deposit}
+         * or {@code bankflow.v1.BankingService/*}. Each request message of a call takes a token, so a
+         * BulkTransfer stream is limited per transfer like the REST endpoint.
+         */
+        private List<String> grpcMethods = new ArrayList<>();
+
+        private KeyType key = KeyType.USER;
+
+        /**
+         * Maximum burst size; also the number of tokens restored per refill period.
+         */
+        private long capacity = 60;
+
+        private Duration refillPeriod = Duration.ofMinutes(1);
+    }
+
+    public enum KeyType {
+        /**
+         * Authenticated username, falling back to client IP for anonymous requests.
+         */
+        USER,
+        IP
+    }
+}
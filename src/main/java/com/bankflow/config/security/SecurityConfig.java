@@ -2,8 +2,12 @@ package com.bankflow.config.security;
 
 import com.bankflow.security.JwtAuthenticationFilter;
 import com.bankflow.security.JwtTokenProvider;
+import com.bankflow.security.RateLimitFilter;
+import com.bankflow.security.RateLimiter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,12 +32,14 @@ import javax.sql.DataSource;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final DataSource dataSource;
+    private final RateLimitProperties rateLimitProperties;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -42,11 +48,17 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
+                        // Completing an event stream dispatches again; the request was authorized when it opened
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/v1/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/v1/auth/signup","/v1/auth/signup/").permitAll()
                         .requestMatchers(HttpMethod.POST, "/v1/auth/validate").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/v1/auth/username-available").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        // Operational endpoints show other customers' accounts and start rebuilds
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v1/api-docs/**", "/v1/api-docs", "/swagger-resources/**", "/webjars/**", "/api-docs/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/v1/customers/search").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/customers").hasAnyRole("CUSTOMER", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/customers/**").hasAnyRole("CUSTOMER", "ADMIN")
                         .requestMatchers(HttpMethod.POST, "/customers/*/accounts").hasAnyRole("CUSTOMER", "ADMIN")
@@ -70,6 +82,7 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter(), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -80,6 +93,16 @@ public class SecurityConfig {
         return new JwtAuthenticationFilter(jwtTokenProvider);
     }
 
+    @Bean
+    public RateLimiter rateLimiter() {
+        return new RateLimiter(rateLimitProperties, jwtTokenProvider);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter(rateLimitProperties, rateLimiter());
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         return new JdbcUserDetailsManager(dataSource);
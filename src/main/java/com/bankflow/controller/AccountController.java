@@ -1,12 +1,22 @@
 package com.bankflow.controller;
 
+import com.bankflow.config.ContentNegotiationConfig;
 import com.bankflow.dto.AccountResponse;
+import com.bankflow.dto.AccountSummaryResponse;
 import com.bankflow.dto.AmountRequest;
 import com.bankflow.dto.TransactionResponse;
+import com.bankflow.dto.TransactionSearchResponse;
 import com.bankflow.dto.TransferRequest;
+import com.bankflow.exception.BadRequestException;
 import com.bankflow.model.Account;
 import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.enums.TransactionType;
 import com.bankflow.service.BankingService;
+import com.bankflow.service.events.AccountEventHub;
+import com.bankflow.service.rollups.MonthlyRollupService;
+import com.bankflow.service.search.TransactionSearchCriteria;
+import com.bankflow.service.search.TransactionSearchService;
+import com.bankflow.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,13 +28,24 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
-@RequestMapping("/v1/accounts")
+@RequestMapping(value = "/v1/accounts", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ContentNegotiationConfig.APPLICATION_SMILE_VALUE})
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Accounts", description = "Account operations including transactions, deposits, withdrawals, and transfers")
@@ -32,24 +53,59 @@ import java.util.List;
 public class AccountController {
 
     private final BankingService bankingService;
+    private final TransactionSearchService transactionSearchService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final AccountEventHub accountEventHub;
 
     @Operation(
             summary = "Get account details",
-            description = "Retrieve account information by account number"
+            description = "Retrieve account information by account number. Supports conditional requests with If-None-Match."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Account found",
                     content = @Content(schema = @Schema(implementation = AccountResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Account not modified since the supplied ETag"),
             @ApiResponse(responseCode = "404", description = "Account not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/{accountNumber}")
     public ResponseEntity<AccountResponse> getAccount(
             @Parameter(description = "Account number", required = true)
-            @PathVariable String accountNumber) {
+            @PathVariable String accountNumber,
+            WebRequest webRequest) {
         log.info("GET /accounts/{} - Retrieving account details", accountNumber);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String eTag = bankingService.getAccountETag(accountNumber);
+            if (webRequest.checkNotModified(eTag)) {
+                log.debug("GET /accounts/{} - Not modified, ETag: {}", accountNumber, eTag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
         Account account = bankingService.getAccountByNumber(accountNumber);
-        return ResponseEntity.ok(account.mapToResponse());
+        return ResponseEntity.ok().eTag(ETags.of(account)).varyBy(HttpHeaders.ACCEPT).body(account.mapToResponse());
+    }
+
+    @Operation(
+            summary = "Get monthly account summary",
+            description = "Money in and out of an account in one calendar month, with counts and totals per kind of transaction. " +
+                    "Served from monthly rollups kept with every transaction."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = AccountSummaryResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid month"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{accountNumber}/summary")
+    public ResponseEntity<AccountSummaryResponse> getSummary(
+            @Parameter(description = "Account number", required = true)
+            @PathVariable String accountNumber,
+            @Parameter(description = "Calendar month (yyyy-MM); defaults to the current month", example = "2026-03")
+            @RequestParam(required = false) String month) {
+        YearMonth summaryMonth = month != null ? parseMonth(month) : YearMonth.now();
+        log.info("GET /accounts/{}/summary - Month: {}", accountNumber, summaryMonth);
+        return ResponseEntity.ok(monthlyRollupService.summarize(accountNumber, summaryMonth));
     }
 
     @Operation(
@@ -82,6 +138,8 @@ public class AccountController {
                     content = @Content(schema = @Schema(implementation = TransactionResponse.class))),
             @ApiResponse(responseCode = "404", description = "Account not found"),
             @ApiResponse(responseCode = "400", description = "Invalid amount or insufficient funds"),
+            @ApiResponse(responseCode = "409", description = "Daily or monthly limit exceeded"),
+            @ApiResponse(responseCode = "429", description = "Velocity limit exceeded"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @PostMapping("/{accountNumber}/withdraw")
@@ -103,6 +161,8 @@ public class AccountController {
                     content = @Content(schema = @Schema(implementation = TransactionResponse.class))),
             @ApiResponse(responseCode = "404", description = "Account not found"),
             @ApiResponse(responseCode = "400", description = "Invalid amount, insufficient funds, or same account transfer"),
+            @ApiResponse(responseCode = "409", description = "Daily or monthly limit exceeded"),
+            @ApiResponse(responseCode = "429", description = "Velocity limit exceeded"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @PostMapping("/transfer")
@@ -139,6 +199,51 @@ public class AccountController {
         return ResponseEntity.ok(responses);
     }
 
+    @Operation(
+            summary = "Search account transactions",
+            description = "Filter an account's transactions by type, amount range, date range and counterparty account. " +
+                    "Results are newest first; pass nextCursor as 'cursor' to fetch the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = TransactionSearchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, cursor or limit"),
+            @ApiResponse(responseCode = "404", description = "Account or counterparty not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{accountNumber}/transactions/search")
+    public ResponseEntity<TransactionSearchResponse> searchTransactions(
+            @Parameter(description = "Account number", required = true)
+            @PathVariable String accountNumber,
+            @Parameter(description = "Transaction types; repeat to match several")
+            @RequestParam(required = false) Set<TransactionType> type,
+            @Parameter(description = "Smallest amount included")
+            @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "Largest amount included")
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "First day included (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day included (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Account number on the other side of a transfer")
+            @RequestParam(required = false) String counterparty,
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET /accounts/{}/transactions/search - Types: {}, Amount: {}..{}, Dates: {}..{}, Counterparty: {}",
+                accountNumber, type, minAmount, maxAmount, from, to, counterparty);
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .types(type)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .fromDate(from)
+                .toDate(to)
+                .counterparty(counterparty)
+                .build();
+        return ResponseEntity.ok(transactionSearchService.search(accountNumber, criteria, cursor, limit));
+    }
+
     @Operation(
             summary = "Get specific transaction",
             description = "Retrieve a specific transaction for an account by transaction ID"
@@ -159,4 +264,44 @@ public class AccountController {
         TransactionRecord transaction = bankingService.getTransactionForAccountByNumber(accountNumber, transactionId);
         return ResponseEntity.ok(transaction.mapToTransactionResponse());
     }
+
+    @Operation(
+            summary = "Stream account activity",
+            description = "Server-Sent Events stream of the account's new transactions ('transaction' events, id = transaction id) " +
+                    "and its balance after them ('balance' events), sent once they commit. The stream starts with the current balance. " +
+                    "Reconnect with Last-Event-ID to receive the transactions missed meanwhile; a 'reset' event means too many were " +
+                    "missed and the history should be reloaded."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "400", description = "Invalid Last-Event-ID"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "503", description = "This instance serves its maximum number of streams"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/{accountNumber}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @Parameter(description = "Account number", required = true)
+            @PathVariable String accountNumber,
+            @Parameter(description = "Id of the last event received, to resume from")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("GET /accounts/{}/events - Opening event stream, Last-Event-ID: {}", accountNumber, lastEventId);
+        return accountEventHub.subscribe(accountNumber, lastEventId != null ? parseEventId(lastEventId) : null);
+    }
+
+    private static long parseEventId(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Last-Event-ID", lastEventId, "Must be a transaction id");
+        }
+    }
+
+    private static YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("month", month, "Must be a month in yyyy-MM format");
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.bankflow.controller;
 import com.bankflow.dto.AuthRequest;
 import com.bankflow.dto.AuthResponse;
 import com.bankflow.dto.SignupRequest;
+import com.bankflow.dto.UsernameAvailabilityResponse;
 import com.bankflow.security.JwtTokenProvider;
 import com.bankflow.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,8 +18,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
@@ -33,7 +32,6 @@ import java.util.Map;
 @Tag(name = "Authentication", description = "Authentication and user registration endpoints")
 public class AuthenticationController {
 
-    private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final UserService userService;
 
@@ -51,12 +49,7 @@ public class AuthenticationController {
     public ResponseEntity<AuthResponse> authenticateUser(@Valid @RequestBody AuthRequest authRequest) {
         log.info("AUDIT: Authentication attempt - Username: {}", authRequest.getUsername());
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            authRequest.getUsername(),
-                            authRequest.getPassword()
-                    )
-            );
+            Authentication authentication = userService.authenticate(authRequest.getUsername(), authRequest.getPassword());
 
             String jwt = tokenProvider.generateToken(authentication);
             log.info("AUDIT: User authenticated successfully - Username: {}", authRequest.getUsername());
@@ -92,6 +85,24 @@ public class AuthenticationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+            summary = "Check username availability",
+            description = "Check whether a username is free before signing up with it"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability returned",
+                    content = @Content(schema = @Schema(implementation = UsernameAvailabilityResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Username is not 3-50 letters, numbers, underscores or hyphens")
+    })
+    @GetMapping("/username-available")
+    public ResponseEntity<UsernameAvailabilityResponse> isUsernameAvailable(
+            @Parameter(description = "Username to check", required = true)
+            @RequestParam String username) {
+        boolean available = userService.isUsernameAvailable(username);
+        log.debug("Username availability checked - Username: {}, Available: {}", username, available);
+        return ResponseEntity.ok(new UsernameAvailabilityResponse(username, available));
+    }
+
     @Operation(
             summary = "Validate JWT token",
             description = "Validate if the provided JWT token is valid and not expired"
@@ -1,12 +1,18 @@
 package com.bankflow.controller;
 
+import com.bankflow.config.ContentNegotiationConfig;
 import com.bankflow.dto.AccountResponse;
 import com.bankflow.dto.CreateAccountRequest;
+import com.bankflow.dto.CustomerDashboardResponse;
 import com.bankflow.dto.CustomerResponse;
+import com.bankflow.dto.CustomerSearchResponse;
 import com.bankflow.dto.UpdateCustomerRequest;
 import com.bankflow.model.Account;
 import com.bankflow.model.Customer;
 import com.bankflow.service.BankingService;
+import com.bankflow.service.CustomerSearchService;
+import com.bankflow.service.dashboard.CustomerDashboardService;
+import com.bankflow.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,14 +24,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
-@RequestMapping("/v1/customers")
+@RequestMapping(value = "/v1/customers", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ContentNegotiationConfig.APPLICATION_SMILE_VALUE})
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Customers", description = "Customer management and account operations")
@@ -33,6 +42,32 @@ import java.util.List;
 public class CustomerController {
 
     private final BankingService bankingService;
+    private final CustomerSearchService customerSearchService;
+    private final CustomerDashboardService customerDashboardService;
+
+    @Operation(
+            summary = "Search customers",
+            description = "Find customers whose name or email contains the term, or whose phone or account number starts with it. " +
+                    "Results are ordered by customer ID; pass nextCursor as 'after' to fetch the next page. Requires the ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CustomerSearchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Search term too short or invalid limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CustomerSearchResponse> searchCustomers(
+            @Parameter(description = "Search term, at least 3 characters", required = true)
+            @RequestParam("q") String query,
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size, at most 100")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET /customers/search - After: {}, Limit: {}", after, limit);
+        return ResponseEntity.ok(customerSearchService.search(query, after, limit));
+    }
 
     @Operation(
             summary = "Update customer information",
@@ -51,26 +86,57 @@ public class CustomerController {
             @Valid @RequestBody UpdateCustomerRequest request) {
         log.info("PUT /customers/{}", username);
         Customer updatedCustomer = bankingService.updateCustomer(username, request);
-        return ResponseEntity.ok(updatedCustomer.mapToResponse());
+        return ResponseEntity.ok().eTag(bankingService.getCustomerETag(username)).varyBy(HttpHeaders.ACCEPT).body(updatedCustomer.mapToResponse());
     }
 
     @Operation(
             summary = "Get customer details",
-            description = "Retrieve customer information by username"
+            description = "Retrieve customer information by username. Supports conditional requests with If-None-Match."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Customer found",
                     content = @Content(schema = @Schema(implementation = CustomerResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Customer not modified since the supplied ETag"),
             @ApiResponse(responseCode = "404", description = "Customer not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/{username}")
     public ResponseEntity<CustomerResponse> getCustomer(
             @Parameter(description = "Username of the customer", required = true)
-            @PathVariable String username) {
+            @PathVariable String username,
+            WebRequest webRequest) {
         log.info("GET /customers/{} - Retrieving customer details by username", username);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String eTag = bankingService.getCustomerETag(username);
+            if (webRequest.checkNotModified(eTag)) {
+                log.debug("GET /customers/{} - Not modified, ETag: {}", username, eTag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
         Customer customer = bankingService.getCustomerByUsername(username);
-        return ResponseEntity.ok(customer.mapToResponse());
+        return ResponseEntity.ok().eTag(ETags.of(customer)).varyBy(HttpHeaders.ACCEPT).body(customer.mapToResponse());
+    }
+
+    @Operation(
+            summary = "Get customer dashboard",
+            description = "Customer profile, accounts and the most recent transactions of each account in one response. " +
+                    "The profile, account and transaction queries run concurrently."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dashboard retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CustomerDashboardResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid number of recent transactions"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{username}/dashboard")
+    public ResponseEntity<CustomerDashboardResponse> getDashboard(
+            @Parameter(description = "Username of the customer", required = true)
+            @PathVariable String username,
+            @Parameter(description = "Recent transactions per account, at most 20")
+            @RequestParam(defaultValue = "5") int recent) {
+        log.info("GET /customers/{}/dashboard - Recent: {}", username, recent);
+        return ResponseEntity.ok(customerDashboardService.getDashboard(username, recent));
     }
 
     @Operation(
@@ -0,0 +1,140 @@
+package com.bankflow.controller;
+
+import com.bankflow.config.ContentNegotiationConfig;
+import com.bankflow.dto.ScheduledTransferRequest;
+import com.bankflow.dto.ScheduledTransferResponse;
+import com.bankflow.dto.UpdateScheduledTransferRequest;
+import com.bankflow.model.ScheduledTransfer;
+import com.bankflow.service.ScheduledTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/v1/customers/{username}/scheduled-transfers", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ContentNegotiationConfig.APPLICATION_SMILE_VALUE})
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Scheduled transfers", description = "Standing orders and future-dated transfers")
+@SecurityRequirement(name = "bearerAuth")
+public class ScheduledTransferController {
+
+    private final ScheduledTransferService scheduledTransferService;
+
+    @Operation(
+            summary = "Create scheduled transfer",
+            description = "Schedule a one-off transfer for a future date or a daily, weekly or monthly standing order"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Scheduled transfer created successfully",
+                    content = @Content(schema = @Schema(implementation = ScheduledTransferResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Customer or account not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping
+    public ResponseEntity<ScheduledTransferResponse> createScheduledTransfer(
+            @Parameter(description = "Username of the customer", required = true)
+            @PathVariable String username,
+            @Valid @RequestBody ScheduledTransferRequest request) {
+        log.info("POST /customers/{}/scheduled-transfers - Creating scheduled transfer", username);
+        ScheduledTransfer scheduledTransfer = scheduledTransferService.createScheduledTransfer(username, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(scheduledTransfer.mapToResponse());
+    }
+
+    @Operation(
+            summary = "List scheduled transfers",
+            description = "Retrieve all scheduled transfers of a customer, including completed and cancelled ones"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of scheduled transfers retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public ResponseEntity<List<ScheduledTransferResponse>> listScheduledTransfers(
+            @Parameter(description = "Username of the customer", required = true)
+            @PathVariable String username) {
+        log.info("GET /customers/{}/scheduled-transfers - Listing scheduled transfers", username);
+        List<ScheduledTransferResponse> responses = scheduledTransferService.getScheduledTransfers(username).stream()
+                .map(ScheduledTransfer::mapToResponse)
+                .toList();
+        return ResponseEntity.ok(responses);
+    }
+
+    @Operation(
+            summary = "Get scheduled transfer",
+            description = "Retrieve a scheduled transfer with its next run and the outcome of its last run"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Scheduled transfer found",
+                    content = @Content(schema = @Schema(implementation = ScheduledTransferResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Customer or scheduled transfer not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{scheduledTransferId}")
+    public ResponseEntity<ScheduledTransferResponse> getScheduledTransfer(
+            @Parameter(description = "Username of the customer", required = true)
+            @PathVariable String username,
+            @Parameter(description = "Scheduled transfer ID", required = true)
+            @PathVariable Long scheduledTransferId) {
+        log.info("GET /customers/{}/scheduled-transfers/{}", username, scheduledTransferId);
+        return ResponseEntity.ok(scheduledTransferService.getScheduledTransfer(username, scheduledTransferId).mapToResponse());
+    }
+
+    @Operation(
+            summary = "Update scheduled transfer",
+            description = "Change the amount, description or end date, or pause and resume the order. Only provided fields will be updated."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Scheduled transfer updated successfully",
+                    content = @Content(schema = @Schema(implementation = ScheduledTransferResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Customer or scheduled transfer not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or order already finished"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PutMapping("/{scheduledTransferId}")
+    public ResponseEntity<ScheduledTransferResponse> updateScheduledTransfer(
+            @Parameter(description = "Username of the customer", required = true)
+            @PathVariable String username,
+            @Parameter(description = "Scheduled transfer ID", required = true)
+            @PathVariable Long scheduledTransferId,
+            @Valid @RequestBody UpdateScheduledTransferRequest request) {
+        log.info("PUT /customers/{}/scheduled-transfers/{}", username, scheduledTransferId);
+        ScheduledTransfer scheduledTransfer = scheduledTransferService.updateScheduledTransfer(username, scheduledTransferId, request);
+        return ResponseEntity.ok(scheduledTransfer.mapToResponse());
+    }
+
+    @Operation(
+            summary = "Cancel scheduled transfer",
+            description = "Cancel a scheduled transfer; its history is kept"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Scheduled transfer cancelled"),
+            @ApiResponse(responseCode = "404", description = "Customer or scheduled transfer not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @DeleteMapping("/{scheduledTransferId}")
+    public ResponseEntity<Void> cancelScheduledTransfer(
+            @Parameter(description = "Username of the customer", required = true)
+            @PathVariable String username,
+            @Parameter(description = "Scheduled transfer ID", required = true)
+            @PathVariable Long scheduledTransferId) {
+        log.info("DELETE /customers/{}/scheduled-transfers/{}", username, scheduledTransferId);
+        scheduledTransferService.cancelScheduledTransfer(username, scheduledTransferId);
+        return ResponseEntity.noContent().build();
+    }
+}
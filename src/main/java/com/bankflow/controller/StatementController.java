@@ -0,0 +1,80 @@
+package com.bankflow.controller;
+
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.service.statements.StatementService;
+import com.bankflow.service.statements.StatementService.StatementFile;
+import com.bankflow.util.FileTransfers;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/v1/accounts/{accountNumber}/statements")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Statements", description = "Pre-rendered monthly account statements")
+@SecurityRequirement(name = "bearerAuth")
+public class StatementController {
+
+    private final StatementService statementService;
+
+    @Operation(
+            summary = "Download monthly statement",
+            description = "Download the CSV statement of a closed month. Supports single byte ranges and conditional requests with If-None-Match."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statement file"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range of the statement"),
+            @ApiResponse(responseCode = "304", description = "Statement not modified since the supplied ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid period"),
+            @ApiResponse(responseCode = "404", description = "No statement for the account and month"),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{period}")
+    public void downloadStatement(
+            @Parameter(description = "Account number", required = true)
+            @PathVariable String accountNumber,
+            @Parameter(description = "Statement month (yyyy-MM)", required = true, example = "2026-03")
+            @PathVariable String period,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        log.info("GET /accounts/{}/statements/{} - Downloading statement", accountNumber, period);
+        StatementFile statement = statementService.getStatement(accountNumber, parsePeriod(period));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(statement.eTag())) {
+            log.debug("GET /accounts/{}/statements/{} - Not modified, ETag: {}", accountNumber, period, statement.eTag());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statement-" + accountNumber + "-" + period + ".csv\"");
+        FileTransfers.send(statementService.getContent(statement), statement.eTag(), statement.contentType(), request, response);
+    }
+
+    private static YearMonth parsePeriod(String period) {
+        try {
+            return YearMonth.parse(period);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("period", period, "Must be a month in yyyy-MM format");
+        }
+    }
+}
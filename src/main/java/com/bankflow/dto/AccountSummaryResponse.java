@@ -0,0 +1,55 @@
+package com.bankflow.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Money in and out of an account in one calendar month")
+public class AccountSummaryResponse {
+
+    @Schema(description = "Account number (12-20 digits)", example = "123456789012")
+    private String accountNumber;
+
+    @Schema(description = "Calendar month (yyyy-MM)", example = "2026-03")
+    private String month;
+
+    @Schema(description = "Deposits plus incoming transfers", example = "2500.00")
+    private BigDecimal moneyIn;
+
+    @Schema(description = "Withdrawals plus outgoing transfers", example = "1830.45")
+    private BigDecimal moneyOut;
+
+    @Schema(description = "Deposits")
+    private Flow deposits;
+
+    @Schema(description = "Withdrawals")
+    private Flow withdrawals;
+
+    @Schema(description = "Transfers received from other accounts")
+    private Flow transfersIn;
+
+    @Schema(description = "Transfers sent to other accounts")
+    private Flow transfersOut;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "Number and total of one kind of transaction")
+    public static class Flow {
+
+        @Schema(description = "Number of transactions", example = "4")
+        private long count;
+
+        @Schema(description = "Sum of their amounts", example = "1200.00")
+        private BigDecimal total;
+    }
+}
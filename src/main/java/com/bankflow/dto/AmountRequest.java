@@ -2,6 +2,7 @@ package com.bankflow.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,9 +19,10 @@ import java.math.BigDecimal;
 @Schema(description = "Request body for deposit and withdrawal operations")
 public class AmountRequest {
 
-    @Schema(description = "Amount to deposit or withdraw", example = "100.50")
+    @Schema(description = "Amount to deposit or withdraw, with at most two decimal places", example = "100.50")
     @NotNull(message = "Amount cannot be null")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 17, fraction = 2, message = "Amount must be a whole number of cents")
     private BigDecimal amount;
 }
 
@@ -2,6 +2,7 @@ package com.bankflow.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +19,7 @@ public class CreateAccountRequest {
 
     @Schema(description = "Initial deposit amount (must be >= 0)", example = "1000.00")
     @DecimalMin(value = "0.00", message = "Initial deposit must be greater than or equal to 0")
+    @Digits(integer = 17, fraction = 2, message = "Initial deposit must be a whole number of cents")
     private BigDecimal initialDeposit;
 }
 
@@ -0,0 +1,37 @@
+package com.bankflow.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Customer profile, accounts and recent transactions in one response")
+public class CustomerDashboardResponse {
+
+    @Schema(description = "Customer profile")
+    private CustomerResponse customer;
+
+    @Schema(description = "Customer accounts, each with its most recent transactions")
+    private List<AccountActivity> accounts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "An account and its most recent transactions")
+    public static class AccountActivity {
+
+        @Schema(description = "Account information")
+        private AccountResponse account;
+
+        @Schema(description = "Most recent transactions in or out of the account, newest first")
+        private List<TransactionResponse> recentTransactions;
+    }
+}
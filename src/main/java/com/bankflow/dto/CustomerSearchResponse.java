@@ -0,0 +1,24 @@
+package com.bankflow.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One page of customer search results")
+public class CustomerSearchResponse {
+
+    @Schema(description = "Matching customers, ordered by ID")
+    private List<CustomerResponse> customers;
+
+    @Schema(description = "Pass as 'after' to fetch the next page; absent on the last page", example = "1042")
+    private Long nextCursor;
+
+}
@@ -0,0 +1,55 @@
+package com.bankflow.dto;
+
+import com.bankflow.model.enums.TransferFrequency;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request body for creating a standing order or a future-dated transfer")
+public class ScheduledTransferRequest {
+
+    @Schema(description = "Source account number, owned by the customer (12-20 digits)", example = "123456789012")
+    @NotNull(message = "Source account number cannot be null")
+    @Pattern(regexp = "^[0-9]{12,20}$", message = "Account number must contain only digits and be between 12 and 20 characters long")
+    private String fromAccountNumber;
+
+    @Schema(description = "Destination account number (12-20 digits)", example = "987654321098")
+    @NotNull(message = "Destination account number cannot be null")
+    @Pattern(regexp = "^[0-9]{12,20}$", message = "Account number must contain only digits and be between 12 and 20 characters long")
+    private String toAccountNumber;
+
+    @Schema(description = "Amount to transfer on each run", example = "250.75")
+    @NotNull(message = "Amount cannot be null")
+    @DecimalMin(value = "0.01", message = "Transfer amount must be greater than 0")
+    @Digits(integer = 17, fraction = 2, message = "Transfer amount must be a whole number of cents")
+    private BigDecimal amount;
+
+    @Schema(description = "Optional description for the transfers", example = "Monthly rent")
+    @Size(max = 500, message = "Description must be at most 500 characters")
+    private String description;
+
+    @Schema(description = "How often the transfer runs", example = "MONTHLY")
+    @NotNull(message = "Frequency cannot be null")
+    private TransferFrequency frequency;
+
+    @Schema(description = "Date of the first run; later monthly runs keep its day of month", example = "2026-01-31")
+    @NotNull(message = "Start date cannot be null")
+    private LocalDate startDate;
+
+    @Schema(description = "Optional last date on which the transfer may run", example = "2026-12-31")
+    private LocalDate endDate;
+}
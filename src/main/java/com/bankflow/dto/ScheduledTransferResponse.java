@@ -0,0 +1,66 @@
+package com.bankflow.dto;
+
+import com.bankflow.model.enums.ScheduledTransferStatus;
+import com.bankflow.model.enums.TransferFrequency;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Scheduled transfer details")
+public class ScheduledTransferResponse {
+
+    @Schema(description = "Scheduled transfer ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Source account number", example = "123456789012")
+    private String fromAccountNumber;
+
+    @Schema(description = "Destination account number", example = "987654321098")
+    private String toAccountNumber;
+
+    @Schema(description = "Amount transferred on each run", example = "250.75")
+    private BigDecimal amount;
+
+    @Schema(description = "Transfer description", example = "Monthly rent")
+    private String description;
+
+    @Schema(description = "How often the transfer runs", example = "MONTHLY")
+    private TransferFrequency frequency;
+
+    @Schema(description = "Date of the first run", example = "2026-01-31")
+    private LocalDate startDate;
+
+    @Schema(description = "Last date on which the transfer may run", example = "2026-12-31")
+    private LocalDate endDate;
+
+    @Schema(description = "When the next run is due; empty once completed or cancelled", example = "2026-02-28T00:00:00")
+    private LocalDateTime nextRunAt;
+
+    @Schema(description = "Order status", example = "ACTIVE")
+    private ScheduledTransferStatus status;
+
+    @Schema(description = "When the order last ran", example = "2026-01-31T00:00:04")
+    private LocalDateTime lastRunAt;
+
+    @Schema(description = "Transaction created by the last successful run", example = "42")
+    private Long lastTransactionId;
+
+    @Schema(description = "Why the last run was skipped, if it was", example = "Insufficient funds in account 1")
+    private String lastFailure;
+
+    @Schema(description = "Record creation timestamp", example = "2025-12-15T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Last update timestamp", example = "2025-12-15T10:30:00")
+    private LocalDateTime updatedAt;
+}
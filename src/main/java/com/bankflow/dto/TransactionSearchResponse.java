@@ -0,0 +1,24 @@
+package com.bankflow.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One page of transaction search results")
+public class TransactionSearchResponse {
+
+    @Schema(description = "Matching transactions, newest first")
+    private List<TransactionResponse> transactions;
+
+    @Schema(description = "Pass as 'cursor' to fetch the next page; absent on the last page", example = "MjAyNi0wMy0wMlQxMDowMCwxMDQy")
+    private String nextCursor;
+
+}
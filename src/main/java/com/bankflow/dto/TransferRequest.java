@@ -2,6 +2,7 @@ package com.bankflow.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
@@ -28,9 +29,10 @@ public class TransferRequest {
     @Pattern(regexp = "^[0-9]{12,20}$", message = "Account number must contain only digits and be between 12 and 20 characters long")
     private String toAccountNumber;
 
-    @Schema(description = "Amount to transfer", example = "250.75")
+    @Schema(description = "Amount to transfer, with at most two decimal places", example = "250.75")
     @NotNull(message = "Amount cannot be null")
     @DecimalMin(value = "0.01", message = "Transfer amount must be greater than 0")
+    @Digits(integer = 17, fraction = 2, message = "Transfer amount must be a whole number of cents")
     private BigDecimal amount;
 
     @Schema(description = "Optional description for the transfer", example = "Payment for invoice #1234")
@@ -0,0 +1,37 @@
+package com.bankflow.dto;
+
+import com.bankflow.model.enums.ScheduledTransferStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to update a scheduled transfer. Only provided fields will be updated.")
+public class UpdateScheduledTransferRequest {
+
+    @Schema(description = "Amount to transfer on each run", example = "300.00")
+    @DecimalMin(value = "0.01", message = "Transfer amount must be greater than 0")
+    @Digits(integer = 17, fraction = 2, message = "Transfer amount must be a whole number of cents")
+    private BigDecimal amount;
+
+    @Schema(description = "Description for the transfers", example = "Monthly rent")
+    @Size(max = 500, message = "Description must be at most 500 characters")
+    private String description;
+
+    @Schema(description = "Last date on which the transfer may run", example = "2026-12-31")
+    private LocalDate endDate;
+
+    @Schema(description = "ACTIVE to resume or PAUSED to pause the order", example = "PAUSED")
+    private ScheduledTransferStatus status;
+}
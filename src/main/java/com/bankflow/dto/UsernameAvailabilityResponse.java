@@ -0,0 +1,21 @@
+package com.bankflow.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Whether a username is free to sign up with")
+public class UsernameAvailabilityResponse {
+
+    @Schema(description = "Username asked about", example = "john_doe")
+    private String username;
+
+    @Schema(description = "True if no user has this username", example = "true")
+    private boolean available;
+}
@@ -0,0 +1,27 @@
+package com.bankflow.exception;
+
+import com.bankflow.model.enums.LimitPeriod;
+import com.bankflow.model.enums.TransactionType;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+public class LimitExceededException extends RuntimeException {
+
+    private final Long accountId;
+    private final TransactionType operation;
+    private final LimitPeriod period;
+    private final BigDecimal limit;
+    private final BigDecimal used;
+
+    public LimitExceededException(Long accountId, TransactionType operation, LimitPeriod period, BigDecimal limit, BigDecimal used) {
+        super(String.format("Account %d would exceed its %s %s limit. Limit: %s, Used: %s",
+                accountId, period.getDisplayName().toLowerCase(), operation.name().toLowerCase(), limit, used));
+        this.accountId = accountId;
+        this.operation = operation;
+        this.period = period;
+        this.limit = limit;
+        this.used = used;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bankflow.exception;
+
+import lombok.Getter;
+
+@Getter
+public class SubscriberLimitExceededException extends RuntimeException {
+
+    private final int maxSubscribers;
+
+    public SubscriberLimitExceededException(int maxSubscribers) {
+        super(String.format("This instance already serves %d event streams", maxSubscribers));
+        this.maxSubscribers = maxSubscribers;
+    }
+}
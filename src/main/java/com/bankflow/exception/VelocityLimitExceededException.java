@@ -0,0 +1,20 @@
+package com.bankflow.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class VelocityLimitExceededException extends RuntimeException {
+
+    private final String rule;
+    private final Long accountId;
+    private final Duration retryAfter;
+
+    public VelocityLimitExceededException(String rule, Long accountId, Duration retryAfter) {
+        super(String.format("Account %d exceeded velocity limit '%s'", accountId, rule));
+        this.rule = rule;
+        this.accountId = accountId;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,230 @@
+package com.bankflow.grpc;
+
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.grpc.v1.Account;
+import com.bankflow.grpc.v1.AccountRequest;
+import com.bankflow.grpc.v1.AmountRequest;
+import com.bankflow.grpc.v1.BankingServiceGrpc;
+import com.bankflow.grpc.v1.BulkTransferResponse;
+import com.bankflow.grpc.v1.BulkTransferResult;
+import com.bankflow.grpc.v1.Transaction;
+import com.bankflow.grpc.v1.TransferRequest;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.service.BankingService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@code bankflow.v1.BankingService} over {@link BankingService}, on the base class generated from
+ * {@code src/main/proto/bankflow/v1/banking.proto}. Requests are checked against the
+ * constraints of the matching REST DTOs and failures map to statuses through {@link GrpcStatuses};
+ * authentication is left to {@code JwtServerInterceptor}.
+ */
+@Slf4j
+public class BankingGrpcService extends BankingServiceGrpc.BankingServiceImplBase {
+
+    private final BankingService bankingService;
+    private final Validator validator;
+    private final GrpcProperties properties;
+
+    public BankingGrpcService(BankingService bankingService, Validator validator, GrpcProperties properties) {
+        this.bankingService = bankingService;
+        this.validator = validator;
+        this.properties = properties;
+    }
+
+    @Override
+    public void deposit(AmountRequest request, StreamObserver<Transaction> responseObserver) {
+        log.info("gRPC Deposit - Account: {}, Amount: {}", request.getAccountNumber(), request.getAmount());
+        respond(responseObserver, () -> GrpcMessages.transaction(bankingService
+                .depositByAccountNumber(request.getAccountNumber(), validAmount(request))
+                .mapToTransactionResponse()));
+    }
+
+    @Override
+    public void withdraw(AmountRequest request, StreamObserver<Transaction> responseObserver) {
+        log.info("gRPC Withdraw - Account: {}, Amount: {}", request.getAccountNumber(), request.getAmount());
+        respond(responseObserver, () -> GrpcMessages.transaction(bankingService
+                .withdrawByAccountNumber(request.getAccountNumber(), validAmount(request))
+                .mapToTransactionResponse()));
+    }
+
+    @Override
+    public void transfer(TransferRequest request, StreamObserver<Transaction> responseObserver) {
+        log.info("gRPC Transfer - Transferring {} from account {} to account {}",
+                request.getAmount(), request.getFromAccountNumber(), request.getToAccountNumber());
+        respond(responseObserver, () -> GrpcMessages.transaction(executeTransfer(request).mapToTransactionResponse()));
+    }
+
+    @Override
+    public void getBalance(AccountRequest request, StreamObserver<Account> responseObserver) {
+        log.info("gRPC GetBalance - Account: {}", request.getAccountNumber());
+        respond(responseObserver, () -> GrpcMessages.account(bankingService.getAccountByNumber(request.getAccountNumber()).mapToResponse()));
+    }
+
+    /**
+     * Streams the history newest first, sending only while the transport can take more, so a slow
+     * reader holds the loaded history rather than an unbounded queue of encoded messages.
+     */
+    @Override
+    public void getHistory(AccountRequest request, StreamObserver<Transaction> responseObserver) {
+        log.info("gRPC GetHistory - Account: {}", request.getAccountNumber());
+        ServerCallStreamObserver<Transaction> observer = (ServerCallStreamObserver<Transaction>) responseObserver;
+        Iterator<TransactionRecord> remaining;
+        try {
+            remaining = bankingService.getTransactionsByAccountNumber(request.getAccountNumber()).iterator();
+        } catch (RuntimeException ex) {
+            observer.onError(GrpcStatuses.of(ex).asRuntimeException());
+            return;
+        }
+        observer.setOnCancelHandler(() -> log.debug("gRPC GetHistory - Account: {}, cancelled by the client", request.getAccountNumber()));
+        observer.setOnReadyHandler(new Runnable() {
+            private boolean completed;
+
+            @Override
+            public void run() {
+                while (!completed && observer.isReady() && !observer.isCancelled()) {
+                    if (!remaining.hasNext()) {
+                        completed = true;
+                        observer.onCompleted();
+                        return;
+                    }
+                    observer.onNext(GrpcMessages.transaction(remaining.next().mapToTransactionResponse()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Makes each transfer as it arrives, in its own transaction, and reports them all when the client
+     * half-closes. A failed transfer is recorded in the response rather than ending the call, and
+     * transfers already made stay made if the client cancels.
+     */
+    @Override
+    public StreamObserver<TransferRequest> bulkTransfer(StreamObserver<BulkTransferResponse> responseObserver) {
+        return new StreamObserver<>() {
+            private final List<BulkTransferResult> results = new ArrayList<>();
+            private int succeeded;
+            private boolean closed;
+
+            @Override
+            public void onNext(TransferRequest request) {
+                if (closed) {
+                    return;
+                }
+                int index = results.size();
+                if (index >= properties.getMaxBulkTransfers()) {
+                    closed = true;
+                    log.warn("gRPC BulkTransfer - Rejected after {} transfers, limit is {}", index, properties.getMaxBulkTransfers());
+                    responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                            .withDescription("At most " + properties.getMaxBulkTransfers() + " transfers per call; the first "
+                                    + index + " were made")
+                            .asRuntimeException());
+                    return;
+                }
+                try {
+                    TransactionRecord transaction = executeTransfer(request);
+                    results.add(BulkTransferResult.newBuilder()
+                            .setIndex(index)
+                            .setTransaction(GrpcMessages.transaction(transaction.mapToTransactionResponse()))
+                            .build());
+                    succeeded++;
+                } catch (RuntimeException ex) {
+                    Status status = GrpcStatuses.of(ex);
+                    results.add(BulkTransferResult.newBuilder()
+                            .setIndex(index)
+                            .setErrorCode(status.getCode().name())
+                            .setErrorMessage(Objects.toString(status.getDescription(), ""))
+                            .build());
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                closed = true;
+                log.warn("gRPC BulkTransfer - Stream ended by the client after {} transfers, {} made: {}",
+                        results.size(), succeeded, Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                log.info("gRPC BulkTransfer - {} transfers, {} succeeded", results.size(), succeeded);
+                responseObserver.onNext(BulkTransferResponse.newBuilder()
+                        .setSucceeded(succeeded)
+                        .setFailed(results.size() - succeeded)
+                        .addAllResults(results)
+                        .build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private TransactionRecord executeTransfer(TransferRequest request) {
+        com.bankflow.dto.TransferRequest transfer = com.bankflow.dto.TransferRequest.builder()
+                .fromAccountNumber(request.getFromAccountNumber())
+                .toAccountNumber(request.getToAccountNumber())
+                .amount(parseAmount(request.getAmount()))
+                .description(request.hasDescription() ? request.getDescription() : null)
+                .build();
+        validate(transfer);
+        return bankingService.transferByAccountNumber(transfer.getFromAccountNumber(), transfer.getToAccountNumber(),
+                transfer.getAmount(), transfer.getDescription());
+    }
+
+    private BigDecimal validAmount(AmountRequest request) {
+        com.bankflow.dto.AmountRequest amount = new com.bankflow.dto.AmountRequest(parseAmount(request.getAmount()));
+        validate(amount);
+        return amount.getAmount();
+    }
+
+    private static BigDecimal parseAmount(String amount) {
+        if (amount == null || amount.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(amount);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Amount must be a decimal number: " + amount);
+        }
+    }
+
+    private void validate(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static <T> void respond(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(GrpcStatuses.of(ex).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+}
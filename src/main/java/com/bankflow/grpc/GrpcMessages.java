@@ -0,0 +1,60 @@
+package com.bankflow.grpc;
+
+import com.bankflow.dto.AccountResponse;
+import com.bankflow.dto.TransactionResponse;
+import com.bankflow.grpc.v1.Account;
+import com.bankflow.grpc.v1.Transaction;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Maps the REST DTOs to the {@code bankflow.v1} messages generated from
+ * {@code src/main/proto/bankflow/v1/banking.proto}. Amounts are decimal strings and times ISO-8601
+ * local date-times, as in the JSON bodies; null optional fields stay unset.
+ */
+final class GrpcMessages {
+
+    private GrpcMessages() {
+    }
+
+    static Account account(AccountResponse response) {
+        return Account.newBuilder()
+                .setId(orZero(response.getId()))
+                .setAccountNumber(Objects.toString(response.getAccountNumber(), ""))
+                .setCustomerId(orZero(response.getCustomerId()))
+                .setBalance(decimal(response.getBalance()))
+                .setStatus(Objects.toString(response.getStatus(), ""))
+                .setVersion(orZero(response.getVersion()))
+                .setCreatedAt(Objects.toString(response.getCreatedAt(), ""))
+                .setUpdatedAt(Objects.toString(response.getUpdatedAt(), ""))
+                .build();
+    }
+
+    static Transaction transaction(TransactionResponse response) {
+        Transaction.Builder transaction = Transaction.newBuilder()
+                .setId(orZero(response.getId()))
+                .setType(Objects.toString(response.getType(), ""))
+                .setAmount(decimal(response.getAmount()))
+                .setTimestamp(Objects.toString(response.getTimestamp(), ""))
+                .setCreatedAt(Objects.toString(response.getCreatedAt(), ""));
+        if (response.getFromAccountId() != null) {
+            transaction.setFromAccountId(response.getFromAccountId());
+        }
+        if (response.getToAccountId() != null) {
+            transaction.setToAccountId(response.getToAccountId());
+        }
+        if (response.getDescription() != null) {
+            transaction.setDescription(response.getDescription());
+        }
+        return transaction.build();
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+}
@@ -0,0 +1,46 @@
+package com.bankflow.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the gRPC server serving {@code bankflow.v1.BankingService} to internal callers.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.grpc")
+public class GrpcProperties {
+
+    private boolean enabled = true;
+
+    private int port = 9090;
+
+    /**
+     * Threads running calls; each blocks on the database for the length of an operation, like a servlet thread.
+     */
+    private int threads = 32;
+
+    private int maxConcurrentCallsPerConnection = 256;
+
+    private DataSize maxInboundMessageSize = DataSize.ofKilobytes(64);
+
+    private Duration keepAliveTime = Duration.ofMinutes(1);
+
+    /**
+     * Shortest keep-alive interval accepted from clients; clients pinging more often are disconnected.
+     */
+    private Duration permitKeepAliveTime = Duration.ofSeconds(20);
+
+    /**
+     * Most transfers in one BulkTransfer call; a longer stream fails with RESOURCE_EXHAUSTED after the
+     * transfers up to the limit have been made.
+     */
+    private int maxBulkTransfers = 1000;
+
+    /**
+     * How long calls in progress may run on shutdown before they are cancelled.
+     */
+    private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+}
@@ -0,0 +1,99 @@
+package com.bankflow.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the gRPC server beside the servlet container, started with the context and stopped before
+ * its beans are destroyed. Calls run on a fixed pool rather than Netty's event loops, since every
+ * operation blocks on the database.
+ */
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private final GrpcProperties properties;
+    private final List<BindableService> services;
+    private final List<ServerInterceptor> interceptors;
+
+    private Server server;
+    private ExecutorService executor;
+
+    /**
+     * @param interceptors applied to every service, in the order they see a call
+     */
+    public GrpcServer(GrpcProperties properties, List<BindableService> services, List<ServerInterceptor> interceptors) {
+        this.properties = properties;
+        this.services = services;
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public synchronized void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "grpc-call-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        NettyServerBuilder builder = NettyServerBuilder.forPort(properties.getPort())
+                .executor(executor)
+                .maxConcurrentCallsPerConnection(properties.getMaxConcurrentCallsPerConnection())
+                .maxInboundMessageSize((int) properties.getMaxInboundMessageSize().toBytes())
+                .keepAliveTime(properties.getKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .permitKeepAliveTime(properties.getPermitKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS);
+        services.forEach(service -> builder.addService(ServerInterceptors.interceptForward(service, interceptors)));
+        try {
+            server = builder.build().start();
+        } catch (IOException ex) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Could not start gRPC server on port " + properties.getPort(), ex);
+        }
+        log.info("gRPC server listening on port {} with {} call threads", server.getPort(), properties.getThreads());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(properties.getShutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("gRPC calls still running after {}, cancelling them", properties.getShutdownGracePeriod());
+                server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException ex) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            server = null;
+        }
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The port listened on, which differs from the configured one when that is 0.
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+}
@@ -0,0 +1,48 @@
+package com.bankflow.grpc;
+
+import com.bankflow.exception.AccountInactiveException;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.InsufficientFundsException;
+import com.bankflow.exception.LimitExceededException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.exception.VelocityLimitExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps service exceptions to gRPC statuses, as {@code GlobalExceptionHandler} maps them to HTTP
+ * statuses: 404 is NOT_FOUND, 400 INVALID_ARGUMENT, 409 FAILED_PRECONDITION, 429 RESOURCE_EXHAUSTED
+ * and 503 UNAVAILABLE. Unexpected failures are INTERNAL without their message.
+ */
+@Slf4j
+final class GrpcStatuses {
+
+    private GrpcStatuses() {
+    }
+
+    static Status of(Throwable ex) {
+        if (ex instanceof StatusRuntimeException statusException) {
+            return statusException.getStatus();
+        }
+        Status status = switch (ex) {
+            case NotFoundException e -> Status.NOT_FOUND;
+            case BadRequestException e -> Status.INVALID_ARGUMENT;
+            case InsufficientFundsException e -> Status.FAILED_PRECONDITION;
+            case AccountInactiveException e -> Status.FAILED_PRECONDITION;
+            case LimitExceededException e -> Status.FAILED_PRECONDITION;
+            case VelocityLimitExceededException e -> Status.RESOURCE_EXHAUSTED;
+            case BulkheadFullException e -> Status.UNAVAILABLE;
+            case CallNotPermittedException e -> Status.UNAVAILABLE;
+            default -> null;
+        };
+        if (status == null) {
+            log.error("Unexpected error in gRPC call: ", ex);
+            return Status.INTERNAL.withDescription("An unexpected error occurred");
+        }
+        log.warn("gRPC call failed with {}: {}", status.getCode(), ex.getMessage());
+        return status.withDescription(ex.getMessage());
+    }
+}
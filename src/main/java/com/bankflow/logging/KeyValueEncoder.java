@@ -0,0 +1,153 @@
+package com.bankflow.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.bankflow.model.Money;
+import org.slf4j.event.KeyValuePair;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders each event as a single logfmt line:
+ * {@code ts=... level=INFO logger=... thread=... msg="..." key=value ...}.
+ * <p>
+ * Lines are built in a per-thread buffer that is reused across events, the second-resolution
+ * part of the timestamp is cached, and numbers are appended without boxing to strings. The only
+ * per-event allocation left is the {@code byte[]} Logback's encoder contract requires.
+ */
+public class KeyValueEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final DateTimeFormatter SECOND_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, "");
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder sb = buffers.get();
+        sb.setLength(0);
+
+        appendTimestamp(sb, event.getTimeStamp());
+        sb.append(" level=").append(event.getLevel().levelStr);
+        sb.append(" logger=").append(event.getLoggerName());
+        sb.append(" thread=");
+        appendValue(sb, event.getThreadName());
+        sb.append(" msg=");
+        appendValue(sb, event.getFormattedMessage());
+
+        List<KeyValuePair> pairs = event.getKeyValuePairs();
+        if (pairs != null) {
+            for (int i = 0; i < pairs.size(); i++) {
+                KeyValuePair pair = pairs.get(i);
+                sb.append(' ').append(pair.key).append('=');
+                appendValue(sb, pair.value);
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            sb.append(" error=");
+            appendValue(sb, throwable.getClassName());
+            sb.append(" stack=");
+            appendValue(sb, ThrowableProxyUtil.asString(throwable));
+        }
+        sb.append('\n');
+
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            // Do not pin a buffer grown by one oversized event
+            buffers.remove();
+        }
+        return bytes;
+    }
+
+    private void appendTimestamp(StringBuilder sb, long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000L);
+        CachedSecond cached = cachedSecond;
+        if (cached.second != second) {
+            cached = new CachedSecond(second, SECOND_FORMAT.format(Instant.ofEpochSecond(second)));
+            cachedSecond = cached;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        sb.append("ts=").append(cached.formatted).append('.');
+        if (millis < 100) {
+            sb.append('0');
+        }
+        if (millis < 10) {
+            sb.append('0');
+        }
+        sb.append(millis).append('Z');
+    }
+
+    static void appendValue(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            sb.append(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            sb.append(decimal.toPlainString());
+        } else if (value instanceof Money money) {
+            money.appendTo(sb);
+        } else if (value instanceof Boolean bool) {
+            sb.append(bool.booleanValue());
+        } else {
+            appendString(sb, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (!needsQuoting(value)) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        if (value.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c <= ' ' || c == '=' || c == '"' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record CachedSecond(long second, String formatted) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.bankflow.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+/**
+ * {@code %m} replacement for the plain console pattern that appends the event's key-value
+ * pairs to the message, so structured events stay readable without the structured profile.
+ */
+public class KeyValueMessageConverter extends MessageConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        List<KeyValuePair> pairs = event.getKeyValuePairs();
+        if (pairs == null || pairs.isEmpty()) {
+            return super.convert(event);
+        }
+        StringBuilder sb = new StringBuilder(super.convert(event));
+        for (KeyValuePair pair : pairs) {
+            sb.append(' ').append(pair.key).append('=');
+            KeyValueEncoder.appendValue(sb, pair.value);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.bankflow.logging;
+
+/**
+ * Logger categories used for structured events. Sampling in {@code logback-spring.xml}
+ * is configured per category; {@link #MONEY_MOVEMENT} is never sampled.
+ */
+public final class LogCategories {
+
+    /**
+     * High-volume read events (lookups, history listings). Eligible for sampling.
+     */
+    public static final String READ = "com.bankflow.read";
+
+    /**
+     * Deposits, withdrawals, transfers and account openings. Always logged in full.
+     */
+    public static final String MONEY_MOVEMENT = "com.bankflow.money";
+
+    private LogCategories() {
+    }
+}
@@ -0,0 +1,91 @@
+package com.bankflow.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one event in every {@code oneIn} for each configured logger category.
+ * <p>
+ * Runs before the event is created, so a dropped event costs a counter increment and
+ * no formatting or allocation. Only INFO and below are sampled; warnings, errors and
+ * anything under {@link LogCategories#MONEY_MOVEMENT} always pass.
+ * <pre>
+ * &lt;turboFilter class="com.bankflow.logging.SamplingTurboFilter"&gt;
+ *     &lt;sample&gt;&lt;category&gt;com.bankflow.read&lt;/category&gt;&lt;oneIn&gt;100&lt;/oneIn&gt;&lt;/sample&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<Sample> configured = new ArrayList<>();
+    private Sample[] samples = new Sample[0];
+
+    public void addSample(Sample sample) {
+        configured.add(sample);
+    }
+
+    @Override
+    public void start() {
+        List<Sample> valid = new ArrayList<>();
+        for (Sample sample : configured) {
+            if (sample.category == null || sample.category.isBlank() || sample.oneIn < 1) {
+                addError("Ignoring sample with invalid category or oneIn: " + sample.category + "/" + sample.oneIn);
+                continue;
+            }
+            if (LogCategories.MONEY_MOVEMENT.startsWith(sample.category)) {
+                addWarn("Category " + sample.category + " covers money-movement events, which are never sampled");
+            }
+            valid.add(sample);
+        }
+        samples = valid.toArray(new Sample[0]);
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.levelInt > Level.INFO_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        // Let disabled levels fall through to the normal check without consuming a slot
+        if (logger.getEffectiveLevel().levelInt > level.levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        if (name.startsWith(LogCategories.MONEY_MOVEMENT)) {
+            return FilterReply.NEUTRAL;
+        }
+        for (Sample sample : samples) {
+            if (sample.matches(name)) {
+                return sample.counter.getAndIncrement() % sample.oneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    public static class Sample {
+
+        private String category;
+        private long oneIn = 1;
+        private final AtomicLong counter = new AtomicLong();
+
+        public void setCategory(String category) {
+            this.category = category;
+        }
+
+        public void setOneIn(long oneIn) {
+            this.oneIn = oneIn;
+        }
+
+        private boolean matches(String loggerName) {
+            return loggerName.startsWith(category)
+                    && (loggerName.length() == category.length() || loggerName.charAt(category.length()) == '.');
+        }
+    }
+}
@@ -7,9 +7,12 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -36,10 +39,17 @@ public class Account {
     @JoinColumn(name = "customer_id", nullable = false, foreignKey = @ForeignKey(name = "fk_account_customer"))
     private Customer customer;
 
+    /**
+     * Kept in cents for the service hot path; {@link #getBalance()} and {@link #setBalance(BigDecimal)}
+     * convert at the edges. Non-negative, validated on {@link #getBalance()} and enforced by
+     * {@code check_account_balance}.
+     */
     @NotNull(message = "Balance cannot be null")
-    @DecimalMin(value = "0.0", message = "Balance must be greater than or equal to 0")
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "balance", nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Money balance;
 
     @NotNull(message = "Account status cannot be null")
     @Enumerated(EnumType.STRING)
@@ -56,6 +66,12 @@ public class Account {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Latest posting booked to this account when balances come from postings; null otherwise.
+     */
+    @Transient
+    private Long lastPostingId;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -70,6 +86,30 @@ public class Account {
         updatedAt = LocalDateTime.now();
     }
 
+    @DecimalMin(value = "0.0", message = "Balance must be greater than or equal to 0")
+    public BigDecimal getBalance() {
+        return balance != null ? balance.toBigDecimal() : null;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance != null ? Money.of(balance) : null;
+    }
+
+    public Money getMoneyBalance() {
+        return balance;
+    }
+
+    public void setMoneyBalance(Money balance) {
+        this.balance = balance;
+    }
+
+    /**
+     * A detached copy sharing the customer reference, for handing one loaded row to several callers.
+     */
+    public Account copy() {
+        return new Account(id, accountNumber, customer, balance, status, version, createdAt, updatedAt, lastPostingId);
+    }
+
     public AccountResponse mapToResponse() {
         return AccountResponse.builder().id(this.getId()).accountNumber(this.getAccountNumber()).customerId(this.getCustomer().getId()).balance(this.getBalance()).status(this.getStatus()).version(this.getVersion()).createdAt(this.getCreatedAt()).updatedAt(this.getUpdatedAt()).build();
     }
@@ -0,0 +1,70 @@
+package com.bankflow.model;
+
+import com.bankflow.model.enums.PostingDirection;
+import com.bankflow.model.enums.TransactionType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Number and total of an account's transactions of one type and direction in one calendar month.
+ * A credit is money in (deposits, incoming transfers), a debit money out. Kept up to date by
+ * {@code MonthlyRollupService} in the same transaction as each transaction record.
+ */
+@Entity
+@Table(name = "account_monthly_rollups")
+@IdClass(AccountMonthlyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountMonthlyRollup {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 20)
+    private TransactionType type;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", length = 10)
+    private PostingDirection direction;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate monthStart;
+        private TransactionType type;
+        private PostingDirection direction;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bankflow.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A rendered monthly statement, stored with its CSV content so any instance can serve it; its
+ * closing balance is the opening balance of the next month's statement.
+ */
+@Entity
+@Table(name = "account_statements")
+@IdClass(AccountStatement.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStatement {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    /**
+     * First day of the statement month.
+     */
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Column(name = "opening_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(name = "closing_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(name = "transactions", nullable = false)
+    private Integer transactions;
+
+    @Column(name = "content_size", nullable = false)
+    private Long contentSize;
+
+    @Column(name = "digest", nullable = false, length = 64)
+    private String digest;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "content", nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate periodStart;
+    }
+}
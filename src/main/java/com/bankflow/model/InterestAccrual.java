@@ -0,0 +1,57 @@
+package com.bankflow.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Interest earned by an account on one day's closing balance. Amounts keep six decimal places so
+ * daily accruals add up exactly before they are rounded and paid out.
+ * Written in bulk by {@code InterestAccrualJob}.
+ */
+@Entity
+@Table(name = "interest_accruals")
+@IdClass(InterestAccrual.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestAccrual {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "accrual_date")
+    private LocalDate accrualDate;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "annual_rate", nullable = false, precision = 9, scale = 6)
+    private BigDecimal annualRate;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 6)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate accrualDate;
+    }
+}
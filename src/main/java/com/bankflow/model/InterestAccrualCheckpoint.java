@@ -0,0 +1,56 @@
+package com.bankflow.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Marks an account id range as accrued for a date. Committed with the range's accruals, so a
+ * restarted run skips exactly the account ids that finished, whatever its chunk size.
+ */
+@Entity
+@Table(name = "interest_accrual_checkpoints")
+@IdClass(InterestAccrualCheckpoint.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestAccrualCheckpoint {
+
+    @Id
+    @Column(name = "accrual_date")
+    private LocalDate accrualDate;
+
+    @Id
+    @Column(name = "first_account_id")
+    private Long firstAccountId;
+
+    @Column(name = "last_account_id", nullable = false)
+    private Long lastAccountId;
+
+    @Column(name = "accounts", nullable = false)
+    private Integer accounts;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 6)
+    private BigDecimal amount;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate accrualDate;
+        private Long firstAccountId;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bankflow.model;
+
+import com.bankflow.model.enums.LimitPeriod;
+import com.bankflow.model.enums.TransactionType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Amount an account has withdrawn or transferred out in one day or month. A new period starts a
+ * new row, so limits reset at period boundaries without touching old rows.
+ * Written by {@code TransactionLimitService} in the same transaction as the money movement.
+ */
+@Entity
+@Table(name = "limit_usage")
+@IdClass(LimitUsage.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LimitUsage {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", length = 20)
+    private TransactionType operation;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", length = 10)
+    private LimitPeriod period;
+
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private TransactionType operation;
+        private LimitPeriod period;
+        private LocalDate periodStart;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bankflow.model;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount of money as a whole number of cents, matching the {@code DECIMAL(19, 2)} balance and
+ * amount columns. Arithmetic never allocates more than the result and fails with
+ * {@link ArithmeticException} instead of leaving the column's range. {@link BigDecimal} is only
+ * used at the edges: request amounts, responses and the database column.
+ *
+ * @param minorUnits the amount in cents
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    /**
+     * Largest value of a {@code DECIMAL(19, 2)} column, in cents.
+     */
+    public static final long MAX_MINOR_UNITS = 99_999_999_999_999_999L;
+
+    public static final Money ZERO = new Money(0);
+
+    public static final Money ONE_CENT = new Money(1);
+
+    public Money {
+        if (minorUnits > MAX_MINOR_UNITS || minorUnits < -MAX_MINOR_UNITS) {
+            throw new ArithmeticException("Amount out of range: " + minorUnits + " cents");
+        }
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has a fraction of a cent or is out of range
+     */
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * Appends the plain decimal form, e.g. {@code -12.05}, without creating a {@link BigDecimal}.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        long units = minorUnits;
+        if (units < 0) {
+            sb.append('-');
+            units = -units;
+        }
+        long cents = units % 100;
+        sb.append(units / 100).append('.');
+        if (cents < 10) {
+            sb.append('0');
+        }
+        return sb.append(cents);
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(24)).toString();
+    }
+}
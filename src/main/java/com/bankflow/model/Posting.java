@@ -0,0 +1,57 @@
+package com.bankflow.model;
+
+import com.bankflow.model.enums.PostingDirection;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable debit or credit leg of a {@link TransactionRecord}. Every transaction books
+ * equal debits and credits; {@code accountId} is null for the bank's cash clearing leg
+ * of deposits and withdrawals.
+ */
+@Entity
+@Table(name = "postings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Posting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "postings_id_seq")
+    @SequenceGenerator(name = "postings_id_seq", sequenceName = "postings_id_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "transaction_id", nullable = false, foreignKey = @ForeignKey(name = "fk_posting_transaction"), updatable = false)
+    private TransactionRecord transaction;
+
+    @Column(name = "account_id", updatable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", nullable = false, length = 10, updatable = false)
+    private PostingDirection direction;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public Posting(TransactionRecord transaction, Long accountId, PostingDirection direction, BigDecimal amount) {
+        this.transaction = transaction;
+        this.accountId = accountId;
+        this.direction = direction;
+        this.amount = amount;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,44 @@
+package com.bankflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An account whose stored balance differs from the net of its transactions.
+ * {@code difference} is {@code balance - expectedBalance}.
+ */
+@Entity
+@Table(name = "reconciliation_discrepancies")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationDiscrepancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reconciliation_discrepancies_id_seq")
+    @SequenceGenerator(name = "reconciliation_discrepancies_id_seq", sequenceName = "reconciliation_discrepancies_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "expected_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal expectedBalance;
+
+    @Column(name = "difference", nullable = false, precision = 19, scale = 2)
+    private BigDecimal difference;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,54 @@
+package com.bankflow.model;
+
+import com.bankflow.model.enums.ReconciliationMode;
+import com.bankflow.model.enums.ReconciliationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One pass of the balance reconciliation. Incremental runs only check accounts touched since
+ * {@code since}; a run with failed ranges is {@code FAILED} and does not advance the next
+ * incremental run's starting point.
+ */
+@Entity
+@Table(name = "reconciliation_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reconciliation_runs_id_seq")
+    @SequenceGenerator(name = "reconciliation_runs_id_seq", sequenceName = "reconciliation_runs_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 20)
+    private ReconciliationMode mode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReconciliationStatus status;
+
+    @Column(name = "since")
+    private LocalDateTime since;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "accounts_checked", nullable = false)
+    private Long accountsChecked;
+
+    @Column(name = "discrepancies", nullable = false)
+    private Long discrepancies;
+
+    @Column(name = "failed_ranges", nullable = false)
+    private Integer failedRanges;
+}
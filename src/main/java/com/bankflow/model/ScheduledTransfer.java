@@ -0,0 +1,132 @@
+package com.bankflow.model;
+
+import com.bankflow.dto.ScheduledTransferResponse;
+import com.bankflow.model.enums.ScheduledTransferStatus;
+import com.bankflow.model.enums.TransferFrequency;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Standing order: a transfer repeated on a {@link TransferFrequency} from {@code startDate} until
+ * {@code endDate}. {@code nextRunAt} is the next due occurrence and is null once the order has
+ * completed or been cancelled; {@code claimedUntil} is the lease held by the instance executing it.
+ */
+@Entity
+@Table(name = "scheduled_transfers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled_transfers_id_seq")
+    @SequenceGenerator(name = "scheduled_transfers_id_seq", sequenceName = "scheduled_transfers_id_seq", allocationSize = 1)
+    private Long id;
+
+    @NotNull(message = "Customer cannot be null")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "customer_id", nullable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_scheduled_transfer_customer"))
+    private Customer customer;
+
+    @NotNull(message = "Source account cannot be null")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "from_account_id", nullable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_scheduled_transfer_from_account"))
+    private Account fromAccount;
+
+    @NotNull(message = "Destination account cannot be null")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "to_account_id", nullable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_scheduled_transfer_to_account"))
+    private Account toAccount;
+
+    @NotNull(message = "Amount cannot be null")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @NotNull(message = "Frequency cannot be null")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 20, updatable = false)
+    private TransferFrequency frequency;
+
+    @NotNull(message = "Start date cannot be null")
+    @Column(name = "start_date", nullable = false, updatable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @NotNull(message = "Status cannot be null")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ScheduledTransferStatus status;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "last_transaction_id")
+    private Long lastTransactionId;
+
+    @Column(name = "last_failure", length = 500)
+    private String lastFailure;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (status == null) {
+            status = ScheduledTransferStatus.ACTIVE;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public ScheduledTransferResponse mapToResponse() {
+        return ScheduledTransferResponse.builder()
+                .id(this.getId())
+                .fromAccountNumber(this.getFromAccount().getAccountNumber())
+                .toAccountNumber(this.getToAccount().getAccountNumber())
+                .amount(this.getAmount())
+                .description(this.getDescription())
+                .frequency(this.getFrequency())
+                .startDate(this.getStartDate())
+                .endDate(this.getEndDate())
+                .nextRunAt(this.getNextRunAt())
+                .status(this.getStatus())
+                .lastRunAt(this.getLastRunAt())
+                .lastTransactionId(this.getLastTransactionId())
+                .lastFailure(this.getLastFailure())
+                .createdAt(this.getCreatedAt())
+                .updatedAt(this.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.bankflow.model.enums;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+public enum LimitPeriod {
+    DAILY("Daily"),
+    MONTHLY("Monthly");
+
+    private final String displayName;
+
+    LimitPeriod(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * First day of the period containing {@code date}.
+     */
+    public LocalDate start(LocalDate date) {
+        return this == DAILY ? date : date.withDayOfMonth(1);
+    }
+}
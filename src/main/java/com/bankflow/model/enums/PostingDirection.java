@@ -0,0 +1,19 @@
+package com.bankflow.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Side of a double-entry posting, seen from the account it is booked to:
+ * a credit increases a customer account's balance, a debit decreases it.
+ */
+@Getter
+public enum PostingDirection {
+    DEBIT("Debit"),
+    CREDIT("Credit");
+
+    private final String displayName;
+
+    PostingDirection(String displayName) {
+        this.displayName = displayName;
+    }
+}
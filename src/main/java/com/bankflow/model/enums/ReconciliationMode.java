@@ -0,0 +1,15 @@
+package com.bankflow.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum ReconciliationMode {
+    FULL("Full"),
+    INCREMENTAL("Incremental");
+
+    private final String displayName;
+
+    ReconciliationMode(String displayName) {
+        this.displayName = displayName;
+    }
+}
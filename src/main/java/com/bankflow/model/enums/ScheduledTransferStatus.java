@@ -0,0 +1,17 @@
+package com.bankflow.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum ScheduledTransferStatus {
+    ACTIVE("Active"),
+    PAUSED("Paused"),
+    COMPLETED("Completed"),
+    CANCELLED("Cancelled");
+
+    private final String displayName;
+
+    ScheduledTransferStatus(String displayName) {
+        this.displayName = displayName;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bankflow.model.enums;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+@Getter
+public enum TransferFrequency {
+    ONCE("Once"),
+    DAILY("Daily"),
+    WEEKLY("Weekly"),
+    MONTHLY("Monthly");
+
+    private final String displayName;
+
+    TransferFrequency(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * First occurrence strictly after {@code after} for a schedule anchored on {@code startDate}.
+     * Monthly schedules keep the anchor's day of month, clamped to shorter months.
+     *
+     * @return the next occurrence, or null for one-off transfers
+     */
+    public LocalDate nextOccurrence(LocalDate startDate, LocalDate after) {
+        if (after.isBefore(startDate)) {
+            return startDate;
+        }
+        return switch (this) {
+            case ONCE -> null;
+            case DAILY -> after.plusDays(1);
+            case WEEKLY -> after.plusDays(1).with(TemporalAdjusters.nextOrSame(startDate.getDayOfWeek()));
+            case MONTHLY -> {
+                LocalDate candidate = onAnchorDay(after, startDate.getDayOfMonth());
+                yield candidate.isAfter(after) ? candidate : onAnchorDay(after.plusMonths(1), startDate.getDayOfMonth());
+            }
+        };
+    }
+
+    private static LocalDate onAnchorDay(LocalDate month, int anchorDay) {
+        return month.withDayOfMonth(Math.min(anchorDay, month.lengthOfMonth()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.AccountMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountMonthlyRollupRepository extends JpaRepository<AccountMonthlyRollup, AccountMonthlyRollup.Key> {
+
+    List<AccountMonthlyRollup> findByAccountIdAndMonthStart(Long accountId, LocalDate monthStart);
+
+    List<AccountMonthlyRollup> findByAccountIdOrderByMonthStartAsc(Long accountId);
+}
@@ -4,10 +4,13 @@ import com.bankflow.model.Account;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -19,9 +22,28 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @Query("SELECT a FROM Account a WHERE a.id = :id")
     Optional<Account> findByIdForUpdate(@Param("id") Long id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id AND a.accountNumber = :accountNumber")
+    Optional<Account> findByIdAndAccountNumberForUpdate(@Param("id") Long id, @Param("accountNumber") String accountNumber);
+
+    @Query("SELECT a.customer.id FROM Account a WHERE a.id = :id")
+    Optional<Long> findCustomerIdById(@Param("id") Long id);
+
     @Query(value = "SELECT 1 FROM accounts LIMIT 1 FOR UPDATE", nativeQuery = true)
     Integer lockAccountsTable();
 
+    @Query("SELECT a.version FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findVersionByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Relative balance update used by the ledger journal; safe to apply in any order across batches.
+     * Native because the balance attribute is {@code Money} while the delta is a plain decimal.
+     */
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance + :delta, version = version + 1, updated_at = :updatedAt WHERE id = :id",
+            nativeQuery = true)
+    int applyBalanceDelta(@Param("id") Long id, @Param("delta") BigDecimal delta, @Param("updatedAt") LocalDateTime updatedAt);
+
     boolean existsByAccountNumber(String accountNumber);
 
     java.util.List<Account> findByCustomerId(Long customerId);
@@ -0,0 +1,22 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.AccountStatement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface AccountStatementRepository extends JpaRepository<AccountStatement, AccountStatement.Key> {
+
+    @Query("SELECT s FROM AccountStatement s, Account a WHERE s.accountId = a.id " +
+            "AND a.accountNumber = :accountNumber AND s.periodStart = :periodStart")
+    Optional<AccountStatement> findByAccountNumberAndPeriodStart(@Param("accountNumber") String accountNumber,
+                                                                 @Param("periodStart") LocalDate periodStart);
+
+    @Query("SELECT s.content FROM AccountStatement s WHERE s.accountId = :accountId AND s.periodStart = :periodStart")
+    Optional<byte[]> findContent(@Param("accountId") Long accountId, @Param("periodStart") LocalDate periodStart);
+}
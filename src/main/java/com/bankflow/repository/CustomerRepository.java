@@ -2,8 +2,11 @@ package com.bankflow.repository;
 
 import com.bankflow.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -14,5 +17,14 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByUser_Username(String username);
 
     Optional<Customer> findByPhoneNumber(String phoneNumber);
+
+    @Query("SELECT c.updatedAt AS customerUpdatedAt, u.updatedAt AS userUpdatedAt FROM Customer c JOIN c.user u WHERE u.username = :username")
+    Optional<CustomerVersion> findVersionByUsername(@Param("username") String username);
+
+    interface CustomerVersion {
+        LocalDateTime getCustomerUpdatedAt();
+
+        LocalDateTime getUserUpdatedAt();
+    }
 }
 
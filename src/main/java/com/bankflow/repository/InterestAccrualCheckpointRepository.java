@@ -0,0 +1,14 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.InterestAccrualCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InterestAccrualCheckpointRepository extends JpaRepository<InterestAccrualCheckpoint, InterestAccrualCheckpoint.Key> {
+
+    List<InterestAccrualCheckpoint> findByAccrualDate(LocalDate accrualDate);
+}
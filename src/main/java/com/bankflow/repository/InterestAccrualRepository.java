@@ -0,0 +1,14 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.InterestAccrual;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InterestAccrualRepository extends JpaRepository<InterestAccrual, InterestAccrual.Key> {
+
+    List<InterestAccrual> findByAccrualDateOrderByAccountIdAsc(LocalDate accrualDate);
+}
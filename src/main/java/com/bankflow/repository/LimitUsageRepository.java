@@ -0,0 +1,13 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.LimitUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LimitUsageRepository extends JpaRepository<LimitUsage, LimitUsage.Key> {
+
+    List<LimitUsage> findByAccountIdOrderByPeriodStartAsc(Long accountId);
+}
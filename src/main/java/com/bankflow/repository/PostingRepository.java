@@ -0,0 +1,68 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.Posting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostingRepository extends JpaRepository<Posting, Long> {
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN p.direction = com.bankflow.model.enums.PostingDirection.CREDIT THEN p.amount ELSE -p.amount END), 0) " +
+            "FROM Posting p WHERE p.accountId = :accountId AND p.id > :afterId")
+    BigDecimal sumAfter(@Param("accountId") Long accountId, @Param("afterId") Long afterId);
+
+    @Query("SELECT MAX(p.id) FROM Posting p WHERE p.accountId = :accountId")
+    Optional<Long> findLastIdByAccountId(@Param("accountId") Long accountId);
+
+    @Query("SELECT MAX(p.id) FROM Posting p, Account a WHERE a.accountNumber = :accountNumber AND p.accountId = a.id")
+    Optional<Long> findLastIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Books a debit only if the account's balance covers it, evaluated in the same statement.
+     * Callers hold the account row lock so concurrent debits cannot both pass the guard.
+     *
+     * @return 1 if the posting was inserted, 0 if funds were insufficient
+     */
+    @Modifying
+    @Query(value = "INSERT INTO postings (id, transaction_id, account_id, direction, amount, created_at) " +
+            "SELECT nextval('postings_id_seq'), :transactionId, :accountId, 'DEBIT', :amount, :createdAt " +
+            "WHERE :opening + (SELECT COALESCE(SUM(CASE WHEN p.direction = 'CREDIT' THEN p.amount ELSE -p.amount END), 0) " +
+            "FROM postings p WHERE p.account_id = :accountId AND p.id > :afterId) >= :amount",
+            nativeQuery = true)
+    int insertDebitIfCovered(@Param("transactionId") Long transactionId,
+                             @Param("accountId") Long accountId,
+                             @Param("amount") BigDecimal amount,
+                             @Param("opening") BigDecimal opening,
+                             @Param("afterId") Long afterId,
+                             @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Highest posting id booked before the cutoff; postings up to it are assumed committed.
+     */
+    @Query("SELECT MAX(p.id) FROM Posting p WHERE p.createdAt < :cutoff")
+    Optional<Long> findWatermark(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT p.accountId AS accountId, " +
+            "SUM(CASE WHEN p.direction = com.bankflow.model.enums.PostingDirection.CREDIT THEN p.amount ELSE -p.amount END) AS amount, " +
+            "MAX(p.id) AS lastPostingId " +
+            "FROM Posting p LEFT JOIN BalanceCheckpoint c ON c.accountId = p.accountId " +
+            "WHERE p.accountId IS NOT NULL AND p.id <= :watermark AND p.id > COALESCE(c.lastPostingId, 0) " +
+            "GROUP BY p.accountId")
+    List<PostingTotal> findTotalsSinceCheckpoint(@Param("watermark") Long watermark);
+
+    interface PostingTotal {
+        Long getAccountId();
+
+        BigDecimal getAmount();
+
+        Long getLastPostingId();
+    }
+}
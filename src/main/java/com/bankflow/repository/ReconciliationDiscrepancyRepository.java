@@ -0,0 +1,14 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.ReconciliationDiscrepancy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReconciliationDiscrepancyRepository extends JpaRepository<ReconciliationDiscrepancy, Long> {
+
+    List<ReconciliationDiscrepancy> findByRunIdOrderByAccountIdAsc(Long runId, Limit limit);
+}
@@ -0,0 +1,16 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.ReconciliationRun;
+import com.bankflow.model.enums.ReconciliationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    Optional<ReconciliationRun> findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus status);
+
+    Optional<ReconciliationRun> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,38 @@
+package com.bankflow.repository;
+
+import com.bankflow.model.ScheduledTransfer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount"})
+    List<ScheduledTransfer> findByCustomerIdOrderByIdAsc(Long customerId);
+
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount"})
+    Optional<ScheduledTransfer> findByIdAndCustomerId(Long id, Long customerId);
+
+    /**
+     * Oldest due, unclaimed active orders. Rows locked by another instance's claim are skipped
+     * (lock timeout -2 is {@code SKIP LOCKED}), so instances claim disjoint batches off the
+     * {@code next_run_at} index instead of queueing behind each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.status = com.bankflow.model.enums.ScheduledTransferStatus.ACTIVE " +
+            "AND s.nextRunAt <= :now AND (s.claimedUntil IS NULL OR s.claimedUntil < :now) ORDER BY s.nextRunAt")
+    List<ScheduledTransfer> findDueForUpdate(@Param("now") LocalDateTime now, Limit limit);
+}
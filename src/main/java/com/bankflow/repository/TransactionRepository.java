@@ -1,10 +1,16 @@
 package com.bankflow.repository;
 
 import com.bankflow.model.TransactionRecord;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<TransactionRecord, Long> {
@@ -12,5 +18,27 @@ public interface TransactionRepository extends JpaRepository<TransactionRecord,
     List<TransactionRecord> findByFromAccountIdOrToAccountIdOrderByTimestampDesc(Long fromAccountId, Long toAccountId);
 
     List<TransactionRecord> findByFromAccountIdOrderByTimestampDesc(Long fromAccountId);
-}
 
+    @Query("SELECT t FROM TransactionRecord t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
+            "AND t.createdAt >= :since ORDER BY t.id")
+    List<TransactionRecord> findCreatedSince(@Param("accountId") Long accountId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT t.id AS id, t.fromAccount.id AS fromAccountId, t.toAccount.id AS toAccountId FROM TransactionRecord t " +
+            "WHERE (t.fromAccount.id IN :accountIds OR t.toAccount.id IN :accountIds) AND t.createdAt >= :since")
+    List<TransactionAccounts> findAccountsCreatedSince(@Param("accountIds") Collection<Long> accountIds, @Param("since") LocalDateTime since);
+
+    @Query("SELECT t FROM TransactionRecord t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
+            "AND t.id > :afterId ORDER BY t.id")
+    List<TransactionRecord> findAfter(@Param("accountId") Long accountId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT MAX(t.id) FROM TransactionRecord t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId")
+    Optional<Long> findLastIdByAccountId(@Param("accountId") Long accountId);
+
+    interface TransactionAccounts {
+        Long getId();
+
+        Long getFromAccountId();
+
+        Long getToAccountId();
+    }
+}
@@ -0,0 +1,107 @@
+package com.bankflow.security;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * gRPC counterpart of {@link JwtAuthenticationFilter}: takes the bearer token from the
+ * {@code authorization} metadata entry, closes calls without a valid one as UNAUTHENTICATED, and
+ * holds the caller's authentication in the security context while the call's callbacks run.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JwtServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> AUTHORIZATION = Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final JwtTokenProvider tokenProvider;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String jwt = getJwtFromMetadata(headers);
+        if (!StringUtils.hasText(jwt) || !tokenProvider.validateToken(jwt)) {
+            log.warn("AUDIT: gRPC call rejected without a valid token - Method: {}", call.getMethodDescriptor().getFullMethodName());
+            call.close(Status.UNAUTHENTICATED.withDescription("A valid bearer token is required"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        Authentication authentication = tokenProvider.getAuthentication(jwt);
+        return new AuthenticatedListener<>(runAs(authentication, () -> next.startCall(call, headers)), authentication);
+    }
+
+    private static String getJwtFromMetadata(Metadata headers) {
+        String bearerToken = headers.get(AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+
+    private static <T> T runAs(Authentication authentication, Supplier<T> action) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private static final class AuthenticatedListener<ReqT> extends ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT> {
+
+        private final Authentication authentication;
+
+        AuthenticatedListener(ServerCall.Listener<ReqT> delegate, Authentication authentication) {
+            super(delegate);
+            this.authentication = authentication;
+        }
+
+        private void run(Runnable callback) {
+            runAs(authentication, () -> {
+                callback.run();
+                return null;
+            });
+        }
+
+        @Override
+        public void onMessage(ReqT message) {
+            run(() -> super.onMessage(message));
+        }
+
+        @Override
+        public void onHalfClose() {
+            run(super::onHalfClose);
+        }
+
+        @Override
+        public void onCancel() {
+            run(super::onCancel);
+        }
+
+        @Override
+        public void onComplete() {
+            run(super::onComplete);
+        }
+
+        @Override
+        public void onReady() {
+            run(super::onReady);
+        }
+    }
+}
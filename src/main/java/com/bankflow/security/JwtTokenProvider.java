@@ -6,13 +6,17 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -68,4 +72,20 @@ public class JwtTokenProvider {
             return "";
         }
     }
+
+    /**
+     * The authentication a validated token stands for, as used by both the HTTP filter and the gRPC interceptor.
+     */
+    public Authentication getAuthentication(String token) {
+        String username = getUsernameFromToken(token);
+        String roles = getRolesFromToken(token);
+
+        List<SimpleGrantedAuthority> authorities = Arrays.stream(roles.split(","))
+                .filter(role -> !role.isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+
+        log.debug("AUDIT: JWT Token validated for user: {} with roles: {}", username, roles);
+        return new UsernamePasswordAuthenticationToken(username, null, authorities);
+    }
 }
@@ -0,0 +1,86 @@
+package com.bankflow.security;
+
+import com.bankflow.config.security.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-user and per-IP rate limiting of REST requests through the shared {@link RateLimiter}. Runs
+ * ahead of {@link JwtAuthenticationFilter} so throttled requests never reach token validation or the
+ * database. Behind proxies the client IP is read from the {@code X-Forwarded-For} entries the
+ * trusted proxies appended.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final RateLimiter rateLimiter;
+    private final int trustedProxies;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        if (properties.getTrustedProxies() < 0) {
+            throw new IllegalArgumentException("Rate limit trusted-proxies must not be negative");
+        }
+        this.trustedProxies = properties.getTrustedProxies();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimiter.Group group = rateLimiter.forPath(path);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryConsume(group, request.getHeader(HttpHeaders.AUTHORIZATION), () -> clientAddress(request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = RateLimiter.retryAfterSeconds(waitNanos);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Too Many Requests\", \"message\": \"Rate limit exceeded, retry after "
+                    + retryAfterSeconds + " second(s)\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The address the last trusted proxy was connected from, or the connection's own address when
+     * no proxy is trusted or the header has fewer entries than there are proxies.
+     */
+    private String clientAddress(HttpServletRequest request) {
+        if (trustedProxies == 0) {
+            return request.getRemoteAddr();
+        }
+        List<String> forwarded = new ArrayList<>();
+        for (String header : Collections.list(request.getHeaders(X_FORWARDED_FOR))) {
+            for (String entry : header.split(",")) {
+                if (StringUtils.hasText(entry)) {
+                    forwarded.add(entry.trim());
+                }
+            }
+        }
+        return forwarded.size() >= trustedProxies ? forwarded.get(forwarded.size() - trustedProxies) : request.getRemoteAddr();
+    }
+}
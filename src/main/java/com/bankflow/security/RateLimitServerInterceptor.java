@@ -0,0 +1,83 @@
+package com.bankflow.security;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * gRPC counterpart of {@link RateLimitFilter}, drawing from the same {@link RateLimiter} buckets.
+ * Runs ahead of {@link JwtServerInterceptor}. Every request message takes a token; once the bucket
+ * is empty the call closes as RESOURCE_EXHAUSTED with a {@code retry-after} entry in seconds, and
+ * messages already handled stay handled.
+ */
+@RequiredArgsConstructor
+public class RateLimitServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> RETRY_AFTER = Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        RateLimiter.Group group = rateLimiter.isEnabled()
+                ? rateLimiter.forGrpcMethod(call.getMethodDescriptor().getFullMethodName())
+                : null;
+        if (group == null) {
+            return next.startCall(call, headers);
+        }
+        String bearerToken = headers.get(JwtServerInterceptor.AUTHORIZATION);
+        String clientAddress = clientAddress(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR));
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+            private boolean closed;
+
+            @Override
+            public void onMessage(ReqT message) {
+                if (closed) {
+                    return;
+                }
+                long waitNanos = rateLimiter.tryConsume(group, bearerToken, () -> clientAddress);
+                if (waitNanos > 0) {
+                    closed = true;
+                    long retryAfterSeconds = RateLimiter.retryAfterSeconds(waitNanos);
+                    Metadata trailers = new Metadata();
+                    trailers.put(RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                    call.close(Status.RESOURCE_EXHAUSTED.withDescription(
+                            "Rate limit exceeded, retry after " + retryAfterSeconds + " second(s)"), trailers);
+                    return;
+                }
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onHalfClose() {
+                if (!closed) {
+                    super.onHalfClose();
+                }
+            }
+
+            @Override
+            public void onReady() {
+                if (!closed) {
+                    super.onReady();
+                }
+            }
+        };
+    }
+
+    private static String clientAddress(SocketAddress address) {
+        if (address instanceof InetSocketAddress inet && inet.getAddress() != null) {
+            return inet.getAddress().getHostAddress();
+        }
+        return String.valueOf(address);
+    }
+}
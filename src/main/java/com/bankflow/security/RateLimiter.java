@@ -0,0 +1,133 @@
+package com.bankflow.security;
+
+import com.bankflow.config.security.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The route groups and token buckets behind {@link RateLimitFilter} and {@link RateLimitServerInterceptor}.
+ * Both transports draw from the same buckets, so a user's REST and gRPC calls share one budget per group.
+ * Buckets are kept in a bounded map whose idle entries expire.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private final JwtTokenProvider tokenProvider;
+    private final boolean enabled;
+    private final List<Group> groups;
+    private final Cache<String, TokenBucket> buckets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimiter(RateLimitProperties properties, JwtTokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+        this.enabled = properties.isEnabled();
+        this.groups = properties.getGroups().entrySet().stream()
+                .map(entry -> new Group(entry.getKey(), entry.getValue()))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+        log.info("Rate limiting {} with {} route group(s)", enabled ? "enabled" : "disabled", groups.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the first group with a pattern matching the path, or {@code null} when the path is not limited
+     */
+    public Group forPath(String path) {
+        for (Group group : groups) {
+            for (String pattern : group.paths) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the first group with a pattern matching the full method name, or {@code null} when the method is not limited
+     */
+    public Group forGrpcMethod(String fullMethodName) {
+        for (Group group : groups) {
+            for (String pattern : group.grpcMethods) {
+                if (pathMatcher.match(pattern, fullMethodName)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes one token from the caller's bucket in the group. USER groups key by the bearer token's
+     * username and fall back to the client address for anonymous callers and invalid tokens, which
+     * are rejected later by authentication.
+     *
+     * @return {@code 0} if the call is allowed, otherwise the nanoseconds to wait before a token is available
+     */
+    public long tryConsume(Group group, String bearerToken, Supplier<String> clientAddress) {
+        String key = group.name + '|' + clientKey(group, bearerToken, clientAddress);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(group.capacity, group.refillPeriod, now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            log.warn("AUDIT: Rate limit exceeded - Group: {}, Key: {}, Retry-After: {}s", group.name, key, retryAfterSeconds(waitNanos));
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Whole seconds to wait, rounded up and at least one.
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private String clientKey(Group group, String bearerToken, Supplier<String> clientAddress) {
+        if (group.keyType == RateLimitProperties.KeyType.USER
+                && StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            try {
+                return "user:" + tokenProvider.getUsernameFromToken(bearerToken.substring(7));
+            } catch (JwtException | IllegalArgumentException ex) {
+                // Throttled by address until authentication rejects the token
+            }
+        }
+        return "ip:" + clientAddress.get();
+    }
+
+    public static final class Group {
+        private final String name;
+        private final List<String> paths;
+        private final List<String> grpcMethods;
+        private final RateLimitProperties.KeyType keyType;
+        private final long capacity;
+        private final Duration refillPeriod;
+
+        private Group(String name, RateLimitProperties.Group group) {
+            this.name = name;
+            this.paths = List.copyOf(group.getPaths());
+            this.grpcMethods = List.copyOf(group.getGrpcMethods());
+            this.keyType = group.getKey();
+            this.capacity = group.getCapacity();
+            this.refillPeriod = group.getRefillPeriod();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
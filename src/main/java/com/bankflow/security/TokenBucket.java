@@ -0,0 +1,47 @@
+package com.bankflow.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the
+ * whole bucket state is a single "theoretical arrival time" updated with CAS,
+ * so concurrent requests for the same key never block each other.
+ * <p>
+ * A bucket allows bursts of {@code capacity} requests and then one request per
+ * {@code refillPeriod / capacity}.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(long capacity, Duration refillPeriod, long nowNanos) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1L, refillPeriod.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Attempts to take one token.
+     *
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds to wait before a token is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrivalNanos.get();
+            long next = (arrival - nowNanos > 0 ? arrival : nowNanos) + emissionIntervalNanos;
+            long wait = next - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, next)) {
+                return 0L;
+            }
+        }
+    }
+}
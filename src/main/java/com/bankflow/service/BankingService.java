@@ -15,12 +15,16 @@ public interface BankingService {
 
     Customer getCustomerByUsername(String username);
 
+    String getCustomerETag(String username);
+
     Account createAccount(String username, BigDecimal initialDeposit);
 
     void getAccount(Long accountId);
 
     Account getAccountByNumber(String accountNumber);
 
+    String getAccountETag(String accountNumber);
+
     List<Account> getCustomerAccountsByUsername(String username);
 
     TransactionRecord deposit(Long accountId, BigDecimal amount);
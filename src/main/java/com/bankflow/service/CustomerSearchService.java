@@ -0,0 +1,99 @@
+package com.bankflow.service;
+
+import com.bankflow.dto.CustomerSearchResponse;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.model.Customer;
+import com.bankflow.repository.CustomerRepository;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Back-office customer search across full name, email, phone number and account numbers.
+ * <p>
+ * Each field is matched in its own branch so every branch can use its own index: names and emails
+ * match anywhere (trigram indexes), phone and account numbers by prefix. Results are ordered by
+ * customer id and paged by keyset, so a page costs the same however deep it is.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerSearchService {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+    public static final int MAX_LIMIT = 100;
+
+    // Each branch is limited on its own so a common term cannot make the union large
+    private static final String SEARCH_SQL = """
+            SELECT id FROM (
+                (SELECT c.id FROM customers c JOIN users u ON u.id = c.user_id
+                 WHERE LOWER(u.full_name) LIKE ? AND c.id > ? ORDER BY c.id LIMIT ?)
+                UNION
+                (SELECT c.id FROM customers c JOIN users u ON u.id = c.user_id
+                 WHERE LOWER(u.email) LIKE ? AND c.id > ? ORDER BY c.id LIMIT ?)
+                UNION
+                (SELECT c.id FROM customers c
+                 WHERE c.phone_number LIKE ? AND c.id > ? ORDER BY c.id LIMIT ?)
+                UNION
+                (SELECT a.customer_id FROM accounts a
+                 WHERE a.account_number LIKE ? AND a.customer_id > ? ORDER BY a.customer_id LIMIT ?)
+            ) matches ORDER BY id LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerRepository customerRepository;
+
+    /**
+     * Finds customers matching {@code query}, ordered by id.
+     *
+     * @param after the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit page size, at most {@link #MAX_LIMIT}
+     */
+    @CircuitBreaker(name = "database")
+    @Transactional(readOnly = true)
+    public CustomerSearchResponse search(String query, Long after, int limit) {
+        String term = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_QUERY_LENGTH) {
+            throw new BadRequestException("q", query, "Search term must have at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit", String.valueOf(limit), "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        log.info("AUDIT: Customer search - Term: {}, After: {}, Limit: {}", term, after, limit);
+
+        String escaped = escapeLike(term);
+        String contains = "%" + escaped + "%";
+        String prefix = escaped + "%";
+        long afterId = after != null ? after : 0L;
+        // One extra row tells whether there is a next page
+        int fetch = limit + 1;
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_SQL, Long.class,
+                contains, afterId, fetch,
+                contains, afterId, fetch,
+                prefix, afterId, fetch,
+                prefix, afterId, fetch,
+                fetch);
+
+        boolean hasMore = ids.size() > limit;
+        List<Long> pageIds = hasMore ? ids.subList(0, limit) : ids;
+        List<Customer> customers = customerRepository.findAllById(pageIds).stream()
+                .sorted(Comparator.comparing(Customer::getId))
+                .toList();
+
+        return CustomerSearchResponse.builder()
+                .customers(customers.stream().map(Customer::mapToResponse).toList())
+                .nextCursor(hasMore ? pageIds.get(pageIds.size() - 1) : null)
+                .build();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
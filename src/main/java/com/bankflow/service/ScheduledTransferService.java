@@ -0,0 +1,19 @@
+package com.bankflow.service;
+
+import com.bankflow.dto.ScheduledTransferRequest;
+import com.bankflow.dto.UpdateScheduledTransferRequest;
+import com.bankflow.model.ScheduledTransfer;
+
+import java.util.List;
+
+public interface ScheduledTransferService {
+    ScheduledTransfer createScheduledTransfer(String username, ScheduledTransferRequest request);
+
+    List<ScheduledTransfer> getScheduledTransfers(String username);
+
+    ScheduledTransfer getScheduledTransfer(String username, Long scheduledTransferId);
+
+    ScheduledTransfer updateScheduledTransfer(String username, Long scheduledTransferId, UpdateScheduledTransferRequest request);
+
+    void cancelScheduledTransfer(String username, Long scheduledTransferId);
+}
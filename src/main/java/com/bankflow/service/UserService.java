@@ -6,25 +6,51 @@ import com.bankflow.model.Customer;
 import com.bankflow.model.User;
 import com.bankflow.repository.CustomerRepository;
 import com.bankflow.repository.UserRepository;
+import com.bankflow.service.bloom.KeyFilters;
+import com.bankflow.service.invalidation.InvalidationBus;
+import com.bankflow.service.invalidation.InvalidationKind;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    private static final Pattern USERNAME = Pattern.compile("^[a-zA-Z0-9_-]{3,50}$");
+
     private final JdbcTemplate jdbcTemplate;
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
+    private final KeyFilters keyFilters;
+    private final InvalidationBus invalidationBus;
+    private final AuthenticationManager authenticationManager;
+
+    /**
+     * Checks the username and password. Runs in the {@code auth} bulkhead with signup, since BCrypt
+     * makes both CPU-bound.
+     */
+    @Bulkhead(name = "auth")
+    @CircuitBreaker(name = "database")
+    public Authentication authenticate(String username, String password) {
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+    }
 
+    @Bulkhead(name = "auth")
+    @CircuitBreaker(name = "database")
     @Transactional
     public void registerUser(SignupRequest signupRequest) {
         String username = signupRequest.getUsername();
@@ -33,15 +59,33 @@ public class UserService {
         validateUserUniqueness(username, email);
         Customer customer = createCustomerWithUser(signupRequest);
         Customer savedCustomer = customerRepository.saveAndFlush(customer);
+        keyFilters.usernames().add(username);
+        invalidationBus.publish(InvalidationKind.USERNAME, username);
         assignCustomerRole(savedCustomer.getUser().getUsername());
         log.info("AUDIT: User and Customer registered successfully - Username: {}", savedCustomer.getUser().getUsername());
     }
 
+    /**
+     * Whether {@code username} is free to sign up with. Most names asked about are free, and the
+     * filter answers those without a query.
+     */
+    @Bulkhead(name = "auth")
+    @CircuitBreaker(name = "database")
+    @Transactional(readOnly = true)
+    public boolean isUsernameAvailable(String username) {
+        if (username == null || !USERNAME.matcher(username).matches()) {
+            throw new BadRequestException("username", String.valueOf(username),
+                    "Must be 3-50 letters, numbers, underscores or hyphens");
+        }
+        return !keyFilters.usernames().mightExist(username) || !userRepository.existsByUsername(username);
+    }
+
     private void validateUserUniqueness(String username, String email) {
-        if (userRepository.existsByUsername(username)) {
+        if (keyFilters.usernames().mightExist(username) && userRepository.existsByUsername(username)) {
             log.warn("AUDIT: Registration failed - Username already exists: {}", username);
             throw new BadRequestException("username", username, "Username already exists");
         }
+        // Emails change in place, so no filter can rule one out
         if (userRepository.existsByEmail(email)) {
             log.warn("AUDIT: Registration failed - Email already exists: {}", email);
             throw new BadRequestException("email", email, "Email already exists");
@@ -0,0 +1,134 @@
+package com.bankflow.service.batch;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Cuts the account id space into fixed ranges aligned to multiples of the range size and processes
+ * them in parallel on a fork-join pool. Jobs that checkpoint ranges use {@link #remaining}, which
+ * cuts only the ids no checkpoint covers, so a repeated run skips finished work even if the range
+ * size has changed since.
+ */
+public final class AccountIdRanges {
+
+    private AccountIdRanges() {
+    }
+
+    /**
+     * @param firstId first account id in the range
+     * @param endId   first account id after the range
+     */
+    public record Range(long firstId, long endId) {
+
+        public long lastId() {
+            return endId - 1;
+        }
+    }
+
+    public static List<Range> of(JdbcTemplate jdbcTemplate, long size) {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM accounts", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM accounts", Long.class);
+        return of(minId, maxId, size);
+    }
+
+    public static List<Range> of(Long minId, Long maxId, long size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Range size must be positive");
+        }
+        List<Range> ranges = new ArrayList<>();
+        if (minId == null || maxId == null) {
+            return ranges;
+        }
+        for (long start = Math.floorDiv(minId, size) * size; start <= maxId; start += size) {
+            ranges.add(new Range(start, start + size));
+        }
+        return ranges;
+    }
+
+    public static List<Range> remaining(JdbcTemplate jdbcTemplate, long size, Collection<Range> done) {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM accounts", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM accounts", Long.class);
+        return remaining(minId, maxId, size, done);
+    }
+
+    /**
+     * Ranges over the ids from {@code minId} to {@code maxId} that no range in {@code done} covers.
+     * Each gap is cut at multiples of {@code size} and clipped to the gap, so no range extends past
+     * the ids that existed when it was cut.
+     */
+    public static List<Range> remaining(Long minId, Long maxId, long size, Collection<Range> done) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Range size must be positive");
+        }
+        List<Range> ranges = new ArrayList<>();
+        if (minId == null || maxId == null) {
+            return ranges;
+        }
+        long next = minId;
+        for (Range covered : done.stream().sorted(Comparator.comparingLong(Range::firstId)).toList()) {
+            cut(ranges, next, Math.min(covered.firstId(), maxId + 1), size);
+            next = Math.max(next, covered.endId());
+        }
+        cut(ranges, next, maxId + 1, size);
+        return ranges;
+    }
+
+    private static void cut(List<Range> ranges, long from, long to, long size) {
+        for (long start = from; start < to; ) {
+            long end = Math.min(Math.floorDiv(start, size) * size + size, to);
+            ranges.add(new Range(start, end));
+            start = end;
+        }
+    }
+
+    /**
+     * Runs {@code action} for every range on a dedicated pool of {@code parallelism} threads and
+     * waits for all of them. The action is expected to handle its own failures.
+     */
+    public static void forEachParallel(List<Range> ranges, int parallelism, Consumer<Range> action) {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RangeTask(ranges, 0, ranges.size(), action));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Splits {@code ranges[from, to)} in halves until each task owns one range.
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private final List<Range> ranges;
+        private final int from;
+        private final int to;
+        private final Consumer<Range> action;
+
+        private RangeTask(List<Range> ranges, int from, int to, Consumer<Range> action) {
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(ranges, from, middle, action), new RangeTask(ranges, middle, to, action));
+            } else {
+                action.accept(ranges.get(from));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bankflow.service.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Lets only one instance run a scheduled job at a time. The job runs while a dedicated connection
+ * holds the PostgreSQL session advisory lock named after it; an instance that cannot take the lock
+ * skips the run. If that connection is lost the lock is released with the session. Other databases
+ * have no advisory locks, so there the job simply runs.
+ */
+@Slf4j
+public final class JobLock {
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(hashtext(?))";
+
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext(?))";
+
+    private JobLock() {
+    }
+
+    /**
+     * @return {@code true} if {@code job} ran, {@code false} if another session holds the lock
+     */
+    public static boolean runExclusively(JdbcTemplate jdbcTemplate, String name, Runnable job) {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                job.run();
+                return true;
+            }
+            if (!call(connection, TRY_LOCK_SQL, name)) {
+                log.info("Skipping job, another instance holds its lock - Job: {}", name);
+                return false;
+            }
+            try {
+                job.run();
+            } finally {
+                if (!call(connection, UNLOCK_SQL, name)) {
+                    log.warn("Job lock was not held on release - Job: {}", name);
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private static boolean call(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.bankflow.service.bloom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * A {@link ScalableBloomFilter} over one unique column, answering "definitely not stored" without
+ * a query. Until it has loaded the column it answers {@code true} for every key, so callers query
+ * as they would without it.
+ * <p>
+ * Keys inserted by this instance are added directly. Rows inserted by other instances are read by
+ * id, from a little below the highest id seen: a miss older than {@code max-staleness} since the
+ * last such read triggers one before it is trusted.
+ */
+@Slf4j
+public class KeyFilter {
+
+    private final String name;
+    private final String countSql;
+    private final String loadSql;
+    private final String catchUpSql;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final KeyFilterProperties properties;
+    private final long maxStalenessNanos;
+    private volatile ScalableBloomFilter filter;
+    private volatile ScalableBloomFilter loading;
+    private volatile boolean loaded;
+    private volatile long caughtUpAt;
+    private long highestId;
+
+    KeyFilter(String table, String column, JdbcTemplate jdbcTemplate, TransactionTemplate readOnlyTransaction,
+              KeyFilterProperties properties) {
+        this.name = table + "." + column;
+        this.countSql = "SELECT COUNT(*) FROM " + table;
+        this.loadSql = "SELECT id, " + column + " FROM " + table;
+        this.catchUpSql = "SELECT id, " + column + " FROM " + table + " WHERE id > ?";
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.properties = properties;
+        this.maxStalenessNanos = properties.getMaxStaleness().toNanos();
+    }
+
+    /**
+     * @return {@code false} only if no row has this key
+     */
+    public boolean mightExist(String key) {
+        ScalableBloomFilter current = filter;
+        if (!loaded || key == null || current.mightContain(key)) {
+            return true;
+        }
+        if (System.nanoTime() - caughtUpAt > maxStalenessNanos) {
+            catchUp();
+            return current.mightContain(key);
+        }
+        return false;
+    }
+
+    /**
+     * Records a key inserted by this instance; call before its transaction commits.
+     */
+    public void add(String key) {
+        if (key == null) {
+            return;
+        }
+        // Read before the published filter: load() publishes first and clears this after
+        ScalableBloomFilter next = loading;
+        ScalableBloomFilter current = filter;
+        if (next != null) {
+            next.put(key);
+        }
+        if (current != null) {
+            current.put(key);
+        }
+    }
+
+    /**
+     * Makes the next miss read rows inserted elsewhere before it is trusted.
+     */
+    void expire() {
+        caughtUpAt = System.nanoTime() - maxStalenessNanos - 1;
+    }
+
+    /**
+     * Streams the column into a new filter and starts answering misses from it once it is complete;
+     * until then a reload keeps answering from the previous filter. Keys added meanwhile go into
+     * both.
+     */
+    synchronized void load() {
+        long started = System.nanoTime();
+        Long rows = jdbcTemplate.queryForObject(countSql, Long.class);
+        ScalableBloomFilter next = new ScalableBloomFilter(Math.max(properties.getExpectedKeys(), 2 * (rows != null ? rows : 0)),
+                properties.getFalsePositiveRate());
+        loading = next;
+        long[] highest = {0};
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(loadSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.getFetchSize());
+            return statement;
+        }, rs -> {
+            highest[0] = Math.max(highest[0], rs.getLong(1));
+            next.put(rs.getString(2));
+        }));
+        highestId = highest[0];
+        // Rows committed by other instances while the column was streamed
+        catchUp(next, properties.getIdOverlap());
+        filter = next;
+        loading = null;
+        loaded = true;
+        log.info("Key filter loaded - Column: {}, Keys: {}, Bits: {}, Duration: {} ms",
+                name, next.size(), next.bits(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private synchronized void catchUp() {
+        if (System.nanoTime() - caughtUpAt > maxStalenessNanos) {
+            catchUp(filter, properties.getIdOverlap());
+        }
+    }
+
+    private synchronized void catchUp(ScalableBloomFilter current, long overlap) {
+        long now = System.nanoTime();
+        long[] highest = {highestId};
+        jdbcTemplate.query(catchUpSql, rs -> {
+            highest[0] = Math.max(highest[0], rs.getLong(1));
+            current.put(rs.getString(2));
+        }, Math.max(0, highestId - overlap));
+        highestId = highest[0];
+        caughtUpAt = now;
+    }
+
+    public Stats stats() {
+        ScalableBloomFilter current = filter;
+        return current == null ? new Stats(name, false, 0, 0, 0)
+                : new Stats(name, loaded, current.size(), current.bits(), current.stageCount());
+    }
+
+    /**
+     * @param column column the filter covers
+     * @param loaded whether misses are answered from the filter
+     * @param keys   keys in the filter
+     * @param bits   memory used, in bits
+     * @param stages stages added so far
+     */
+    public record Stats(String column, boolean loaded, long keys, long bits, int stages) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.bankflow.service.bloom;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the Bloom filters over account numbers and usernames.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.key-filters")
+public class KeyFilterProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Keys the first stage of each filter is sized for; it is never smaller than twice the rows loaded at startup.
+     */
+    private long expectedKeys = 1_000_000;
+
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * A miss is only trusted if the filter has read rows inserted by other instances this recently;
+     * otherwise it reads them first.
+     */
+    private Duration maxStaleness = Duration.ofSeconds(1);
+
+    /**
+     * Ids below the highest one seen that are read again on catch-up, for rows whose transaction
+     * committed after a later id's.
+     */
+    private long idOverlap = 1_000;
+
+    /**
+     * Rows fetched per round trip while loading at startup.
+     */
+    private int fetchSize = 10_000;
+}
@@ -0,0 +1,110 @@
+package com.bankflow.service.bloom;
+
+import com.bankflow.service.invalidation.InvalidationKind;
+import com.bankflow.service.invalidation.InvalidationListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bloom filters over the unique keys that are mostly looked up to find they do not exist: account
+ * numbers while generating one or when probed, and usernames on signup. Only columns that never
+ * change once a row is inserted are covered, since rows inserted elsewhere are found by id; emails
+ * can be updated in place, so they are always checked against the database. The columns
+ * are loaded on a background thread once the context has started, and until then every lookup
+ * queries as it would without the filters; keys inserted on other instances arrive as invalidations.
+ */
+@Slf4j
+public class KeyFilters implements SmartLifecycle, InvalidationListener {
+
+    private final boolean enabled;
+    private final KeyFilter accountNumbers;
+    private final KeyFilter usernames;
+    private Thread loader;
+
+    public KeyFilters(KeyFilterProperties properties, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        if (properties.getExpectedKeys() < 1 || properties.getFetchSize() < 1 || properties.getIdOverlap() < 0) {
+            throw new IllegalArgumentException("Key filter expected-keys and fetch-size must be positive and id-overlap not negative");
+        }
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        this.enabled = properties.isEnabled();
+        this.accountNumbers = new KeyFilter("accounts", "account_number", jdbcTemplate, readOnlyTransaction, properties);
+        this.usernames = new KeyFilter("users", "username", jdbcTemplate, readOnlyTransaction, properties);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || loader != null) {
+            return;
+        }
+        loader = new Thread(() -> {
+            try {
+                load();
+            } catch (RuntimeException ex) {
+                log.warn("Key filters not loaded, lookups keep querying - Error: {}", ex.getMessage());
+            }
+        }, "key-filters-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (loader != null) {
+            loader.interrupt();
+            loader = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return loader != null;
+    }
+
+    /**
+     * Loads every filter from its column again.
+     */
+    public void load() {
+        accountNumbers.load();
+        usernames.load();
+    }
+
+    @Override
+    public void invalidate(InvalidationKind kind, Collection<String> keys) {
+        KeyFilter filter = switch (kind) {
+            case ACCOUNT_NUMBER -> accountNumbers;
+            case USERNAME -> usernames;
+            case ACCOUNT -> null;
+        };
+        if (filter != null) {
+            keys.forEach(filter::add);
+        }
+    }
+
+    /**
+     * Keys from other instances may have been missed, so the next miss on each filter reads them first.
+     */
+    @Override
+    public void invalidateAll() {
+        accountNumbers.expire();
+        usernames.expire();
+    }
+
+    public KeyFilter accountNumbers() {
+        return accountNumbers;
+    }
+
+    public KeyFilter usernames() {
+        return usernames;
+    }
+
+    public List<KeyFilter.Stats> stats() {
+        return List.of(accountNumbers.stats(), usernames.stats());
+    }
+}
@@ -0,0 +1,159 @@
+package com.bankflow.service.bloom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter that never fills up: when the current stage holds its planned number of keys, a
+ * stage twice as large with half the false positive rate is added, so the combined rate stays
+ * under the configured one however many keys arrive. Keys are never removed.
+ * <p>
+ * Thread-safe without locks on the read and insert paths; bits are set atomically and only adding
+ * a stage synchronizes.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private volatile List<Stage> stages;
+
+    /**
+     * @param expectedKeys      keys the first stage is sized for
+     * @param falsePositiveRate upper bound on the rate of {@link #mightContain} answering {@code true} for an absent key
+     */
+    public ScalableBloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs expectedKeys >= 1 and 0 < falsePositiveRate < 1");
+        }
+        // Stage rates p(1-r), p(1-r)r, p(1-r)r^2... sum to at most p
+        this.stages = List.of(new Stage(expectedKeys, falsePositiveRate * (1 - TIGHTENING)));
+    }
+
+    /**
+     * @return {@code false} if the key was never added; {@code true} if it probably was
+     */
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        List<Stage> current = stages;
+        for (Stage stage : current) {
+            if (stage.mightContain(h1, h2)) {
+                return;
+            }
+        }
+        Stage last = current.get(current.size() - 1);
+        if (last.keys.get() >= last.capacity) {
+            last = addStage(last);
+        }
+        last.put(h1, h2);
+    }
+
+    /**
+     * Keys added, not counting those the filter already appeared to contain.
+     */
+    public long size() {
+        long keys = 0;
+        for (Stage stage : stages) {
+            keys += stage.keys.get();
+        }
+        return keys;
+    }
+
+    public long bits() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.bits;
+        }
+        return bits;
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    private synchronized Stage addStage(Stage full) {
+        List<Stage> current = stages;
+        Stage last = current.get(current.size() - 1);
+        if (last != full) {
+            return last;
+        }
+        Stage next = new Stage(full.capacity * GROWTH, full.falsePositiveRate * TIGHTENING);
+        List<Stage> grown = new ArrayList<>(current);
+        grown.add(next);
+        stages = List.copyOf(grown);
+        return next;
+    }
+
+    private static long hash(String key) {
+        // FNV-1a over the UTF-16 chars, then a finalizer so both halves of the word are mixed
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static final class Stage {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong keys = new AtomicLong();
+
+        private Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = Math.max(64, (optimalBits + 63) & ~63L);
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+            this.words = new AtomicLongArray(Math.toIntExact(bits >>> 6));
+        }
+
+        boolean mightContain(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(combined, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+
+        void put(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(combined, bits);
+                long mask = 1L << bit;
+                words.getAndAccumulate((int) (bit >>> 6), mask, (word, set) -> word | set);
+                combined += h2;
+            }
+            keys.incrementAndGet();
+        }
+    }
+}
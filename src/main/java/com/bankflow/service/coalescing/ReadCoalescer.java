@@ -0,0 +1,169 @@
+package com.bankflow.service.coalescing;
+
+import com.bankflow.service.invalidation.InvalidationKind;
+import com.bankflow.service.invalidation.InvalidationListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight for account reads: concurrent identical reads share one query and its result
+ * instead of each running it. Nothing is kept once the query returns, so the coalescing window
+ * is the query itself.
+ * <p>
+ * Writes record a sequence number against the accounts they touched once they complete, as
+ * {@link InvalidationKind#ACCOUNT} invalidations; balance changes are only announced on the
+ * instance that made them. A caller that joined a query started before a write to the account it
+ * returned, and arrived after that write completed, does not take the shared result and reads
+ * again. Reads inside a read-write transaction always run their own query, since they must see
+ * that transaction's writes.
+ */
+public class ReadCoalescer implements InvalidationListener {
+
+    private final boolean enabled;
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLongArray lastWrite;
+    private final int stripeMask;
+    private final ConcurrentHashMap<Key, Flight<?>> flights = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong reread = new AtomicLong();
+    private volatile long flushedAt;
+
+    public ReadCoalescer(ReadCoalescingProperties properties) {
+        if (properties.getStripes() < 1) {
+            throw new IllegalArgumentException("Read coalescing stripes must be positive");
+        }
+        this.enabled = properties.isEnabled();
+        int stripes = Integer.highestOneBit(Math.min(properties.getStripes(), 1 << 30) * 2 - 1);
+        this.lastWrite = new AtomicLongArray(stripes);
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Runs {@code query}, or waits for an identical one already running and returns its result.
+     *
+     * @param method      name of the read, so different reads of the same key are kept apart
+     * @param key         what is read
+     * @param query       the read itself
+     * @param accountIdOf account the result belongs to, checked against writes completed while waiting
+     * @param share       copy handed to callers that joined, so none sees another's changes to it
+     */
+    public <V> V read(String method, Object key, Supplier<V> query, Function<V, Long> accountIdOf, UnaryOperator<V> share) {
+        if (!enabled || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return query.get();
+        }
+        return read(new Key(method, key), query, accountIdOf, share, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V read(Key key, Supplier<V> query, Function<V, Long> accountIdOf, UnaryOperator<V> share, boolean mayJoin) {
+        long arrived = writes.get();
+        Flight<V> flight = new Flight<>(arrived);
+        Flight<V> running = mayJoin ? (Flight<V>) flights.putIfAbsent(key, flight) : null;
+        if (running == null) {
+            return mayJoin ? lead(key, flight, query) : query.get();
+        }
+
+        V result;
+        try {
+            result = running.result.join();
+        } catch (CompletionException ex) {
+            // Failures are shared too, unless a write since may have changed the answer
+            if (arrived > running.started) {
+                reread.incrementAndGet();
+                return read(key, query, accountIdOf, share, false);
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        if (arrived > running.started
+                && Math.max(flushedAt, lastWrite.get(stripe(accountIdOf.apply(result)))) > running.started) {
+            reread.incrementAndGet();
+            return read(key, query, accountIdOf, share, false);
+        }
+        coalesced.incrementAndGet();
+        return share.apply(result);
+    }
+
+    private <V> V lead(Key key, Flight<V> flight, Supplier<V> query) {
+        try {
+            V result = query.get();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Records a completed write to these accounts, so reads that started before it are not shared
+     * with callers arriving after it. Null ids are skipped.
+     */
+    public void written(Long... accountIds) {
+        long sequence = writes.incrementAndGet();
+        for (Long accountId : accountIds) {
+            if (accountId != null) {
+                lastWrite.accumulateAndGet(stripe(accountId), sequence, Math::max);
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(InvalidationKind kind, Collection<String> keys) {
+        if (kind == InvalidationKind.ACCOUNT) {
+            written(keys.stream().map(Long::valueOf).toArray(Long[]::new));
+        }
+    }
+
+    /**
+     * Treats every account as written now.
+     */
+    @Override
+    public void invalidateAll() {
+        flushedAt = writes.incrementAndGet();
+    }
+
+    public Stats stats() {
+        return new Stats(enabled, flights.size(), coalesced.get(), reread.get());
+    }
+
+    private int stripe(long accountId) {
+        return Long.hashCode(accountId * 0x9E3779B97F4A7C15L) & stripeMask;
+    }
+
+    /**
+     * @param enabled   whether reads are coalesced
+     * @param inFlight  queries running now that others can join
+     * @param coalesced reads answered by another caller's query
+     * @param reread    reads that joined a query but ran their own, because of a write while waiting
+     */
+    public record Stats(boolean enabled, int inFlight, long coalesced, long reread) {
+    }
+
+    private record Key(String method, Object key) {
+    }
+
+    private static final class Flight<V> {
+
+        private final long started;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private Flight(long started) {
+            this.started = started;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bankflow.service.coalescing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/readcoalescing}: reads answered by another caller's query on this instance.
+ */
+@Component
+@Endpoint(id = "readcoalescing")
+@RequiredArgsConstructor
+public class ReadCoalescingEndpoint {
+
+    private final ReadCoalescer readCoalescer;
+
+    @ReadOperation
+    public ReadCoalescer.Stats stats() {
+        return readCoalescer.stats();
+    }
+}
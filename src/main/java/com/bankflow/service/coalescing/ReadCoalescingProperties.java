@@ -0,0 +1,20 @@
+package com.bankflow.service.coalescing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for sharing concurrent identical account reads.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.read-coalescing")
+public class ReadCoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Slots recording the latest write per account, rounded up to a power of two; accounts sharing
+     * a slot only cost each other an extra read.
+     */
+    private int stripes = 4096;
+}
@@ -0,0 +1,111 @@
+package com.bankflow.service.dashboard;
+
+import com.bankflow.dto.AccountResponse;
+import com.bankflow.dto.CustomerDashboardResponse;
+import com.bankflow.dto.CustomerResponse;
+import com.bankflow.dto.TransactionResponse;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.model.Account;
+import com.bankflow.service.BankingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Builds the customer dashboard: profile, accounts and the last transactions of every account.
+ * <p>
+ * The three reads are independent and run at the same time on three virtual threads scoped to the
+ * call. Each is a {@code banking-read} call with its own read-only transaction, so it takes a bulkhead
+ * permit before it takes a connection and dashboards share the read budget of the connection pool.
+ * The first read to fail is returned at once and reads that have not started are skipped. A read
+ * already running is left to finish rather than interrupted: on a virtual thread the interrupt
+ * closes its connection, which the {@code database} circuit breaker would count as a failure.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerDashboardService {
+
+    public static final int MAX_RECENT = 20;
+
+    private final BankingService bankingService;
+    private final RecentTransactionsQuery recentTransactionsQuery;
+
+    /**
+     * @param recent transactions per account, at most {@link #MAX_RECENT}
+     */
+    public CustomerDashboardResponse getDashboard(String username, int recent) {
+        if (recent < 0 || recent > MAX_RECENT) {
+            throw new BadRequestException("recent", String.valueOf(recent), "Must be between 0 and " + MAX_RECENT);
+        }
+        log.debug("Building dashboard - Username: {}, Recent: {}", username, recent);
+
+        ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            CompletableFuture<CustomerResponse> customer = fork(scope, failed,
+                    () -> bankingService.getCustomerByUsername(username).mapToResponse());
+            CompletableFuture<List<AccountResponse>> accounts = fork(scope, failed,
+                    () -> bankingService.getCustomerAccountsByUsername(username).stream()
+                            .map(Account::mapToResponse)
+                            .toList());
+            CompletableFuture<Map<Long, List<TransactionResponse>>> transactions = fork(scope, failed,
+                    () -> recentTransactionsQuery.findByUsername(username, recent));
+
+            join(failed, customer, accounts, transactions);
+            Map<Long, List<TransactionResponse>> recentByAccount = transactions.join();
+            List<CustomerDashboardResponse.AccountActivity> activity = accounts.join().stream()
+                    .map(account -> new CustomerDashboardResponse.AccountActivity(account,
+                            recentByAccount.getOrDefault(account.getId(), List.of())))
+                    .toList();
+            return new CustomerDashboardResponse(customer.join(), activity);
+        } finally {
+            scope.shutdown();
+        }
+    }
+
+    /**
+     * Runs {@code read} in the scope unless another read has already failed, and completes {@code failed}
+     * if it throws.
+     */
+    private static <T> CompletableFuture<T> fork(ExecutorService scope, CompletableFuture<Void> failed, Supplier<T> read) {
+        CompletableFuture<T> task = CompletableFuture.supplyAsync(() -> {
+            if (failed.isDone()) {
+                throw new CancellationException("Another dashboard read failed");
+            }
+            return read.get();
+        }, scope);
+        task.whenComplete((result, ex) -> {
+            if (ex != null) {
+                failed.completeExceptionally(ex);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Waits until every task has completed or one has failed, and rethrows the first failure.
+     */
+    private static void join(CompletableFuture<Void> failed, CompletableFuture<?>... tasks) {
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(tasks), failed).get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Dashboard query failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the dashboard", ex);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.bankflow.service.dashboard;
+
+import com.bankflow.dto.TransactionResponse;
+import com.bankflow.model.enums.TransactionType;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The last transactions of every account of a customer, in one query. For each account a lateral
+ * subquery takes the newest outgoing and incoming rows from the {@code (from_account_id, timestamp)}
+ * and {@code (to_account_id, timestamp)} indexes and keeps the first {@code recent}, so the cost
+ * grows with the rows returned rather than with the accounts' history.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecentTransactionsQuery {
+
+    private static final String RECENT_TRANSACTIONS_SQL =
+            "SELECT a.id AS account_id, t.id, t.type, t.amount, t.from_account_id, t.to_account_id, t.timestamp, t.description, t.created_at " +
+                    "FROM accounts a JOIN customers c ON c.id = a.customer_id JOIN users u ON u.id = c.user_id " +
+                    "CROSS JOIN LATERAL (" +
+                    "SELECT flows.* FROM (" +
+                    "(SELECT * FROM transaction_records o WHERE o.from_account_id = a.id ORDER BY o.timestamp DESC, o.id DESC LIMIT ?) " +
+                    "UNION ALL " +
+                    "(SELECT * FROM transaction_records i WHERE i.to_account_id = a.id ORDER BY i.timestamp DESC, i.id DESC LIMIT ?)" +
+                    ") flows ORDER BY flows.timestamp DESC, flows.id DESC LIMIT ?" +
+                    ") t " +
+                    "WHERE u.username = ? " +
+                    "ORDER BY a.id, t.timestamp DESC, t.id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the customer's accounts that have transactions, each with its newest {@code recent}, newest first
+     */
+    @CircuitBreaker(name = "database")
+    @Bulkhead(name = "banking-read")
+    @Transactional(readOnly = true)
+    public Map<Long, List<TransactionResponse>> findByUsername(String username, int recent) {
+        Map<Long, List<TransactionResponse>> byAccount = new HashMap<>();
+        if (recent == 0) {
+            return byAccount;
+        }
+        jdbcTemplate.query(RECENT_TRANSACTIONS_SQL, rs -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            TransactionResponse transaction = TransactionResponse.builder()
+                    .id(rs.getLong("id"))
+                    .type(TransactionType.valueOf(rs.getString("type")))
+                    .amount(rs.getBigDecimal("amount"))
+                    .fromAccountId(rs.getLong("from_account_id"))
+                    .toAccountId(rs.getObject("to_account_id", Long.class))
+                    .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+                    .description(rs.getString("description"))
+                    .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                    .build();
+            byAccount.computeIfAbsent(rs.getLong("account_id"), id -> new ArrayList<>()).add(transaction);
+        }, recent, recent, recent, username);
+        return byAccount;
+    }
+}
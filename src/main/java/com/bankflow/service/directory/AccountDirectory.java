@@ -0,0 +1,515 @@
+package com.bankflow.service.directory;
+
+import com.bankflow.model.Account;
+import com.bankflow.model.enums.AccountStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps account numbers to account ids and statuses from an open-addressing hash table kept in a
+ * memory-mapped file, so a restarted instance resolves account numbers without a query and without
+ * warming a cache. Entries live off-heap; a lookup allocates nothing but its result.
+ * <p>
+ * An account number of up to 20 digits does not fit in one {@code long}, so the key is two: the
+ * last 18 digits, and the length with any leading digits. Each slot holds the key and a value with
+ * the status ordinal in the top byte and the id below it. Readers take no locks: a writer fills the
+ * slot and publishes its first key word last. Writers serialize on one lock, and the table doubles
+ * into a new file when it is three quarters full.
+ * <p>
+ * The file header records the database it was built from: PostgreSQL's {@code system_identifier}
+ * and the highest account id written. A file from another cluster, or one holding ids the database
+ * no longer has (after a restore, a schema reset or a sequence restart), is discarded when mapped.
+ * That does not catch every restore, so callers moving money still check that the account they
+ * locked has the number they were asked for. New accounts are added after their transaction
+ * commits, and callers add accounts they had to look up. {@link #rebuild()} rewrites the file from
+ * {@code accounts} and also picks up statuses changed by other instances.
+ */
+@Slf4j
+public class AccountDirectory implements AutoCloseable {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM accounts";
+
+    private static final String ACCOUNTS_SQL = "SELECT id, account_number, status FROM accounts";
+
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM accounts";
+
+    private static final String SYSTEM_IDENTIFIER_SQL = "SELECT system_identifier FROM pg_control_system()";
+
+    private static final long MIN_CAPACITY = 16;
+    private static final int MAX_DIGITS = 20;
+    private static final int LOW_DIGITS = 18;
+    private static final long ID_MASK = (1L << 56) - 1;
+    private static final AccountStatus[] STATUSES = AccountStatus.values();
+
+    private final boolean enabled;
+    private final Path path;
+    private final long initialCapacity;
+    private final int fetchSize;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private volatile Table table;
+    private volatile Instant lastRebuild;
+    // Writes made while a rebuild scans accounts, replayed into the new table before it is swapped in
+    private List<long[]> pending;
+
+    public AccountDirectory(AccountDirectoryProperties properties, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        if (properties.getInitialCapacity() < 1 || properties.getFetchSize() < 1) {
+            throw new IllegalArgumentException("Account directory initial-capacity and fetch-size must be positive");
+        }
+        this.enabled = properties.isEnabled();
+        this.path = properties.getPath().toAbsolutePath();
+        this.initialCapacity = properties.getInitialCapacity();
+        this.fetchSize = properties.getFetchSize();
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        if (enabled) {
+            this.table = open();
+            log.info("Account directory mapped - Path: {}, Entries: {}, Capacity: {}", path, table.size, table.capacity);
+        } else {
+            log.info("Account directory disabled");
+        }
+    }
+
+    private Table open() {
+        long database = databaseIdentifier();
+        if (Files.exists(path)) {
+            try {
+                Table mapped = Table.map(path);
+                String mismatch = mismatch(mapped, database);
+                if (mismatch == null) {
+                    return mapped;
+                }
+                log.warn("Account directory file is from another database, starting empty - Path: {}, Reason: {}", path, mismatch);
+            } catch (IOException | IllegalStateException ex) {
+                log.warn("Account directory file unreadable, starting empty - Path: {}, Reason: {}", path, ex.getMessage());
+            }
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            return create(path, capacityFor(0), database);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @return why the file cannot be trusted against this database, or {@code null} if it can
+     */
+    private String mismatch(Table mapped, long database) {
+        if (mapped.database != database) {
+            return "system identifier " + mapped.database + ", database has " + database;
+        }
+        if (mapped.size == 0) {
+            return null;
+        }
+        Long maxId;
+        try {
+            maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+        } catch (DataAccessException ex) {
+            return "highest account id unavailable: " + ex.getMessage();
+        }
+        if (maxId == null || mapped.maxAccountId > maxId) {
+            return "file has account id " + mapped.maxAccountId + ", highest in database is " + maxId;
+        }
+        return null;
+    }
+
+    /**
+     * PostgreSQL's cluster identifier, or 0 where it cannot be read (other databases, or a role
+     * without access to {@code pg_control_system()}), leaving the account id check on its own.
+     */
+    private long databaseIdentifier() {
+        try {
+            Long identifier = jdbcTemplate.queryForObject(SYSTEM_IDENTIFIER_SQL, Long.class);
+            return identifier != null ? identifier : 0;
+        } catch (DataAccessException ex) {
+            log.debug("Database system identifier unavailable: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * @return the account's id and status, or {@code null} if the number is not in the directory
+     */
+    public Entry find(String accountNumber) {
+        Table current = table;
+        if (current == null || !indexable(accountNumber)) {
+            return null;
+        }
+        long value = current.get(high(accountNumber), low(accountNumber));
+        return value == 0 ? null : new Entry(value & ID_MASK, STATUSES[(int) (value >>> 56) - 1]);
+    }
+
+    /**
+     * Adds the account, or replaces its status if it is already present.
+     */
+    public void put(long accountId, String accountNumber, AccountStatus status) {
+        if (table == null || !indexable(accountNumber)) {
+            return;
+        }
+        long[] entry = {high(accountNumber), low(accountNumber), ((long) (status.ordinal() + 1) << 56) | accountId};
+        synchronized (writeLock) {
+            table = insert(table, entry);
+            if (pending != null) {
+                pending.add(entry);
+            }
+        }
+    }
+
+    /**
+     * {@link #put} once the surrounding transaction commits, or now if there is none.
+     */
+    public void putAfterCommit(Account account) {
+        if (table == null) {
+            return;
+        }
+        long accountId = account.getId();
+        String accountNumber = account.getAccountNumber();
+        AccountStatus status = account.getStatus();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(accountId, accountNumber, status);
+                }
+            });
+        } else {
+            put(accountId, accountNumber, status);
+        }
+    }
+
+    /**
+     * Writes a new file from {@code accounts} next to the current one and swaps it in. Lookups and
+     * writes continue against the current file meanwhile; writes are carried over to the new one.
+     */
+    public Stats rebuild() {
+        if (!enabled) {
+            throw new IllegalStateException("Account directory is disabled");
+        }
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            synchronized (writeLock) {
+                pending = new ArrayList<>();
+            }
+            Path building = path.resolveSibling(path.getFileName() + ".rebuild");
+            long database = databaseIdentifier();
+            try {
+                Table[] next = new Table[1];
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    Long accounts = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+                    next[0] = create(building, capacityFor(accounts != null ? accounts : 0), database);
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(ACCOUNTS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(fetchSize);
+                        return statement;
+                    }, rs -> {
+                        String accountNumber = rs.getString(2);
+                        if (indexable(accountNumber)) {
+                            AccountStatus accountStatus = AccountStatus.valueOf(rs.getString(3));
+                            next[0] = insert(next[0], new long[]{high(accountNumber), low(accountNumber),
+                                    ((long) (accountStatus.ordinal() + 1) << 56) | rs.getLong(1)});
+                        }
+                    });
+                });
+                synchronized (writeLock) {
+                    Table built = next[0];
+                    for (long[] entry : pending) {
+                        built = insert(built, entry);
+                    }
+                    built.force();
+                    built.moveTo(path);
+                    table = built;
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                synchronized (writeLock) {
+                    pending = null;
+                }
+            }
+            lastRebuild = Instant.now();
+            Stats stats = stats();
+            log.info("Account directory rebuilt - Entries: {}, Capacity: {}, Duration: {} ms",
+                    stats.entries(), stats.capacity(), (System.nanoTime() - started) / 1_000_000);
+            return stats;
+        }
+    }
+
+    public Stats stats() {
+        Table current = table;
+        if (current == null) {
+            return new Stats(false, null, 0, 0, lastRebuild);
+        }
+        return new Stats(true, path.toString(), current.size, current.capacity, lastRebuild);
+    }
+
+    /**
+     * Flushes the mapped pages to the file.
+     */
+    @Override
+    public void close() {
+        Table current = table;
+        if (current != null) {
+            synchronized (writeLock) {
+                current.force();
+            }
+        }
+    }
+
+    private Table insert(Table target, long[] entry) {
+        Table current = target;
+        if (current.size >= current.capacity - (current.capacity >>> 2)) {
+            current = grow(current);
+        }
+        current.put(entry[0], entry[1], entry[2]);
+        return current;
+    }
+
+    private Table grow(Table current) {
+        Path growing = current.path.resolveSibling(current.path.getFileName() + ".grow");
+        try {
+            Table bigger = create(growing, current.capacity << 1, current.database);
+            current.copyInto(bigger);
+            bigger.force();
+            bigger.moveTo(current.path);
+            log.info("Account directory grown - Entries: {}, Capacity: {}", bigger.size, bigger.capacity);
+            return bigger;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Table create(Path file, long capacity, long database) {
+        try {
+            Files.deleteIfExists(file);
+            return Table.create(file, capacity, database);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private long capacityFor(long accounts) {
+        // Half full after a rebuild, so growth is rare
+        long wanted = Math.max(MIN_CAPACITY, Math.max(initialCapacity, accounts * 2));
+        return Long.highestOneBit(wanted - 1) << 1;
+    }
+
+    static boolean indexable(String accountNumber) {
+        if (accountNumber == null || accountNumber.isEmpty() || accountNumber.length() > MAX_DIGITS) {
+            return false;
+        }
+        for (int i = 0; i < accountNumber.length(); i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Length and leading digits, so that numbers differing only in leading zeros stay distinct.
+     */
+    static long high(String accountNumber) {
+        int length = accountNumber.length();
+        int split = Math.max(0, length - LOW_DIGITS);
+        long leading = split == 0 ? 0 : Long.parseLong(accountNumber, 0, split, 10);
+        return ((long) length << 8) | leading;
+    }
+
+    static long low(String accountNumber) {
+        int length = accountNumber.length();
+        return Long.parseLong(accountNumber, Math.max(0, length - LOW_DIGITS), length, 10);
+    }
+
+    /**
+     * @param accountId account id
+     * @param status    status when the entry was last written
+     */
+    public record Entry(long accountId, AccountStatus status) {
+    }
+
+    /**
+     * @param enabled     whether the directory is in use
+     * @param path        the index file
+     * @param entries     accounts in the directory
+     * @param capacity    slots in the file
+     * @param lastRebuild end of the last {@link #rebuild()} by this instance, if any
+     */
+    public record Stats(boolean enabled, String path, long entries, long capacity, Instant lastRebuild) {
+    }
+
+    /**
+     * The hash table over one file: a 64-byte header followed by 24-byte slots, mapped in chunks
+     * because a single mapping is limited to 2 GB. The header holds the magic number, capacity,
+     * size, database system identifier and highest account id.
+     */
+    private static final class Table {
+
+        private static final long MAGIC = 0x4246_4143_4344_4953L;
+        private static final int HEADER_BYTES = 64;
+        private static final int SLOT_BYTES = 24;
+        private static final int CHUNK_SHIFT = 26;
+        private static final long CHUNK_SLOTS = 1L << CHUNK_SHIFT;
+        private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+        private final MappedByteBuffer header;
+        private final MappedByteBuffer[] chunks;
+        private final long capacity;
+        private final long mask;
+        private final long database;
+        private volatile long size;
+        private long maxAccountId;
+        private Path path;
+
+        private Table(Path path, MappedByteBuffer header, MappedByteBuffer[] chunks, long capacity) {
+            this.path = path;
+            this.header = header;
+            this.chunks = chunks;
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.size = header.getLong(16);
+            this.database = header.getLong(24);
+            this.maxAccountId = header.getLong(32);
+        }
+
+        static Table create(Path path, long capacity, long database) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                channel.truncate(HEADER_BYTES + capacity * SLOT_BYTES);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putLong(0, MAGIC).putLong(8, capacity).putLong(24, database);
+                channel.write(header, 0);
+                return map(path, channel, capacity);
+            }
+        }
+
+        static Table map(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(header, 0);
+                long capacity = header.getLong(8);
+                if (header.getLong(0) != MAGIC || Long.bitCount(capacity) != 1
+                        || channel.size() != HEADER_BYTES + capacity * SLOT_BYTES) {
+                    throw new IllegalStateException("not an account directory file");
+                }
+                return map(path, channel, capacity);
+            }
+        }
+
+        private static Table map(Path path, FileChannel channel, long capacity) throws IOException {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((capacity + CHUNK_SLOTS - 1) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                long slots = Math.min(CHUNK_SLOTS, capacity - ((long) i << CHUNK_SHIFT));
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + ((long) i << CHUNK_SHIFT) * SLOT_BYTES, slots * SLOT_BYTES);
+            }
+            return new Table(path, header, chunks, capacity);
+        }
+
+        long get(long high, long low) {
+            for (long slot = hash(high, low) & mask, probes = 0; probes < capacity; slot = (slot + 1) & mask, probes++) {
+                MappedByteBuffer chunk = chunks[(int) (slot >>> CHUNK_SHIFT)];
+                int offset = (int) (slot & (CHUNK_SLOTS - 1)) * SLOT_BYTES;
+                long key = (long) LONGS.getAcquire(chunk, offset);
+                if (key == 0) {
+                    return 0;
+                }
+                if (key == high && (long) LONGS.get(chunk, offset + 8) == low) {
+                    return (long) LONGS.getAcquire(chunk, offset + 16);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Callers hold the write lock and have made room.
+         */
+        void put(long high, long low, long value) {
+            long accountId = value & ID_MASK;
+            if (accountId > maxAccountId) {
+                maxAccountId = accountId;
+                header.putLong(32, accountId);
+            }
+            for (long slot = hash(high, low) & mask; ; slot = (slot + 1) & mask) {
+                MappedByteBuffer chunk = chunks[(int) (slot >>> CHUNK_SHIFT)];
+                int offset = (int) (slot & (CHUNK_SLOTS - 1)) * SLOT_BYTES;
+                long key = (long) LONGS.get(chunk, offset);
+                if (key == 0) {
+                    LONGS.set(chunk, offset + 8, low);
+                    LONGS.set(chunk, offset + 16, value);
+                    LONGS.setRelease(chunk, offset, high);
+                    size++;
+                    header.putLong(16, size);
+                    return;
+                }
+                if (key == high && (long) LONGS.get(chunk, offset + 8) == low) {
+                    LONGS.setRelease(chunk, offset + 16, value);
+                    return;
+                }
+            }
+        }
+
+        void copyInto(Table target) {
+            for (MappedByteBuffer chunk : chunks) {
+                for (int offset = 0; offset < chunk.capacity(); offset += SLOT_BYTES) {
+                    long key = (long) LONGS.get(chunk, offset);
+                    if (key != 0) {
+                        target.put(key, (long) LONGS.get(chunk, offset + 8), (long) LONGS.get(chunk, offset + 16));
+                    }
+                }
+            }
+        }
+
+        void force() {
+            header.force();
+            for (MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+        }
+
+        /**
+         * Renames the file; the mapping stays valid.
+         */
+        void moveTo(Path target) throws IOException {
+            Files.move(path, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            path = target;
+        }
+
+        private static long hash(long high, long low) {
+            long h = low * 0x9E3779B97F4A7C15L ^ high;
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.bankflow.service.directory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/accountdirectory}: size of this instance's account directory; a POST rebuilds
+ * it from {@code accounts} and returns when it finishes.
+ */
+@Component
+@Endpoint(id = "accountdirectory")
+@RequiredArgsConstructor
+public class AccountDirectoryEndpoint {
+
+    private final AccountDirectory accountDirectory;
+
+    @ReadOperation
+    public AccountDirectory.Stats stats() {
+        return accountDirectory.stats();
+    }
+
+    @WriteOperation
+    public AccountDirectory.Stats rebuild() {
+        return accountDirectory.rebuild();
+    }
+}
@@ -0,0 +1,35 @@
+package com.bankflow.service.directory;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the memory-mapped account number directory.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.account-directory")
+public class AccountDirectoryProperties {
+
+    /**
+     * Off by default: the index only pays off on a persistent local disk. On Cloud Run the file
+     * system is in memory and lost with the instance, so every instance would start empty.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Index file, local to the instance; it is mapped again as-is after a restart.
+     */
+    private Path path = Path.of("./data/account-directory.idx");
+
+    /**
+     * Slots in a new file, rounded up to a power of two; the index doubles when it is three quarters full.
+     */
+    private long initialCapacity = 1L << 20;
+
+    /**
+     * Rows fetched per round trip while rebuilding from {@code accounts}.
+     */
+    private int fetchSize = 10_000;
+}
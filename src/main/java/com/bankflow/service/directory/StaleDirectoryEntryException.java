@@ -0,0 +1,21 @@
+package com.bankflow.service.directory;
+
+import lombok.Getter;
+
+/**
+ * An account found by an id from the {@link AccountDirectory} has a different number than the one
+ * asked for. Thrown before anything is changed; callers resolve the number from the database and
+ * try again.
+ */
+@Getter
+public class StaleDirectoryEntryException extends RuntimeException {
+
+    private final String accountNumber;
+    private final Long accountId;
+
+    public StaleDirectoryEntryException(String accountNumber, Long accountId, String actualNumber) {
+        super("Account directory maps " + accountNumber + " to account " + accountId + ", which has number " + actualNumber);
+        this.accountNumber = accountNumber;
+        this.accountId = accountId;
+    }
+}
@@ -0,0 +1,627 @@
+package com.bankflow.service.events;
+
+import com.bankflow.dto.AccountResponse;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.exception.SubscriberLimitExceededException;
+import com.bankflow.model.Account;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.repository.TransactionRepository.TransactionAccounts;
+import com.bankflow.service.BankingService;
+import com.bankflow.service.invalidation.InvalidationKind;
+import com.bankflow.service.invalidation.InvalidationListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Streams each account's new transactions and balance to its Server-Sent Events subscribers.
+ * <p>
+ * Writes on this instance reach the hub as {@link InvalidationKind#ACCOUNT} invalidations after
+ * commit. Writes on other instances are not announced, so every {@code poll-interval} the watched
+ * accounts are checked for transactions not sent yet, with one query per thousand accounts. Only
+ * accounts someone is watching are looked at. One dispatcher thread reads
+ * a watched account's transactions created since its last check, less {@code lookback} so rows
+ * that commit out of id order are not missed, skips those already sent, and queues each new one
+ * and then the account's balance on every subscriber of the account. Nothing blocks on a client:
+ * each subscriber has a bounded queue drained by the writer pool, at most one writer per
+ * subscriber, and a subscriber whose queue is full is disconnected to resume later. Balances are
+ * read from {@code accounts} in the check's own transaction, not through the banking service and
+ * its bulkheads, and a failed check is retried after {@code retry-backoff}, doubling up to the
+ * heartbeat interval. Idle streams
+ * get a comment every {@code heartbeat-interval}, which also finds closed connections.
+ * <p>
+ * Transaction events carry the transaction id as their SSE id. A client reconnecting with
+ * {@code Last-Event-ID} is first sent the transactions after it, up to {@code max-replay}; further
+ * behind, it gets a {@code reset} event and should reload the history. Every new stream starts with
+ * the current balance.
+ * <p>
+ * An idle stream costs its emitter, an empty queue and the connector's socket; no thread is held
+ * per stream.
+ */
+@Slf4j
+public class AccountEventHub implements InvalidationListener, SmartLifecycle, AutoCloseable {
+
+    public static final String TRANSACTION_EVENT = "transaction";
+    public static final String BALANCE_EVENT = "balance";
+    public static final String RESET_EVENT = "reset";
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+    private static final int POLL_BATCH = 1_000;
+
+    private final AccountEventsProperties properties;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final ObjectProvider<BankingService> bankingService;
+    private final Function<Account, BigDecimal> balanceOf;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Long> pending = new LinkedBlockingQueue<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    /** Failed checks by account, with their retry time; only touched by the dispatcher. */
+    private final Map<Long, Retry> retries = new HashMap<>();
+    private final ExecutorService writers;
+    private final Event heartbeat = new Event(SseEmitter.event().comment("heartbeat").build());
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong eventsSent = new AtomicLong();
+    private final AtomicLong slowConsumers = new AtomicLong();
+    private final AtomicLong dispatchFailures = new AtomicLong();
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    /**
+     * @param bankingService looked up when first needed: it publishes to the invalidation bus, which calls this hub
+     * @param balanceOf      the current balance of an account loaded from {@code accounts}, for engines that derive it
+     */
+    public AccountEventHub(AccountEventsProperties properties, TransactionRepository transactionRepository,
+                           AccountRepository accountRepository, ObjectProvider<BankingService> bankingService,
+                           Function<Account, BigDecimal> balanceOf, PlatformTransactionManager transactionManager) {
+        if (properties.getMaxSubscribers() < 1 || properties.getWriterThreads() < 1) {
+            throw new IllegalArgumentException("Account events max-subscribers and writer-threads must be positive");
+        }
+        if (properties.getMaxReplay() < 1 || properties.getBufferSize() < properties.getMaxReplay() + 2) {
+            throw new IllegalArgumentException("Account events buffer-size must exceed max-replay by at least 2");
+        }
+        this.properties = properties;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.bankingService = bankingService;
+        this.balanceOf = balanceOf;
+        // Read-write so balance reads run their own query instead of joining one started before the write
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(properties.getWriterThreads(), task -> {
+            Thread thread = new Thread(task, "account-events-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the dispatcher, which checks the watched accounts from then on.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "account-events-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Opens a stream of the account's activity.
+     *
+     * @param lastEventId id of the last transaction event the client received, or null for a new stream
+     */
+    public SseEmitter subscribe(String accountNumber, Long lastEventId) {
+        return subscribe(accountNumber, lastEventId, new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    /**
+     * Opens a stream of the account's activity on the given emitter.
+     */
+    public <E extends SseEmitter> E subscribe(String accountNumber, Long lastEventId, E emitter) {
+        Account account = bankingService.getObject().getAccountByNumber(accountNumber);
+        if (subscribers.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscribers.decrementAndGet();
+            throw new SubscriberLimitExceededException(properties.getMaxSubscribers());
+        }
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> disconnect(subscriber, false));
+        emitter.onTimeout(() -> disconnect(subscriber, false));
+        emitter.onError(ex -> disconnect(subscriber, false));
+        try {
+            attach(account, subscriber, lastEventId);
+        } catch (RuntimeException ex) {
+            disconnect(subscriber, false);
+            throw ex;
+        }
+        log.debug("Event stream opened - Account: {}, Last-Event-ID: {}, Subscribers: {}",
+                accountNumber, lastEventId, subscribers.get());
+        return emitter;
+    }
+
+    private void attach(Account account, Subscriber subscriber, Long lastEventId) {
+        while (true) {
+            Topic topic = topics.computeIfAbsent(account.getId(), id -> new Topic(id, account.getAccountNumber()));
+            synchronized (topic) {
+                if (topic.closed) {
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Read first, so a failure leaves the topic as it was
+                    Event balance = balanceEvent(topic);
+                    // Brings the account's current subscribers up to date, so the replay below can be told apart
+                    publish(topic, unsent(topic), balance);
+                    if (lastEventId != null) {
+                        replay(topic, subscriber, lastEventId);
+                    }
+                    subscriber.offer(balance);
+                });
+                subscriber.topic = topic;
+                if (!subscriber.closed.get()) {
+                    topic.subscribers.add(subscriber);
+                } else if (topic.subscribers.isEmpty()) {
+                    topic.closed = true;
+                    topics.remove(topic.accountId, topic);
+                }
+                return;
+            }
+        }
+    }
+
+    private void replay(Topic topic, Subscriber subscriber, long lastEventId) {
+        List<TransactionRecord> missed = transactionRepository.findAfter(topic.accountId, lastEventId, Limit.of(properties.getMaxReplay() + 1));
+        if (missed.size() > properties.getMaxReplay()) {
+            Long lastId = transactionRepository.findLastIdByAccountId(topic.accountId).orElse(lastEventId);
+            subscriber.offer(new Event(SseEmitter.event()
+                    .id(String.valueOf(lastId))
+                    .name(RESET_EVENT)
+                    .data("More than " + properties.getMaxReplay() + " transactions were missed; reload the history")
+                    .build()));
+            return;
+        }
+        for (TransactionRecord transaction : missed) {
+            subscriber.offer(transactionEvent(transaction));
+            // Committed too recently to have been sent yet; the next check must not send it again
+            if (!topic.sent.containsKey(transaction.getId()) && !transaction.getCreatedAt().isBefore(topic.since)) {
+                subscriber.replayed.add(transaction.getId());
+            }
+        }
+    }
+
+    /**
+     * Transactions created since the topic was last checked and not sent yet. A new topic records
+     * what exists and returns nothing. Caller holds the topic lock.
+     */
+    private List<TransactionRecord> unsent(Topic topic) {
+        LocalDateTime checkedAt = LocalDateTime.now();
+        boolean primed = topic.since != null;
+        List<TransactionRecord> recent = transactionRepository.findCreatedSince(topic.accountId,
+                primed ? topic.since : checkedAt.minus(properties.getLookback()));
+        List<TransactionRecord> unsent = new ArrayList<>();
+        for (TransactionRecord transaction : recent) {
+            if (topic.sent.putIfAbsent(transaction.getId(), transaction.getCreatedAt()) == null && primed) {
+                unsent.add(transaction);
+            }
+        }
+        LocalDateTime since = checkedAt.minus(properties.getLookback());
+        topic.since = since;
+        topic.sent.values().removeIf(createdAt -> createdAt.isBefore(since));
+        return unsent;
+    }
+
+    /**
+     * Queues the transactions, then the balance, on every subscriber of the topic. Caller holds the topic lock.
+     */
+    private void publish(Topic topic, List<TransactionRecord> transactions) {
+        if (!transactions.isEmpty() && !topic.subscribers.isEmpty()) {
+            publish(topic, transactions, balanceEvent(topic));
+        }
+    }
+
+    private void publish(Topic topic, List<TransactionRecord> transactions, Event balance) {
+        if (transactions.isEmpty() || topic.subscribers.isEmpty()) {
+            return;
+        }
+        List<Event> events = transactions.stream().map(this::transactionEvent).toList();
+        for (Subscriber subscriber : List.copyOf(topic.subscribers)) {
+            for (int i = 0; i < events.size(); i++) {
+                if (!subscriber.replayed.remove(transactions.get(i).getId())) {
+                    subscriber.offer(events.get(i));
+                }
+            }
+            subscriber.offer(balance);
+        }
+    }
+
+    private Event transactionEvent(TransactionRecord transaction) {
+        return new Event(SseEmitter.event()
+                .id(String.valueOf(transaction.getId()))
+                .name(TRANSACTION_EVENT)
+                .data(transaction.mapToTransactionResponse(), MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    /**
+     * The account's balance as of the caller's transaction. The loaded entity is left unchanged, so
+     * a derived balance is never flushed back.
+     */
+    private Event balanceEvent(Topic topic) {
+        Account account = accountRepository.findById(topic.accountId)
+                .orElseThrow(() -> new NotFoundException("Account", topic.accountId));
+        AccountResponse response = account.mapToResponse();
+        response.setBalance(balanceOf.apply(account));
+        return new Event(SseEmitter.event()
+                .name(BALANCE_EVENT)
+                .data(response, MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    @Override
+    public void invalidate(InvalidationKind kind, Collection<String> keys) {
+        if (kind != InvalidationKind.ACCOUNT) {
+            return;
+        }
+        for (String key : keys) {
+            markDirty(Long.valueOf(key));
+        }
+    }
+
+    /**
+     * Checks every watched account again, as after the invalidation bus reconnects.
+     */
+    @Override
+    public void invalidateAll() {
+        topics.keySet().forEach(this::markDirty);
+    }
+
+    private void markDirty(Long accountId) {
+        if (topics.containsKey(accountId) && dirty.add(accountId)) {
+            pending.add(accountId);
+        }
+    }
+
+    private void dispatchLoop() {
+        long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+        long pollNanos = properties.getPollInterval().toNanos();
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        long nextPoll = System.nanoTime() + pollNanos;
+        while (running) {
+            try {
+                long wait = Math.min(Math.min(nextHeartbeat, nextPoll), nextRetry()) - System.nanoTime();
+                Long accountId = pending.poll(Math.max(0, wait), TimeUnit.NANOSECONDS);
+                if (accountId != null) {
+                    // Cleared first, so a write during this check queues another
+                    dirty.remove(accountId);
+                    Topic topic = topics.get(accountId);
+                    if (topic != null) {
+                        dispatch(topic);
+                    }
+                }
+                if (System.nanoTime() - nextHeartbeat >= 0) {
+                    heartbeat();
+                    nextHeartbeat = System.nanoTime() + heartbeatNanos;
+                }
+                retryDue();
+                if (System.nanoTime() - nextPoll >= 0) {
+                    poll();
+                    nextPoll = System.nanoTime() + pollNanos;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void dispatch(Topic topic) {
+        try {
+            synchronized (topic) {
+                if (!topic.closed) {
+                    Map<Long, LocalDateTime> sent = new HashMap<>(topic.sent);
+                    LocalDateTime since = topic.since;
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> publish(topic, unsent(topic)));
+                    } catch (RuntimeException ex) {
+                        // Nothing was queued, so the retry must find the same transactions unsent
+                        topic.sent.clear();
+                        topic.sent.putAll(sent);
+                        topic.since = since;
+                        throw ex;
+                    }
+                }
+            }
+            retries.remove(topic.accountId);
+        } catch (RuntimeException ex) {
+            // The lookback keeps what was missed until the retry
+            dispatchFailures.incrementAndGet();
+            Retry previous = retries.get(topic.accountId);
+            int attempt = previous != null ? previous.attempt + 1 : 1;
+            long delayNanos = Math.min(properties.getRetryBackoff().toNanos() << Math.min(attempt - 1, 20),
+                    properties.getHeartbeatInterval().toNanos());
+            retries.put(topic.accountId, new Retry(attempt, System.nanoTime() + delayNanos));
+            log.warn("Account events dispatch failed, retrying in {} ms - Account ID: {}, Attempt: {}, Error: {}",
+                    delayNanos / 1_000_000, topic.accountId, attempt, ex.getMessage());
+        }
+    }
+
+    private long nextRetry() {
+        long next = System.nanoTime() + properties.getHeartbeatInterval().toNanos();
+        for (Retry retry : retries.values()) {
+            if (!retry.queued && retry.atNanos - next < 0) {
+                next = retry.atNanos;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Queues the failed checks whose backoff has passed; each keeps its attempt count until it succeeds.
+     */
+    private void retryDue() {
+        long now = System.nanoTime();
+        retries.entrySet().removeIf(entry -> !topics.containsKey(entry.getKey()));
+        retries.forEach((accountId, retry) -> {
+            if (!retry.queued && now - retry.atNanos >= 0) {
+                retry.queued = true;
+                markDirty(accountId);
+            }
+        });
+    }
+
+    /**
+     * Marks watched accounts that have transactions within the lookback not sent yet, which are
+     * the ones other instances made.
+     */
+    private void poll() {
+        if (topics.isEmpty()) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minus(properties.getLookback());
+        List<Long> watched = List.copyOf(topics.keySet());
+        try {
+            for (int from = 0; from < watched.size(); from += POLL_BATCH) {
+                List<Long> batch = watched.subList(from, Math.min(from + POLL_BATCH, watched.size()));
+                for (TransactionAccounts transaction : transactionRepository.findAccountsCreatedSince(batch, since)) {
+                    markIfUnsent(transaction.getFromAccountId(), transaction.getId());
+                    markIfUnsent(transaction.getToAccountId(), transaction.getId());
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Account events poll failed, retrying at next poll - Error: {}", ex.getMessage());
+        }
+    }
+
+    private void markIfUnsent(Long accountId, Long transactionId) {
+        Topic topic = accountId != null ? topics.get(accountId) : null;
+        if (topic == null) {
+            return;
+        }
+        boolean sent;
+        synchronized (topic) {
+            sent = topic.sent.containsKey(transactionId);
+        }
+        if (!sent) {
+            markDirty(accountId);
+        }
+    }
+
+    private void heartbeat() {
+        for (Topic topic : topics.values()) {
+            List<Subscriber> current;
+            synchronized (topic) {
+                current = List.copyOf(topic.subscribers);
+            }
+            current.forEach(subscriber -> subscriber.offer(heartbeat));
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, boolean complete) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.decrementAndGet();
+        Topic topic = subscriber.topic;
+        if (topic != null) {
+            synchronized (topic) {
+                topic.subscribers.remove(subscriber);
+                if (topic.subscribers.isEmpty()) {
+                    topic.closed = true;
+                    topics.remove(topic.accountId, topic);
+                }
+            }
+        }
+        if (complete) {
+            subscriber.complete();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        stop();
+        for (Topic topic : topics.values()) {
+            List<Subscriber> current;
+            synchronized (topic) {
+                current = List.copyOf(topic.subscribers);
+            }
+            current.forEach(subscriber -> disconnect(subscriber, true));
+        }
+        writers.shutdown();
+        writers.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        log.info("Account event streams closed");
+    }
+
+    public Stats stats() {
+        return new Stats(subscribers.get(), topics.size(), eventsSent.get(), slowConsumers.get(), dispatchFailures.get());
+    }
+
+    /**
+     * @param subscribers      open streams
+     * @param accounts         accounts with at least one open stream
+     * @param eventsSent       events written to clients, heartbeats included
+     * @param slowConsumers    streams disconnected because their queue was full
+     * @param dispatchFailures checks for new transactions that failed and were retried after a backoff
+     */
+    public record Stats(int subscribers, int accounts, long eventsSent, long slowConsumers, long dispatchFailures) {
+    }
+
+    /**
+     * An event built once and written as-is to every subscriber it is queued on.
+     */
+    private record Event(Set<ResponseBodyEmitter.DataWithMediaType> data) {
+    }
+
+    private static final class Retry {
+
+        private final int attempt;
+        private final long atNanos;
+        private boolean queued;
+
+        private Retry(int attempt, long atNanos) {
+            this.attempt = attempt;
+            this.atNanos = atNanos;
+        }
+    }
+
+    private static final class Topic {
+
+        private final Long accountId;
+        private final String accountNumber;
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        /** Ids sent within the lookback, with their creation time. */
+        private final Map<Long, LocalDateTime> sent = new HashMap<>();
+        private LocalDateTime since;
+        private boolean closed;
+
+        private Topic(Long accountId, String accountNumber) {
+            this.accountId = accountId;
+            this.accountNumber = accountNumber;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final LinkedBlockingQueue<Event> queue = new LinkedBlockingQueue<>(properties.getBufferSize());
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean completeRequested;
+        /** Replayed ids the topic has not sent yet; guarded by the topic lock. */
+        private final Set<Long> replayed = new HashSet<>();
+        private volatile Topic topic;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Event event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                slowConsumers.incrementAndGet();
+                log.warn("Disconnecting slow event stream - Account ID: {}, Queued: {}",
+                        topic != null ? topic.accountId : null, queue.size());
+                disconnect(this, true);
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writers.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                draining.set(false);
+                disconnect(this, false);
+            }
+        }
+
+        /**
+         * Completes the stream from a writer: a writer may be blocked in a send, holding the emitter.
+         */
+        private void complete() {
+            completeRequested = true;
+            queue.clear();
+            schedule();
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event.data());
+                    eventsSent.incrementAndGet();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away; the container completes the emitter
+                log.debug("Event stream write failed - Error: {}", ex.getMessage());
+                disconnect(this, false);
+            } finally {
+                draining.set(false);
+            }
+            if (closed.get()) {
+                if (completeRequested) {
+                    completeRequested = false;
+                    emitter.complete();
+                }
+            } else if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
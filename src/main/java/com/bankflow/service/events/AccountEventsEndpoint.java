@@ -0,0 +1,22 @@
+package com.bankflow.service.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/accountevents}: open account event streams on this instance and how they are keeping up.
+ */
+@Component
+@Endpoint(id = "accountevents")
+@RequiredArgsConstructor
+public class AccountEventsEndpoint {
+
+    private final AccountEventHub accountEventHub;
+
+    @ReadOperation
+    public AccountEventHub.Stats stats() {
+        return accountEventHub.stats();
+    }
+}
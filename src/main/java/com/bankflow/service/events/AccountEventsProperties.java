@@ -0,0 +1,57 @@
+package com.bankflow.service.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the account activity streams served at {@code GET /v1/accounts/{accountNumber}/events}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.account-events")
+public class AccountEventsProperties {
+
+    /**
+     * Open streams per instance; further subscriptions are refused with 503.
+     */
+    private int maxSubscribers = 50_000;
+
+    /**
+     * Events queued per stream; a client this far behind is disconnected and resumes with Last-Event-ID.
+     */
+    private int bufferSize = 64;
+
+    /**
+     * Threads writing events to clients; a client whose socket is full holds one until the connector's write timeout.
+     */
+    private int writerThreads = 16;
+
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Wait before retrying a failed check for new transactions, doubled on each further failure up to {@code heartbeat-interval}.
+     */
+    private Duration retryBackoff = Duration.ofMillis(100);
+
+    /**
+     * Streams are closed after this long, so clients reconnect and present a current token.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * How often watched accounts are checked for transactions made by other instances, which are not announced.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * How far back each check for new transactions looks, covering transactions that commit out of
+     * id order and clock differences between instances.
+     */
+    private Duration lookback = Duration.ofSeconds(30);
+
+    /**
+     * Most transactions replayed on resume, below {@code buffer-size}; a client further behind is sent a reset event instead.
+     */
+    private int maxReplay = 50;
+}
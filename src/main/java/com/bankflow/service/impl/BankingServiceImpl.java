@@ -5,8 +5,10 @@ import com.bankflow.exception.AccountInactiveException;
 import com.bankflow.exception.BadRequestException;
 import com.bankflow.exception.InsufficientFundsException;
 import com.bankflow.exception.NotFoundException;
+import com.bankflow.logging.LogCategories;
 import com.bankflow.model.Account;
 import com.bankflow.model.Customer;
+import com.bankflow.model.Money;
 import com.bankflow.model.TransactionRecord;
 import com.bankflow.model.User;
 import com.bankflow.model.enums.AccountStatus;
@@ -15,28 +17,55 @@ import com.bankflow.repository.AccountRepository;
 import com.bankflow.repository.CustomerRepository;
 import com.bankflow.repository.TransactionRepository;
 import com.bankflow.service.BankingService;
+import com.bankflow.service.bloom.KeyFilters;
+import com.bankflow.service.coalescing.ReadCoalescer;
+import com.bankflow.service.directory.AccountDirectory;
+import com.bankflow.service.directory.StaleDirectoryEntryException;
+import com.bankflow.service.invalidation.InvalidationBus;
+import com.bankflow.service.invalidation.InvalidationKind;
+import com.bankflow.service.limits.TransactionLimitService;
+import com.bankflow.service.rollups.MonthlyRollupService;
+import com.bankflow.service.velocity.VelocityEngine;
 import com.bankflow.util.AccountNumberGenerator;
+import com.bankflow.util.ETags;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
+@CircuitBreaker(name = "database")
 @RequiredArgsConstructor
 @Slf4j
 public class BankingServiceImpl implements BankingService {
 
+    private static final Logger readLog = LoggerFactory.getLogger(LogCategories.READ);
+    private static final Logger moneyLog = LoggerFactory.getLogger(LogCategories.MONEY_MOVEMENT);
+
     private final CustomerRepository customerRepository;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final AccountNumberGenerator accountNumberGenerator;
+    private final VelocityEngine velocityEngine;
+    private final TransactionLimitService transactionLimitService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final AccountDirectory accountDirectory;
+    private final KeyFilters keyFilters;
+    private final ReadCoalescer readCoalescer;
+    private final InvalidationBus invalidationBus;
 
     @Override
+    @Bulkhead(name = "banking-write")
     public Customer updateCustomer(String username, UpdateCustomerRequest request) {
         log.info("AUDIT: Updating customer - Username: {}", username);
 
@@ -81,15 +110,17 @@ public class BankingServiceImpl implements BankingService {
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public Customer getCustomer(Long customerId) {
-        log.info("Fetching customer with ID: {}", customerId);
+        readLog.atInfo().setMessage("Fetching customer").addKeyValue("customerId", customerId).log();
         return customerRepository.findById(customerId).orElseThrow(() -> new NotFoundException("Customer", customerId));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public Customer getCustomerByUsername(String username) {
-        log.info("Fetching customer with username: {}", username);
+        readLog.atInfo().setMessage("Fetching customer").addKeyValue("username", username).log();
         return customerRepository.findByUser_Username(username).orElseThrow(() -> {
             log.error("Customer not found with username: {}", username);
             return new NotFoundException("Customer with username", username);
@@ -97,8 +128,22 @@ public class BankingServiceImpl implements BankingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
+    public String getCustomerETag(String username) {
+        log.debug("Resolving ETag for customer with username: {}", username);
+        return customerRepository.findVersionByUsername(username)
+                .map(version -> ETags.forCustomer(version.getCustomerUpdatedAt(), version.getUserUpdatedAt()))
+                .orElseThrow(() -> new NotFoundException("Customer with username", username));
+    }
+
+    @Override
+    @Bulkhead(name = "banking-write")
     public Account createAccount(String username, BigDecimal initialDeposit) {
-        log.info("AUDIT: Creating account - Username: {}, Initial Deposit: {}", username, initialDeposit);
+        moneyLog.atInfo().setMessage("AUDIT: Creating account")
+                .addKeyValue("username", username)
+                .addKeyValue("initialDeposit", initialDeposit)
+                .log();
         if (initialDeposit != null && initialDeposit.compareTo(BigDecimal.ZERO) < 0) {
             log.warn("AUDIT: Account creation rejected - Negative initial deposit: {}", initialDeposit);
             throw new BadRequestException("initialDeposit", initialDeposit.toString(), "Cannot be negative");
@@ -114,11 +159,20 @@ public class BankingServiceImpl implements BankingService {
         Account account = new Account();
         account.setCustomer(customer);
         account.setAccountNumber(accountNumber);
-        account.setBalance(initialDeposit != null ? initialDeposit : BigDecimal.ZERO);
+        account.setMoneyBalance(initialDeposit != null ? toMoney("initialDeposit", initialDeposit) : Money.ZERO);
         account.setStatus(AccountStatus.ACTIVE);
 
         Account savedAccount = accountRepository.save(account);
-        log.info("AUDIT: Account created successfully - Account ID: {}, Account Number: {}, Username: {}, Initial Balance: {}", savedAccount.getId(), savedAccount.getAccountNumber(), username, savedAccount.getBalance());
+        keyFilters.accountNumbers().add(accountNumber);
+        accountDirectory.putAfterCommit(savedAccount);
+        invalidationBus.publish(InvalidationKind.ACCOUNT_NUMBER, accountNumber);
+        invalidationBus.publish(InvalidationKind.ACCOUNT, savedAccount.getId());
+        moneyLog.atInfo().setMessage("AUDIT: Account created")
+                .addKeyValue("accountId", savedAccount.getId())
+                .addKeyValue("accountNumber", savedAccount.getAccountNumber())
+                .addKeyValue("username", username)
+                .addKeyValue("balance", savedAccount.getBalance())
+                .log();
 
         if (initialDeposit != null && initialDeposit.compareTo(BigDecimal.ZERO) > 0) {
             TransactionRecord transaction = new TransactionRecord();
@@ -128,7 +182,12 @@ public class BankingServiceImpl implements BankingService {
             transaction.setDescription("Initial deposit");
             transaction.setTimestamp(LocalDateTime.now());
             TransactionRecord savedTransaction = transactionRepository.save(transaction);
-            log.info("AUDIT: Initial deposit transaction recorded - Transaction ID: {}, Account ID: {}, Amount: {}", savedTransaction.getId(), savedAccount.getId(), initialDeposit);
+            monthlyRollupService.add(savedTransaction);
+            moneyLog.atInfo().setMessage("AUDIT: Initial deposit recorded")
+                    .addKeyValue("transactionId", savedTransaction.getId())
+                    .addKeyValue("accountId", savedAccount.getId())
+                    .addKeyValue("amount", initialDeposit)
+                    .log();
         }
 
         return savedAccount;
@@ -139,7 +198,7 @@ public class BankingServiceImpl implements BankingService {
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
             String accountNumber = accountNumberGenerator.generateAccountNumber();
 
-            if (!accountRepository.existsByAccountNumber(accountNumber)) {
+            if (!keyFilters.accountNumbers().mightExist(accountNumber) || !accountRepository.existsByAccountNumber(accountNumber)) {
                 log.debug("AUDIT: Generated unique account number: {} on attempt {}", accountNumber, attempt);
                 return accountNumber;
             }
@@ -153,33 +212,62 @@ public class BankingServiceImpl implements BankingService {
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public void getAccount(Long accountId) {
-        log.info("Fetching account with ID: {}", accountId);
+        readLog.atInfo().setMessage("Fetching account").addKeyValue("accountId", accountId).log();
         accountRepository.findById(accountId).orElseThrow(() -> new NotFoundException("Account", accountId));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public Account getAccountByNumber(String accountNumber) {
-        log.info("Fetching account with number: {}", accountNumber);
-        return accountRepository.findByAccountNumber(accountNumber).orElseThrow(() -> new NotFoundException("Account with number", accountNumber));
+        readLog.atInfo().setMessage("Fetching account").addKeyValue("accountNumber", accountNumber).log();
+        if (!keyFilters.accountNumbers().mightExist(accountNumber)) {
+            throw new NotFoundException("Account with number", accountNumber);
+        }
+        return readCoalescer.read("getAccountByNumber", accountNumber,
+                () -> accountRepository.findByAccountNumber(accountNumber).orElseThrow(() -> new NotFoundException("Account with number", accountNumber)),
+                Account::getId, Account::copy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
+    public String getAccountETag(String accountNumber) {
+        log.debug("Resolving ETag for account with number: {}", accountNumber);
+        if (!keyFilters.accountNumbers().mightExist(accountNumber)) {
+            throw new NotFoundException("Account with number", accountNumber);
+        }
+        return accountRepository.findVersionByAccountNumber(accountNumber)
+                .map(ETags::forAccount)
+                .orElseThrow(() -> new NotFoundException("Account with number", accountNumber));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public List<Account> getCustomerAccountsByUsername(String username) {
-        log.info("Fetching accounts for username: {}", username);
+        readLog.atInfo().setMessage("Fetching accounts").addKeyValue("username", username).log();
         Customer customer = getCustomerByUsername(username);
         return accountRepository.findByCustomerId(customer.getId());
     }
 
     @Override
+    @Bulkhead(name = "banking-write")
     public TransactionRecord deposit(Long accountId, BigDecimal amount) {
-        log.info("AUDIT: Initiating deposit - Account ID: {}, Amount: {}", accountId, amount);
+        return deposit(accountId, null, amount);
+    }
+
+    private TransactionRecord deposit(Long accountId, String accountNumber, BigDecimal amount) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating deposit")
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .log();
 
-        validateAmount(amount);
+        Money credit = validateAmount(amount);
 
-        Account account = accountRepository.findByIdForUpdate(accountId).orElseThrow(() -> {
+        Account account = lockAccount(accountRepository, accountId, accountNumber, null).orElseThrow(() -> {
             log.error("AUDIT: Deposit failed - Account not found. Account ID: {}", accountId);
             return new NotFoundException("Account", accountId);
         });
@@ -189,9 +277,9 @@ public class BankingServiceImpl implements BankingService {
             throw new AccountInactiveException(accountId, account.getStatus());
         }
 
-        BigDecimal oldBalance = account.getBalance();
-        BigDecimal newBalance = oldBalance.add(amount);
-        account.setBalance(newBalance);
+        Money oldBalance = account.getMoneyBalance();
+        Money newBalance = oldBalance.plus(credit);
+        account.setMoneyBalance(newBalance);
         accountRepository.save(account);
         log.debug("AUDIT: Balance updated - Account ID: {}, Old Balance: {}, New Balance: {}, Deposit Amount: {}", accountId, oldBalance, newBalance, amount);
 
@@ -202,26 +290,47 @@ public class BankingServiceImpl implements BankingService {
         transaction.setDescription("Deposit");
         transaction.setTimestamp(LocalDateTime.now());
         TransactionRecord savedTransaction = transactionRepository.save(transaction);
+        monthlyRollupService.add(savedTransaction);
+        invalidationBus.publishLocal(InvalidationKind.ACCOUNT, accountId);
 
-        log.info("AUDIT: Deposit completed successfully - Transaction ID: {}, Account ID: {}, Amount: {}, New Balance: {}", savedTransaction.getId(), accountId, amount, newBalance);
+        moneyLog.atInfo().setMessage("AUDIT: Deposit completed")
+                .addKeyValue("transactionId", savedTransaction.getId())
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .addKeyValue("balance", newBalance)
+                .log();
 
         return savedTransaction;
     }
 
     @Override
+    @Bulkhead(name = "banking-write")
     public TransactionRecord depositByAccountNumber(String accountNumber, BigDecimal amount) {
-        log.info("AUDIT: Initiating deposit - Account Number: {}, Amount: {}", accountNumber, amount);
-        Account account = getAccountByNumber(accountNumber);
-        return deposit(account.getId(), amount);
+        log.debug("Resolving deposit account - Account Number: {}", accountNumber);
+        try {
+            return deposit(resolveAccountId(accountNumber), accountNumber, amount);
+        } catch (StaleDirectoryEntryException ex) {
+            return deposit(resolveAccountIdFromDatabase(accountNumber), accountNumber, amount);
+        }
     }
 
     @Override
+    @Bulkhead(name = "banking-write")
     public TransactionRecord withdraw(Long accountId, BigDecimal amount) {
-        log.info("AUDIT: Initiating withdrawal - Account ID: {}, Amount: {}", accountId, amount);
+        return withdraw(accountId, null, amount);
+    }
 
-        validateAmount(amount);
+    private TransactionRecord withdraw(Long accountId, String accountNumber, BigDecimal amount) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating withdrawal")
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .log();
 
-        Account account = accountRepository.findByIdForUpdate(accountId).orElseThrow(() -> {
+        Money debit = validateAmount(amount);
+        VelocityEngine.Reservation reservation = velocityEngine.acquire(TransactionType.WITHDRAW, accountId, amount);
+        transactionLimitService.preCheck(TransactionType.WITHDRAW, accountId, amount);
+
+        Account account = lockAccount(accountRepository, accountId, accountNumber, reservation).orElseThrow(() -> {
             log.error("AUDIT: Withdrawal failed - Account not found. Account ID: {}", accountId);
             return new NotFoundException("Account", accountId);
         });
@@ -231,14 +340,15 @@ public class BankingServiceImpl implements BankingService {
             throw new AccountInactiveException(accountId, account.getStatus());
         }
 
-        if (account.getBalance().compareTo(amount) < 0) {
+        if (account.getMoneyBalance().isLessThan(debit)) {
             log.warn("AUDIT: Withdrawal rejected - Insufficient funds. Account ID: {}, Required: {}, Available: {}", accountId, amount, account.getBalance());
             throw new InsufficientFundsException(accountId, amount, account.getBalance());
         }
+        transactionLimitService.record(TransactionType.WITHDRAW, accountId, amount);
 
-        BigDecimal oldBalance = account.getBalance();
-        BigDecimal newBalance = oldBalance.subtract(amount);
-        account.setBalance(newBalance);
+        Money oldBalance = account.getMoneyBalance();
+        Money newBalance = oldBalance.minus(debit);
+        account.setMoneyBalance(newBalance);
         accountRepository.save(account);
         log.debug("AUDIT: Balance updated - Account ID: {}, Old Balance: {}, New Balance: {}, Withdrawal Amount: {}", accountId, oldBalance, newBalance, amount);
 
@@ -249,46 +359,76 @@ public class BankingServiceImpl implements BankingService {
         transaction.setDescription("Withdrawal");
         transaction.setTimestamp(LocalDateTime.now());
         TransactionRecord savedTransaction = transactionRepository.save(transaction);
+        monthlyRollupService.add(savedTransaction);
+        invalidationBus.publishLocal(InvalidationKind.ACCOUNT, accountId);
 
-        log.info("AUDIT: Withdrawal completed successfully - Transaction ID: {}, Account ID: {}, Amount: {}, New Balance: {}", savedTransaction.getId(), accountId, amount, newBalance);
+        moneyLog.atInfo().setMessage("AUDIT: Withdrawal completed")
+                .addKeyValue("transactionId", savedTransaction.getId())
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .addKeyValue("balance", newBalance)
+                .log();
 
         return savedTransaction;
     }
 
     @Override
+    @Bulkhead(name = "banking-write")
     public TransactionRecord withdrawByAccountNumber(String accountNumber, BigDecimal amount) {
-        log.info("AUDIT: Initiating withdrawal - Account Number: {}, Amount: {}", accountNumber, amount);
-        Account account = getAccountByNumber(accountNumber);
-        return withdraw(account.getId(), amount);
+        log.debug("Resolving withdrawal account - Account Number: {}", accountNumber);
+        try {
+            return withdraw(resolveAccountId(accountNumber), accountNumber, amount);
+        } catch (StaleDirectoryEntryException ex) {
+            return withdraw(resolveAccountIdFromDatabase(accountNumber), accountNumber, amount);
+        }
     }
 
     @Override
     @Transactional
+    @Bulkhead(name = "banking-write")
     public TransactionRecord transfer(Long fromAccountId, Long toAccountId, BigDecimal amount, String description) {
-        log.info("AUDIT: Initiating transfer - From Account ID: {}, To Account ID: {}, Amount: {}, Description: {}", fromAccountId, toAccountId, amount, description);
+        return transfer(fromAccountId, toAccountId, null, null, amount, description);
+    }
+
+    private TransactionRecord transfer(Long fromAccountId, Long toAccountId, String fromAccountNumber, String toAccountNumber,
+                                       BigDecimal amount, String description) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating transfer")
+                .addKeyValue("fromAccountId", fromAccountId)
+                .addKeyValue("toAccountId", toAccountId)
+                .addKeyValue("amount", amount)
+                .addKeyValue("description", description)
+                .log();
 
-        validateAmount(amount);
+        Money debit = validateAmount(amount);
 
+        if (fromAccountId.equals(toAccountId) && fromAccountNumber != null && !fromAccountNumber.equals(toAccountNumber)) {
+            throw new StaleDirectoryEntryException(toAccountNumber, toAccountId, fromAccountNumber);
+        }
         if (fromAccountId.equals(toAccountId)) {
             log.warn("AUDIT: Transfer rejected - Self-transfer attempted. Account ID: {}", fromAccountId);
             throw new BadRequestException("toAccountId", toAccountId.toString(), "Cannot transfer to same account");
         }
+        VelocityEngine.Reservation reservation = velocityEngine.acquire(TransactionType.TRANSFER, fromAccountId, amount);
+        transactionLimitService.preCheck(TransactionType.TRANSFER, fromAccountId, amount);
 
-        Long firstLockId = fromAccountId < toAccountId ? fromAccountId : toAccountId;
-        Long secondLockId = fromAccountId < toAccountId ? toAccountId : fromAccountId;
+        boolean fromFirst = fromAccountId < toAccountId;
+        Long firstLockId = fromFirst ? fromAccountId : toAccountId;
+        Long secondLockId = fromFirst ? toAccountId : fromAccountId;
 
-        Account firstLocked = accountRepository.findByIdForUpdate(firstLockId).orElseThrow(() -> {
-            log.error("AUDIT: Transfer failed - Account not found. Account ID: {}", firstLockId);
-            return new NotFoundException("Account", firstLockId);
-        });
+        Account firstLocked = lockAccount(accountRepository, firstLockId, fromFirst ? fromAccountNumber : toAccountNumber, reservation)
+                .orElseThrow(() -> {
+                    log.error("AUDIT: Transfer failed - Account not found. Account ID: {}", firstLockId);
+                    return new NotFoundException("Account", firstLockId);
+                });
 
-        Account secondLocked = accountRepository.findByIdForUpdate(secondLockId).orElseThrow(() -> {
-            log.error("AUDIT: Transfer failed - Account not found. Account ID: {}", secondLockId);
-            return new NotFoundException("Account", secondLockId);
-        });
+        Account secondLocked = lockAccount(accountRepository, secondLockId, fromFirst ? toAccountNumber : fromAccountNumber, reservation)
+                .orElseThrow(() -> {
+                    log.error("AUDIT: Transfer failed - Account not found. Account ID: {}", secondLockId);
+                    return new NotFoundException("Account", secondLockId);
+                });
 
-        Account fromAccount = fromAccountId.equals(firstLocked.getId()) ? firstLocked : secondLocked;
-        Account toAccount = toAccountId.equals(firstLocked.getId()) ? firstLocked : secondLocked;
+        Account fromAccount = fromFirst ? firstLocked : secondLocked;
+        Account toAccount = fromFirst ? secondLocked : firstLocked;
 
         if (fromAccount.getStatus() != AccountStatus.ACTIVE) {
             log.warn("AUDIT: Transfer rejected - Source account inactive. Account ID: {}, Status: {}", fromAccountId, fromAccount.getStatus());
@@ -300,16 +440,14 @@ public class BankingServiceImpl implements BankingService {
             throw new AccountInactiveException(toAccountId, toAccount.getStatus());
         }
 
-        if (fromAccount.getBalance().compareTo(amount) < 0) {
+        if (fromAccount.getMoneyBalance().isLessThan(debit)) {
             log.warn("AUDIT: Transfer rejected - Insufficient funds. From Account ID: {}, Required: {}, Available: {}", fromAccountId, amount, fromAccount.getBalance());
             throw new InsufficientFundsException(fromAccountId, amount, fromAccount.getBalance());
         }
+        transactionLimitService.record(TransactionType.TRANSFER, fromAccountId, amount);
 
-        BigDecimal fromOldBalance = fromAccount.getBalance();
-        BigDecimal toOldBalance = toAccount.getBalance();
-
-        fromAccount.setBalance(fromOldBalance.subtract(amount));
-        toAccount.setBalance(toOldBalance.add(amount));
+        fromAccount.setMoneyBalance(fromAccount.getMoneyBalance().minus(debit));
+        toAccount.setMoneyBalance(toAccount.getMoneyBalance().plus(debit));
 
         accountRepository.save(fromAccount);
         accountRepository.save(toAccount);
@@ -323,33 +461,46 @@ public class BankingServiceImpl implements BankingService {
         transaction.setTimestamp(LocalDateTime.now());
 
         TransactionRecord savedTransaction = transactionRepository.save(transaction);
+        monthlyRollupService.add(savedTransaction);
+        invalidationBus.publishLocal(InvalidationKind.ACCOUNT, fromAccountId, toAccountId);
 
-        log.info("AUDIT: Transfer completed successfully - Transaction ID: {}, From Account ID: {}, To Account ID: {}, Amount: {}", savedTransaction.getId(), fromAccountId, toAccountId, amount);
+        moneyLog.atInfo().setMessage("AUDIT: Transfer completed")
+                .addKeyValue("transactionId", savedTransaction.getId())
+                .addKeyValue("fromAccountId", fromAccountId)
+                .addKeyValue("toAccountId", toAccountId)
+                .addKeyValue("amount", amount)
+                .log();
 
         return savedTransaction;
     }
 
     @Override
     @Transactional
+    @Bulkhead(name = "banking-write")
     public TransactionRecord transferByAccountNumber(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String description) {
-        log.info("AUDIT: Initiating transfer - From Account Number: {}, To Account Number: {}, Amount: {}, Description: {}", fromAccountNumber, toAccountNumber, amount, description);
-        Account fromAccount = getAccountByNumber(fromAccountNumber);
-        Account toAccount = getAccountByNumber(toAccountNumber);
-        return transfer(fromAccount.getId(), toAccount.getId(), amount, description);
+        log.debug("Resolving transfer accounts - From Account Number: {}, To Account Number: {}", fromAccountNumber, toAccountNumber);
+        try {
+            return transfer(resolveAccountId(fromAccountNumber), resolveAccountId(toAccountNumber), fromAccountNumber, toAccountNumber,
+                    amount, description);
+        } catch (StaleDirectoryEntryException ex) {
+            return transfer(resolveAccountIdFromDatabase(fromAccountNumber), resolveAccountIdFromDatabase(toAccountNumber),
+                    fromAccountNumber, toAccountNumber, amount, description);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public List<TransactionRecord> getTransactionsForAccount(Long accountId) {
-        log.info("Fetching transactions for account ID: {}", accountId);
-        getAccount(accountId);
-        return transactionRepository.findByFromAccountIdOrToAccountIdOrderByTimestampDesc(accountId, accountId);
+        readLog.atInfo().setMessage("Fetching transactions").addKeyValue("accountId", accountId).log();
+        return findTransactions(accountId);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public TransactionRecord getTransactionForAccount(Long accountId, Long transactionId) {
-        log.info("Fetching transaction ID: {} for account ID: {}", transactionId, accountId);
+        readLog.atInfo().setMessage("Fetching transaction").addKeyValue("transactionId", transactionId).addKeyValue("accountId", accountId).log();
 
         getAccount(accountId);
 
@@ -367,27 +518,134 @@ public class BankingServiceImpl implements BankingService {
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public List<TransactionRecord> getTransactionsByAccountNumber(String accountNumber) {
-        log.info("Fetching transactions for account number: {}", accountNumber);
-        Account account = getAccountByNumber(accountNumber);
-        getAccount(account.getId());
-        return transactionRepository.findByFromAccountIdOrToAccountIdOrderByTimestampDesc(account.getId(), account.getId());
+        readLog.atInfo().setMessage("Fetching transactions").addKeyValue("accountNumber", accountNumber).log();
+        try {
+            return findTransactions(resolveAccountId(accountNumber), accountNumber);
+        } catch (StaleDirectoryEntryException ex) {
+            return findTransactions(resolveAccountIdFromDatabase(accountNumber), accountNumber);
+        }
+    }
+
+    private List<TransactionRecord> findTransactions(Long accountId) {
+        return findTransactions(accountId, null);
+    }
+
+    private List<TransactionRecord> findTransactions(Long accountId, String accountNumber) {
+        return readCoalescer.read("findTransactions", accountNumber != null ? accountNumber : accountId, () -> {
+            Account account = accountRepository.findById(accountId).orElseThrow(() -> new NotFoundException("Account", accountId));
+            checkAccountNumber(account, accountNumber, null);
+            return transactionRepository.findByFromAccountIdOrToAccountIdOrderByTimestampDesc(accountId, accountId);
+        }, transactions -> accountId, List::copyOf);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
     public TransactionRecord getTransactionForAccountByNumber(String accountNumber, Long transactionId) {
-        log.info("Fetching transaction ID: {} for account number: {}", transactionId, accountNumber);
+        readLog.atInfo().setMessage("Fetching transaction").addKeyValue("transactionId", transactionId).addKeyValue("accountNumber", accountNumber).log();
+        Long accountId = resolveAccountId(accountNumber);
+        Account account = accountRepository.findById(accountId).orElse(null);
+        if (account == null || !accountNumber.equals(account.getAccountNumber())) {
+            accountId = resolveAccountIdFromDatabase(accountNumber);
+        }
+        return getTransactionForAccount(accountId, transactionId);
+    }
+
+    /**
+     * Resolves an account number through the {@link AccountDirectory}, falling back to the database
+     * and adding the account to the directory when it is missing.
+     *
+     * @throws NotFoundException if no account has this number
+     */
+    public Long resolveAccountId(String accountNumber) {
+        AccountDirectory.Entry entry = accountDirectory.find(accountNumber);
+        if (entry != null) {
+            return entry.accountId();
+        }
         Account account = getAccountByNumber(accountNumber);
-        return getTransactionForAccount(account.getId(), transactionId);
+        accountDirectory.put(account.getId(), account.getAccountNumber(), account.getStatus());
+        return account.getId();
+    }
+
+    /**
+     * Resolves an account number from the database only, replacing whatever the
+     * {@link AccountDirectory} holds for it. Used after a directory entry turned out to be stale.
+     *
+     * @throws NotFoundException if no account has this number
+     */
+    public Long resolveAccountIdFromDatabase(String accountNumber) {
+        if (!keyFilters.accountNumbers().mightExist(accountNumber)) {
+            throw new NotFoundException("Account with number", accountNumber);
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException("Account with number", accountNumber));
+        accountDirectory.put(account.getId(), account.getAccountNumber(), account.getStatus());
+        return account.getId();
     }
 
-    private void validateAmount(BigDecimal amount) {
+    /**
+     * Locks the account by id; when the caller asked by number, only if the account still has that
+     * number. A stale directory entry thus fails before its row is locked, and the retry in the same
+     * transaction holds no lock on an account it does not touch.
+     *
+     * @param accountNumber the number asked for, or {@code null} when the caller asked by id
+     * @param reservation   velocity reservation to give back on a mismatch, or {@code null}
+     * @return the locked account, or empty if no account has the id
+     * @throws StaleDirectoryEntryException if the account with the id has another number
+     */
+    static Optional<Account> lockAccount(AccountRepository accountRepository, Long accountId, String accountNumber,
+                                         VelocityEngine.Reservation reservation) {
+        if (accountNumber == null) {
+            return accountRepository.findByIdForUpdate(accountId);
+        }
+        Optional<Account> locked = accountRepository.findByIdAndAccountNumberForUpdate(accountId, accountNumber);
+        if (locked.isEmpty()) {
+            accountRepository.findById(accountId).ifPresent(account -> checkAccountNumber(account, accountNumber, reservation));
+        }
+        return locked;
+    }
+
+    /**
+     * Checks that an account found by an id from {@link #resolveAccountId} has the number the
+     * caller asked for, so a stale directory entry never moves money on another account. Static, so
+     * the failure does not cross a proxy and mark the transaction rollback-only before the retry.
+     *
+     * @param accountNumber the number asked for, or {@code null} when the caller asked by id
+     * @param reservation   velocity reservation to give back on a mismatch, or {@code null}
+     * @throws StaleDirectoryEntryException if the numbers differ
+     */
+    static void checkAccountNumber(Account account, String accountNumber, VelocityEngine.Reservation reservation) {
+        if (accountNumber == null || accountNumber.equals(account.getAccountNumber())) {
+            return;
+        }
+        log.error("AUDIT: Stale account directory entry - Account Number: {}, Account ID: {}, Actual Number: {}",
+                accountNumber, account.getId(), account.getAccountNumber());
+        if (reservation != null) {
+            reservation.release();
+        }
+        throw new StaleDirectoryEntryException(accountNumber, account.getId(), account.getAccountNumber());
+    }
+
+    /**
+     * Checks a request amount and converts it to cents once, for the balance arithmetic that follows.
+     */
+    static Money validateAmount(BigDecimal amount) {
         if (amount == null) {
             throw new BadRequestException("amount", "null", "Amount cannot be null");
         }
-        if (amount.compareTo(new BigDecimal("0.01")) < 0) {
+        if (amount.signum() <= 0) {
             throw new BadRequestException("amount", amount.toString(), "Amount must be greater than 0");
         }
+        return toMoney("amount", amount);
+    }
+
+    private static Money toMoney(String field, BigDecimal amount) {
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException ex) {
+            throw new BadRequestException(field, amount.toString(), "Must be a whole number of cents within range");
+        }
     }
 }
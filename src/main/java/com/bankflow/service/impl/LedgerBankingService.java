@@ -0,0 +1,225 @@
+package com.bankflow.service.impl;
+
+import com.bankflow.dto.UpdateCustomerRequest;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.logging.LogCategories;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.service.BankingService;
+import com.bankflow.service.ledger.LedgerEngine;
+import com.bankflow.service.limits.TransactionLimitService;
+import com.bankflow.service.velocity.VelocityEngine;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link BankingService} backed by the in-memory {@link LedgerEngine}, enabled with
+ * {@code app.banking.engine=ledger}. Money movement goes through the engine; customers, account
+ * creation and reads are delegated to {@link BankingServiceImpl}.
+ * <p>
+ * Money methods carry no bulkhead: callers queue in the engine, whose capacity is the backpressure,
+ * and a larger queue means larger journal batches.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.banking.engine", havingValue = "ledger")
+@CircuitBreaker(name = "database")
+@Slf4j
+public class LedgerBankingService implements BankingService {
+
+    private static final Logger moneyLog = LoggerFactory.getLogger(LogCategories.MONEY_MOVEMENT);
+
+    private final BankingServiceImpl delegate;
+    private final LedgerEngine ledger;
+    private final VelocityEngine velocityEngine;
+    private final TransactionLimitService transactionLimitService;
+    private final Cache<String, Long> accountIds = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+
+    public LedgerBankingService(BankingServiceImpl delegate, LedgerEngine ledger, VelocityEngine velocityEngine,
+                                TransactionLimitService transactionLimitService) {
+        this.delegate = delegate;
+        this.ledger = ledger;
+        this.velocityEngine = velocityEngine;
+        this.transactionLimitService = transactionLimitService;
+    }
+
+    @Override
+    public Customer updateCustomer(String username, UpdateCustomerRequest request) {
+        return delegate.updateCustomer(username, request);
+    }
+
+    @Override
+    public Customer getCustomer(Long customerId) {
+        return delegate.getCustomer(customerId);
+    }
+
+    @Override
+    public Customer getCustomerByUsername(String username) {
+        return delegate.getCustomerByUsername(username);
+    }
+
+    @Override
+    public String getCustomerETag(String username) {
+        return delegate.getCustomerETag(username);
+    }
+
+    @Override
+    public Account createAccount(String username, BigDecimal initialDeposit) {
+        return delegate.createAccount(username, initialDeposit);
+    }
+
+    @Override
+    public void getAccount(Long accountId) {
+        delegate.getAccount(accountId);
+    }
+
+    @Override
+    public Account getAccountByNumber(String accountNumber) {
+        return delegate.getAccountByNumber(accountNumber);
+    }
+
+    @Override
+    public String getAccountETag(String accountNumber) {
+        return delegate.getAccountETag(accountNumber);
+    }
+
+    @Override
+    public List<Account> getCustomerAccountsByUsername(String username) {
+        return delegate.getCustomerAccountsByUsername(username);
+    }
+
+    @Override
+    public TransactionRecord deposit(Long accountId, BigDecimal amount) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating deposit")
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .log();
+
+        BankingServiceImpl.validateAmount(amount);
+        return await(ledger.deposit(accountId, amount));
+    }
+
+    @Override
+    public TransactionRecord depositByAccountNumber(String accountNumber, BigDecimal amount) {
+        log.debug("Resolving deposit account - Account Number: {}", accountNumber);
+        return deposit(resolveAccountId(accountNumber), amount);
+    }
+
+    @Override
+    public TransactionRecord withdraw(Long accountId, BigDecimal amount) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating withdrawal")
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .log();
+
+        BankingServiceImpl.validateAmount(amount);
+        transactionLimitService.preCheck(TransactionType.WITHDRAW, accountId, amount);
+        VelocityEngine.Reservation reservation = velocityEngine.acquire(TransactionType.WITHDRAW, accountId, amount);
+        return await(ledger.withdraw(accountId, amount), reservation);
+    }
+
+    @Override
+    public TransactionRecord withdrawByAccountNumber(String accountNumber, BigDecimal amount) {
+        log.debug("Resolving withdrawal account - Account Number: {}", accountNumber);
+        return withdraw(resolveAccountId(accountNumber), amount);
+    }
+
+    @Override
+    public TransactionRecord transfer(Long fromAccountId, Long toAccountId, BigDecimal amount, String description) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating transfer")
+                .addKeyValue("fromAccountId", fromAccountId)
+                .addKeyValue("toAccountId", toAccountId)
+                .addKeyValue("amount", amount)
+                .addKeyValue("description", description)
+                .log();
+
+        BankingServiceImpl.validateAmount(amount);
+
+        if (fromAccountId.equals(toAccountId)) {
+            log.warn("AUDIT: Transfer rejected - Self-transfer attempted. Account ID: {}", fromAccountId);
+            throw new BadRequestException("toAccountId", toAccountId.toString(), "Cannot transfer to same account");
+        }
+
+        transactionLimitService.preCheck(TransactionType.TRANSFER, fromAccountId, amount);
+        VelocityEngine.Reservation reservation = velocityEngine.acquire(TransactionType.TRANSFER, fromAccountId, amount);
+        return await(ledger.transfer(fromAccountId, toAccountId, amount, description), reservation);
+    }
+
+    @Override
+    public TransactionRecord transferByAccountNumber(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String description) {
+        log.debug("Resolving transfer accounts - From Account Number: {}, To Account Number: {}", fromAccountNumber, toAccountNumber);
+        return transfer(resolveAccountId(fromAccountNumber), resolveAccountId(toAccountNumber), amount, description);
+    }
+
+    @Override
+    public List<TransactionRecord> getTransactionsForAccount(Long accountId) {
+        return delegate.getTransactionsForAccount(accountId);
+    }
+
+    @Override
+    public List<TransactionRecord> getTransactionsByAccountNumber(String accountNumber) {
+        return delegate.getTransactionsByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public TransactionRecord getTransactionForAccount(Long accountId, Long transactionId) {
+        return delegate.getTransactionForAccount(accountId, transactionId);
+    }
+
+    @Override
+    public TransactionRecord getTransactionForAccountByNumber(String accountNumber, Long transactionId) {
+        return delegate.getTransactionForAccountByNumber(accountNumber, transactionId);
+    }
+
+    /**
+     * Account numbers never change, so the id lookup is cached; unknown numbers are not. The engine
+     * cannot check numbers, so misses go to the database rather than the account directory.
+     */
+    private Long resolveAccountId(String accountNumber) {
+        Long accountId = accountIds.getIfPresent(accountNumber);
+        if (accountId == null) {
+            accountId = delegate.resolveAccountIdFromDatabase(accountNumber);
+            accountIds.put(accountNumber, accountId);
+        }
+        return accountId;
+    }
+
+    /**
+     * Waits for the engine, releasing the velocity reservation if the operation failed.
+     */
+    private static TransactionRecord await(CompletableFuture<TransactionRecord> result, VelocityEngine.Reservation reservation) {
+        try {
+            return await(result);
+        } catch (RuntimeException ex) {
+            reservation.release();
+            throw ex;
+        }
+    }
+
+    private static TransactionRecord await(CompletableFuture<TransactionRecord> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
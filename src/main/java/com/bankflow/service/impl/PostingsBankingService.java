@@ -0,0 +1,389 @@
+package com.bankflow.service.impl;
+
+import com.bankflow.dto.UpdateCustomerRequest;
+import com.bankflow.exception.AccountInactiveException;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.InsufficientFundsException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.logging.LogCategories;
+import com.bankflow.model.Account;
+import com.bankflow.model.BalanceCheckpoint;
+import com.bankflow.model.Customer;
+import com.bankflow.model.Posting;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.PostingDirection;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.BalanceCheckpointRepository;
+import com.bankflow.repository.PostingRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.BankingService;
+import com.bankflow.service.directory.StaleDirectoryEntryException;
+import com.bankflow.service.invalidation.InvalidationBus;
+import com.bankflow.service.invalidation.InvalidationKind;
+import com.bankflow.service.limits.TransactionLimitService;
+import com.bankflow.service.rollups.MonthlyRollupService;
+import com.bankflow.service.velocity.VelocityEngine;
+import com.bankflow.util.ETags;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link BankingService} that books money movement as append-only double-entry postings,
+ * enabled with {@code app.banking.engine=postings}. Account rows are never updated by
+ * deposits, withdrawals or transfers: {@code accounts.balance} stays the opening balance and
+ * the current balance is the latest {@link BalanceCheckpoint} plus the postings after it.
+ * <p>
+ * Credits are plain inserts. Debits take the account row lock and go through a guarded insert
+ * that only succeeds when the balance covers the amount. Customer operations, account creation
+ * and transaction reads are delegated to {@link BankingServiceImpl}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.banking.engine", havingValue = "postings")
+@Transactional
+@CircuitBreaker(name = "database")
+@RequiredArgsConstructor
+@Slf4j
+public class PostingsBankingService implements BankingService {
+
+    private static final Logger moneyLog = LoggerFactory.getLogger(LogCategories.MONEY_MOVEMENT);
+
+    private final BankingServiceImpl delegate;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final PostingRepository postingRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final VelocityEngine velocityEngine;
+    private final TransactionLimitService transactionLimitService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final InvalidationBus invalidationBus;
+
+    @Override
+    public Customer updateCustomer(String username, UpdateCustomerRequest request) {
+        return delegate.updateCustomer(username, request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Customer getCustomer(Long customerId) {
+        return delegate.getCustomer(customerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Customer getCustomerByUsername(String username) {
+        return delegate.getCustomerByUsername(username);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getCustomerETag(String username) {
+        return delegate.getCustomerETag(username);
+    }
+
+    @Override
+    public Account createAccount(String username, BigDecimal initialDeposit) {
+        return delegate.createAccount(username, initialDeposit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void getAccount(Long accountId) {
+        delegate.getAccount(accountId);
+    }
+
+    /**
+     * Read-only transactions leave loaded entities unflushed, so overlaying the computed
+     * balance never writes it back.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Account getAccountByNumber(String accountNumber) {
+        return withCurrentBalance(delegate.getAccountByNumber(accountNumber));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
+    public String getAccountETag(String accountNumber) {
+        log.debug("Resolving ETag for account with number: {}", accountNumber);
+        Long version = accountRepository.findVersionByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException("Account with number", accountNumber));
+        return ETags.forAccount(version, postingRepository.findLastIdByAccountNumber(accountNumber).orElse(null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Account> getCustomerAccountsByUsername(String username) {
+        List<Account> accounts = delegate.getCustomerAccountsByUsername(username);
+        accounts.forEach(this::withCurrentBalance);
+        return accounts;
+    }
+
+    @Override
+    @Bulkhead(name = "banking-write")
+    public TransactionRecord deposit(Long accountId, BigDecimal amount) {
+        return deposit(accountId, null, amount);
+    }
+
+    private TransactionRecord deposit(Long accountId, String accountNumber, BigDecimal amount) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating deposit")
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .log();
+
+        BankingServiceImpl.validateAmount(amount);
+
+        Account account = accountRepository.findById(accountId).orElseThrow(() -> {
+            log.error("AUDIT: Deposit failed - Account not found. Account ID: {}", accountId);
+            return new NotFoundException("Account", accountId);
+        });
+        BankingServiceImpl.checkAccountNumber(account, accountNumber, null);
+
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            log.warn("AUDIT: Deposit rejected - Account inactive. Account ID: {}, Status: {}", accountId, account.getStatus());
+            throw new AccountInactiveException(accountId, account.getStatus());
+        }
+
+        TransactionRecord savedTransaction = record(TransactionType.DEPOSIT, amount, account, null, "Deposit");
+        postingRepository.saveAll(List.of(
+                new Posting(savedTransaction, null, PostingDirection.DEBIT, amount),
+                new Posting(savedTransaction, accountId, PostingDirection.CREDIT, amount)));
+
+        moneyLog.atInfo().setMessage("AUDIT: Deposit completed")
+                .addKeyValue("transactionId", savedTransaction.getId())
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .log();
+
+        return savedTransaction;
+    }
+
+    @Override
+    @Bulkhead(name = "banking-write")
+    public TransactionRecord depositByAccountNumber(String accountNumber, BigDecimal amount) {
+        log.debug("Resolving deposit account - Account Number: {}", accountNumber);
+        try {
+            return deposit(delegate.resolveAccountId(accountNumber), accountNumber, amount);
+        } catch (StaleDirectoryEntryException ex) {
+            return deposit(delegate.resolveAccountIdFromDatabase(accountNumber), accountNumber, amount);
+        }
+    }
+
+    @Override
+    @Bulkhead(name = "banking-write")
+    public TransactionRecord withdraw(Long accountId, BigDecimal amount) {
+        return withdraw(accountId, null, amount);
+    }
+
+    private TransactionRecord withdraw(Long accountId, String accountNumber, BigDecimal amount) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating withdrawal")
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .log();
+
+        BankingServiceImpl.validateAmount(amount);
+        VelocityEngine.Reservation reservation = velocityEngine.acquire(TransactionType.WITHDRAW, accountId, amount);
+        transactionLimitService.preCheck(TransactionType.WITHDRAW, accountId, amount);
+
+        Account account = BankingServiceImpl.lockAccount(accountRepository, accountId, accountNumber, reservation).orElseThrow(() -> {
+            log.error("AUDIT: Withdrawal failed - Account not found. Account ID: {}", accountId);
+            return new NotFoundException("Account", accountId);
+        });
+
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            log.warn("AUDIT: Withdrawal rejected - Account inactive. Account ID: {}, Status: {}", accountId, account.getStatus());
+            throw new AccountInactiveException(accountId, account.getStatus());
+        }
+        transactionLimitService.record(TransactionType.WITHDRAW, accountId, amount);
+
+        TransactionRecord savedTransaction = record(TransactionType.WITHDRAW, amount, account, null, "Withdrawal");
+        debit(savedTransaction, account, amount);
+        postingRepository.save(new Posting(savedTransaction, null, PostingDirection.CREDIT, amount));
+
+        moneyLog.atInfo().setMessage("AUDIT: Withdrawal completed")
+                .addKeyValue("transactionId", savedTransaction.getId())
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .log();
+
+        return savedTransaction;
+    }
+
+    @Override
+    @Bulkhead(name = "banking-write")
+    public TransactionRecord withdrawByAccountNumber(String accountNumber, BigDecimal amount) {
+        log.debug("Resolving withdrawal account - Account Number: {}", accountNumber);
+        try {
+            return withdraw(delegate.resolveAccountId(accountNumber), accountNumber, amount);
+        } catch (StaleDirectoryEntryException ex) {
+            return withdraw(delegate.resolveAccountIdFromDatabase(accountNumber), accountNumber, amount);
+        }
+    }
+
+    /**
+     * Only the source account is locked: credits cannot overdraw, so the destination needs no lock
+     * and two opposite transfers cannot deadlock.
+     */
+    @Override
+    @Bulkhead(name = "banking-write")
+    public TransactionRecord transfer(Long fromAccountId, Long toAccountId, BigDecimal amount, String description) {
+        return transfer(fromAccountId, toAccountId, null, null, amount, description);
+    }
+
+    private TransactionRecord transfer(Long fromAccountId, Long toAccountId, String fromAccountNumber, String toAccountNumber,
+                                       BigDecimal amount, String description) {
+        moneyLog.atInfo().setMessage("AUDIT: Initiating transfer")
+                .addKeyValue("fromAccountId", fromAccountId)
+                .addKeyValue("toAccountId", toAccountId)
+                .addKeyValue("amount", amount)
+                .addKeyValue("description", description)
+                .log();
+
+        BankingServiceImpl.validateAmount(amount);
+
+        if (fromAccountId.equals(toAccountId) && fromAccountNumber != null && !fromAccountNumber.equals(toAccountNumber)) {
+            throw new StaleDirectoryEntryException(toAccountNumber, toAccountId, fromAccountNumber);
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            log.warn("AUDIT: Transfer rejected - Self-transfer attempted. Account ID: {}", fromAccountId);
+            throw new BadRequestException("toAccountId", toAccountId.toString(), "Cannot transfer to same account");
+        }
+        VelocityEngine.Reservation reservation = velocityEngine.acquire(TransactionType.TRANSFER, fromAccountId, amount);
+        transactionLimitService.preCheck(TransactionType.TRANSFER, fromAccountId, amount);
+
+        Account fromAccount = BankingServiceImpl.lockAccount(accountRepository, fromAccountId, fromAccountNumber, reservation).orElseThrow(() -> {
+            log.error("AUDIT: Transfer failed - Account not found. Account ID: {}", fromAccountId);
+            return new NotFoundException("Account", fromAccountId);
+        });
+
+        Account toAccount = accountRepository.findById(toAccountId).orElseThrow(() -> {
+            log.error("AUDIT: Transfer failed - Account not found. Account ID: {}", toAccountId);
+            return new NotFoundException("Account", toAccountId);
+        });
+        BankingServiceImpl.checkAccountNumber(toAccount, toAccountNumber, reservation);
+
+        if (fromAccount.getStatus() != AccountStatus.ACTIVE) {
+            log.warn("AUDIT: Transfer rejected - Source account inactive. Account ID: {}, Status: {}", fromAccountId, fromAccount.getStatus());
+            throw new AccountInactiveException(fromAccountId, fromAccount.getStatus());
+        }
+
+        if (toAccount.getStatus() != AccountStatus.ACTIVE) {
+            log.warn("AUDIT: Transfer rejected - Destination account inactive. Account ID: {}, Status: {}", toAccountId, toAccount.getStatus());
+            throw new AccountInactiveException(toAccountId, toAccount.getStatus());
+        }
+        transactionLimitService.record(TransactionType.TRANSFER, fromAccountId, amount);
+
+        TransactionRecord savedTransaction = record(TransactionType.TRANSFER, amount, fromAccount, toAccount,
+                description != null ? description : "Transfer");
+        debit(savedTransaction, fromAccount, amount);
+        postingRepository.save(new Posting(savedTransaction, toAccountId, PostingDirection.CREDIT, amount));
+
+        moneyLog.atInfo().setMessage("AUDIT: Transfer completed")
+                .addKeyValue("transactionId", savedTransaction.getId())
+                .addKeyValue("fromAccountId", fromAccountId)
+                .addKeyValue("toAccountId", toAccountId)
+                .addKeyValue("amount", amount)
+                .log();
+
+        return savedTransaction;
+    }
+
+    @Override
+    @Bulkhead(name = "banking-write")
+    public TransactionRecord transferByAccountNumber(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String description) {
+        log.debug("Resolving transfer accounts - From Account Number: {}, To Account Number: {}", fromAccountNumber, toAccountNumber);
+        try {
+            return transfer(delegate.resolveAccountId(fromAccountNumber), delegate.resolveAccountId(toAccountNumber),
+                    fromAccountNumber, toAccountNumber, amount, description);
+        } catch (StaleDirectoryEntryException ex) {
+            return transfer(delegate.resolveAccountIdFromDatabase(fromAccountNumber), delegate.resolveAccountIdFromDatabase(toAccountNumber),
+                    fromAccountNumber, toAccountNumber, amount, description);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionRecord> getTransactionsForAccount(Long accountId) {
+        return delegate.getTransactionsForAccount(accountId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionRecord> getTransactionsByAccountNumber(String accountNumber) {
+        return delegate.getTransactionsByAccountNumber(accountNumber);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionRecord getTransactionForAccount(Long accountId, Long transactionId) {
+        return delegate.getTransactionForAccount(accountId, transactionId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionRecord getTransactionForAccountByNumber(String accountNumber, Long transactionId) {
+        return delegate.getTransactionForAccountByNumber(accountNumber, transactionId);
+    }
+
+    /**
+     * Current balance: the checkpointed total, or the opening balance before the first checkpoint,
+     * plus every posting booked after it.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal currentBalance(Account account) {
+        Optional<BalanceCheckpoint> checkpoint = checkpointRepository.findById(account.getId());
+        BigDecimal opening = checkpoint.map(BalanceCheckpoint::getBalance).orElse(account.getBalance());
+        Long afterId = checkpoint.map(BalanceCheckpoint::getLastPostingId).orElse(0L);
+        return opening.add(postingRepository.sumAfter(account.getId(), afterId));
+    }
+
+    private Account withCurrentBalance(Account account) {
+        account.setBalance(currentBalance(account));
+        account.setLastPostingId(postingRepository.findLastIdByAccountId(account.getId()).orElse(null));
+        return account;
+    }
+
+    private void debit(TransactionRecord transaction, Account account, BigDecimal amount) {
+        Optional<BalanceCheckpoint> checkpoint = checkpointRepository.findById(account.getId());
+        BigDecimal opening = checkpoint.map(BalanceCheckpoint::getBalance).orElse(account.getBalance());
+        Long afterId = checkpoint.map(BalanceCheckpoint::getLastPostingId).orElse(0L);
+
+        if (postingRepository.insertDebitIfCovered(transaction.getId(), account.getId(), amount, opening, afterId, LocalDateTime.now()) == 0) {
+            BigDecimal available = opening.add(postingRepository.sumAfter(account.getId(), afterId));
+            log.warn("AUDIT: {} rejected - Insufficient funds. Account ID: {}, Required: {}, Available: {}",
+                    transaction.getType().getDisplayName(), account.getId(), amount, available);
+            throw new InsufficientFundsException(account.getId(), amount, available);
+        }
+    }
+
+    private TransactionRecord record(TransactionType type, BigDecimal amount, Account from, Account to, String description) {
+        TransactionRecord transaction = new TransactionRecord();
+        transaction.setType(type);
+        transaction.setAmount(amount);
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setDescription(description);
+        transaction.setTimestamp(LocalDateTime.now());
+        // Flushed so the guarded native insert can reference it
+        TransactionRecord saved = transactionRepository.saveAndFlush(transaction);
+        monthlyRollupService.add(saved);
+        invalidationBus.publishLocal(InvalidationKind.ACCOUNT, from.getId(), to != null ? to.getId() : null);
+        return saved;
+    }
+}
@@ -0,0 +1,167 @@
+package com.bankflow.service.impl;
+
+import com.bankflow.dto.ScheduledTransferRequest;
+import com.bankflow.dto.UpdateScheduledTransferRequest;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.ScheduledTransfer;
+import com.bankflow.model.enums.ScheduledTransferStatus;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.ScheduledTransferRepository;
+import com.bankflow.service.ScheduledTransferService;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Transactional
+@CircuitBreaker(name = "database")
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledTransferServiceImpl implements ScheduledTransferService {
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final CustomerRepository customerRepository;
+    private final AccountRepository accountRepository;
+
+    @Override
+    @Bulkhead(name = "banking-write")
+    public ScheduledTransfer createScheduledTransfer(String username, ScheduledTransferRequest request) {
+        log.info("AUDIT: Creating scheduled transfer - Username: {}, From: {}, To: {}, Amount: {}, Frequency: {}, Start: {}",
+                username, request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount(),
+                request.getFrequency(), request.getStartDate());
+
+        Customer customer = findCustomer(username);
+
+        if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
+            throw new BadRequestException("toAccountNumber", request.getToAccountNumber(), "Cannot transfer to same account");
+        }
+        if (request.getStartDate().isBefore(LocalDate.now())) {
+            throw new BadRequestException("startDate", request.getStartDate().toString(), "Start date cannot be in the past");
+        }
+        validateEndDate(request.getEndDate(), request.getStartDate());
+
+        Account fromAccount = accountRepository.findByAccountNumber(request.getFromAccountNumber())
+                .orElseThrow(() -> new NotFoundException("Account with number", request.getFromAccountNumber()));
+        if (!fromAccount.getCustomer().getId().equals(customer.getId())) {
+            log.warn("AUDIT: Scheduled transfer rejected - Account {} does not belong to customer {}", fromAccount.getAccountNumber(), username);
+            throw new BadRequestException("fromAccountNumber", request.getFromAccountNumber(), "Account does not belong to customer");
+        }
+        Account toAccount = accountRepository.findByAccountNumber(request.getToAccountNumber())
+                .orElseThrow(() -> new NotFoundException("Account with number", request.getToAccountNumber()));
+
+        ScheduledTransfer scheduledTransfer = new ScheduledTransfer();
+        scheduledTransfer.setCustomer(customer);
+        scheduledTransfer.setFromAccount(fromAccount);
+        scheduledTransfer.setToAccount(toAccount);
+        scheduledTransfer.setAmount(request.getAmount());
+        scheduledTransfer.setDescription(request.getDescription());
+        scheduledTransfer.setFrequency(request.getFrequency());
+        scheduledTransfer.setStartDate(request.getStartDate());
+        scheduledTransfer.setEndDate(request.getEndDate());
+        scheduledTransfer.setNextRunAt(request.getStartDate().atStartOfDay());
+        scheduledTransfer.setStatus(ScheduledTransferStatus.ACTIVE);
+
+        ScheduledTransfer saved = scheduledTransferRepository.save(scheduledTransfer);
+        log.info("AUDIT: Scheduled transfer created - ID: {}, Next run: {}", saved.getId(), saved.getNextRunAt());
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
+    public List<ScheduledTransfer> getScheduledTransfers(String username) {
+        log.debug("Fetching scheduled transfers for customer: {}", username);
+        return scheduledTransferRepository.findByCustomerIdOrderByIdAsc(findCustomer(username).getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(name = "banking-read")
+    public ScheduledTransfer getScheduledTransfer(String username, Long scheduledTransferId) {
+        log.debug("Fetching scheduled transfer {} for customer: {}", scheduledTransferId, username);
+        return findScheduledTransfer(username, scheduledTransferId);
+    }
+
+    @Override
+    @Bulkhead(name = "banking-write")
+    public ScheduledTransfer updateScheduledTransfer(String username, Long scheduledTransferId, UpdateScheduledTransferRequest request) {
+        log.info("AUDIT: Updating scheduled transfer - ID: {}, Username: {}", scheduledTransferId, username);
+
+        ScheduledTransfer scheduledTransfer = findScheduledTransfer(username, scheduledTransferId);
+        if (isFinished(scheduledTransfer)) {
+            throw new BadRequestException("status", scheduledTransfer.getStatus().name(), "Scheduled transfer can no longer be changed");
+        }
+
+        if (request.getAmount() != null) {
+            scheduledTransfer.setAmount(request.getAmount());
+        }
+        if (request.getDescription() != null) {
+            scheduledTransfer.setDescription(request.getDescription());
+        }
+        if (request.getStatus() != null) {
+            if (request.getStatus() != ScheduledTransferStatus.ACTIVE && request.getStatus() != ScheduledTransferStatus.PAUSED) {
+                throw new BadRequestException("status", request.getStatus().name(), "Only ACTIVE and PAUSED can be set; cancel with DELETE");
+            }
+            scheduledTransfer.setStatus(request.getStatus());
+        }
+        if (request.getEndDate() != null) {
+            validateEndDate(request.getEndDate(), scheduledTransfer.getStartDate());
+            scheduledTransfer.setEndDate(request.getEndDate());
+            if (scheduledTransfer.getNextRunAt().toLocalDate().isAfter(request.getEndDate())) {
+                scheduledTransfer.setStatus(ScheduledTransferStatus.COMPLETED);
+                scheduledTransfer.setNextRunAt(null);
+            }
+        }
+
+        ScheduledTransfer saved = scheduledTransferRepository.save(scheduledTransfer);
+        log.info("AUDIT: Scheduled transfer updated - ID: {}, Status: {}, Next run: {}", saved.getId(), saved.getStatus(), saved.getNextRunAt());
+        return saved;
+    }
+
+    @Override
+    @Bulkhead(name = "banking-write")
+    public void cancelScheduledTransfer(String username, Long scheduledTransferId) {
+        log.info("AUDIT: Cancelling scheduled transfer - ID: {}, Username: {}", scheduledTransferId, username);
+
+        ScheduledTransfer scheduledTransfer = findScheduledTransfer(username, scheduledTransferId);
+        if (isFinished(scheduledTransfer)) {
+            log.debug("Scheduled transfer {} already {}", scheduledTransferId, scheduledTransfer.getStatus());
+            return;
+        }
+        scheduledTransfer.setStatus(ScheduledTransferStatus.CANCELLED);
+        scheduledTransfer.setNextRunAt(null);
+        scheduledTransferRepository.save(scheduledTransfer);
+        log.info("AUDIT: Scheduled transfer cancelled - ID: {}", scheduledTransferId);
+    }
+
+    private Customer findCustomer(String username) {
+        return customerRepository.findByUser_Username(username)
+                .orElseThrow(() -> new NotFoundException("Customer with username", username));
+    }
+
+    private ScheduledTransfer findScheduledTransfer(String username, Long scheduledTransferId) {
+        return scheduledTransferRepository.findByIdAndCustomerId(scheduledTransferId, findCustomer(username).getId())
+                .orElseThrow(() -> new NotFoundException("Scheduled transfer", scheduledTransferId));
+    }
+
+    private static void validateEndDate(LocalDate endDate, LocalDate startDate) {
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new BadRequestException("endDate", endDate.toString(), "End date cannot be before start date");
+        }
+    }
+
+    private static boolean isFinished(ScheduledTransfer scheduledTransfer) {
+        return scheduledTransfer.getStatus() == ScheduledTransferStatus.COMPLETED
+                || scheduledTransfer.getStatus() == ScheduledTransferStatus.CANCELLED;
+    }
+}
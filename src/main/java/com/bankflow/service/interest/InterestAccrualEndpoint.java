@@ -0,0 +1,22 @@
+package com.bankflow.service.interest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/interestaccrual}: progress and throughput of the current or last accrual run.
+ */
+@Component
+@Endpoint(id = "interestaccrual")
+@RequiredArgsConstructor
+public class InterestAccrualEndpoint {
+
+    private final InterestAccrualJob interestAccrualJob;
+
+    @ReadOperation
+    public InterestAccrualProgress.Snapshot progress() {
+        return interestAccrualJob.getProgress();
+    }
+}
@@ -0,0 +1,196 @@
+package com.bankflow.service.interest;
+
+import com.bankflow.repository.InterestAccrualCheckpointRepository;
+import com.bankflow.service.batch.AccountIdRanges;
+import com.bankflow.service.batch.AccountIdRanges.Range;
+import com.bankflow.service.batch.JobLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * End-of-day interest accrual. The account id space is cut into ranges of at most {@code chunk-size}
+ * ids that are accrued in parallel on a fork-join pool. Each range streams its balances through a
+ * cursor, batch-inserts {@code interest_accruals} and records a checkpoint of the ids it covered in
+ * the same transaction. Re-running a date after a crash only accrues the ids no checkpoint covers,
+ * even with a different chunk size. Progress is exposed at {@code /actuator/interestaccrual}.
+ * <p>
+ * Interest is on the balance at the end of the accrual date, whenever the job runs: the current
+ * balance in {@code accounts} less the transactions from midnight on. With
+ * {@code app.banking.engine=postings} it is the balance checkpoint with the postings before midnight
+ * it does not include added, and those from midnight on that it does include taken off. Accounts
+ * opened after midnight are skipped.
+ */
+@Component
+@Slf4j
+public class InterestAccrualJob {
+
+    private static final String ACCOUNT_BALANCES_SQL =
+            "SELECT a.id, a.balance - COALESCE(later.amount, 0) FROM accounts a LEFT JOIN (" +
+                    "SELECT account_id, SUM(amount) AS amount FROM (" +
+                    "SELECT from_account_id AS account_id, CASE WHEN type = 'DEPOSIT' THEN amount ELSE -amount END AS amount " +
+                    "FROM transaction_records WHERE from_account_id >= ? AND from_account_id < ? AND timestamp >= ? " +
+                    "UNION ALL " +
+                    "SELECT to_account_id AS account_id, amount FROM transaction_records " +
+                    "WHERE type = 'TRANSFER' AND to_account_id >= ? AND to_account_id < ? AND timestamp >= ?" +
+                    ") flows GROUP BY account_id" +
+                    ") later ON later.account_id = a.id " +
+                    "WHERE a.id >= ? AND a.id < ? AND a.status = 'ACTIVE' AND a.created_at < ? ORDER BY a.id";
+
+    private static final String CHECKPOINTED_BALANCES_SQL =
+            "SELECT a.id, COALESCE(c.balance, a.balance) + COALESCE(SUM(CASE " +
+                    "WHEN p.id > COALESCE(c.last_posting_id, 0) AND p.created_at < ? THEN CASE WHEN p.direction = 'CREDIT' THEN p.amount ELSE -p.amount END " +
+                    "WHEN p.id <= COALESCE(c.last_posting_id, 0) AND p.created_at >= ? THEN CASE WHEN p.direction = 'CREDIT' THEN -p.amount ELSE p.amount END " +
+                    "ELSE 0 END), 0) " +
+                    "FROM accounts a LEFT JOIN balance_checkpoints c ON c.account_id = a.id " +
+                    "LEFT JOIN postings p ON p.account_id = a.id AND (p.id > COALESCE(c.last_posting_id, 0) OR p.created_at >= ?) " +
+                    "WHERE a.id >= ? AND a.id < ? AND a.status = 'ACTIVE' AND a.created_at < ? " +
+                    "GROUP BY a.id, a.balance, c.balance ORDER BY a.id";
+
+    private static final String INSERT_ACCRUAL_SQL =
+            "INSERT INTO interest_accruals (account_id, accrual_date, balance, annual_rate, amount, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CHECKPOINT_SQL =
+            "INSERT INTO interest_accrual_checkpoints (accrual_date, first_account_id, last_account_id, accounts, amount, completed_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InterestAccrualCheckpointRepository checkpointRepository;
+    private final InterestAccrualProperties properties;
+    private final InterestPolicy policy;
+    private final boolean postings;
+
+    private volatile InterestAccrualProgress progress;
+
+    public InterestAccrualJob(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              InterestAccrualCheckpointRepository checkpointRepository,
+                              InterestAccrualProperties properties,
+                              @Value("${app.banking.engine:jpa}") String engine) {
+        if (properties.getChunkSize() < 1 || properties.getParallelism() < 1
+                || properties.getFetchSize() < 1 || properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Interest accrual chunk size, parallelism, fetch size and batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        this.policy = new InterestPolicy(properties.getAnnualRate(), properties.getDaysInYear());
+        this.postings = "postings".equals(engine);
+    }
+
+    @Scheduled(cron = "${app.interest.cron:0 5 0 * * *}")
+    public void accruePreviousDay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate accrualDate = LocalDate.now().minusDays(1);
+        JobLock.runExclusively(jdbcTemplate, "interest-accrual", () -> accrue(accrualDate));
+    }
+
+    public InterestAccrualProgress.Snapshot getProgress() {
+        InterestAccrualProgress current = progress;
+        return current == null ? InterestAccrualProgress.Snapshot.idle() : current.snapshot();
+    }
+
+    /**
+     * Accrues every account of {@code accrualDate} that no checkpoint covers yet.
+     */
+    public synchronized InterestAccrualProgress.Snapshot accrue(LocalDate accrualDate) {
+        List<Range> completed = checkpointRepository.findByAccrualDate(accrualDate).stream()
+                .map(checkpoint -> new Range(checkpoint.getFirstAccountId(), checkpoint.getLastAccountId() + 1))
+                .toList();
+        List<Range> ranges = AccountIdRanges.remaining(jdbcTemplate, properties.getChunkSize(), completed);
+        InterestAccrualProgress run = new InterestAccrualProgress(accrualDate, completed.size() + ranges.size());
+        completed.forEach(range -> run.chunkResumed());
+        progress = run;
+        log.info("Interest accrual started - Date: {}, Ranges: {}, Already checkpointed: {}, Rate: {}",
+                accrualDate, ranges.size(), completed.size(), policy.getAnnualRate());
+
+        AccountIdRanges.forEachParallel(ranges, properties.getParallelism(), range -> {
+            try {
+                accrueRange(accrualDate, range, run);
+            } catch (RuntimeException ex) {
+                // Other ranges carry on; re-running the date retries this one
+                run.chunkFailed();
+                log.error("Interest accrual failed for range - Date: {}, First account ID: {}", accrualDate, range.firstId(), ex);
+            }
+        });
+        run.finish();
+
+        InterestAccrualProgress.Snapshot result = run.snapshot();
+        log.info("Interest accrual finished - Date: {}, Status: {}, Accounts: {}, Amount: {}, Failed ranges: {}, Accounts/s: {}",
+                accrualDate, result.status(), result.accounts(), result.amount(), result.failedChunks(), result.accountsPerSecond());
+        return result;
+    }
+
+    private void accrueRange(LocalDate accrualDate, Range range, InterestAccrualProgress run) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        Date date = Date.valueOf(accrualDate);
+        Object[] args = balanceArgs(range, Timestamp.valueOf(accrualDate.plusDays(1).atStartOfDay()));
+
+        RangeResult result = transactionTemplate.execute(status -> {
+            RangeResult totals = new RangeResult();
+            List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(postings ? CHECKPOINTED_BALANCES_SQL : ACCOUNT_BALANCES_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(properties.getFetchSize());
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                return statement;
+            }, rs -> {
+                BigDecimal balance = rs.getBigDecimal(2);
+                BigDecimal amount = policy.dailyAccrual(balance);
+                if (amount.signum() == 0) {
+                    return;
+                }
+                batch.add(new Object[]{rs.getLong(1), date, balance, policy.getAnnualRate(), amount, createdAt});
+                totals.accounts++;
+                totals.amount = totals.amount.add(amount);
+                if (batch.size() == properties.getBatchSize()) {
+                    jdbcTemplate.batchUpdate(INSERT_ACCRUAL_SQL, batch);
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ACCRUAL_SQL, batch);
+            }
+            jdbcTemplate.update(INSERT_CHECKPOINT_SQL, date, range.firstId(), range.lastId(), totals.accounts, totals.amount, createdAt);
+            return totals;
+        });
+        run.chunkCompleted(result.accounts, result.amount);
+    }
+
+    /**
+     * Parameters of the balances query for {@code range} as of {@code cutoff}.
+     */
+    private Object[] balanceArgs(Range range, Timestamp cutoff) {
+        if (postings) {
+            return new Object[]{cutoff, cutoff, cutoff, range.firstId(), range.endId(), cutoff};
+        }
+        return new Object[]{range.firstId(), range.endId(), cutoff, range.firstId(), range.endId(), cutoff,
+                range.firstId(), range.endId(), cutoff};
+    }
+
+    private static final class RangeResult {
+        private int accounts;
+        private BigDecimal amount = BigDecimal.ZERO;
+    }
+}
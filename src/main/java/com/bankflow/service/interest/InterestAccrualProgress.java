@@ -0,0 +1,90 @@
+package com.bankflow.service.interest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of one accrual run, updated by the worker threads and read by the actuator endpoint.
+ */
+public class InterestAccrualProgress {
+
+    public enum Status {
+        IDLE, RUNNING, COMPLETED, FAILED
+    }
+
+    private final LocalDate accrualDate;
+    private final int totalChunks;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger resumedChunks = new AtomicInteger();
+    private final AtomicInteger completedChunks = new AtomicInteger();
+    private final AtomicInteger failedChunks = new AtomicInteger();
+    private final AtomicLong accounts = new AtomicLong();
+    private BigDecimal amount = BigDecimal.ZERO;
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+
+    InterestAccrualProgress(LocalDate accrualDate, int totalChunks) {
+        this.accrualDate = accrualDate;
+        this.totalChunks = totalChunks;
+    }
+
+    void chunkResumed() {
+        resumedChunks.incrementAndGet();
+    }
+
+    void chunkCompleted(int chunkAccounts, BigDecimal chunkAmount) {
+        accounts.addAndGet(chunkAccounts);
+        synchronized (this) {
+            amount = amount.add(chunkAmount);
+        }
+        completedChunks.incrementAndGet();
+    }
+
+    void chunkFailed() {
+        failedChunks.incrementAndGet();
+    }
+
+    void finish() {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        status = failedChunks.get() == 0 ? Status.COMPLETED : Status.FAILED;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Snapshot snapshot() {
+        long elapsedNanos = (status == Status.RUNNING ? System.nanoTime() : finishedNanos) - startNanos;
+        long processed = accounts.get();
+        int done = resumedChunks.get() + completedChunks.get();
+        BigDecimal accrued;
+        synchronized (this) {
+            accrued = amount;
+        }
+        return new Snapshot(status, accrualDate, totalChunks, completedChunks.get(), resumedChunks.get(), failedChunks.get(),
+                totalChunks == 0 ? 100.0 : done * 100.0 / totalChunks,
+                processed, accrued.setScale(InterestPolicy.ACCRUAL_SCALE, RoundingMode.UNNECESSARY),
+                elapsedNanos <= 0 ? 0 : processed * 1_000_000_000L / elapsedNanos,
+                startedAt, finishedAt);
+    }
+
+    /**
+     * @param resumedChunks   ranges already checkpointed by an earlier, interrupted run
+     * @param accountsPerSecond accounts accrued by this run per second of wall-clock time
+     */
+    public record Snapshot(Status status, LocalDate accrualDate, int totalChunks, int completedChunks, int resumedChunks,
+                           int failedChunks, double percentComplete, long accounts, BigDecimal amount,
+                           long accountsPerSecond, LocalDateTime startedAt, LocalDateTime finishedAt) {
+
+        static Snapshot idle() {
+            return new Snapshot(Status.IDLE, null, 0, 0, 0, 0, 0.0, 0, BigDecimal.ZERO, 0, null, null);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bankflow.service.interest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Settings for the end-of-day interest accrual job.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.interest")
+public class InterestAccrualProperties {
+
+    /**
+     * Whether this instance runs the nightly accrual. Enabled instances take turns: a run is skipped while another instance holds the job's lock.
+     */
+    private boolean enabled = true;
+
+    /**
+     * When the previous day is accrued.
+     */
+    private String cron = "0 5 0 * * *";
+
+    /**
+     * Nominal annual rate applied to positive balances of active accounts, e.g. 0.015 for 1.5%.
+     */
+    private BigDecimal annualRate = new BigDecimal("0.015");
+
+    /**
+     * Day-count denominator: 365 or 360.
+     */
+    private int daysInYear = 365;
+
+    /**
+     * Account ids per checkpointed range. Must not change while a date is only partly accrued.
+     */
+    private long chunkSize = 10_000;
+
+    /**
+     * Ranges processed in parallel; each holds one pooled connection.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Rows fetched per round trip by the streaming balance cursor.
+     */
+    private int fetchSize = 1_000;
+
+    /**
+     * Accruals sent per JDBC batch.
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,36 @@
+package com.bankflow.service.interest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Simple daily interest: {@code balance * annualRate / daysInYear}, rounded half-even to six
+ * decimal places. Only positive balances earn interest.
+ */
+public class InterestPolicy {
+
+    public static final int ACCRUAL_SCALE = 6;
+
+    private final BigDecimal annualRate;
+    private final BigDecimal daysInYear;
+
+    public InterestPolicy(BigDecimal annualRate, int daysInYear) {
+        if (annualRate.signum() < 0 || (daysInYear != 360 && daysInYear != 365)) {
+            throw new IllegalArgumentException("Annual rate must not be negative and days in year must be 360 or 365");
+        }
+        this.annualRate = annualRate;
+        this.daysInYear = BigDecimal.valueOf(daysInYear);
+    }
+
+    public BigDecimal getAnnualRate() {
+        return annualRate;
+    }
+
+    public BigDecimal dailyAccrual(BigDecimal balance) {
+        if (balance.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(ACCRUAL_SCALE);
+        }
+        // The product is exact; the only rounding is the final division
+        return balance.multiply(annualRate).divide(daysInYear, ACCRUAL_SCALE, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,347 @@
+package com.bankflow.service.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Tells every instance's {@link InvalidationListener}s about writes, over PostgreSQL LISTEN/NOTIFY
+ * so no broker is needed.
+ * <p>
+ * Keys published in a transaction are collected and sent with {@code pg_notify} just before it
+ * commits, so PostgreSQL delivers them exactly when the write becomes visible and never for a
+ * rollback; local listeners are told after the commit. Keys published with {@link #publishLocal}
+ * are only told to this instance's listeners: PostgreSQL holds a cluster-wide lock from a
+ * notifying transaction's NOTIFY until its commit, so balance changes, which every money movement
+ * makes, are not sent. Once the context has started, each instance keeps one connection of its
+ * own, outside the pool, listening on the channel, and hands each batch of notifications to the
+ * listeners grouped by kind. When that connection is lost, notifications sent meanwhile are gone,
+ * so on every (re)connect the listeners are told to invalidate everything.
+ * <p>
+ * Payloads are the sending instance's id followed by {@code <kind code><key>} items, one per line.
+ */
+@Slf4j
+public class InvalidationBus implements SmartLifecycle, AutoCloseable {
+
+    private static final char SEPARATOR = '\n';
+    private static final Pattern CHANNEL = Pattern.compile("^[a-z_][a-z0-9_]{0,62}$");
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    private final InvalidationProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final List<InvalidationListener> listeners;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong notificationsSent = new AtomicLong();
+    private final AtomicLong notificationsReceived = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread thread;
+
+    public InvalidationBus(InvalidationProperties properties, JdbcTemplate jdbcTemplate,
+                           DataSourceProperties dataSourceProperties, List<InvalidationListener> listeners) {
+        if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalidation channel must be a lower-case identifier");
+        }
+        if (properties.getMaxPayloadBytes() < 100 || properties.getMaxPayloadBytes() >= 8_000) {
+            throw new IllegalArgumentException("Invalidation max-payload-bytes must be between 100 and 7999");
+        }
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Invalidation listener stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Announces changed keys: with the current transaction's other keys just before it commits,
+     * or at once without a transaction.
+     */
+    public void publish(InvalidationKind kind, Object... keys) {
+        publish(kind, keys, true);
+    }
+
+    /**
+     * Tells this instance's listeners about changed keys, after the current transaction commits or
+     * at once without a transaction, without notifying other instances.
+     */
+    public void publishLocal(InvalidationKind kind, Object... keys) {
+        publish(kind, keys, false);
+    }
+
+    private void publish(InvalidationKind kind, Object[] keys, boolean notify) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        Batch batch = inTransaction ? currentBatch() : new Batch();
+        for (Object key : keys) {
+            if (key != null) {
+                batch.add(notify ? batch.keys : batch.localKeys, kind, key.toString());
+            }
+        }
+        if (!inTransaction) {
+            send(batch);
+            deliver(batch.all(), false);
+        }
+    }
+
+    private Batch currentBatch() {
+        Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            Batch created = new Batch();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(created);
+                }
+
+                @Override
+                public void afterCommit() {
+                    deliver(created.all(), false);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationBus.this);
+                }
+            });
+            batch = created;
+        }
+        return batch;
+    }
+
+    /**
+     * Sends the batch on the current connection, split to fit the payload limit.
+     */
+    private void send(Batch batch) {
+        if (!properties.isEnabled() || batch.keys.isEmpty()) {
+            return;
+        }
+        for (String payload : payloads(batch.keys)) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, properties.getChannel(), payload);
+            notificationsSent.incrementAndGet();
+        }
+    }
+
+    private List<String> payloads(Map<InvalidationKind, Set<String>> keys) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        int bytes = nodeId.length();
+        for (Map.Entry<InvalidationKind, Set<String>> entry : keys.entrySet()) {
+            for (String key : entry.getValue()) {
+                int itemBytes = 2 + key.getBytes(StandardCharsets.UTF_8).length;
+                if (bytes + itemBytes > properties.getMaxPayloadBytes() && payload.length() > nodeId.length()) {
+                    payloads.add(payload.toString());
+                    payload.setLength(0);
+                    payload.append(nodeId);
+                    bytes = nodeId.length();
+                }
+                payload.append(SEPARATOR).append(entry.getKey().code()).append(key);
+                bytes += itemBytes;
+            }
+        }
+        if (payload.length() > nodeId.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Hands one poll's notification payloads to the listeners, one call per kind; this instance's own are skipped.
+     */
+    public void dispatch(Collection<String> payloads) {
+        Map<InvalidationKind, Set<String>> keys = new EnumMap<>(InvalidationKind.class);
+        for (String payload : payloads) {
+            String[] items = payload.split(String.valueOf(SEPARATOR));
+            if (items[0].equals(nodeId)) {
+                continue;
+            }
+            for (int i = 1; i < items.length; i++) {
+                InvalidationKind kind = items[i].isEmpty() ? null : InvalidationKind.of(items[i].charAt(0));
+                if (kind == null) {
+                    log.warn("Ignoring unknown invalidation item: {}", items[i]);
+                    continue;
+                }
+                keys.computeIfAbsent(kind, k -> new LinkedHashSet<>()).add(items[i].substring(1));
+            }
+        }
+        deliver(keys, true);
+    }
+
+    private void deliver(Map<InvalidationKind, Set<String>> keys, boolean remote) {
+        keys.forEach((kind, values) -> {
+            for (InvalidationListener listener : listeners) {
+                try {
+                    listener.invalidate(kind, values);
+                } catch (RuntimeException ex) {
+                    log.error("Invalidation listener failed - Listener: {}, Kind: {}, Remote: {}",
+                            listener.getClass().getSimpleName(), kind, remote, ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Tells every listener to invalidate everything, as after a reconnect.
+     */
+    public void invalidateAll() {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.invalidateAll();
+            } catch (RuntimeException ex) {
+                log.error("Invalidation listener failed to invalidate all - Listener: {}", listener.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    private void listen() {
+        long pollMillis = Math.max(1, properties.getPollInterval().toMillis());
+        long keepaliveNanos = properties.getKeepaliveInterval().toNanos();
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                connected = true;
+                log.info("Invalidation listener connected - Channel: {}, Node: {}", properties.getChannel(), nodeId);
+                // Anything sent while this instance was not listening was missed
+                invalidateAll();
+
+                long lastHeard = System.nanoTime();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) Math.min(pollMillis, Integer.MAX_VALUE));
+                    if (notifications != null && notifications.length > 0) {
+                        List<String> payloads = new ArrayList<>(notifications.length);
+                        for (PGNotification notification : notifications) {
+                            payloads.add(notification.getParameter());
+                        }
+                        notificationsReceived.addAndGet(notifications.length);
+                        dispatch(payloads);
+                        lastHeard = System.nanoTime();
+                    } else if (System.nanoTime() - lastHeard > keepaliveNanos) {
+                        if (!connection.isValid((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(keepaliveNanos)))) {
+                            throw new SQLException("Listen connection is no longer valid");
+                        }
+                        lastHeard = System.nanoTime();
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    break;
+                }
+                reconnects.incrementAndGet();
+                log.warn("Invalidation listener disconnected, reconnecting in {} - Channel: {}, Error: {}",
+                        properties.getReconnectDelay(), properties.getChannel(), ex.getMessage());
+            } finally {
+                connected = false;
+            }
+            sleep(properties.getReconnectDelay().toMillis());
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public Stats stats() {
+        return new Stats(properties.isEnabled(), connected, nodeId, notificationsSent.get(), notificationsReceived.get(), reconnects.get());
+    }
+
+    /**
+     * @param enabled               whether notifications are sent and listened for
+     * @param connected             whether the listen connection is up
+     * @param node                  this instance's id in payloads
+     * @param notificationsSent     NOTIFY statements issued
+     * @param notificationsReceived notifications read, including this instance's own
+     * @param reconnects            times the listen connection was lost
+     */
+    public record Stats(boolean enabled, boolean connected, String node, long notificationsSent,
+                        long notificationsReceived, long reconnects) {
+    }
+
+    private static final class Batch {
+
+        /** Keys sent to every instance. */
+        private final Map<InvalidationKind, Set<String>> keys = new EnumMap<>(InvalidationKind.class);
+        /** Keys only this instance's listeners are told about. */
+        private final Map<InvalidationKind, Set<String>> localKeys = new EnumMap<>(InvalidationKind.class);
+
+        void add(Map<InvalidationKind, Set<String>> target, InvalidationKind kind, String key) {
+            target.computeIfAbsent(kind, k -> new LinkedHashSet<>()).add(key);
+        }
+
+        Map<InvalidationKind, Set<String>> all() {
+            if (localKeys.isEmpty()) {
+                return keys;
+            }
+            Map<InvalidationKind, Set<String>> all = new EnumMap<>(InvalidationKind.class);
+            keys.forEach((kind, values) -> all.put(kind, new LinkedHashSet<>(values)));
+            localKeys.forEach((kind, values) -> all.computeIfAbsent(kind, k -> new LinkedHashSet<>()).addAll(values));
+            return all;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bankflow.service.invalidation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/invalidation}: state of this instance's listen connection and notifications sent and received.
+ */
+@Component
+@Endpoint(id = "invalidation")
+@RequiredArgsConstructor
+public class InvalidationEndpoint {
+
+    private final InvalidationBus invalidationBus;
+
+    @ReadOperation
+    public InvalidationBus.Stats stats() {
+        return invalidationBus.stats();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bankflow.service.invalidation;
+
+/**
+ * What an invalidation key identifies; each kind travels as a one-letter prefix.
+ */
+public enum InvalidationKind {
+
+    /**
+     * An account's balance, status or history changed; keyed by account id. Balance changes are
+     * published with {@link InvalidationBus#publishLocal}.
+     */
+    ACCOUNT('a'),
+
+    /**
+     * A new account number.
+     */
+    ACCOUNT_NUMBER('n'),
+
+    /**
+     * A new username.
+     */
+    USERNAME('u');
+
+    private final char code;
+
+    InvalidationKind(char code) {
+        this.code = code;
+    }
+
+    public char code() {
+        return code;
+    }
+
+    static InvalidationKind of(char code) {
+        for (InvalidationKind kind : values()) {
+            if (kind.code == code) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bankflow.service.invalidation;
+
+import java.util.Collection;
+
+/**
+ * Local state derived from rows that other instances may change, kept correct by the
+ * {@link InvalidationBus}. Calls come from the bus's listener thread and from committing writers.
+ */
+public interface InvalidationListener {
+
+    /**
+     * Keys of one kind changed, here or on another instance.
+     */
+    void invalidate(InvalidationKind kind, Collection<String> keys);
+
+    /**
+     * Notifications may have been missed, after the listen connection was lost; drop or recheck everything.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,39 @@
+package com.bankflow.service.invalidation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the PostgreSQL LISTEN/NOTIFY invalidation bus between instances.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.invalidation")
+public class InvalidationProperties {
+
+    /**
+     * Whether writes are announced to, and announcements read from, other instances; local
+     * listeners are told about local writes either way.
+     */
+    private boolean enabled = true;
+
+    private String channel = "bankflow_invalidation";
+
+    /**
+     * Longest wait for notifications on the listen connection before checking for shutdown.
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * Idle time after which the listen connection is checked; a lost connection is noticed within about this long.
+     */
+    private Duration keepaliveInterval = Duration.ofSeconds(15);
+
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /**
+     * Largest NOTIFY payload sent; bigger batches are split. PostgreSQL rejects payloads of 8000 bytes or more.
+     */
+    private int maxPayloadBytes = 7_900;
+}
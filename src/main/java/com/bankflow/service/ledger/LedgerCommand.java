@@ -0,0 +1,42 @@
+package com.bankflow.service.ledger;
+
+import com.bankflow.model.TransactionRecord;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Messages processed by a {@link LedgerPartition}. Client commands count against the partition's
+ * queue capacity; legs and releases are exchanged between partitions and never block.
+ */
+sealed interface LedgerCommand {
+
+    record Deposit(long accountId, BigDecimal amount, CompletableFuture<TransactionRecord> result)
+            implements LedgerCommand {
+    }
+
+    record Withdrawal(long accountId, BigDecimal amount, CompletableFuture<TransactionRecord> result)
+            implements LedgerCommand {
+    }
+
+    record Transfer(long fromAccountId, long toAccountId, BigDecimal amount, String description,
+                    CompletableFuture<TransactionRecord> result) implements LedgerCommand {
+    }
+
+    /**
+     * Second half of a cross-partition transfer, sent to the destination's partition. The source
+     * has either reserved the amount ({@code debitFailure == null}) or rejected the debit.
+     */
+    record CreditLeg(Transfer transfer, RuntimeException debitFailure) implements LedgerCommand {
+    }
+
+    /**
+     * Returns a reservation to the source account after its credit leg failed.
+     */
+    record Release(long accountId, BigDecimal amount) implements LedgerCommand {
+    }
+
+    default boolean isClientCommand() {
+        return this instanceof Deposit || this instanceof Withdrawal || this instanceof Transfer;
+    }
+}
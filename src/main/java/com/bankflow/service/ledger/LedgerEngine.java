@@ -0,0 +1,85 @@
+package com.bankflow.service.ledger;
+
+import com.bankflow.model.TransactionRecord;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Single-writer ledger: accounts are partitioned by id and every balance change for an account is
+ * applied by its partition's thread, in memory, then committed to {@code accounts} and
+ * {@code transaction_records} in batches. Futures complete only after their batch has committed.
+ * <p>
+ * Balances are loaded lazily from {@code accounts}, which is updated in the same transaction as the
+ * journal, so a restart resumes from the database without replaying anything. While the engine runs
+ * it must be the only writer of balances and statuses for the accounts it has loaded.
+ */
+@Slf4j
+public class LedgerEngine implements AutoCloseable {
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final LedgerPartition[] partitions;
+
+    public LedgerEngine(LedgerJournal journal, LedgerProperties properties) {
+        if (properties.getPartitions() < 1 || properties.getQueueCapacity() < 1 || properties.getMaxBatchSize() < 1) {
+            throw new IllegalArgumentException("Ledger partitions, queue capacity and batch size must be positive");
+        }
+        partitions = new LedgerPartition[properties.getPartitions()];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new LedgerPartition(i, this, journal, properties);
+        }
+        for (LedgerPartition partition : partitions) {
+            partition.start();
+        }
+        log.info("Ledger engine started - Partitions: {}, Queue capacity: {}, Max batch size: {}",
+                partitions.length, properties.getQueueCapacity(), properties.getMaxBatchSize());
+    }
+
+    public CompletableFuture<TransactionRecord> deposit(long accountId, BigDecimal amount) {
+        CompletableFuture<TransactionRecord> result = new CompletableFuture<>();
+        partitionFor(accountId).submit(new LedgerCommand.Deposit(accountId, amount, result));
+        return result;
+    }
+
+    public CompletableFuture<TransactionRecord> withdraw(long accountId, BigDecimal amount) {
+        CompletableFuture<TransactionRecord> result = new CompletableFuture<>();
+        partitionFor(accountId).submit(new LedgerCommand.Withdrawal(accountId, amount, result));
+        return result;
+    }
+
+    public CompletableFuture<TransactionRecord> transfer(long fromAccountId, long toAccountId, BigDecimal amount, String description) {
+        CompletableFuture<TransactionRecord> result = new CompletableFuture<>();
+        partitionFor(fromAccountId).submit(new LedgerCommand.Transfer(fromAccountId, toAccountId, amount, description, result));
+        return result;
+    }
+
+    LedgerPartition partitionFor(long accountId) {
+        return partitions[(int) Math.floorMod(accountId, (long) partitions.length)];
+    }
+
+    /**
+     * Waits for in-flight commands, including forwarded transfer legs, to commit before stopping the threads.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        while (!isIdle() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        for (LedgerPartition partition : partitions) {
+            partition.stop(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        log.info("Ledger engine stopped");
+    }
+
+    private boolean isIdle() {
+        for (LedgerPartition partition : partitions) {
+            if (!partition.isIdle()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
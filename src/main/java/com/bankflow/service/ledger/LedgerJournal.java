@@ -0,0 +1,105 @@
+package com.bankflow.service.ledger;
+
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.invalidation.InvalidationBus;
+import com.bankflow.service.invalidation.InvalidationKind;
+import com.bankflow.service.limits.TransactionLimitService;
+import com.bankflow.service.rollups.MonthlyRollupService;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * Database side of the ledger: loads account state on first use and commits batches of postings.
+ * Balance changes are written as relative deltas so batches from different partitions touching
+ * the same account commit in any order; rows are updated in ascending id order to avoid deadlocks.
+ * Records are added to the monthly rollups, outflows to {@code limit_usage} and the touched
+ * accounts to the invalidation bus in the same transaction; limits are only pre-checked before a request is queued, so requests queued
+ * together can take an account past its limit.
+ */
+public class LedgerJournal {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionLimitService transactionLimitService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final InvalidationBus invalidationBus;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    public LedgerJournal(AccountRepository accountRepository,
+                         TransactionRepository transactionRepository,
+                         TransactionLimitService transactionLimitService,
+                         MonthlyRollupService monthlyRollupService,
+                         InvalidationBus invalidationBus,
+                         PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionLimitService = transactionLimitService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.invalidationBus = invalidationBus;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    Optional<AccountSnapshot> load(long accountId) {
+        return readTransaction.execute(status -> accountRepository.findById(accountId)
+                .map(account -> new AccountSnapshot(account.getStatus(), account.getBalance())));
+    }
+
+    /**
+     * Applies the balance deltas, inserts the records and adds them to the monthly rollups, and
+     * outflows to the limit usage, in one transaction.
+     *
+     * @return the persisted records, in the order of {@code entries}
+     */
+    List<TransactionRecord> append(List<JournalEntry> entries, SortedMap<Long, BigDecimal> balanceDeltas) {
+        return writeTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            balanceDeltas.forEach((accountId, delta) -> {
+                if (accountRepository.applyBalanceDelta(accountId, delta, now) != 1) {
+                    throw new IllegalStateException("Account " + accountId + " no longer exists");
+                }
+            });
+
+            List<TransactionRecord> records = new ArrayList<>(entries.size());
+            for (JournalEntry entry : entries) {
+                TransactionRecord record = new TransactionRecord();
+                record.setType(entry.type());
+                record.setAmount(entry.amount());
+                record.setFromAccount(accountRepository.getReferenceById(entry.fromAccountId()));
+                if (entry.toAccountId() != null) {
+                    record.setToAccount(accountRepository.getReferenceById(entry.toAccountId()));
+                }
+                record.setDescription(entry.description());
+                record.setTimestamp(entry.timestamp());
+                records.add(record);
+                if (entry.type() != TransactionType.DEPOSIT) {
+                    transactionLimitService.recordAccepted(entry.type(), entry.fromAccountId(), entry.amount(), now.toLocalDate());
+                }
+            }
+            List<TransactionRecord> saved = transactionRepository.saveAll(records);
+            monthlyRollupService.add(saved);
+            invalidationBus.publishLocal(InvalidationKind.ACCOUNT, balanceDeltas.keySet().toArray());
+            return saved;
+        });
+    }
+
+    record AccountSnapshot(AccountStatus status, BigDecimal balance) {
+    }
+
+    record JournalEntry(TransactionType type, BigDecimal amount, long fromAccountId, Long toAccountId,
+                        String description, LocalDateTime timestamp) {
+    }
+}
@@ -0,0 +1,403 @@
+package com.bankflow.service.ledger;
+
+import com.bankflow.exception.AccountInactiveException;
+import com.bankflow.exception.InsufficientFundsException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.logging.LogCategories;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.service.ledger.LedgerCommand.CreditLeg;
+import com.bankflow.service.ledger.LedgerCommand.Deposit;
+import com.bankflow.service.ledger.LedgerCommand.Release;
+import com.bankflow.service.ledger.LedgerCommand.Transfer;
+import com.bankflow.service.ledger.LedgerCommand.Withdrawal;
+import com.bankflow.service.ledger.LedgerJournal.JournalEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One shard of the ledger. Balances of the accounts it owns live in a plain map that only the
+ * partition thread touches, so validation needs no locks. Commands are drained in batches and
+ * each batch is committed with a single journal transaction before any caller is answered.
+ */
+@Slf4j
+final class LedgerPartition implements Runnable {
+
+    private static final Logger moneyLog = LoggerFactory.getLogger(LogCategories.MONEY_MOVEMENT);
+
+    private final LedgerEngine engine;
+    private final LedgerJournal journal;
+    private final int maxBatchSize;
+    private final ArrayBlockingQueue<LedgerCommand> inbox;
+    private final Semaphore clientPermits;
+    private final Thread thread;
+
+    private final Map<Long, AccountState> accounts = new HashMap<>();
+    private final List<Posting> batch = new ArrayList<>();
+
+    private volatile boolean running = true;
+    private volatile boolean busy;
+
+    LedgerPartition(int index, LedgerEngine engine, LedgerJournal journal, LedgerProperties properties) {
+        this.engine = engine;
+        this.journal = journal;
+        this.maxBatchSize = properties.getMaxBatchSize();
+        // Every client command can emit at most one forwarded message, so this bound is never hit by forwards.
+        this.inbox = new ArrayBlockingQueue<>(properties.getQueueCapacity() * (properties.getPartitions() + 1));
+        this.clientPermits = new Semaphore(properties.getQueueCapacity());
+        this.thread = new Thread(this, "ledger-partition-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Enqueues a client command, blocking while the partition already holds {@code queueCapacity} of them.
+     */
+    void submit(LedgerCommand command) {
+        try {
+            clientPermits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for ledger capacity", ex);
+        }
+        enqueue(command);
+    }
+
+    /**
+     * Enqueues a message from another partition; never blocks.
+     */
+    void forward(LedgerCommand command) {
+        enqueue(command);
+    }
+
+    private void enqueue(LedgerCommand command) {
+        if (!inbox.offer(command)) {
+            throw new IllegalStateException("Ledger partition inbox is full: " + thread.getName());
+        }
+    }
+
+    boolean isIdle() {
+        return inbox.isEmpty() && !busy;
+    }
+
+    void stop(long timeoutMillis) throws InterruptedException {
+        running = false;
+        thread.join(timeoutMillis);
+    }
+
+    @Override
+    public void run() {
+        while (running || !inbox.isEmpty()) {
+            LedgerCommand command;
+            try {
+                command = inbox.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                continue;
+            }
+            if (command == null) {
+                continue;
+            }
+            busy = true;
+            try {
+                do {
+                    dispatch(command);
+                } while (batch.size() < maxBatchSize && (command = inbox.poll()) != null);
+                flush();
+            } finally {
+                busy = false;
+            }
+        }
+    }
+
+    private void dispatch(LedgerCommand command) {
+        if (command.isClientCommand()) {
+            clientPermits.release();
+        }
+        try {
+            switch (command) {
+                case Deposit deposit -> deposit(deposit);
+                case Withdrawal withdrawal -> withdraw(withdrawal);
+                case Transfer transfer -> transfer(transfer);
+                case CreditLeg creditLeg -> credit(creditLeg);
+                case Release release -> release(release);
+            }
+        } catch (RuntimeException ex) {
+            // Only account hydration can fail here, before any in-memory state changed
+            log.error("AUDIT: Ledger command failed - {}", command, ex);
+            switch (command) {
+                case Deposit deposit -> deposit.result().completeExceptionally(ex);
+                case Withdrawal withdrawal -> withdrawal.result().completeExceptionally(ex);
+                case Transfer transfer -> transfer.result().completeExceptionally(ex);
+                case CreditLeg creditLeg -> {
+                    if (creditLeg.debitFailure() == null) {
+                        returnReservation(creditLeg.transfer());
+                    }
+                    creditLeg.transfer().result().completeExceptionally(ex);
+                }
+                case Release release -> log.error("AUDIT: Reservation could not be released - {}", release);
+            }
+        }
+    }
+
+    private void deposit(Deposit command) {
+        long accountId = command.accountId();
+        AccountState account = account(accountId);
+        if (account == null) {
+            log.error("AUDIT: Deposit failed - Account not found. Account ID: {}", accountId);
+            command.result().completeExceptionally(new NotFoundException("Account", accountId));
+            return;
+        }
+        if (account.status != AccountStatus.ACTIVE) {
+            log.warn("AUDIT: Deposit rejected - Account inactive. Account ID: {}, Status: {}", accountId, account.status);
+            command.result().completeExceptionally(new AccountInactiveException(accountId, account.status));
+            return;
+        }
+
+        account.balance = account.balance.add(command.amount());
+        JournalEntry entry = new JournalEntry(TransactionType.DEPOSIT, command.amount(), accountId, null,
+                "Deposit", LocalDateTime.now());
+        batch.add(new Posting(entry, command.result(), account, command.amount(), null));
+    }
+
+    private void withdraw(Withdrawal command) {
+        long accountId = command.accountId();
+        AccountState account = account(accountId);
+        if (account == null) {
+            log.error("AUDIT: Withdrawal failed - Account not found. Account ID: {}", accountId);
+            command.result().completeExceptionally(new NotFoundException("Account", accountId));
+            return;
+        }
+        if (account.status != AccountStatus.ACTIVE) {
+            log.warn("AUDIT: Withdrawal rejected - Account inactive. Account ID: {}, Status: {}", accountId, account.status);
+            command.result().completeExceptionally(new AccountInactiveException(accountId, account.status));
+            return;
+        }
+        if (account.balance.compareTo(command.amount()) < 0) {
+            log.warn("AUDIT: Withdrawal rejected - Insufficient funds. Account ID: {}, Required: {}, Available: {}", accountId, command.amount(), account.balance);
+            command.result().completeExceptionally(new InsufficientFundsException(accountId, command.amount(), account.balance));
+            return;
+        }
+
+        account.balance = account.balance.subtract(command.amount());
+        JournalEntry entry = new JournalEntry(TransactionType.WITHDRAW, command.amount(), accountId, null,
+                "Withdrawal", LocalDateTime.now());
+        batch.add(new Posting(entry, command.result(), account, command.amount().negate(), null));
+    }
+
+    private void transfer(Transfer command) {
+        long fromAccountId = command.fromAccountId();
+        AccountState from = account(fromAccountId);
+        if (from == null) {
+            log.error("AUDIT: Transfer failed - Account not found. Account ID: {}", fromAccountId);
+            command.result().completeExceptionally(new NotFoundException("Account", fromAccountId));
+            return;
+        }
+
+        RuntimeException debitFailure = null;
+        if (from.status != AccountStatus.ACTIVE) {
+            debitFailure = new AccountInactiveException(fromAccountId, from.status);
+        } else if (from.balance.compareTo(command.amount()) < 0) {
+            debitFailure = new InsufficientFundsException(fromAccountId, command.amount(), from.balance);
+        }
+
+        LedgerPartition destination = engine.partitionFor(command.toAccountId());
+        if (destination != this) {
+            // Reserve now; the destination partition confirms or hands the amount back
+            if (debitFailure == null) {
+                from.balance = from.balance.subtract(command.amount());
+            }
+            destination.forward(new CreditLeg(command, debitFailure));
+            return;
+        }
+
+        AccountState to = account(command.toAccountId());
+        RuntimeException failure = transferFailure(command, to, debitFailure);
+        if (failure != null) {
+            command.result().completeExceptionally(failure);
+            return;
+        }
+        from.balance = from.balance.subtract(command.amount());
+        to.balance = to.balance.add(command.amount());
+        batch.add(new Posting(transferEntry(command), command.result(), to, command.amount(),
+                new Release(fromAccountId, command.amount())));
+    }
+
+    private void credit(CreditLeg command) {
+        Transfer transfer = command.transfer();
+        AccountState to = account(transfer.toAccountId());
+        RuntimeException failure = transferFailure(transfer, to, command.debitFailure());
+        if (failure != null) {
+            if (command.debitFailure() == null) {
+                returnReservation(transfer);
+            }
+            transfer.result().completeExceptionally(failure);
+            return;
+        }
+        to.balance = to.balance.add(transfer.amount());
+        batch.add(new Posting(transferEntry(transfer), transfer.result(), to, transfer.amount(),
+                new Release(transfer.fromAccountId(), transfer.amount())));
+    }
+
+    /**
+     * Picks the error the JPA service would report, checking in the same order it does.
+     */
+    private RuntimeException transferFailure(Transfer command, AccountState to, RuntimeException debitFailure) {
+        if (to == null) {
+            log.error("AUDIT: Transfer failed - Account not found. Account ID: {}", command.toAccountId());
+            return new NotFoundException("Account", command.toAccountId());
+        }
+        if (debitFailure instanceof AccountInactiveException) {
+            log.warn("AUDIT: Transfer rejected - Source account inactive. Account ID: {}", command.fromAccountId());
+            return debitFailure;
+        }
+        if (to.status != AccountStatus.ACTIVE) {
+            log.warn("AUDIT: Transfer rejected - Destination account inactive. Account ID: {}, Status: {}", command.toAccountId(), to.status);
+            return new AccountInactiveException(command.toAccountId(), to.status);
+        }
+        if (debitFailure != null) {
+            log.warn("AUDIT: Transfer rejected - Insufficient funds. From Account ID: {}, Required: {}", command.fromAccountId(), command.amount());
+        }
+        return debitFailure;
+    }
+
+    private void returnReservation(Transfer transfer) {
+        engine.partitionFor(transfer.fromAccountId()).forward(new Release(transfer.fromAccountId(), transfer.amount()));
+    }
+
+    private void release(Release command) {
+        AccountState account = accounts.get(command.accountId());
+        if (account != null) {
+            account.balance = account.balance.add(command.amount());
+        }
+    }
+
+    private static JournalEntry transferEntry(Transfer command) {
+        return new JournalEntry(TransactionType.TRANSFER, command.amount(), command.fromAccountId(), command.toAccountId(),
+                command.description() != null ? command.description() : "Transfer", LocalDateTime.now());
+    }
+
+    /**
+     * Returns the owned account, loading it from the database on first use; {@code null} if it does not exist.
+     */
+    private AccountState account(long accountId) {
+        AccountState account = accounts.get(accountId);
+        if (account == null) {
+            account = journal.load(accountId)
+                    .map(snapshot -> new AccountState(snapshot.status(), snapshot.balance()))
+                    .orElse(null);
+            if (account != null) {
+                accounts.put(accountId, account);
+            }
+        }
+        return account;
+    }
+
+    private void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<JournalEntry> entries = new ArrayList<>(batch.size());
+        SortedMap<Long, BigDecimal> deltas = new TreeMap<>();
+        for (Posting posting : batch) {
+            JournalEntry entry = posting.entry();
+            entries.add(entry);
+            switch (entry.type()) {
+                case DEPOSIT -> deltas.merge(entry.fromAccountId(), entry.amount(), BigDecimal::add);
+                case WITHDRAW -> deltas.merge(entry.fromAccountId(), entry.amount().negate(), BigDecimal::add);
+                case TRANSFER -> {
+                    deltas.merge(entry.fromAccountId(), entry.amount().negate(), BigDecimal::add);
+                    deltas.merge(entry.toAccountId(), entry.amount(), BigDecimal::add);
+                }
+            }
+        }
+
+        List<TransactionRecord> records;
+        try {
+            records = journal.append(entries, deltas);
+        } catch (RuntimeException ex) {
+            log.error("AUDIT: Ledger batch rejected by the database - {} posting(s) rolled back", batch.size(), ex);
+            for (Posting posting : batch) {
+                posting.account().balance = posting.account().balance.subtract(posting.delta());
+                if (posting.counterpart() != null) {
+                    LedgerPartition source = engine.partitionFor(posting.counterpart().accountId());
+                    if (source == this) {
+                        release(posting.counterpart());
+                    } else {
+                        source.forward(posting.counterpart());
+                    }
+                }
+                posting.result().completeExceptionally(ex);
+            }
+            batch.clear();
+            return;
+        }
+
+        for (int i = 0; i < records.size(); i++) {
+            Posting posting = batch.get(i);
+            TransactionRecord record = records.get(i);
+            logCompleted(record, posting);
+            posting.result().complete(record);
+        }
+        batch.clear();
+    }
+
+    private static void logCompleted(TransactionRecord record, Posting posting) {
+        JournalEntry entry = posting.entry();
+        switch (entry.type()) {
+            case DEPOSIT -> moneyLog.atInfo().setMessage("AUDIT: Deposit completed")
+                    .addKeyValue("transactionId", record.getId())
+                    .addKeyValue("accountId", entry.fromAccountId())
+                    .addKeyValue("amount", entry.amount())
+                    .addKeyValue("balance", posting.account().balance)
+                    .log();
+            case WITHDRAW -> moneyLog.atInfo().setMessage("AUDIT: Withdrawal completed")
+                    .addKeyValue("transactionId", record.getId())
+                    .addKeyValue("accountId", entry.fromAccountId())
+                    .addKeyValue("amount", entry.amount())
+                    .addKeyValue("balance", posting.account().balance)
+                    .log();
+            case TRANSFER -> moneyLog.atInfo().setMessage("AUDIT: Transfer completed")
+                    .addKeyValue("transactionId", record.getId())
+                    .addKeyValue("fromAccountId", entry.fromAccountId())
+                    .addKeyValue("toAccountId", entry.toAccountId())
+                    .addKeyValue("amount", entry.amount())
+                    .log();
+        }
+    }
+
+    private static final class AccountState {
+        private final AccountStatus status;
+        private BigDecimal balance;
+
+        private AccountState(AccountStatus status, BigDecimal balance) {
+            this.status = status;
+            this.balance = balance;
+        }
+    }
+
+    /**
+     * A validated posting waiting for its batch to commit. {@code delta} was applied to {@code account}
+     * (owned by this partition); {@code counterpart} hands the source leg of a transfer back on failure.
+     */
+    private record Posting(JournalEntry entry, CompletableFuture<TransactionRecord> result,
+                           AccountState account, BigDecimal delta, Release counterpart) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.bankflow.service.ledger;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory ledger engine ({@code app.banking.engine=ledger}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.banking.ledger")
+public class LedgerProperties {
+
+    /**
+     * Number of partitions. Each is owned by one thread and uses at most one pooled connection at a time.
+     */
+    private int partitions = 4;
+
+    /**
+     * Outstanding client commands per partition; submitters block when it is reached.
+     */
+    private int queueCapacity = 4096;
+
+    /**
+     * Maximum postings committed in one journal transaction.
+     */
+    private int maxBatchSize = 256;
+}
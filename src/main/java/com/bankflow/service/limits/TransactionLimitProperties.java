@@ -0,0 +1,41 @@
+package com.bankflow.service.limits;
+
+import com.bankflow.model.enums.TransactionType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-account daily and monthly limits on withdrawals and outgoing transfers.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.limits")
+public class TransactionLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Most an account may move per calendar day, by operation (WITHDRAW, TRANSFER).
+     */
+    private Map<TransactionType, BigDecimal> daily = new LinkedHashMap<>();
+
+    /**
+     * Most an account may move per calendar month, by operation.
+     */
+    private Map<TransactionType, BigDecimal> monthly = new LinkedHashMap<>();
+
+    /**
+     * Upper bound on running totals kept in memory for the pre-check.
+     */
+    private long maxKeys = 200_000;
+
+    /**
+     * How long an in-memory total is trusted before it is reloaded, which bounds how far it can
+     * trail usage recorded by other instances.
+     */
+    private Duration cacheTtl = Duration.ofMinutes(1);
+}
@@ -0,0 +1,202 @@
+package com.bankflow.service.limits;
+
+import com.bankflow.exception.LimitExceededException;
+import com.bankflow.model.enums.LimitPeriod;
+import com.bankflow.model.enums.TransactionType;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-account daily and monthly limits on withdrawals and outgoing transfers.
+ * <p>
+ * {@code limit_usage} is authoritative: {@link #record} adds to the account's rows with a guarded
+ * update in the caller's transaction, which already holds the account's row lock, so usage commits
+ * or rolls back with the money movement. Rows are keyed by period start, so a new day or month simply
+ * starts a new row.
+ * <p>
+ * {@link #preCheck} runs before any lock is taken against running totals kept in striped
+ * {@link LongAdder}s, loaded from {@code limit_usage} on first use and advanced after each commit.
+ * It only rejects requests the guarded update would reject anyway; a total that trails other
+ * instances is reloaded after {@code cache-ttl}.
+ */
+@Slf4j
+public class TransactionLimitService {
+
+    private static final String ADD_USAGE_SQL =
+            "UPDATE limit_usage SET amount = amount + ?, updated_at = ? " +
+                    "WHERE account_id = ? AND operation = ? AND period = ? AND period_start = ? AND amount + ? <= ?";
+
+    private static final String ADD_USAGE_UNCHECKED_SQL =
+            "UPDATE limit_usage SET amount = amount + ?, updated_at = ? " +
+                    "WHERE account_id = ? AND operation = ? AND period = ? AND period_start = ?";
+
+    private static final String INSERT_USAGE_SQL =
+            "INSERT INTO limit_usage (account_id, operation, period, period_start, amount, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String USAGE_SQL =
+            "SELECT amount FROM limit_usage WHERE account_id = ? AND operation = ? AND period = ? AND period_start = ?";
+
+    private final boolean enabled;
+    private final Map<TransactionType, Map<LimitPeriod, BigDecimal>> limits = new EnumMap<>(TransactionType.class);
+    private final LoadingCache<UsageKey, LongAdder> totals;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    public TransactionLimitService(TransactionLimitProperties properties, JdbcTemplate jdbcTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        for (TransactionType type : TransactionType.values()) {
+            limits.put(type, new EnumMap<>(LimitPeriod.class));
+        }
+        addLimits(properties.getDaily(), LimitPeriod.DAILY);
+        addLimits(properties.getMonthly(), LimitPeriod.MONTHLY);
+        this.enabled = properties.isEnabled() && limits.values().stream().anyMatch(periods -> !periods.isEmpty());
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterWrite(properties.getCacheTtl())
+                .build(this::loadTotal);
+        log.info("Transaction limits {} - Daily: {}, Monthly: {}", enabled ? "enabled" : "disabled",
+                properties.getDaily(), properties.getMonthly());
+    }
+
+    private void addLimits(Map<TransactionType, BigDecimal> configured, LimitPeriod period) {
+        configured.forEach((type, limit) -> {
+            if (type == TransactionType.DEPOSIT) {
+                throw new IllegalArgumentException("Transaction limits apply to WITHDRAW and TRANSFER only");
+            }
+            if (limit.signum() < 0) {
+                throw new IllegalArgumentException("Transaction limits cannot be negative");
+            }
+            limits.get(type).put(period, limit);
+        });
+    }
+
+    /**
+     * Rejects {@code amount} early if the in-memory total shows it would exceed a limit. Takes no locks.
+     *
+     * @throws LimitExceededException if a limit would be exceeded
+     */
+    public void preCheck(TransactionType type, Long accountId, BigDecimal amount) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        long cents = toCents(amount);
+        for (Map.Entry<LimitPeriod, BigDecimal> limit : limits.get(type).entrySet()) {
+            LimitPeriod period = limit.getKey();
+            long used = totals.get(new UsageKey(accountId, type, period, period.start(today))).sum();
+            if (used + cents > toCents(limit.getValue())) {
+                log.warn("AUDIT: Limit pre-check rejected - Account ID: {}, Operation: {}, Period: {}, Amount: {}, Used: {}, Limit: {}",
+                        accountId, type, period, amount, fromCents(used), limit.getValue());
+                throw new LimitExceededException(accountId, type, period, limit.getValue(), fromCents(used));
+            }
+        }
+    }
+
+    /**
+     * Adds {@code amount} to the account's usage rows, failing if any limit would be exceeded. Must
+     * run in the transaction that moves the money, after the account's row lock is taken.
+     *
+     * @throws LimitExceededException if a limit would be exceeded; the caller's transaction rolls back
+     */
+    public void record(TransactionType type, Long accountId, BigDecimal amount) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        for (Map.Entry<LimitPeriod, BigDecimal> limit : limits.get(type).entrySet()) {
+            LimitPeriod period = limit.getKey();
+            Date periodStart = Date.valueOf(period.start(today));
+            int updated = jdbcTemplate.update(ADD_USAGE_SQL, amount, now, accountId, type.name(), period.name(), periodStart,
+                    amount, limit.getValue());
+            if (updated == 0) {
+                List<BigDecimal> used = jdbcTemplate.queryForList(USAGE_SQL, BigDecimal.class, accountId, type.name(), period.name(), periodStart);
+                if (!used.isEmpty() || amount.compareTo(limit.getValue()) > 0) {
+                    BigDecimal usedAmount = used.isEmpty() ? BigDecimal.ZERO : used.get(0);
+                    log.warn("AUDIT: Limit exceeded - Account ID: {}, Operation: {}, Period: {}, Amount: {}, Used: {}, Limit: {}",
+                            accountId, type, period, amount, usedAmount, limit.getValue());
+                    throw new LimitExceededException(accountId, type, period, limit.getValue(), usedAmount);
+                }
+                jdbcTemplate.update(INSERT_USAGE_SQL, accountId, type.name(), period.name(), periodStart, amount, now);
+            }
+        }
+        advanceAfterCommit(type, accountId, amount, today);
+    }
+
+    /**
+     * Adds already accepted amounts to the usage rows without checking limits, for engines that
+     * enforce them before journaling. Must run in the journaling transaction.
+     */
+    public void recordAccepted(TransactionType type, Long accountId, BigDecimal amount, LocalDate date) {
+        if (!enabled) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        for (LimitPeriod period : limits.get(type).keySet()) {
+            Date periodStart = Date.valueOf(period.start(date));
+            if (jdbcTemplate.update(ADD_USAGE_UNCHECKED_SQL, amount, now, accountId, type.name(), period.name(), periodStart) == 0) {
+                jdbcTemplate.update(INSERT_USAGE_SQL, accountId, type.name(), period.name(), periodStart, amount, now);
+            }
+        }
+        advanceAfterCommit(type, accountId, amount, date);
+    }
+
+    private void advanceAfterCommit(TransactionType type, Long accountId, BigDecimal amount, LocalDate date) {
+        Runnable advance = () -> {
+            long cents = toCents(amount);
+            for (LimitPeriod period : limits.get(type).keySet()) {
+                LongAdder total = totals.getIfPresent(new UsageKey(accountId, type, period, period.start(date)));
+                if (total != null) {
+                    total.add(cents);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance.run();
+                }
+            });
+        } else {
+            advance.run();
+        }
+    }
+
+    private LongAdder loadTotal(UsageKey key) {
+        List<BigDecimal> used = jdbcTemplate.queryForList(USAGE_SQL, BigDecimal.class,
+                key.accountId(), key.operation().name(), key.period().name(), Date.valueOf(key.periodStart()));
+        LongAdder total = new LongAdder();
+        if (!used.isEmpty()) {
+            total.add(toCents(used.get(0)));
+        }
+        return total;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private record UsageKey(long accountId, TransactionType operation, LimitPeriod period, LocalDate periodStart) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.bankflow.service.postings;
+
+import com.bankflow.model.Account;
+import com.bankflow.model.BalanceCheckpoint;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.BalanceCheckpointRepository;
+import com.bankflow.repository.PostingRepository;
+import com.bankflow.repository.PostingRepository.PostingTotal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Folds postings into per-account running totals so balance reads only sum the postings booked
+ * since the last checkpoint.
+ * <p>
+ * Posting ids come from a sequence and can commit out of order, so a run only covers postings
+ * older than {@code settle-delay}; money-movement transactions must finish well within it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.banking.engine", havingValue = "postings")
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceCheckpointer {
+
+    private final PostingRepository postingRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final AccountRepository accountRepository;
+
+    @Value("${app.banking.postings.settle-delay:PT30S}")
+    private Duration settleDelay;
+
+    @Scheduled(fixedDelayString = "${app.banking.postings.checkpoint-interval:PT1M}",
+            initialDelayString = "${app.banking.postings.checkpoint-interval:PT1M}")
+    public void scheduledCheckpoint() {
+        try {
+            checkpoint(LocalDateTime.now().minus(settleDelay));
+        } catch (RuntimeException ex) {
+            // Another instance may have checkpointed the same accounts; the next run catches up
+            log.warn("Balance checkpoint failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Checkpoints every account with postings booked before {@code cutoff} that are not yet covered.
+     *
+     * @return number of accounts checkpointed
+     */
+    @Transactional
+    public int checkpoint(LocalDateTime cutoff) {
+        Long watermark = postingRepository.findWatermark(cutoff).orElse(null);
+        if (watermark == null) {
+            return 0;
+        }
+
+        List<PostingTotal> totals = postingRepository.findTotalsSinceCheckpoint(watermark);
+        LocalDateTime now = LocalDateTime.now();
+        for (PostingTotal total : totals) {
+            BalanceCheckpoint checkpoint = checkpointRepository.findById(total.getAccountId())
+                    .orElseGet(() -> new BalanceCheckpoint(total.getAccountId(), opening(total.getAccountId()), 0L, now));
+            checkpoint.setBalance(checkpoint.getBalance().add(total.getAmount()));
+            checkpoint.setLastPostingId(total.getLastPostingId());
+            checkpoint.setUpdatedAt(now);
+            checkpointRepository.save(checkpoint);
+        }
+
+        if (!totals.isEmpty()) {
+            log.info("Balance checkpoint completed - Accounts: {}, Watermark posting ID: {}", totals.size(), watermark);
+        }
+        return totals.size();
+    }
+
+    private BigDecimal opening(Long accountId) {
+        return accountRepository.findById(accountId)
+                .map(Account::getBalance)
+                .orElseThrow(() -> new IllegalStateException("Postings reference missing account " + accountId));
+    }
+}
@@ -0,0 +1,42 @@
+package com.bankflow.service.reconciliation;
+
+import com.bankflow.model.ReconciliationDiscrepancy;
+import com.bankflow.model.ReconciliationRun;
+import com.bankflow.repository.ReconciliationDiscrepancyRepository;
+import com.bankflow.repository.ReconciliationRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/reconciliation}: progress of the current or last run, its record and the first
+ * discrepancies it reported.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationEndpoint {
+
+    private static final int REPORT_LIMIT = 100;
+
+    private final ReconciliationJob reconciliationJob;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationDiscrepancyRepository discrepancyRepository;
+
+    @ReadOperation
+    public Report report() {
+        ReconciliationRun run = runRepository.findFirstByOrderByIdDesc().orElse(null);
+        List<ReconciliationDiscrepancy> discrepancies = run == null
+                ? List.of()
+                : discrepancyRepository.findByRunIdOrderByAccountIdAsc(run.getId(), Limit.of(REPORT_LIMIT));
+        return new Report(reconciliationJob.getProgress(), run, discrepancies);
+    }
+
+    public record Report(ReconciliationJob.Progress progress, ReconciliationRun lastRun,
+                         List<ReconciliationDiscrepancy> discrepancies) {
+    }
+}
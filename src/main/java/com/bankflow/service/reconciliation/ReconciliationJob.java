@@ -0,0 +1,276 @@
+package com.bankflow.service.reconciliation;
+
+import com.bankflow.model.ReconciliationRun;
+import com.bankflow.model.enums.ReconciliationMode;
+import com.bankflow.model.enums.ReconciliationStatus;
+import com.bankflow.repository.ReconciliationRunRepository;
+import com.bankflow.service.batch.AccountIdRanges;
+import com.bankflow.service.batch.AccountIdRanges.Range;
+import com.bankflow.service.batch.JobLock;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Checks that every account's stored balance equals the net of its {@code transaction_records}:
+ * deposits in, withdrawals out, transfers out of the source and into the target. The account id
+ * space is cut into ranges that are checked in parallel; each range aggregates its flows with one
+ * streaming grouped query inside a repeatable-read transaction, so balances and transactions are
+ * read from the same snapshot and in-flight money movement cannot show up as a false mismatch.
+ * <p>
+ * Mismatches are written to {@code reconciliation_discrepancies} under the run's id. An incremental
+ * run only re-checks accounts with transactions or balance updates since the last completed run
+ * started, less {@code overlap}. Progress and duration are published as
+ * {@code bankflow.reconciliation.*} metrics, and {@code /actuator/reconciliation} shows the last run.
+ * <p>
+ * With {@code app.banking.engine=postings} the stored balance is the latest checkpoint plus the
+ * account's postings after it.
+ */
+@Component
+@Slf4j
+public class ReconciliationJob {
+
+    private static final String FLOWS_SQL =
+            "SELECT a.id, %4$s, COALESCE(f.net, 0) FROM accounts a LEFT JOIN (" +
+                    "SELECT account_id, SUM(amount) AS net FROM (" +
+                    "SELECT from_account_id AS account_id, CASE WHEN type = 'DEPOSIT' THEN amount ELSE -amount END AS amount " +
+                    "FROM transaction_records WHERE %1$s " +
+                    "UNION ALL " +
+                    "SELECT to_account_id AS account_id, amount FROM transaction_records WHERE type = 'TRANSFER' AND %2$s" +
+                    ") flows GROUP BY account_id" +
+                    ") f ON f.account_id = a.id %5$s WHERE %3$s ORDER BY a.id";
+
+    private static final String ACCOUNT_BALANCE = "a.balance";
+
+    private static final String CHECKPOINT_JOIN = "LEFT JOIN balance_checkpoints c ON c.account_id = a.id";
+
+    private static final String POSTINGS_BALANCE =
+            "COALESCE(c.balance, a.balance) + COALESCE((SELECT SUM(CASE WHEN p.direction = 'CREDIT' THEN p.amount ELSE -p.amount END) " +
+                    "FROM postings p WHERE p.account_id = a.id AND p.id > COALESCE(c.last_posting_id, 0)), 0)";
+
+    private static final String TOUCHED_ACCOUNTS_SQL =
+            "SELECT from_account_id FROM transaction_records WHERE created_at >= ? AND from_account_id >= ? AND from_account_id < ? " +
+                    "UNION SELECT to_account_id FROM transaction_records WHERE created_at >= ? AND to_account_id >= ? AND to_account_id < ? " +
+                    "UNION SELECT id FROM accounts WHERE updated_at >= ? AND id >= ? AND id < ?";
+
+    private static final String INSERT_DISCREPANCY_SQL =
+            "INSERT INTO reconciliation_discrepancies (id, run_id, account_id, balance, expected_balance, difference, detected_at) " +
+                    "VALUES (nextval('reconciliation_discrepancies_id_seq'), ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final boolean postings;
+
+    private final AtomicInteger rangesTotal = new AtomicInteger();
+    private final AtomicInteger rangesCompleted = new AtomicInteger();
+    private final AtomicInteger rangesFailed = new AtomicInteger();
+    private final AtomicLong accountsChecked = new AtomicLong();
+    private final AtomicLong discrepancies = new AtomicLong();
+
+    public ReconciliationJob(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ReconciliationRunRepository runRepository,
+                             ReconciliationProperties properties,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.banking.engine:jpa}") String engine) {
+        if (properties.getRangeSize() < 1 || properties.getParallelism() < 1
+                || properties.getFetchSize() < 1 || properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Reconciliation range size, parallelism, fetch size and batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.runRepository = runRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.postings = "postings".equals(engine);
+
+        Gauge.builder("bankflow.reconciliation.ranges", rangesTotal, AtomicInteger::get)
+                .description("Account id ranges in the current or last run").tag("state", "total").register(meterRegistry);
+        Gauge.builder("bankflow.reconciliation.ranges", rangesCompleted, AtomicInteger::get)
+                .description("Account id ranges in the current or last run").tag("state", "completed").register(meterRegistry);
+        Gauge.builder("bankflow.reconciliation.ranges", rangesFailed, AtomicInteger::get)
+                .description("Account id ranges in the current or last run").tag("state", "failed").register(meterRegistry);
+        Gauge.builder("bankflow.reconciliation.accounts.checked", accountsChecked, AtomicLong::get)
+                .description("Accounts checked by the current or last run").register(meterRegistry);
+        Gauge.builder("bankflow.reconciliation.discrepancies", discrepancies, AtomicLong::get)
+                .description("Discrepancies found by the current or last run").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.reconciliation.incremental-cron:0 15 * * * *}")
+    public void reconcileIncrementally() {
+        if (properties.isEnabled()) {
+            JobLock.runExclusively(jdbcTemplate, "reconciliation", () -> reconcile(ReconciliationMode.INCREMENTAL));
+        }
+    }
+
+    @Scheduled(cron = "${app.reconciliation.full-cron:0 0 3 * * SUN}")
+    public void reconcileAll() {
+        if (properties.isEnabled()) {
+            JobLock.runExclusively(jdbcTemplate, "reconciliation", () -> reconcile(ReconciliationMode.FULL));
+        }
+    }
+
+    /**
+     * Runs a reconciliation and returns its finished record. An incremental run with no completed
+     * run to start from checks every account.
+     */
+    public synchronized ReconciliationRun reconcile(ReconciliationMode mode) {
+        LocalDateTime since = null;
+        if (mode == ReconciliationMode.INCREMENTAL) {
+            since = runRepository.findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus.COMPLETED)
+                    .map(previous -> previous.getStartedAt().minus(properties.getOverlap()))
+                    .orElse(null);
+            if (since == null) {
+                log.info("No completed reconciliation to continue from, checking every account");
+                mode = ReconciliationMode.FULL;
+            }
+        }
+
+        ReconciliationRun run = new ReconciliationRun();
+        run.setMode(mode);
+        run.setStatus(ReconciliationStatus.RUNNING);
+        run.setSince(since);
+        run.setStartedAt(LocalDateTime.now());
+        run.setAccountsChecked(0L);
+        run.setDiscrepancies(0L);
+        run.setFailedRanges(0);
+        run = runRepository.save(run);
+
+        List<Range> ranges = AccountIdRanges.of(jdbcTemplate, properties.getRangeSize());
+        rangesTotal.set(ranges.size());
+        rangesCompleted.set(0);
+        rangesFailed.set(0);
+        accountsChecked.set(0);
+        discrepancies.set(0);
+        log.info("Reconciliation started - Run ID: {}, Mode: {}, Since: {}, Ranges: {}", run.getId(), mode, since, ranges.size());
+
+        long startNanos = System.nanoTime();
+        long runId = run.getId();
+        LocalDateTime touchedSince = since;
+        AccountIdRanges.forEachParallel(ranges, properties.getParallelism(), range -> {
+            try {
+                reconcileRange(runId, range, touchedSince);
+                rangesCompleted.incrementAndGet();
+            } catch (RuntimeException ex) {
+                // Other ranges carry on; the run is marked failed so the next incremental run starts from an earlier one
+                rangesFailed.incrementAndGet();
+                log.error("Reconciliation failed for range - Run ID: {}, First account ID: {}", runId, range.firstId(), ex);
+            }
+        });
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        run.setStatus(rangesFailed.get() == 0 ? ReconciliationStatus.COMPLETED : ReconciliationStatus.FAILED);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setAccountsChecked(accountsChecked.get());
+        run.setDiscrepancies(discrepancies.get());
+        run.setFailedRanges(rangesFailed.get());
+        run = runRepository.save(run);
+
+        Timer.builder("bankflow.reconciliation.duration")
+                .description("Duration of reconciliation runs")
+                .tag("mode", mode.name())
+                .tag("status", run.getStatus().name())
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (run.getDiscrepancies() > 0) {
+            log.warn("AUDIT: Reconciliation found discrepancies - Run ID: {}, Discrepancies: {}", run.getId(), run.getDiscrepancies());
+        }
+        log.info("Reconciliation finished - Run ID: {}, Status: {}, Accounts: {}, Discrepancies: {}, Failed ranges: {}, Duration: {} ms",
+                run.getId(), run.getStatus(), run.getAccountsChecked(), run.getDiscrepancies(), run.getFailedRanges(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return run;
+    }
+
+    public Progress getProgress() {
+        return new Progress(rangesTotal.get(), rangesCompleted.get(), rangesFailed.get(), accountsChecked.get(), discrepancies.get());
+    }
+
+    private void reconcileRange(long runId, Range range, LocalDateTime since) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> found = new ArrayList<>();
+            if (since == null) {
+                checkAccounts(column -> column + " >= ? AND " + column + " < ?", List.of(range.firstId(), range.endId()), runId, found);
+            } else {
+                Timestamp from = Timestamp.valueOf(since);
+                List<Long> touched = jdbcTemplate.queryForList(TOUCHED_ACCOUNTS_SQL, Long.class,
+                        from, range.firstId(), range.endId(), from, range.firstId(), range.endId(), from, range.firstId(), range.endId());
+                Collections.sort(touched);
+                for (int i = 0; i < touched.size(); i += properties.getBatchSize()) {
+                    List<Long> ids = touched.subList(i, Math.min(i + properties.getBatchSize(), touched.size()));
+                    String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+                    checkAccounts(column -> column + " IN (" + placeholders + ")", ids, runId, found);
+                }
+            }
+            if (!found.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_DISCREPANCY_SQL, found, properties.getBatchSize(), (statement, values) -> {
+                    for (int i = 0; i < values.length; i++) {
+                        statement.setObject(i + 1, values[i]);
+                    }
+                });
+            }
+            discrepancies.addAndGet(found.size());
+        });
+    }
+
+    /**
+     * Streams the stored and expected balance of the accounts matching {@code filter}, which is
+     * applied to the transaction and account id columns with the same {@code parameters}.
+     */
+    private void checkAccounts(Function<String, String> filter, List<Long> parameters, long runId, List<Object[]> found) {
+        String sql = String.format(FLOWS_SQL, filter.apply("from_account_id"), filter.apply("to_account_id"), filter.apply("a.id"),
+                postings ? POSTINGS_BALANCE : ACCOUNT_BALANCE, postings ? CHECKPOINT_JOIN : "");
+        Timestamp detectedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.getFetchSize());
+            int index = 1;
+            for (int repeat = 0; repeat < 3; repeat++) {
+                for (Long parameter : parameters) {
+                    statement.setLong(index++, parameter);
+                }
+            }
+            return statement;
+        }, rs -> {
+            accountsChecked.incrementAndGet();
+            BigDecimal balance = rs.getBigDecimal(2);
+            BigDecimal expected = rs.getBigDecimal(3);
+            if (balance.compareTo(expected) != 0) {
+                long accountId = rs.getLong(1);
+                log.warn("AUDIT: Balance mismatch - Account ID: {}, Balance: {}, Expected: {}", accountId, balance, expected);
+                found.add(new Object[]{runId, accountId, balance, expected, balance.subtract(expected), detectedAt});
+            }
+        });
+    }
+
+    /**
+     * Counters of the current or last run.
+     */
+    public record Progress(int ranges, int completedRanges, int failedRanges, long accountsChecked, long discrepancies) {
+    }
+}
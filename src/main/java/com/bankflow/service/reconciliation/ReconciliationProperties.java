@@ -0,0 +1,55 @@
+package com.bankflow.service.reconciliation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the balance reconciliation job.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reconciliation")
+public class ReconciliationProperties {
+
+    /**
+     * Whether this instance runs scheduled reconciliations. Enabled instances take turns: a run is skipped while another instance holds the job's lock.
+     */
+    private boolean enabled = true;
+
+    /**
+     * When accounts touched since the last completed run are re-checked.
+     */
+    private String incrementalCron = "0 15 * * * *";
+
+    /**
+     * When every account is checked.
+     */
+    private String fullCron = "0 0 3 * * SUN";
+
+    /**
+     * Account ids per range checked by one worker in one snapshot.
+     */
+    private long rangeSize = 10_000;
+
+    /**
+     * Ranges checked in parallel; each holds one pooled connection.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Rows fetched per round trip by the streaming cursor.
+     */
+    private int fetchSize = 1_000;
+
+    /**
+     * Account ids per incremental query and discrepancies per JDBC batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How far before the previous run's start an incremental run looks, so transactions that were
+     * still committing when it started are not missed.
+     */
+    private Duration overlap = Duration.ofMinutes(10);
+}
@@ -0,0 +1,32 @@
+package com.bankflow.service.rollups;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * {@code /actuator/rollups}: progress of the current or last rollup rebuild; a POST with an
+ * optional {@code from} month ({@code yyyy-MM}) runs one and returns when it finishes.
+ */
+@Component
+@Endpoint(id = "rollups")
+@RequiredArgsConstructor
+public class MonthlyRollupEndpoint {
+
+    private final MonthlyRollupRebuildJob rebuildJob;
+
+    @ReadOperation
+    public MonthlyRollupRebuildJob.Progress progress() {
+        return rebuildJob.getProgress();
+    }
+
+    @WriteOperation
+    public MonthlyRollupRebuildJob.Progress rebuild(@Nullable String from) {
+        return rebuildJob.rebuild(from != null ? YearMonth.parse(from) : null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.bankflow.service.rollups;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for rebuilding monthly rollups.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rollups")
+public class MonthlyRollupProperties {
+
+    /**
+     * Account ids per range rebuilt by one worker in one transaction; their rows stay locked until it commits.
+     */
+    private long rangeSize = 1_000;
+
+    /**
+     * Ranges rebuilt in parallel; each holds one pooled connection.
+     */
+    private int parallelism = 4;
+}
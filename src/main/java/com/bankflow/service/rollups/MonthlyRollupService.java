@@ -0,0 +1,156 @@
+package com.bankflow.service.rollups;
+
+import com.bankflow.dto.AccountSummaryResponse;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.AccountMonthlyRollup;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.enums.PostingDirection;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountMonthlyRollupRepository;
+import com.bankflow.repository.AccountRepository;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-account monthly transaction counts and totals in {@code account_monthly_rollups}.
+ * <p>
+ * Every banking engine calls {@link #add} in the transaction that inserts the records, so rollups
+ * commit or roll back with them. A deposit or withdrawal counts once for its account; a transfer
+ * counts as a debit of the source and a credit of the destination. Rows are updated in key order,
+ * so transactions touching the same accounts cannot deadlock on them. The account summary reads
+ * only these rows; {@link MonthlyRollupRebuildJob} recomputes them from {@code transaction_records}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyRollupService {
+
+    private static final String ADD_SQL =
+            "UPDATE account_monthly_rollups SET transaction_count = transaction_count + ?, total_amount = total_amount + ?, updated_at = ? " +
+                    "WHERE account_id = ? AND month_start = ? AND type = ? AND direction = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO account_monthly_rollups (account_id, month_start, type, direction, transaction_count, total_amount, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+    private final AccountMonthlyRollupRepository rollupRepository;
+
+    /**
+     * Adds the record to its accounts' rollups. Must run in the transaction that inserts it.
+     */
+    public void add(TransactionRecord record) {
+        add(List.of(record));
+    }
+
+    /**
+     * Adds the records to their accounts' rollups, one update per account, month, type and
+     * direction. Must run in the transaction that inserts them.
+     */
+    public void add(Collection<TransactionRecord> records) {
+        Map<RollupKey, Totals> totals = new TreeMap<>();
+        for (TransactionRecord record : records) {
+            LocalDate monthStart = record.getTimestamp().toLocalDate().withDayOfMonth(1);
+            PostingDirection direction = record.getType() == TransactionType.DEPOSIT ? PostingDirection.CREDIT : PostingDirection.DEBIT;
+            totals.computeIfAbsent(new RollupKey(record.getFromAccount().getId(), monthStart, record.getType(), direction), key -> new Totals())
+                    .add(record.getAmount());
+            if (record.getType() == TransactionType.TRANSFER) {
+                totals.computeIfAbsent(new RollupKey(record.getToAccount().getId(), monthStart, TransactionType.TRANSFER, PostingDirection.CREDIT),
+                        key -> new Totals()).add(record.getAmount());
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        totals.forEach((key, total) -> {
+            Object[] update = {total.count, total.amount, now, key.accountId(), Date.valueOf(key.monthStart()), key.type().name(), key.direction().name()};
+            if (jdbcTemplate.update(ADD_SQL, update) == 0
+                    && jdbcTemplate.update(INSERT_SQL, key.accountId(), Date.valueOf(key.monthStart()), key.type().name(),
+                    key.direction().name(), total.count, total.amount, now) == 0) {
+                // Another transaction created the row since the update; it is visible now that the insert waited for it
+                jdbcTemplate.update(ADD_SQL, update);
+            }
+        });
+    }
+
+    /**
+     * Money in and out of the account in {@code month}, from its rollups only.
+     */
+    @CircuitBreaker(name = "database")
+    @Bulkhead(name = "banking-read")
+    @Transactional(readOnly = true)
+    public AccountSummaryResponse summarize(String accountNumber, YearMonth month) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException("Account with number", accountNumber));
+        log.debug("Summarizing account - Account Number: {}, Month: {}", accountNumber, month);
+
+        Map<RollupKey, AccountSummaryResponse.Flow> flows = new TreeMap<>();
+        for (AccountMonthlyRollup rollup : rollupRepository.findByAccountIdAndMonthStart(account.getId(), month.atDay(1))) {
+            flows.put(new RollupKey(account.getId(), rollup.getMonthStart(), rollup.getType(), rollup.getDirection()),
+                    new AccountSummaryResponse.Flow(rollup.getTransactionCount(), rollup.getTotalAmount()));
+        }
+        AccountSummaryResponse.Flow deposits = flow(flows, account.getId(), month, TransactionType.DEPOSIT, PostingDirection.CREDIT);
+        AccountSummaryResponse.Flow withdrawals = flow(flows, account.getId(), month, TransactionType.WITHDRAW, PostingDirection.DEBIT);
+        AccountSummaryResponse.Flow transfersIn = flow(flows, account.getId(), month, TransactionType.TRANSFER, PostingDirection.CREDIT);
+        AccountSummaryResponse.Flow transfersOut = flow(flows, account.getId(), month, TransactionType.TRANSFER, PostingDirection.DEBIT);
+
+        return AccountSummaryResponse.builder()
+                .accountNumber(accountNumber)
+                .month(month.toString())
+                .moneyIn(deposits.getTotal().add(transfersIn.getTotal()))
+                .moneyOut(withdrawals.getTotal().add(transfersOut.getTotal()))
+                .deposits(deposits)
+                .withdrawals(withdrawals)
+                .transfersIn(transfersIn)
+                .transfersOut(transfersOut)
+                .build();
+    }
+
+    private static AccountSummaryResponse.Flow flow(Map<RollupKey, AccountSummaryResponse.Flow> flows, long accountId, YearMonth month,
+                                                    TransactionType type, PostingDirection direction) {
+        return flows.getOrDefault(new RollupKey(accountId, month.atDay(1), type, direction), new AccountSummaryResponse.Flow(0, BigDecimal.ZERO));
+    }
+
+    private record RollupKey(long accountId, LocalDate monthStart, TransactionType type, PostingDirection direction)
+            implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator.comparingLong(RollupKey::accountId)
+                .thenComparing(RollupKey::monthStart)
+                .thenComparing(RollupKey::type)
+                .thenComparing(RollupKey::direction);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class Totals {
+
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        private void add(BigDecimal value) {
+            count++;
+            amount = amount.add(value);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.bankflow.service.scheduling;
+
+import com.bankflow.exception.AccountInactiveException;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.InsufficientFundsException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.ScheduledTransfer;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.enums.ScheduledTransferStatus;
+import com.bankflow.repository.ScheduledTransferRepository;
+import com.bankflow.service.BankingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executes due standing orders. Each worker claims a batch of the oldest due orders with
+ * {@code SKIP LOCKED} and a lease, so any number of instances drain the same table without
+ * executing an occurrence twice, then runs the batch ordered by the accounts it locks.
+ * <p>
+ * Each occurrence is one transaction: the transfer and the move to the next occurrence commit
+ * together. With the ledger engine the transfer commits on its own, so a failure to reschedule
+ * afterwards retries the occurrence. Business failures (insufficient funds, inactive or missing
+ * accounts) skip the occurrence and are recorded on the order; technical failures are retried
+ * after {@code retry-delay}. Occurrences missed while an instance was down run once, not once each.
+ */
+@Component
+@Slf4j
+public class ScheduledTransferExecutor {
+
+    private static final int MAX_FAILURE_LENGTH = 500;
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final BankingService bankingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledTransferProperties properties;
+    private final ExecutorService workers;
+
+    public ScheduledTransferExecutor(ScheduledTransferRepository scheduledTransferRepository,
+                                     BankingService bankingService,
+                                     PlatformTransactionManager transactionManager,
+                                     ScheduledTransferProperties properties) {
+        if (properties.getWorkers() < 1 || properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Scheduled transfer workers and batch size must be positive");
+        }
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.bankingService = bankingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(), task -> {
+            Thread thread = new Thread(task, "scheduled-transfer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduled-transfers.poll-interval:PT30S}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int executed = runDueTransfers();
+        if (executed > 0) {
+            log.info("Scheduled transfers processed - Count: {}", executed);
+        }
+    }
+
+    /**
+     * Drains every order due now across all workers.
+     *
+     * @return number of occurrences processed, whether they transferred or were skipped
+     */
+    public int runDueTransfers() {
+        List<Future<Integer>> drains = new ArrayList<>(properties.getWorkers());
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            drains.add(workers.submit(this::drain));
+        }
+
+        int processed = 0;
+        for (Future<Integer> drain : drains) {
+            try {
+                processed += drain.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for scheduled transfer workers");
+                break;
+            } catch (ExecutionException ex) {
+                // Claimed orders are picked up again once their lease lapses
+                log.error("Scheduled transfer worker failed", ex.getCause());
+            }
+        }
+        return processed;
+    }
+
+    private int drain() {
+        int processed = 0;
+        List<Claim> batch;
+        while (!(batch = claim()).isEmpty()) {
+            batch.sort(Comparator.comparingLong(Claim::firstLockId).thenComparingLong(Claim::secondLockId));
+            for (Claim claim : batch) {
+                execute(claim);
+                processed++;
+            }
+        }
+        return processed;
+    }
+
+    private List<Claim> claim() {
+        List<Claim> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ScheduledTransfer> due = scheduledTransferRepository.findDueForUpdate(now, Limit.of(properties.getBatchSize()));
+            List<Claim> claims = new ArrayList<>(due.size());
+            for (ScheduledTransfer scheduledTransfer : due) {
+                scheduledTransfer.setClaimedUntil(now.plus(properties.getLease()));
+                claims.add(new Claim(scheduledTransfer.getId(),
+                        scheduledTransfer.getFromAccount().getId(), scheduledTransfer.getToAccount().getId()));
+            }
+            return claims;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void execute(Claim claim) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ScheduledTransfer scheduledTransfer = scheduledTransferRepository.findById(claim.id()).orElse(null);
+                if (scheduledTransfer == null || scheduledTransfer.getStatus() != ScheduledTransferStatus.ACTIVE) {
+                    // Paused or cancelled since it was claimed
+                    return;
+                }
+                TransactionRecord transaction = bankingService.transfer(claim.fromAccountId(), claim.toAccountId(),
+                        scheduledTransfer.getAmount(), scheduledTransfer.getDescription());
+                scheduledTransfer.setLastTransactionId(transaction.getId());
+                scheduledTransfer.setLastFailure(null);
+                advance(scheduledTransfer, now);
+                log.info("AUDIT: Scheduled transfer executed - ID: {}, Transaction ID: {}, Next run: {}",
+                        claim.id(), transaction.getId(), scheduledTransfer.getNextRunAt());
+            });
+        } catch (NotFoundException | AccountInactiveException | InsufficientFundsException | BadRequestException ex) {
+            log.warn("AUDIT: Scheduled transfer skipped - ID: {}, Reason: {}", claim.id(), ex.getMessage());
+            update(claim.id(), scheduledTransfer -> {
+                scheduledTransfer.setLastFailure(truncate(ex.getMessage()));
+                advance(scheduledTransfer, now);
+            });
+        } catch (RuntimeException ex) {
+            log.error("Scheduled transfer failed, retrying in {} - ID: {}", properties.getRetryDelay(), claim.id(), ex);
+            update(claim.id(), scheduledTransfer -> {
+                scheduledTransfer.setLastFailure(truncate(ex.getMessage()));
+                scheduledTransfer.setClaimedUntil(now.plus(properties.getRetryDelay()));
+            });
+        }
+    }
+
+    private void update(Long scheduledTransferId, Consumer<ScheduledTransfer> change) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> scheduledTransferRepository.findById(scheduledTransferId)
+                    .filter(scheduledTransfer -> scheduledTransfer.getStatus() == ScheduledTransferStatus.ACTIVE)
+                    .ifPresent(change));
+        } catch (RuntimeException ex) {
+            // The claim lapses after the lease and the occurrence is retried
+            log.error("Failed to record scheduled transfer outcome - ID: {}", scheduledTransferId, ex);
+        }
+    }
+
+    /**
+     * Moves the order to its first occurrence after today, completing it past its end date.
+     */
+    private static void advance(ScheduledTransfer scheduledTransfer, LocalDateTime now) {
+        LocalDate next = scheduledTransfer.getFrequency().nextOccurrence(scheduledTransfer.getStartDate(), now.toLocalDate());
+        scheduledTransfer.setLastRunAt(now);
+        scheduledTransfer.setClaimedUntil(null);
+        if (next == null || (scheduledTransfer.getEndDate() != null && next.isAfter(scheduledTransfer.getEndDate()))) {
+            scheduledTransfer.setStatus(ScheduledTransferStatus.COMPLETED);
+            scheduledTransfer.setNextRunAt(null);
+        } else {
+            scheduledTransfer.setNextRunAt(next.atStartOfDay());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_FAILURE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_FAILURE_LENGTH);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Scheduled transfer workers did not stop within 10s");
+        }
+    }
+
+    private record Claim(Long id, Long fromAccountId, Long toAccountId) {
+
+        long firstLockId() {
+            return Math.min(fromAccountId, toAccountId);
+        }
+
+        long secondLockId() {
+            return Math.max(fromAccountId, toAccountId);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bankflow.service.scheduling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the standing-order executor.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.scheduled-transfers")
+public class ScheduledTransferProperties {
+
+    /**
+     * Whether this instance polls for due transfers. Disable on instances that should only serve the API.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between polls once all due transfers have been drained.
+     */
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    /**
+     * Worker threads per instance. Each claims its own batches and holds one pooled connection while executing.
+     */
+    private int workers = 4;
+
+    /**
+     * Orders claimed per round trip.
+     */
+    private int batchSize = 100;
+
+    /**
+     * How long a claim is held before another instance may take the order over.
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /**
+     * Back-off before retrying an occurrence that failed for a technical reason.
+     */
+    private Duration retryDelay = Duration.ofMinutes(5);
+}
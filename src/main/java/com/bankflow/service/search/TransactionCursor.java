@@ -0,0 +1,29 @@
+package com.bankflow.service.search;
+
+import com.bankflow.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in an account's history: the last transaction of the previous page. History is
+ * ordered by timestamp, newest first, with the id breaking ties.
+ */
+public record TransactionCursor(LocalDateTime timestamp, long id) {
+
+    public String encode() {
+        String raw = timestamp + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.indexOf(',');
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("cursor", cursor, "Not a cursor returned by this API");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.bankflow.service.search;
+
+import com.bankflow.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Filters for an account's transaction history. Every field is optional; unset fields do not filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSearchCriteria {
+
+    private Set<TransactionType> types;
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+
+    /**
+     * First day included.
+     */
+    private LocalDate fromDate;
+
+    /**
+     * Last day included.
+     */
+    private LocalDate toDate;
+
+    /**
+     * Account number on the other side of a transfer.
+     */
+    private String counterparty;
+}
@@ -0,0 +1,125 @@
+package com.bankflow.service.search;
+
+import com.bankflow.model.enums.TransactionType;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the SQL for one page of an account's filtered history.
+ * <p>
+ * An account appears on either side of a transaction, and an {@code OR} across both columns cannot
+ * use an index. The query is therefore split into an outgoing branch, keyed on
+ * {@code from_account_id}, and an incoming branch, keyed on {@code to_account_id}. Each branch is
+ * ordered and limited on its own over a composite index that starts with its account column, and
+ * the two short lists are merged. Only transfers have a destination, so the incoming branch is left
+ * out when the type filter excludes transfers.
+ *
+ * @param branches the outgoing branch, then the incoming branch if any
+ * @param fetch    rows to return
+ */
+public record TransactionSearchQuery(List<Branch> branches, int fetch) {
+
+    private static final String BRANCH_SQL =
+            "SELECT t.id, t.timestamp AS ts FROM transaction_records t WHERE %s ORDER BY t.timestamp DESC, t.id DESC LIMIT ?";
+
+    /**
+     * @param counterpartyId id of the {@code counterparty} account, already resolved, or {@code null}
+     * @param before         the last row of the previous page, or {@code null} for the first page
+     * @param fetch          rows to return
+     */
+    public static TransactionSearchQuery of(long accountId, TransactionSearchCriteria criteria, Long counterpartyId,
+                                            TransactionCursor before, int fetch) {
+        Set<TransactionType> types = criteria.getTypes();
+        boolean anyType = types == null || types.isEmpty();
+        List<Branch> branches = new ArrayList<>(2);
+
+        List<String> outgoing = new ArrayList<>();
+        List<Object> outgoingArgs = new ArrayList<>();
+        outgoing.add("t.from_account_id = ?");
+        outgoingArgs.add(accountId);
+        if (!anyType) {
+            outgoing.add(types.stream().map(type -> "?").collect(Collectors.joining(", ", "t.type IN (", ")")));
+            types.stream().sorted().map(TransactionType::name).forEach(outgoingArgs::add);
+        }
+        if (counterpartyId != null) {
+            outgoing.add("t.to_account_id = ?");
+            outgoingArgs.add(counterpartyId);
+        }
+        branches.add(branch(outgoing, outgoingArgs, criteria, before, fetch));
+
+        if (anyType || types.contains(TransactionType.TRANSFER)) {
+            List<String> incoming = new ArrayList<>();
+            List<Object> incomingArgs = new ArrayList<>();
+            incoming.add("t.to_account_id = ?");
+            incomingArgs.add(accountId);
+            if (counterpartyId != null) {
+                incoming.add("t.from_account_id = ?");
+                incomingArgs.add(counterpartyId);
+            }
+            branches.add(branch(incoming, incomingArgs, criteria, before, fetch));
+        }
+        return new TransactionSearchQuery(List.copyOf(branches), fetch);
+    }
+
+    /**
+     * Selects {@code id} and {@code ts} of the matching rows, newest first.
+     */
+    public String sql() {
+        if (branches.size() == 1) {
+            return branches.get(0).sql();
+        }
+        return branches.stream()
+                .map(branch -> "(" + branch.sql() + ")")
+                .collect(Collectors.joining(" UNION ALL ", "SELECT id, ts FROM (", ") matches ORDER BY ts DESC, id DESC LIMIT ?"));
+    }
+
+    /**
+     * Bind values for {@link #sql()}.
+     */
+    public Object[] args() {
+        List<Object> args = new ArrayList<>();
+        branches.forEach(branch -> args.addAll(List.of(branch.args())));
+        if (branches.size() > 1) {
+            args.add(fetch);
+        }
+        return args.toArray();
+    }
+
+    private static Branch branch(List<String> conditions, List<Object> args, TransactionSearchCriteria criteria,
+                                 TransactionCursor before, int fetch) {
+        if (criteria.getMinAmount() != null) {
+            conditions.add("t.amount >= ?");
+            args.add(criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            conditions.add("t.amount <= ?");
+            args.add(criteria.getMaxAmount());
+        }
+        if (criteria.getFromDate() != null) {
+            conditions.add("t.timestamp >= ?");
+            args.add(Timestamp.valueOf(criteria.getFromDate().atStartOfDay()));
+        }
+        if (criteria.getToDate() != null) {
+            conditions.add("t.timestamp < ?");
+            args.add(Timestamp.valueOf(criteria.getToDate().plusDays(1).atStartOfDay()));
+        }
+        if (before != null) {
+            conditions.add("(t.timestamp < ? OR (t.timestamp = ? AND t.id < ?))");
+            args.add(Timestamp.valueOf(before.timestamp()));
+            args.add(Timestamp.valueOf(before.timestamp()));
+            args.add(before.id());
+        }
+        args.add(fetch);
+        return new Branch(String.format(BRANCH_SQL, String.join(" AND ", conditions)), args.toArray());
+    }
+
+    /**
+     * One side of the account's history, ordered and limited on its own.
+     */
+    public record Branch(String sql, Object[] args) {
+    }
+}
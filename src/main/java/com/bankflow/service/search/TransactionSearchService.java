@@ -0,0 +1,91 @@
+package com.bankflow.service.search;
+
+import com.bankflow.dto.TransactionSearchResponse;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.TransactionRepository;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filtered, keyset-paged transaction history for one account. Filters are pushed into SQL by
+ * {@link TransactionSearchQuery}; the matching records are then loaded by id.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSearchService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Returns the account's transactions matching {@code criteria}, newest first.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit  page size, at most {@link #MAX_LIMIT}
+     */
+    @CircuitBreaker(name = "database")
+    @Bulkhead(name = "banking-read")
+    @Transactional(readOnly = true)
+    public TransactionSearchResponse search(String accountNumber, TransactionSearchCriteria criteria, String cursor, int limit) {
+        validate(criteria, limit);
+        log.debug("Searching transactions - Account Number: {}, Criteria: {}, Limit: {}", accountNumber, criteria, limit);
+        Account account = findAccount(accountNumber);
+        Long counterpartyId = criteria.getCounterparty() != null ? findAccount(criteria.getCounterparty()).getId() : null;
+        TransactionCursor before = cursor != null ? TransactionCursor.decode(cursor) : null;
+
+        // One extra row tells whether there is a next page
+        TransactionSearchQuery query = TransactionSearchQuery.of(account.getId(), criteria, counterpartyId, before, limit + 1);
+        List<TransactionCursor> rows = jdbcTemplate.query(query.sql(),
+                (rs, rowNum) -> new TransactionCursor(rs.getTimestamp("ts").toLocalDateTime(), rs.getLong("id")),
+                query.args());
+
+        boolean hasMore = rows.size() > limit;
+        List<TransactionCursor> page = hasMore ? rows.subList(0, limit) : rows;
+        Map<Long, TransactionRecord> records = transactionRepository.findAllById(page.stream().map(TransactionCursor::id).toList())
+                .stream()
+                .collect(Collectors.toMap(TransactionRecord::getId, Function.identity()));
+
+        return TransactionSearchResponse.builder()
+                .transactions(page.stream()
+                        .map(row -> records.get(row.id()).mapToTransactionResponse())
+                        .toList())
+                .nextCursor(hasMore ? page.get(page.size() - 1).encode() : null)
+                .build();
+    }
+
+    private Account findAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException("Account with number", accountNumber));
+    }
+
+    private static void validate(TransactionSearchCriteria criteria, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit", String.valueOf(limit), "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new BadRequestException("minAmount", criteria.getMinAmount().toPlainString(), "Must not exceed maxAmount");
+        }
+        if (criteria.getFromDate() != null && criteria.getToDate() != null && criteria.getFromDate().isAfter(criteria.getToDate())) {
+            throw new BadRequestException("from", criteria.getFromDate().toString(), "Must not be after 'to'");
+        }
+    }
+}
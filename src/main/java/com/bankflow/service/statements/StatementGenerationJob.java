@@ -0,0 +1,255 @@
+package com.bankflow.service.statements;
+
+import com.bankflow.service.batch.AccountIdRanges;
+import com.bankflow.service.batch.AccountIdRanges.Range;
+import com.bankflow.service.batch.JobLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders every account's statement for a closed month into {@code account_statements}, so
+ * downloads never touch {@code transaction_records}. Account id ranges are rendered in parallel;
+ * each range streams the month's transactions through a cursor in account order, renders one CSV
+ * per account and inserts the statements in batches.
+ * <p>
+ * The opening balance is the previous statement's closing balance, or the net of all earlier
+ * transactions for an account's first statement. Accounts that already have a statement for the
+ * month are skipped, so a run that failed part-way can simply be repeated.
+ */
+@Component
+@Slf4j
+public class StatementGenerationJob {
+
+    private static final String ACCOUNTS_SQL =
+            "SELECT id, account_number FROM accounts WHERE id >= ? AND id < ? AND created_at < ? ORDER BY id";
+
+    private static final String HISTORY_SQL =
+            "SELECT account_id, SUM(amount) FROM (" +
+                    "SELECT from_account_id AS account_id, CASE WHEN type = 'DEPOSIT' THEN amount ELSE -amount END AS amount " +
+                    "FROM transaction_records WHERE from_account_id >= ? AND from_account_id < ? AND timestamp < ? " +
+                    "UNION ALL " +
+                    "SELECT to_account_id AS account_id, amount FROM transaction_records " +
+                    "WHERE type = 'TRANSFER' AND to_account_id >= ? AND to_account_id < ? AND timestamp < ?" +
+                    ") flows GROUP BY account_id";
+
+    private static final String TRANSACTIONS_SQL =
+            "SELECT t.from_account_id AS account_id, t.timestamp, t.id, t.type, t.amount, c.account_number, t.description, 0 AS incoming " +
+                    "FROM transaction_records t LEFT JOIN accounts c ON c.id = t.to_account_id " +
+                    "WHERE t.from_account_id >= ? AND t.from_account_id < ? AND t.timestamp >= ? AND t.timestamp < ? " +
+                    "UNION ALL " +
+                    "SELECT t.to_account_id AS account_id, t.timestamp, t.id, t.type, t.amount, c.account_number, t.description, 1 AS incoming " +
+                    "FROM transaction_records t JOIN accounts c ON c.id = t.from_account_id " +
+                    "WHERE t.type = 'TRANSFER' AND t.to_account_id >= ? AND t.to_account_id < ? AND t.timestamp >= ? AND t.timestamp < ? " +
+                    "ORDER BY 1, 2, 3";
+
+    private static final String STATEMENT_BALANCES_SQL =
+            "SELECT account_id, closing_balance FROM account_statements WHERE period_start = ? AND account_id >= ? AND account_id < ?";
+
+    private static final String INSERT_STATEMENT_SQL =
+            "INSERT INTO account_statements (account_id, period_start, opening_balance, closing_balance, transactions, " +
+                    "content_size, digest, created_at, content) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatementProperties properties;
+
+    public StatementGenerationJob(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  StatementProperties properties) {
+        if (properties.getRangeSize() < 1 || properties.getParallelism() < 1 || properties.getFetchSize() < 1
+                || properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Statement range size, parallelism, fetch size and batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${app.statements.cron:0 0 2 1 * *}")
+    public void renderPreviousMonth() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        YearMonth period = YearMonth.now().minusMonths(1);
+        JobLock.runExclusively(jdbcTemplate, "statements", () -> generate(period));
+    }
+
+    /**
+     * Renders the statements of {@code period} that do not exist yet.
+     */
+    public synchronized StatementRun generate(YearMonth period) {
+        long started = System.nanoTime();
+        List<Range> ranges = AccountIdRanges.of(jdbcTemplate, properties.getRangeSize());
+        AtomicInteger rendered = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger failedRanges = new AtomicInteger();
+        log.info("Statement generation started - Period: {}, Ranges: {}", period, ranges.size());
+
+        AccountIdRanges.forEachParallel(ranges, properties.getParallelism(), range -> {
+            try {
+                RangeRenderer renderer = new RangeRenderer(period, range);
+                transactionTemplate.executeWithoutResult(status -> renderer.render());
+                rendered.addAndGet(renderer.rendered);
+                skipped.addAndGet(renderer.existing);
+            } catch (RuntimeException ex) {
+                // Other ranges carry on; re-running the period renders the missing statements
+                failedRanges.incrementAndGet();
+                log.error("Statement generation failed for range - Period: {}, First account ID: {}", period, range.firstId(), ex);
+            }
+        });
+
+        StatementRun run = new StatementRun(period, ranges.size(), rendered.get(), skipped.get(), failedRanges.get(),
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Statement generation finished - Period: {}, Rendered: {}, Already present: {}, Failed ranges: {}, Duration: {}",
+                period, run.rendered(), run.skipped(), run.failedRanges(), run.duration());
+        return run;
+    }
+
+    public record StatementRun(YearMonth period, int ranges, int rendered, int skipped, int failedRanges, Duration duration) {
+    }
+
+    /**
+     * Renders the statements of one account id range; not thread-safe.
+     */
+    private final class RangeRenderer {
+
+        private final YearMonth period;
+        private final Range range;
+        private final LocalDate periodStart;
+        private final Timestamp from;
+        private final Timestamp until;
+        private final Map<Long, String> accounts = new LinkedHashMap<>();
+        private final Map<Long, BigDecimal> openingBalances = new HashMap<>();
+        private final List<Object[]> rows = new ArrayList<>();
+        private final Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        private int existing;
+        private int rendered;
+        private long currentAccountId;
+        private StatementWriter current;
+
+        private RangeRenderer(YearMonth period, Range range) {
+            this.period = period;
+            this.range = range;
+            this.periodStart = period.atDay(1);
+            this.from = Timestamp.valueOf(periodStart.atStartOfDay());
+            this.until = Timestamp.valueOf(period.plusMonths(1).atDay(1).atStartOfDay());
+        }
+
+        private void render() {
+            Set<Long> present = new HashSet<>();
+            jdbcTemplate.query(STATEMENT_BALANCES_SQL, rs -> {
+                present.add(rs.getLong(1));
+            }, Date.valueOf(periodStart), range.firstId(), range.endId());
+            existing = present.size();
+            jdbcTemplate.query(ACCOUNTS_SQL, rs -> {
+                if (!present.contains(rs.getLong(1))) {
+                    accounts.put(rs.getLong(1), rs.getString(2));
+                }
+            }, range.firstId(), range.endId(), until);
+            if (accounts.isEmpty()) {
+                return;
+            }
+            loadOpeningBalances();
+
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(TRANSACTIONS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(properties.getFetchSize());
+                for (int side = 0; side < 2; side++) {
+                    statement.setLong(side * 4 + 1, range.firstId());
+                    statement.setLong(side * 4 + 2, range.endId());
+                    statement.setTimestamp(side * 4 + 3, from);
+                    statement.setTimestamp(side * 4 + 4, until);
+                }
+                return statement;
+            }, this::appendTransaction);
+            finishCurrent();
+            // Accounts without transactions this month still get a statement
+            for (Long accountId : new ArrayList<>(accounts.keySet())) {
+                open(accountId);
+                finishCurrent();
+            }
+            flush();
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_STATEMENT_SQL, rows);
+                rendered += rows.size();
+                rows.clear();
+            }
+        }
+
+        private void loadOpeningBalances() {
+            jdbcTemplate.query(STATEMENT_BALANCES_SQL, rs -> {
+                openingBalances.put(rs.getLong(1), rs.getBigDecimal(2));
+            }, Date.valueOf(period.minusMonths(1).atDay(1)), range.firstId(), range.endId());
+            if (openingBalances.keySet().containsAll(accounts.keySet())) {
+                return;
+            }
+            // First statement of some accounts: every balance change, including the initial deposit, is a transaction
+            jdbcTemplate.query(HISTORY_SQL, rs -> {
+                openingBalances.putIfAbsent(rs.getLong(1), rs.getBigDecimal(2));
+            }, range.firstId(), range.endId(), from, range.firstId(), range.endId(), from);
+        }
+
+        private void appendTransaction(ResultSet rs) throws SQLException {
+            long accountId = rs.getLong(1);
+            if (!accounts.containsKey(accountId)) {
+                return;
+            }
+            if (current == null || currentAccountId != accountId) {
+                finishCurrent();
+                open(accountId);
+            }
+            String type = rs.getString(4);
+            BigDecimal amount = rs.getBigDecimal(5);
+            boolean moneyIn = rs.getInt(8) == 1 || "DEPOSIT".equals(type);
+            current.append(rs.getTimestamp(2).toLocalDateTime(), rs.getLong(3), type,
+                    moneyIn ? amount : amount.negate(), rs.getString(6), rs.getString(7));
+        }
+
+        private void open(long accountId) {
+            BigDecimal opening = openingBalances.getOrDefault(accountId, BigDecimal.ZERO).setScale(2);
+            currentAccountId = accountId;
+            current = new StatementWriter(accounts.get(accountId), period, opening);
+        }
+
+        private void finishCurrent() {
+            if (current == null) {
+                return;
+            }
+            StatementWriter.RenderedStatement statement = current.finish();
+            rows.add(new Object[]{currentAccountId, Date.valueOf(periodStart), statement.openingBalance(), statement.closingBalance(),
+                    statement.transactions(), (long) statement.content().length, statement.digest(), createdAt, statement.content()});
+            accounts.remove(currentAccountId);
+            current = null;
+            // Bounds the rendered content held per range
+            if (rows.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.bankflow.service.statements;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for monthly statement generation and downloads.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.statements")
+public class StatementProperties {
+
+    /**
+     * Whether this instance renders statements after month close. Enabled instances take turns: a run is skipped while another instance holds the job's lock.
+     */
+    private boolean enabled = true;
+
+    /**
+     * When the previous month is rendered.
+     */
+    private String cron = "0 0 2 1 * *";
+
+    /**
+     * Account ids per range rendered by one worker.
+     */
+    private long rangeSize = 10_000;
+
+    /**
+     * Ranges rendered in parallel; each holds one pooled connection.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Rows fetched per round trip by the streaming transaction cursor.
+     */
+    private int fetchSize = 1_000;
+
+    /**
+     * Statements inserted per batch; also the most rendered statements a range holds in memory.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Statement sizes and ETags kept in memory for downloads.
+     */
+    private long cacheSize = 100_000;
+}
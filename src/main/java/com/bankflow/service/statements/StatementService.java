@@ -0,0 +1,67 @@
+package com.bankflow.service.statements;
+
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.AccountStatement;
+import com.bankflow.repository.AccountStatementRepository;
+import com.bankflow.util.ETags;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Locates and reads rendered statements. Statements never change once rendered, so their size and
+ * ETag are cached and conditional statement-day downloads do not query the database; missing
+ * statements are not cached as they may be rendered later.
+ */
+@Service
+@Slf4j
+public class StatementService {
+
+    private final AccountStatementRepository statementRepository;
+    private final Cache<String, StatementFile> statements;
+
+    public StatementService(AccountStatementRepository statementRepository, StatementProperties properties) {
+        this.statementRepository = statementRepository;
+        this.statements = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public StatementFile getStatement(String accountNumber, YearMonth period) {
+        String key = accountNumber + "/" + period;
+        StatementFile cached = statements.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        AccountStatement statement = statementRepository.findByAccountNumberAndPeriodStart(accountNumber, period.atDay(1))
+                .orElseThrow(() -> {
+                    log.debug("Statement not found - Account Number: {}, Period: {}", accountNumber, period);
+                    return new NotFoundException("Statement for account " + accountNumber, period.toString());
+                });
+        StatementFile file = new StatementFile(statement.getAccountId(), statement.getPeriodStart(), statement.getContentSize(),
+                ETags.forStatement(statement.getDigest()));
+        statements.put(key, file);
+        return file;
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] getContent(StatementFile statement) {
+        return statementRepository.findContent(statement.accountId(), statement.periodStart())
+                .orElseThrow(() -> new NotFoundException("Statement for account ID " + statement.accountId(),
+                        YearMonth.from(statement.periodStart()).toString()));
+    }
+
+    public record StatementFile(Long accountId, LocalDate periodStart, long size, String eTag) {
+
+        public String contentType() {
+            return StatementWriter.CONTENT_TYPE;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bankflow.service.statements;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HexFormat;
+
+/**
+ * Renders one statement as compact CSV: a short header, one line per transaction with the running
+ * balance, and the closing balance last. Statements are a few kilobytes, so they are rendered in
+ * memory and stored with their row.
+ */
+class StatementWriter {
+
+    static final String CONTENT_TYPE = "text/csv;charset=UTF-8";
+
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    private final MessageDigest digest;
+    private final BufferedWriter writer;
+    private final BigDecimal openingBalance;
+    private BigDecimal balance;
+    private int transactions;
+
+    StatementWriter(String accountNumber, YearMonth period, BigDecimal openingBalance) {
+        this.openingBalance = openingBalance;
+        this.balance = openingBalance;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        this.writer = new BufferedWriter(new OutputStreamWriter(new DigestOutputStream(content, digest), StandardCharsets.UTF_8));
+        line("account", accountNumber);
+        line("period", period.toString());
+        line("opening_balance", openingBalance.toPlainString());
+        line("timestamp", "id", "type", "amount", "balance", "counterparty", "description");
+    }
+
+    /**
+     * @param amount signed amount: positive for money in, negative for money out
+     */
+    void append(LocalDateTime timestamp, long transactionId, String type, BigDecimal amount, String counterparty, String description) {
+        balance = balance.add(amount);
+        transactions++;
+        line(timestamp.toString(), Long.toString(transactionId), type,
+                (amount.signum() > 0 ? "+" : "") + amount.toPlainString(), balance.toPlainString(),
+                counterparty == null ? "" : counterparty, description == null ? "" : description);
+    }
+
+    /**
+     * Writes the closing line and returns the rendered statement.
+     */
+    RenderedStatement finish() {
+        line("closing_balance", balance.toPlainString());
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new RenderedStatement(openingBalance, balance, transactions, content.toByteArray(),
+                HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private void line(String... fields) {
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(fields[i]));
+            }
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String escape(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+
+    record RenderedStatement(BigDecimal openingBalance, BigDecimal closingBalance, int transactions, byte[] content, String digest) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.bankflow.service.velocity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding-window sum. The window is a ring of fixed-width buckets and each bucket is a
+ * single long packing the bucket's period tag with its value, updated with CAS. A slot still holding
+ * an older period is stale: readers ignore it and the first writer of the new period resets it, so
+ * nothing ever sweeps the ring.
+ * <p>
+ * The window slides one bucket at a time, so it covers between {@code buckets - 1} and
+ * {@code buckets} whole buckets.
+ */
+final class SlidingWindowCounter {
+
+    private static final int TAG_BITS = 20;
+    private static final int VALUE_BITS = Long.SIZE - TAG_BITS;
+    private static final long TAG_MASK = (1L << TAG_BITS) - 1;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+
+    SlidingWindowCounter(Duration window, int buckets) {
+        if (buckets < 1 || buckets >= (1 << (TAG_BITS - 1)) || window.toMillis() < buckets) {
+            throw new IllegalArgumentException("Window must hold between 1 and 2^19 buckets of at least 1 ms");
+        }
+        this.bucketMillis = window.toMillis() / buckets;
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * Adds {@code delta} to the bucket of {@code atMillis}. A negative delta only undoes an earlier
+     * add and is dropped once that bucket has rolled out of the ring, as is an add for a period older
+     * than the one the slot already holds.
+     *
+     * @return whether the value was applied
+     */
+    boolean add(long atMillis, long delta) {
+        long period = Math.floorDiv(atMillis, bucketMillis);
+        int slot = (int) Math.floorMod(period, (long) slots.length());
+        long tag = period & TAG_MASK;
+        while (true) {
+            long current = slots.get(slot);
+            long currentTag = current >>> VALUE_BITS;
+            long next;
+            if (currentTag == tag) {
+                next = current + delta;
+            } else if (delta < 0 || ((current & VALUE_MASK) != 0 && isAhead(currentTag, tag))) {
+                return false;
+            } else {
+                next = (tag << VALUE_BITS) | delta;
+            }
+            if (slots.compareAndSet(slot, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Sum of the buckets inside the window ending at {@code nowMillis}.
+     */
+    long sum(long nowMillis) {
+        long tag = Math.floorDiv(nowMillis, bucketMillis) & TAG_MASK;
+        int buckets = slots.length();
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            long value = slots.get(i);
+            if (((tag - (value >>> VALUE_BITS)) & TAG_MASK) < buckets) {
+                total += value & VALUE_MASK;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Whether {@code tag} is a later period than {@code other} sharing its slot. Only adds replayed
+     * from the past can be behind, and never by more than one window.
+     */
+    private boolean isAhead(long tag, long other) {
+        long distance = (tag - other) & TAG_MASK;
+        return distance != 0 && distance <= slots.length();
+    }
+}
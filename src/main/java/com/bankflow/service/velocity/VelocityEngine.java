@@ -0,0 +1,305 @@
+package com.bankflow.service.velocity;
+
+import com.bankflow.exception.VelocityLimitExceededException;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory velocity checks for withdrawals and transfers, run before the banking services take
+ * account locks. Every rule keeps a {@link SlidingWindowCounter} per account or customer; a check
+ * adds the operation to each matching counter and backs it out again if any window is over its
+ * limit, so concurrent checks never overshoot a limit and never block each other.
+ * <p>
+ * Inside a transaction the reservation is released if the transaction rolls back, so failed
+ * operations do not count.
+ * <p>
+ * Counters are per instance: with several instances each one only counts the operations it
+ * handled, so a client spreading requests across instances gets up to each instance's limit.
+ * When the context starts, a background thread replays the outflows recorded within the longest
+ * window, up to the moment it started; checks made meanwhile count from an empty window, and a
+ * database that cannot be reached leaves the counters empty rather than failing startup.
+ */
+@Slf4j
+public class VelocityEngine implements SmartLifecycle {
+
+    private static final String RECENT_OUTFLOWS_SQL =
+            "SELECT t.type, t.from_account_id, a.customer_id, t.amount, t.created_at FROM transaction_records t " +
+                    "JOIN accounts a ON a.id = t.from_account_id " +
+                    "WHERE t.type IN ('WITHDRAW', 'TRANSFER') AND t.created_at >= ? ORDER BY t.created_at";
+
+    private static final String OUTFLOWS_BETWEEN_SQL =
+            "SELECT t.type, t.from_account_id, a.customer_id, t.amount, t.created_at FROM transaction_records t " +
+                    "JOIN accounts a ON a.id = t.from_account_id " +
+                    "WHERE t.type IN ('WITHDRAW', 'TRANSFER') AND t.created_at >= ? AND t.created_at < ? ORDER BY t.created_at";
+
+    private static final int REBUILD_FETCH_SIZE = 1_000;
+
+    private final boolean enabled;
+    private final Map<TransactionType, Rule[]> rulesByType = new EnumMap<>(TransactionType.class);
+    private final Duration longestWindow;
+    private final boolean customerScoped;
+    private final Cache<Long, Long> customerIds;
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private Thread rebuilder;
+
+    public VelocityEngine(VelocityProperties properties, AccountRepository accountRepository, JdbcTemplate jdbcTemplate, Clock clock) {
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.customerIds = Caffeine.newBuilder().maximumSize(properties.getMaxKeys()).build();
+
+        List<Rule> rules = new ArrayList<>();
+        properties.getRules().forEach((name, rule) -> rules.add(new Rule(name, rule, properties.getMaxKeys())));
+        for (TransactionType type : TransactionType.values()) {
+            rulesByType.put(type, rules.stream().filter(rule -> rule.operations.contains(type)).toArray(Rule[]::new));
+        }
+        this.enabled = properties.isEnabled() && !rules.isEmpty();
+        this.longestWindow = rules.stream().map(rule -> rule.window).max(Duration::compareTo).orElse(Duration.ZERO);
+        this.customerScoped = rules.stream().anyMatch(rule -> rule.scope == VelocityProperties.Scope.CUSTOMER);
+        log.info("Velocity checks {} with {} rule(s)", enabled ? "enabled" : "disabled", rules.size());
+    }
+
+    /**
+     * Counts a withdrawal or an outgoing transfer of {@code amount} from {@code accountId} against
+     * every matching rule.
+     *
+     * @return the reservation, released automatically if the current transaction rolls back
+     * @throws VelocityLimitExceededException if any rule's window would exceed its limit
+     */
+    public Reservation acquire(TransactionType type, Long accountId, BigDecimal amount) {
+        Rule[] rules = rulesByType.get(type);
+        if (!enabled || rules.length == 0) {
+            return Reservation.NONE;
+        }
+        long now = clock.millis();
+        long cents = toCents(amount);
+        Long customerId = customerScoped ? customerIdOf(accountId) : null;
+
+        Reservation reservation = new Reservation(now, rules.length);
+        for (Rule rule : rules) {
+            Long key = rule.scope == VelocityProperties.Scope.ACCOUNT ? accountId : customerId;
+            if (key == null) {
+                // Unknown account: the service rejects it once it looks the account up
+                continue;
+            }
+            SlidingWindowCounter counter = rule.counterFor(key);
+            long delta = rule.countsAmount() ? cents : 1;
+            counter.add(now, delta);
+            reservation.hold(counter, delta);
+            if (counter.sum(now) > rule.limit) {
+                reservation.release();
+                log.warn("AUDIT: Velocity limit exceeded - Rule: {}, Account ID: {}, Type: {}, Amount: {}",
+                        rule.name, accountId, type, amount);
+                throw new VelocityLimitExceededException(rule.name, accountId, Duration.ofMillis(counter.bucketMillis()));
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reservation.release();
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * Starts replaying recent outflows in the background. Operations checked from now on are counted
+     * as they happen, so only those recorded before this moment are replayed.
+     */
+    @Override
+    public synchronized void start() {
+        if (!enabled || rebuilder != null) {
+            return;
+        }
+        Timestamp until = new Timestamp(clock.millis());
+        rebuilder = new Thread(() -> {
+            try {
+                rebuild(until);
+            } catch (RuntimeException ex) {
+                log.warn("Velocity counters not rebuilt, counting from an empty window - Error: {}", ex.getMessage());
+            }
+        }, "velocity-rebuild");
+        rebuilder.setDaemon(true);
+        rebuilder.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (rebuilder != null) {
+            rebuilder.interrupt();
+            rebuilder = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return rebuilder != null;
+    }
+
+    /**
+     * Before the web and gRPC servers, so no check is counted before the replay's cutoff.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048;
+    }
+
+    /**
+     * Replays outflows recorded within the longest rule window into the counters. Outflows this
+     * engine already counted are counted again.
+     *
+     * @return the number of transactions replayed
+     */
+    public int rebuild() {
+        return rebuild(null);
+    }
+
+    private int rebuild(Timestamp until) {
+        long now = until != null ? until.getTime() : clock.millis();
+        Timestamp since = new Timestamp(now - longestWindow.toMillis());
+        String sql = until != null ? OUTFLOWS_BETWEEN_SQL : RECENT_OUTFLOWS_SQL;
+        int[] replayed = new int[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(REBUILD_FETCH_SIZE);
+            statement.setTimestamp(1, since);
+            if (until != null) {
+                statement.setTimestamp(2, until);
+            }
+            return statement;
+        }, rs -> {
+            TransactionType type = TransactionType.valueOf(rs.getString(1));
+            long accountId = rs.getLong(2);
+            long customerId = rs.getLong(3);
+            long cents = toCents(rs.getBigDecimal(4));
+            long at = rs.getTimestamp(5).getTime();
+            customerIds.put(accountId, customerId);
+            for (Rule rule : rulesByType.get(type)) {
+                long key = rule.scope == VelocityProperties.Scope.ACCOUNT ? accountId : customerId;
+                rule.counterFor(key).add(at, rule.countsAmount() ? cents : 1);
+            }
+            replayed[0]++;
+        });
+        log.info("Velocity counters rebuilt - Transactions: {}, Since: {}", replayed[0], since);
+        return replayed[0];
+    }
+
+    private Long customerIdOf(Long accountId) {
+        Long customerId = customerIds.getIfPresent(accountId);
+        if (customerId == null) {
+            customerId = accountRepository.findCustomerIdById(accountId).orElse(null);
+            if (customerId != null) {
+                customerIds.put(accountId, customerId);
+            }
+        }
+        return customerId;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+    }
+
+    private static final class Rule {
+
+        private final String name;
+        private final VelocityProperties.Scope scope;
+        private final List<TransactionType> operations;
+        private final Duration window;
+        private final int buckets;
+        private final long limit;
+        private final boolean amount;
+        private final Cache<Long, SlidingWindowCounter> counters;
+
+        private Rule(String name, VelocityProperties.Rule rule, long maxKeys) {
+            if ((rule.getMaxCount() == null) == (rule.getMaxAmount() == null)) {
+                throw new IllegalArgumentException("Velocity rule '" + name + "' must set exactly one of max-count and max-amount");
+            }
+            if (rule.getOperations().stream().anyMatch(type -> type == TransactionType.DEPOSIT)) {
+                throw new IllegalArgumentException("Velocity rule '" + name + "' may only count WITHDRAW and TRANSFER");
+            }
+            this.name = name;
+            this.scope = rule.getScope();
+            this.operations = List.copyOf(rule.getOperations());
+            this.window = rule.getWindow();
+            this.buckets = rule.getBuckets();
+            this.amount = rule.getMaxAmount() != null;
+            this.limit = amount ? toCents(rule.getMaxAmount()) : rule.getMaxCount();
+            // Fails fast on an invalid window
+            new SlidingWindowCounter(window, buckets);
+            this.counters = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(window)
+                    .build();
+        }
+
+        private boolean countsAmount() {
+            return amount;
+        }
+
+        private SlidingWindowCounter counterFor(long key) {
+            return counters.get(key, k -> new SlidingWindowCounter(window, buckets));
+        }
+    }
+
+    /**
+     * What one check added to the counters. Releasing it is idempotent.
+     */
+    public static final class Reservation {
+
+        static final Reservation NONE = new Reservation(0, 0);
+
+        private final long atMillis;
+        private final SlidingWindowCounter[] counters;
+        private final long[] deltas;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private int held;
+
+        private Reservation(long atMillis, int rules) {
+            this.atMillis = atMillis;
+            this.counters = new SlidingWindowCounter[rules];
+            this.deltas = new long[rules];
+        }
+
+        private void hold(SlidingWindowCounter counter, long delta) {
+            counters[held] = counter;
+            deltas[held] = delta;
+            held++;
+        }
+
+        public void release() {
+            if (held == 0 || !released.compareAndSet(false, true)) {
+                return;
+            }
+            for (int i = 0; i < held; i++) {
+                counters[i].add(atMillis, -deltas[i]);
+            }
+        }
+    }
+}
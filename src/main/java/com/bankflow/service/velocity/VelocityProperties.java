@@ -0,0 +1,69 @@
+package com.bankflow.service.velocity;
+
+import com.bankflow.model.enums.TransactionType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Velocity rules checked before withdrawals and transfers take account locks.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.velocity")
+public class VelocityProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on tracked accounts or customers per rule. Counters idle for longer than their
+     * rule's window are evicted.
+     */
+    private long maxKeys = 200_000;
+
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    @Data
+    public static class Rule {
+
+        private Scope scope = Scope.ACCOUNT;
+
+        /**
+         * Money movements counted by the rule: WITHDRAW and/or TRANSFER (outgoing).
+         */
+        private List<TransactionType> operations = new ArrayList<>(List.of(TransactionType.WITHDRAW, TransactionType.TRANSFER));
+
+        private Duration window = Duration.ofHours(1);
+
+        /**
+         * Buckets the window slides by; more buckets track the window more precisely.
+         */
+        private int buckets = 60;
+
+        /**
+         * Most operations allowed in the window. Set either this or {@code max-amount}.
+         */
+        private Long maxCount;
+
+        /**
+         * Largest total amount allowed in the window.
+         */
+        private BigDecimal maxAmount;
+    }
+
+    public enum Scope {
+        /**
+         * The withdrawing account, or the source account of a transfer.
+         */
+        ACCOUNT,
+        /**
+         * All accounts of the account's customer.
+         */
+        CUSTOMER
+    }
+}
@@ -1,6 +1,7 @@
 package com.bankflow.util;
 
 import com.bankflow.repository.AccountRepository;
+import com.bankflow.service.bloom.KeyFilters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 public final class AccountNumberGenerator {
 
     private final AccountRepository accountRepository;
+    private final KeyFilters keyFilters;
 
     public synchronized String generateAccountNumber() {
         String accountNumber;
@@ -25,7 +27,7 @@ public final class AccountNumberGenerator {
                 log.error("Failed to generate unique account number after {} attempts", maxAttempts);
                 throw new RuntimeException("Unable to generate unique account number. Please try again.");
             }
-        } while (accountRepository.findByAccountNumber(accountNumber).isPresent());
+        } while (keyFilters.accountNumbers().mightExist(accountNumber) && accountRepository.existsByAccountNumber(accountNumber));
 
         log.debug("Generated unique account number: {} after {} attempt(s)", accountNumber, attempt);
         return accountNumber;
@@ -0,0 +1,71 @@
+package com.bankflow.util;
+
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Builds entity tags for account, customer and statement resources.
+ * Tags are derived only from version metadata so they can be computed from a
+ * lightweight projection query without loading the full entity.
+ * <p>
+ * Accounts and customers are served as JSON, CBOR or Smile under the same tag, so their tags are
+ * weak: the representations are equivalent but not byte-for-byte identical. Responses carrying them
+ * also send {@code Vary: Accept}.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forAccount(Long version) {
+        return forAccount(version, null);
+    }
+
+    /**
+     * In postings mode balance changes do not touch the account row, so the tag also
+     * carries the latest posting id.
+     */
+    public static String forAccount(Long version, Long lastPostingId) {
+        String tag = "a" + Long.toHexString(version != null ? version : 0L);
+        return weak(lastPostingId != null ? tag + "-" + Long.toHexString(lastPostingId) : tag);
+    }
+
+    public static String forCustomer(LocalDateTime customerUpdatedAt, LocalDateTime userUpdatedAt) {
+        return weak("c" + Long.toHexString(epochMicros(customerUpdatedAt)) + "-" + Long.toHexString(epochMicros(userUpdatedAt)));
+    }
+
+    /**
+     * Statements are immutable files; the tag is a prefix of their content digest.
+     */
+    public static String forStatement(String digest) {
+        return quote("s" + digest.substring(0, Math.min(32, digest.length())));
+    }
+
+    public static String of(Account account) {
+        return forAccount(account.getVersion(), account.getLastPostingId());
+    }
+
+    public static String of(Customer customer) {
+        return forCustomer(customer.getUpdatedAt(), customer.getUser() != null ? customer.getUser().getUpdatedAt() : null);
+    }
+
+    private static long epochMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return 0L;
+        }
+        // Truncate to the column precision so freshly saved and reloaded entities agree
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static String weak(String value) {
+        return "W/" + quote(value);
+    }
+}
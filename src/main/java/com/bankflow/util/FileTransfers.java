@@ -0,0 +1,125 @@
+package com.bankflow.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sends a file or in-memory content, or a single byte range of it. Files are not copied through
+ * the heap: on Tomcat connectors that support sendfile the container streams the file after the
+ * handler returns; otherwise the body is written with {@link FileChannel#transferTo}.
+ */
+public final class FileTransfers {
+
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileTransfers() {
+    }
+
+    /**
+     * Writes {@code file} with {@code Accept-Ranges}. A single satisfiable {@code Range} whose
+     * {@code If-Range} (if any) matches {@code eTag} gets {@code 206}; an unsatisfiable one gets
+     * {@code 416}; multiple ranges are answered with the whole file.
+     */
+    public static void send(Path file, long size, String eTag, String contentType,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long[] range = prepare(size, eTag, contentType, request, response);
+        if (range == null) {
+            return;
+        }
+        long start = range[0];
+        long end = range[1];
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("File " + file + " ended before " + (end + 1) + " bytes");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Writes {@code content} held in memory, with the same range handling as a file.
+     */
+    public static void send(byte[] content, String eTag, String contentType,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long[] range = prepare(content.length, eTag, contentType, request, response);
+        if (range != null) {
+            response.getOutputStream().write(content, (int) range[0], (int) (range[1] - range[0] + 1));
+        }
+    }
+
+    /**
+     * Sets the headers and status for the requested range.
+     *
+     * @return the first and last byte to write, or {@code null} when there is no body to write
+     */
+    private static long[] prepare(long size, String eTag, String contentType,
+                                  HttpServletRequest request, HttpServletResponse response) {
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, eTag);
+
+        long start = 0;
+        long end = size - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, eTag)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException ex) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size);
+                if (start >= size || end < start) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return null;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return null;
+        }
+        return new long[]{start, end};
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String eTag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(eTag);
+    }
+}
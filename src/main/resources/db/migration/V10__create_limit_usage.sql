@@ -0,0 +1,17 @@
+-- V10__create_limit_usage.sql
+-- Running withdrawal and outgoing transfer totals per account, day and month, checked against transaction limits
+
+-- Create limit_usage table (one row per account, operation and period; a new period starts a new row)
+CREATE TABLE limit_usage (
+    account_id BIGINT NOT NULL,
+    operation VARCHAR(20) NOT NULL,
+    period VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_limit_usage PRIMARY KEY (account_id, operation, period, period_start),
+    CONSTRAINT fk_limit_usage_account FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE,
+    CONSTRAINT check_limit_usage_operation CHECK (operation IN ('WITHDRAW', 'TRANSFER')),
+    CONSTRAINT check_limit_usage_period CHECK (period IN ('DAILY', 'MONTHLY')),
+    CONSTRAINT check_limit_usage_amount CHECK (amount >= 0)
+);
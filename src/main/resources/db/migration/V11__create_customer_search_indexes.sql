@@ -0,0 +1,12 @@
+-- V11__create_customer_search_indexes.sql
+-- Indexes behind GET /v1/customers/search (CustomerSearchService)
+
+-- Trigram indexes serve LIKE '%term%' on names and emails
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_users_full_name_trgm ON users USING gin (LOWER(full_name) gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON users USING gin (LOWER(email) gin_trgm_ops);
+
+-- Phone and account numbers are matched by prefix, which needs pattern ops outside the C collation
+CREATE INDEX idx_customers_phone_number_prefix ON customers(phone_number text_pattern_ops);
+CREATE INDEX idx_accounts_account_number_prefix ON accounts(account_number text_pattern_ops);
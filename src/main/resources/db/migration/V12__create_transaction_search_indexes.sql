@@ -0,0 +1,8 @@
+-- V12__create_transaction_search_indexes.sql
+-- Composite index behind GET /v1/accounts/{accountNumber}/transactions/search (TransactionSearchService)
+-- Other filters are served by existing indexes: from/to_account_timestamp (V8) for the plain
+-- branches and date ranges, account_activity (V1) for both branches of a counterparty filter
+
+-- Outgoing branch filtered by type
+CREATE INDEX idx_transaction_records_from_account_type_timestamp
+    ON transaction_records(from_account_id, type, timestamp DESC, id DESC);
@@ -0,0 +1,19 @@
+-- V13__create_account_monthly_rollups.sql
+-- Per-account monthly transaction counts and totals behind GET /v1/accounts/{accountNumber}/summary
+
+-- Create account_monthly_rollups table (one row per account, month, transaction type and direction)
+CREATE TABLE account_monthly_rollups (
+    account_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    direction VARCHAR(10) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_account_monthly_rollups PRIMARY KEY (account_id, month_start, type, direction),
+    CONSTRAINT fk_account_monthly_rollups_account FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE,
+    CONSTRAINT check_account_monthly_rollups_type CHECK (type IN ('DEPOSIT', 'WITHDRAW', 'TRANSFER')),
+    CONSTRAINT check_account_monthly_rollups_direction CHECK (direction IN ('DEBIT', 'CREDIT')),
+    CONSTRAINT check_account_monthly_rollups_count CHECK (transaction_count >= 0),
+    CONSTRAINT check_account_monthly_rollups_total CHECK (total_amount >= 0)
+);
@@ -0,0 +1,10 @@
+-- V14__store_statement_content.sql
+-- Statements move from the statement directory, which is per instance and lost on restart on Cloud Run,
+-- into account_statements, so every instance serves every statement
+
+-- Statements rendered to a directory cannot be served from here; the next run renders them again
+DELETE FROM account_statements;
+
+ALTER TABLE account_statements DROP COLUMN file_name;
+ALTER TABLE account_statements RENAME COLUMN file_size TO content_size;
+ALTER TABLE account_statements ADD COLUMN content BYTEA NOT NULL;
@@ -0,0 +1,35 @@
+-- V5__create_postings.sql
+-- Append-only double-entry postings and per-account balance checkpoints
+-- Used when app.banking.engine=postings; accounts.balance then holds the opening balance
+
+-- Create sequence for postings table
+CREATE SEQUENCE postings_id_seq START WITH 1 INCREMENT BY 1;
+
+-- Create postings table (account_id is NULL for the bank's cash clearing leg)
+CREATE TABLE postings (
+    id BIGINT PRIMARY KEY DEFAULT nextval('postings_id_seq'),
+    transaction_id BIGINT NOT NULL,
+    account_id BIGINT,
+    direction VARCHAR(10) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT fk_posting_transaction FOREIGN KEY (transaction_id) REFERENCES transaction_records(id),
+    CONSTRAINT fk_posting_account FOREIGN KEY (account_id) REFERENCES accounts(id),
+    CONSTRAINT check_posting_amount CHECK (amount > 0),
+    CONSTRAINT check_posting_direction CHECK (direction IN ('DEBIT', 'CREDIT'))
+);
+
+-- Balance reads sum an account's postings after its checkpoint
+CREATE INDEX idx_postings_account_id ON postings(account_id, id);
+CREATE INDEX idx_postings_transaction_id ON postings(transaction_id);
+CREATE INDEX idx_postings_created_at ON postings(created_at);
+
+-- Create balance_checkpoints table
+CREATE TABLE balance_checkpoints (
+    account_id BIGINT PRIMARY KEY,
+    balance DECIMAL(19, 2) NOT NULL,
+    last_posting_id BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT fk_checkpoint_account FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE,
+    CONSTRAINT check_checkpoint_balance CHECK (balance >= 0)
+);
@@ -0,0 +1,40 @@
+-- V6__create_scheduled_transfers.sql
+-- Standing orders and future-dated transfers executed by ScheduledTransferExecutor
+
+-- Create sequence for scheduled_transfers table
+CREATE SEQUENCE scheduled_transfers_id_seq START WITH 1 INCREMENT BY 1;
+
+-- Create scheduled_transfers table (next_run_at is NULL once completed or cancelled)
+CREATE TABLE scheduled_transfers (
+    id BIGINT PRIMARY KEY DEFAULT nextval('scheduled_transfers_id_seq'),
+    customer_id BIGINT NOT NULL,
+    from_account_id BIGINT NOT NULL,
+    to_account_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    description VARCHAR(500),
+    frequency VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    next_run_at TIMESTAMP,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    last_run_at TIMESTAMP,
+    last_transaction_id BIGINT,
+    last_failure VARCHAR(500),
+    claimed_until TIMESTAMP,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT fk_scheduled_transfer_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
+    CONSTRAINT fk_scheduled_transfer_from_account FOREIGN KEY (from_account_id) REFERENCES accounts(id) ON DELETE CASCADE,
+    CONSTRAINT fk_scheduled_transfer_to_account FOREIGN KEY (to_account_id) REFERENCES accounts(id) ON DELETE CASCADE,
+    CONSTRAINT check_scheduled_transfer_amount CHECK (amount > 0),
+    CONSTRAINT check_scheduled_transfer_accounts CHECK (from_account_id <> to_account_id),
+    CONSTRAINT check_scheduled_transfer_frequency CHECK (frequency IN ('ONCE', 'DAILY', 'WEEKLY', 'MONTHLY')),
+    CONSTRAINT check_scheduled_transfer_status CHECK (status IN ('ACTIVE', 'PAUSED', 'COMPLETED', 'CANCELLED'))
+);
+
+-- The executor claims due orders in next_run_at order; only active orders are ever due
+CREATE INDEX idx_scheduled_transfers_due ON scheduled_transfers(next_run_at) WHERE status = 'ACTIVE';
+CREATE INDEX idx_scheduled_transfers_customer_id ON scheduled_transfers(customer_id);
+CREATE INDEX idx_scheduled_transfers_from_account_id ON scheduled_transfers(from_account_id);
+CREATE INDEX idx_scheduled_transfers_to_account_id ON scheduled_transfers(to_account_id);
@@ -0,0 +1,28 @@
+-- V7__create_interest_accruals.sql
+-- Daily interest accruals written by InterestAccrualJob, and the per-range checkpoints that make a run resumable
+
+-- Create interest_accruals table (one row per account and day; amounts keep six decimal places)
+CREATE TABLE interest_accruals (
+    account_id BIGINT NOT NULL,
+    accrual_date DATE NOT NULL,
+    balance DECIMAL(19, 2) NOT NULL,
+    annual_rate DECIMAL(9, 6) NOT NULL,
+    amount DECIMAL(19, 6) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_interest_accruals PRIMARY KEY (account_id, accrual_date),
+    CONSTRAINT fk_interest_accrual_account FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE,
+    CONSTRAINT check_interest_accrual_amount CHECK (amount >= 0)
+);
+
+CREATE INDEX idx_interest_accruals_accrual_date ON interest_accruals(accrual_date);
+
+-- Create interest_accrual_checkpoints table (one row per completed account id range and day)
+CREATE TABLE interest_accrual_checkpoints (
+    accrual_date DATE NOT NULL,
+    first_account_id BIGINT NOT NULL,
+    last_account_id BIGINT NOT NULL,
+    accounts INTEGER NOT NULL,
+    amount DECIMAL(19, 6) NOT NULL,
+    completed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_interest_accrual_checkpoints PRIMARY KEY (accrual_date, first_account_id)
+);
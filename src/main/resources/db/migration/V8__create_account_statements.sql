@@ -0,0 +1,21 @@
+-- V8__create_account_statements.sql
+-- Monthly statements rendered to the statement store by StatementGenerationJob
+
+-- Create account_statements table (file_name is relative to app.statements.directory)
+CREATE TABLE account_statements (
+    account_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    opening_balance DECIMAL(19, 2) NOT NULL,
+    closing_balance DECIMAL(19, 2) NOT NULL,
+    transactions INTEGER NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    digest VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_account_statements PRIMARY KEY (account_id, period_start),
+    CONSTRAINT fk_account_statement_account FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE
+);
+
+-- Statement generation scans one account id range and one month at a time, from both sides of a transfer
+CREATE INDEX idx_transaction_records_from_account_timestamp ON transaction_records(from_account_id, timestamp);
+CREATE INDEX idx_transaction_records_to_account_timestamp ON transaction_records(to_account_id, timestamp);
@@ -0,0 +1,42 @@
+-- V9__create_reconciliation.sql
+-- Balance reconciliation runs and the discrepancies they found
+
+-- Create sequences for reconciliation tables
+CREATE SEQUENCE reconciliation_runs_id_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE reconciliation_discrepancies_id_seq START WITH 1 INCREMENT BY 1;
+
+-- Create reconciliation_runs table (since is NULL for full runs)
+CREATE TABLE reconciliation_runs (
+    id BIGINT PRIMARY KEY DEFAULT nextval('reconciliation_runs_id_seq'),
+    mode VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    since TIMESTAMP,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    accounts_checked BIGINT NOT NULL DEFAULT 0,
+    discrepancies BIGINT NOT NULL DEFAULT 0,
+    failed_ranges INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT check_reconciliation_mode CHECK (mode IN ('FULL', 'INCREMENTAL')),
+    CONSTRAINT check_reconciliation_status CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE INDEX idx_reconciliation_runs_status_started_at ON reconciliation_runs(status, started_at);
+
+-- Create reconciliation_discrepancies table
+CREATE TABLE reconciliation_discrepancies (
+    id BIGINT PRIMARY KEY DEFAULT nextval('reconciliation_discrepancies_id_seq'),
+    run_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    balance DECIMAL(19, 2) NOT NULL,
+    expected_balance DECIMAL(19, 2) NOT NULL,
+    difference DECIMAL(19, 2) NOT NULL,
+    detected_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT fk_discrepancy_run FOREIGN KEY (run_id) REFERENCES reconciliation_runs(id) ON DELETE CASCADE,
+    CONSTRAINT fk_discrepancy_account FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_reconciliation_discrepancies_run_id ON reconciliation_discrepancies(run_id, account_id);
+
+-- Incremental runs look up accounts touched since the previous run; created_at, unlike timestamp, is always the insert time
+CREATE INDEX idx_transaction_records_created_at ON transaction_records(created_at);
+CREATE INDEX idx_accounts_updated_at ON accounts(updated_at);
@@ -0,0 +1,111 @@
+package com.bankflow.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.bankflow.logging.KeyValueEncoder;
+import com.bankflow.logging.LogCategories;
+import com.bankflow.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event cost of the service's log lines on the calling thread: the previous
+ * parameterized INFO line through a pattern layout, the same event as key-value pairs
+ * through {@link KeyValueEncoder}, and a sampled read event (1 in 100 kept).
+ * Appenders write to a null stream and run synchronously so encoding stays on the measured thread.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test -Dbenchmark="LoggingBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    private Logger classicLog;
+    private Logger moneyLog;
+    private Logger readLog;
+
+    private final Long transactionId = 123_456L;
+    private final Long accountId = 42L;
+    private final BigDecimal amount = new BigDecimal("150.00");
+    private final BigDecimal balance = new BigDecimal("10250.75");
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        LoggerContext classicContext = new LoggerContext();
+        PatternLayoutEncoder patternEncoder = new PatternLayoutEncoder();
+        patternEncoder.setContext(classicContext);
+        patternEncoder.setPattern(PATTERN);
+        patternEncoder.start();
+        classicLog = logger(classicContext, patternEncoder, "com.bankflow.service.impl.BankingServiceImpl");
+
+        LoggerContext structuredContext = new LoggerContext();
+        SamplingTurboFilter.Sample sample = new SamplingTurboFilter.Sample();
+        sample.setCategory(LogCategories.READ);
+        sample.setOneIn(100);
+        SamplingTurboFilter sampling = new SamplingTurboFilter();
+        sampling.setContext(structuredContext);
+        sampling.addSample(sample);
+        sampling.start();
+        structuredContext.addTurboFilter(sampling);
+
+        KeyValueEncoder keyValueEncoder = new KeyValueEncoder();
+        keyValueEncoder.setContext(structuredContext);
+        keyValueEncoder.start();
+        moneyLog = logger(structuredContext, keyValueEncoder, LogCategories.MONEY_MOVEMENT);
+        readLog = structuredContext.getLogger(LogCategories.READ);
+    }
+
+    private static Logger logger(LoggerContext context, Encoder<ILoggingEvent> encoder, String name) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        return context.getLogger(name);
+    }
+
+    @Benchmark
+    public void classicDepositCompleted() {
+        classicLog.info("AUDIT: Deposit completed successfully - Transaction ID: {}, Account ID: {}, Amount: {}, New Balance: {}",
+                transactionId, accountId, amount, balance);
+    }
+
+    @Benchmark
+    public void structuredDepositCompleted() {
+        moneyLog.atInfo().setMessage("AUDIT: Deposit completed")
+                .addKeyValue("transactionId", transactionId)
+                .addKeyValue("accountId", accountId)
+                .addKeyValue("amount", amount)
+                .addKeyValue("balance", balance)
+                .log();
+    }
+
+    @Benchmark
+    public void classicRead() {
+        classicLog.info("Fetching account with ID: {}", accountId);
+    }
+
+    @Benchmark
+    public void sampledRead() {
+        readLog.atInfo().setMessage("Fetching account").addKeyValue("accountId", accountId).log();
+    }
+}
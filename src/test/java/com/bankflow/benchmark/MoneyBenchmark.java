@@ -0,0 +1,61 @@
+package com.bankflow.benchmark;
+
+import com.bankflow.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the balance arithmetic of a withdrawal on {@link BigDecimal} with the same steps on
+ * {@link Money}: validate the amount, check funds and subtract. The request amount arrives as a
+ * {@link BigDecimal} in both cases, so the {@link Money} path includes the conversion.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test -Dbenchmark="MoneyBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    private static final BigDecimal ONE_CENT = new BigDecimal("0.01");
+
+    private BigDecimal amount;
+    private BigDecimal decimalBalance;
+    private Money moneyBalance;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        amount = new BigDecimal("125.40");
+        decimalBalance = new BigDecimal("98231.17");
+        moneyBalance = Money.of(decimalBalance);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        if (amount.compareTo(new BigDecimal("0.01")) < 0 || decimalBalance.compareTo(amount) < 0) {
+            throw new IllegalStateException();
+        }
+        return decimalBalance.subtract(amount);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSharedConstant() {
+        if (amount.compareTo(ONE_CENT) < 0 || decimalBalance.compareTo(amount) < 0) {
+            throw new IllegalStateException();
+        }
+        return decimalBalance.subtract(amount);
+    }
+
+    @Benchmark
+    public Money money() {
+        Money debit = Money.of(amount);
+        if (debit.isLessThan(Money.ONE_CENT) || moneyBalance.isLessThan(debit)) {
+            throw new IllegalStateException();
+        }
+        return moneyBalance.minus(debit);
+    }
+}
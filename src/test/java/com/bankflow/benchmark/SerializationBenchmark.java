@@ -0,0 +1,92 @@
+package com.bankflow.benchmark;
+
+import com.bankflow.dto.TransactionResponse;
+import com.bankflow.model.enums.TransactionType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serialization cost and payload size of a transaction history page
+ * encoded as JSON, CBOR and Smile with the same mapper configuration the API uses.
+ * Payload sizes are printed once per trial.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test -Dbenchmark=SerializationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"50", "1000"})
+    private int transactions;
+
+    private List<TransactionResponse> history;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        json = mapper(new JsonFactory());
+        cbor = mapper(new CBORFactory());
+        smile = mapper(new SmileFactory());
+
+        history = new ArrayList<>(transactions);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < transactions; i++) {
+            TransactionType type = TransactionType.values()[i % TransactionType.values().length];
+            history.add(TransactionResponse.builder()
+                    .id((long) i + 1)
+                    .type(type)
+                    .amount(BigDecimal.valueOf(1000 + i * 37L, 2))
+                    .fromAccountId(1L)
+                    .toAccountId(type == TransactionType.TRANSFER ? 2L : null)
+                    .timestamp(now.minusMinutes(i))
+                    .description("Payment for invoice #" + i)
+                    .createdAt(now.minusMinutes(i))
+                    .build());
+        }
+
+        System.out.printf("%n[payload bytes, %d transactions] json=%d cbor=%d smile=%d%n", transactions,
+                json.writeValueAsBytes(history).length,
+                cbor.writeValueAsBytes(history).length,
+                smile.writeValueAsBytes(history).length);
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        return json.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws Exception {
+        return cbor.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public byte[] smile() throws Exception {
+        return smile.writeValueAsBytes(history);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        // Mirrors the Spring Boot defaults applied to the HTTP message converters
+        return new Jackson2ObjectMapperBuilder()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
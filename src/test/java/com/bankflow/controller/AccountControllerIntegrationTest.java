@@ -0,0 +1,231 @@
+package com.bankflow.controller;
+
+import com.bankflow.config.ContentNegotiationConfig;
+import com.bankflow.dto.AccountResponse;
+import com.bankflow.dto.ErrorResponse;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.security.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MockMvc tests for the account endpoints over HTTP: conditional requests and content negotiation.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Account Controller Integration Tests")
+class AccountControllerIntegrationTest {
+
+    private static final String ACCOUNT_NUMBER = "0000000000000701";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("controlleruser");
+        user.setEmail("controller@example.com");
+        user.setFullName("Controller Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(ACCOUNT_NUMBER);
+        account.setBalance(new BigDecimal("100.00"));
+        account.setStatus(AccountStatus.ACTIVE);
+        accountRepository.save(account);
+
+        bearer = "Bearer " + jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                "controlleruser", null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private String eTagOfAccount() throws Exception {
+        return mockMvc.perform(get("/v1/accounts/{accountNumber}", ACCOUNT_NUMBER).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Nested
+    @DisplayName("Conditional Request Tests")
+    class ConditionalRequestTests {
+
+        @Test
+        @DisplayName("Should tag the account weakly and vary by Accept")
+        void testWeakETagVariesByAccept() throws Exception {
+            mockMvc.perform(get("/v1/accounts/{accountNumber}", ACCOUNT_NUMBER).header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        }
+
+        @Test
+        @DisplayName("Should answer 304 when If-None-Match carries the current tag")
+        void testNotModified() throws Exception {
+            String eTag = eTagOfAccount();
+
+            mockMvc.perform(get("/v1/accounts/{accountNumber}", ACCOUNT_NUMBER)
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        }
+
+        @Test
+        @DisplayName("Should change the tag after a write and serve the new state to the old tag")
+        void testETagChangesAfterWrite() throws Exception {
+            String before = eTagOfAccount();
+
+            mockMvc.perform(post("/v1/accounts/{accountNumber}/deposit", ACCOUNT_NUMBER)
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\": 25.00}"))
+                    .andExpect(status().isOk());
+
+            String after = mockMvc.perform(get("/v1/accounts/{accountNumber}", ACCOUNT_NUMBER)
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .header(HttpHeaders.IF_NONE_MATCH, before))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertThat(after).isNotEqualTo(before);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should answer 400 with a field error for an amount with a fraction of a cent")
+        void testSubCentAmount() throws Exception {
+            mockMvc.perform(post("/v1/accounts/{accountNumber}/deposit", ACCOUNT_NUMBER)
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\": 1.005}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors[0].field").value("amount"))
+                    .andExpect(jsonPath("$.fieldErrors[0].message").value("Amount must be a whole number of cents"));
+
+            assertThat(accountRepository.findByAccountNumber(ACCOUNT_NUMBER).orElseThrow().getBalance())
+                    .isEqualByComparingTo("100.00");
+        }
+    }
+
+    @Nested
+    @DisplayName("Content Negotiation Tests")
+    class ContentNegotiationTests {
+
+        private AccountResponse getAccountAs(MediaType mediaType, ObjectMapper mapper) throws Exception {
+            MvcResult result = mockMvc.perform(get("/v1/accounts/{accountNumber}", ACCOUNT_NUMBER)
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .accept(mediaType))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(mediaType))
+                    .andReturn();
+            return mapper.readValue(result.getResponse().getContentAsByteArray(), AccountResponse.class);
+        }
+
+        @Test
+        @DisplayName("Should serve the same account as JSON, CBOR and Smile")
+        void testBinaryRoundTrip() throws Exception {
+            AccountResponse json = getAccountAs(MediaType.APPLICATION_JSON, new ObjectMapper().findAndRegisterModules());
+
+            AccountResponse cbor = getAccountAs(MediaType.APPLICATION_CBOR, CBORMapper.builder().findAndAddModules().build());
+            AccountResponse smile = getAccountAs(MediaType.parseMediaType(ContentNegotiationConfig.APPLICATION_SMILE_VALUE),
+                    SmileMapper.builder().findAndAddModules().build());
+
+            assertThat(json.getAccountNumber()).isEqualTo(ACCOUNT_NUMBER);
+            assertThat(json.getBalance()).isEqualByComparingTo("100.00");
+            assertThat(cbor).isEqualTo(json);
+            assertThat(smile).isEqualTo(json);
+        }
+
+        @Test
+        @DisplayName("Should answer 406 for a media type it cannot produce")
+        void testNotAcceptable() throws Exception {
+            mockMvc.perform(get("/v1/accounts/{accountNumber}", ACCOUNT_NUMBER)
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .accept(MediaType.APPLICATION_XML))
+                    .andExpect(status().isNotAcceptable());
+        }
+
+        @Test
+        @DisplayName("Should serialize error bodies in the negotiated binary format")
+        void testErrorAsCbor() throws Exception {
+            MvcResult result = mockMvc.perform(get("/v1/accounts/{accountNumber}", "0000000000000799")
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                    .andReturn();
+
+            ErrorResponse error = CBORMapper.builder().findAndAddModules().build()
+                    .readValue(result.getResponse().getContentAsByteArray(), ErrorResponse.class);
+            assertThat(error.getStatus()).isEqualTo(404);
+            assertThat(error.getMessage()).isNotBlank();
+        }
+    }
+}
@@ -195,6 +195,20 @@ class DTOValidationTest {
             assertThat(violations).isEmpty();
         }
 
+        @Test
+        @DisplayName("Should reject AmountRequest with a fraction of a cent")
+        void testSubCentAmount() {
+            // Arrange
+            AmountRequest request = AmountRequest.builder().amount(new BigDecimal("1.005")).build();
+
+            // Act
+            Set<ConstraintViolation<AmountRequest>> violations = validator.validate(request);
+
+            // Assert
+            assertThat(violations).hasSize(1);
+            assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("amount"));
+        }
+
         @Test
         @DisplayName("Should reject AmountRequest with zero amount")
         void testZeroAmount() {
@@ -342,9 +356,9 @@ class DTOValidationTest {
             // Act
             Set<ConstraintViolation<TransferRequest>> violations = validator.validate(request);
 
-            // Assert
-            assertThat(violations).hasSize(1);
-            assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("amount"));
+            // Assert: below the minimum and a fraction of a cent
+            assertThat(violations).hasSize(2);
+            assertThat(violations).allMatch(v -> v.getPropertyPath().toString().equals("amount"));
         }
 
         @Test
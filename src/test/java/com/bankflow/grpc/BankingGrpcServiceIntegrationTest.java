@@ -0,0 +1,385 @@
+package com.bankflow.grpc;
+
+import com.bankflow.dto.TransactionResponse;
+import com.bankflow.grpc.v1.Account;
+import com.bankflow.grpc.v1.AccountRequest;
+import com.bankflow.grpc.v1.AmountRequest;
+import com.bankflow.grpc.v1.BankingServiceGrpc;
+import com.bankflow.grpc.v1.BulkTransferResponse;
+import com.bankflow.grpc.v1.BulkTransferResult;
+import com.bankflow.grpc.v1.Transaction;
+import com.bankflow.grpc.v1.TransferRequest;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.model.Customer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.config.security.RateLimitProperties;
+import com.bankflow.security.JwtServerInterceptor;
+import com.bankflow.security.JwtTokenProvider;
+import com.bankflow.security.RateLimitServerInterceptor;
+import com.bankflow.security.RateLimiter;
+import com.bankflow.service.BankingService;
+import com.bankflow.service.BankingServiceTestConfiguration;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the gRPC service, called through an in-process server with the rate limit and JWT
+ * interceptors. Rows commit with each call, so tests run without a surrounding transaction and
+ * clean up after themselves.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, JwtTokenProvider.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Banking gRPC Service Integration Tests")
+class BankingGrpcServiceIntegrationTest {
+
+    private static final String SOURCE = "00000000000000002001";
+    private static final String DESTINATION = "00000000000000002002";
+    private static final int MONEY_MOVEMENT_CAPACITY = 10;
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private String serverName;
+    private Server server;
+    private ManagedChannel channel;
+    private BankingServiceGrpc.BankingServiceBlockingStub blocking;
+    private BankingServiceGrpc.BankingServiceStub async;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        User user = new User();
+        user.setUsername("grpcuser");
+        user.setEmail("grpc@example.com");
+        user.setFullName("gRPC Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+        createAccount(customer, SOURCE, "100.00");
+        createAccount(customer, DESTINATION, "0.00");
+
+        GrpcProperties properties = new GrpcProperties();
+        properties.setMaxBulkTransfers(3);
+        BankingGrpcService service = new BankingGrpcService(bankingService,
+                Validation.buildDefaultValidatorFactory().getValidator(), properties);
+        serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .addService(ServerInterceptors.interceptForward(service,
+                        new RateLimitServerInterceptor(new RateLimiter(rateLimits(), jwtTokenProvider)),
+                        new JwtServerInterceptor(jwtTokenProvider)))
+                .build()
+                .start();
+
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                "grpcuser", null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer " + token);
+        channel = InProcessChannelBuilder.forName(serverName).intercept(MetadataUtils.newAttachHeadersInterceptor(headers)).build();
+        blocking = BankingServiceGrpc.newBlockingStub(channel);
+        async = BankingServiceGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private static RateLimitProperties rateLimits() {
+        RateLimitProperties.Group money = new RateLimitProperties.Group();
+        money.setGrpcMethods(List.of("bankflow.v1.BankingService/Deposit", "bankflow.v1.BankingService/BulkTransfer"));
+        money.setCapacity(MONEY_MOVEMENT_CAPACITY);
+        money.setRefillPeriod(Duration.ofMinutes(1));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("money-movement", money);
+        return properties;
+    }
+
+    private void createAccount(Customer customer, String accountNumber, String balance) {
+        com.bankflow.model.Account account = new com.bankflow.model.Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        accountRepository.save(account);
+    }
+
+    private Account balance(String accountNumber) {
+        return blocking.getBalance(accountRequest(accountNumber));
+    }
+
+    private static AccountRequest accountRequest(String accountNumber) {
+        return AccountRequest.newBuilder().setAccountNumber(accountNumber).build();
+    }
+
+    private static AmountRequest amountRequest(String accountNumber, String amount) {
+        return AmountRequest.newBuilder().setAccountNumber(accountNumber).setAmount(amount).build();
+    }
+
+    private static TransferRequest transferRequest(String from, String to, String amount, String description) {
+        TransferRequest.Builder request = TransferRequest.newBuilder().setFromAccountNumber(from).setToAccountNumber(to).setAmount(amount);
+        if (description != null) {
+            request.setDescription(description);
+        }
+        return request.build();
+    }
+
+    private static void assertStatus(Runnable call, Status.Code code) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(StatusRuntimeException.class, ex -> assertThat(ex.getStatus().getCode()).isEqualTo(code));
+    }
+
+    @Nested
+    @DisplayName("Unary Call Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class UnaryCallTests {
+
+        @Test
+        @DisplayName("Should deposit, withdraw and transfer, returning the transactions and updated balances")
+        void testOperations() {
+            Transaction deposit = blocking.deposit(amountRequest(SOURCE, "25.50"));
+            Transaction withdrawal = blocking.withdraw(amountRequest(SOURCE, "5.50"));
+            Transaction transfer = blocking.transfer(transferRequest(SOURCE, DESTINATION, "20", "Rent"));
+
+            assertThat(deposit.getType()).isEqualTo("DEPOSIT");
+            assertThat(new BigDecimal(deposit.getAmount())).isEqualByComparingTo("25.50");
+            assertThat(deposit.getId()).isPositive();
+            assertThat(withdrawal.getType()).isEqualTo("WITHDRAW");
+            assertThat(transfer.getType()).isEqualTo("TRANSFER");
+            assertThat(transfer.getDescription()).isEqualTo("Rent");
+            assertThat(transfer.hasToAccountId()).isTrue();
+            assertThat(new BigDecimal(balance(SOURCE).getBalance())).isEqualByComparingTo("100.00");
+            assertThat(new BigDecimal(balance(DESTINATION).getBalance())).isEqualByComparingTo("20.00");
+            assertThat(balance(SOURCE).getStatus()).isEqualTo("ACTIVE");
+        }
+
+        @Test
+        @DisplayName("Should map validation, missing account and insufficient funds failures to statuses")
+        void testErrors() {
+            assertStatus(() -> blocking.deposit(amountRequest(SOURCE, "-1")), Status.Code.INVALID_ARGUMENT);
+            assertStatus(() -> blocking.deposit(amountRequest(SOURCE, "ten")), Status.Code.INVALID_ARGUMENT);
+            assertStatus(() -> blocking.transfer(transferRequest("123", DESTINATION, "1.00", null)), Status.Code.INVALID_ARGUMENT);
+            assertStatus(() -> balance("00000000000000002999"), Status.Code.NOT_FOUND);
+            assertStatus(() -> blocking.withdraw(amountRequest(SOURCE, "500.00")), Status.Code.FAILED_PRECONDITION);
+        }
+
+        @Test
+        @DisplayName("Should reject calls without a valid bearer token")
+        void testUnauthenticated() {
+            ManagedChannel anonymous = InProcessChannelBuilder.forName(serverName).build();
+            try {
+                Metadata headers = new Metadata();
+                headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer not-a-token");
+                assertStatus(() -> BankingServiceGrpc.newBlockingStub(anonymous).getBalance(accountRequest(SOURCE)),
+                        Status.Code.UNAUTHENTICATED);
+                assertStatus(() -> BankingServiceGrpc.newBlockingStub(
+                                ClientInterceptors.intercept(anonymous, MetadataUtils.newAttachHeadersInterceptor(headers)))
+                        .getBalance(accountRequest(SOURCE)), Status.Code.UNAUTHENTICATED);
+            } finally {
+                anonymous.shutdownNow();
+            }
+            assertThat(transactionRepository.count()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming Call Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class StreamingCallTests {
+
+        @Test
+        @DisplayName("Should stream the history newest first")
+        void testHistory() {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                ids.add(0, blocking.deposit(amountRequest(SOURCE, i + ".00")).getId());
+            }
+
+            Iterator<Transaction> history = blocking.getHistory(accountRequest(SOURCE));
+            List<Long> streamed = new ArrayList<>();
+            history.forEachRemaining(transaction -> streamed.add(transaction.getId()));
+
+            assertThat(streamed).containsExactlyElementsOf(ids);
+        }
+
+        @Test
+        @DisplayName("Should make each transfer of a bulk transfer and report failed ones without ending the call")
+        void testBulkTransfer() throws Exception {
+            CompletableFuture<BulkTransferResponse> response = new CompletableFuture<>();
+            StreamObserver<TransferRequest> requests = async.bulkTransfer(observer(response));
+            requests.onNext(transferRequest(SOURCE, DESTINATION, "10.00", null));
+            requests.onNext(transferRequest(SOURCE, DESTINATION, "1000.00", null));
+            requests.onNext(transferRequest(SOURCE, DESTINATION, "15.00", "Second"));
+            requests.onCompleted();
+
+            BulkTransferResponse result = response.get(10, TimeUnit.SECONDS);
+
+            assertThat(result.getSucceeded()).isEqualTo(2);
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(result.getResultsList()).extracting(BulkTransferResult::getIndex).containsExactly(0, 1, 2);
+            assertThat(result.getResults(1).hasTransaction()).isFalse();
+            assertThat(result.getResults(1).getErrorCode()).isEqualTo("FAILED_PRECONDITION");
+            assertThat(result.getResults(2).getTransaction().getDescription()).isEqualTo("Second");
+            assertThat(new BigDecimal(balance(DESTINATION).getBalance())).isEqualByComparingTo("25.00");
+        }
+
+        @Test
+        @DisplayName("Should fail a bulk transfer longer than the limit after making the transfers up to it")
+        void testBulkTransferLimit() {
+            CompletableFuture<BulkTransferResponse> response = new CompletableFuture<>();
+            StreamObserver<TransferRequest> requests = async.bulkTransfer(observer(response));
+            for (int i = 0; i < 4; i++) {
+                requests.onNext(transferRequest(SOURCE, DESTINATION, "1.00", null));
+            }
+            requests.onCompleted();
+
+            assertThatThrownBy(() -> response.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(StatusRuntimeException.class)
+                    .hasMessageContaining("RESOURCE_EXHAUSTED");
+            assertThat(new BigDecimal(balance(DESTINATION).getBalance())).isEqualByComparingTo("3.00");
+        }
+
+        static <T> StreamObserver<T> observer(CompletableFuture<T> future) {
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(T value) {
+                    future.complete(value);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    future.completeExceptionally(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            };
+        }
+    }
+
+    @Nested
+    @DisplayName("Rate Limit Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class RateLimitTests {
+
+        @Test
+        @DisplayName("Should close calls past the limit as RESOURCE_EXHAUSTED with retry-after, leaving other methods alone")
+        void testUnaryCallsLimited() {
+            for (int i = 0; i < MONEY_MOVEMENT_CAPACITY; i++) {
+                blocking.deposit(amountRequest(SOURCE, "1.00"));
+            }
+
+            assertThatThrownBy(() -> blocking.deposit(amountRequest(SOURCE, "1.00")))
+                    .isInstanceOfSatisfying(StatusRuntimeException.class, ex -> {
+                        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+                        assertThat(ex.getTrailers().get(Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER))).isEqualTo("6");
+                    });
+            assertThat(new BigDecimal(balance(SOURCE).getBalance())).isEqualByComparingTo("110.00");
+        }
+
+        @Test
+        @DisplayName("Should take a token per transfer of a bulk transfer and keep the transfers made before the limit")
+        void testBulkTransferLimited() {
+            for (int i = 0; i < MONEY_MOVEMENT_CAPACITY - 2; i++) {
+                blocking.deposit(amountRequest(SOURCE, "1.00"));
+            }
+            CompletableFuture<BulkTransferResponse> response = new CompletableFuture<>();
+            StreamObserver<TransferRequest> requests = async.bulkTransfer(StreamingCallTests.observer(response));
+            for (int i = 0; i < 3; i++) {
+                requests.onNext(transferRequest(SOURCE, DESTINATION, "1.00", null));
+            }
+            requests.onCompleted();
+
+            assertThatThrownBy(() -> response.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(StatusRuntimeException.class)
+                    .hasMessageContaining("RESOURCE_EXHAUSTED: Rate limit exceeded");
+            assertThat(new BigDecimal(balance(DESTINATION).getBalance())).isEqualByComparingTo("2.00");
+        }
+    }
+
+    @Nested
+    @DisplayName("Message Mapping Tests")
+    class MessageMappingTests {
+
+        @Test
+        @DisplayName("Should map transactions to messages, leaving null optional fields unset")
+        void testTransaction() {
+            Transaction transaction = GrpcMessages.transaction(TransactionResponse.builder()
+                    .id(7L)
+                    .type(TransactionType.DEPOSIT)
+                    .amount(new BigDecimal("12.340"))
+                    .toAccountId(3L)
+                    .timestamp(LocalDateTime.of(2025, 12, 15, 10, 30))
+                    .build());
+
+            assertThat(transaction.getAmount()).isEqualTo("12.340");
+            assertThat(transaction.getType()).isEqualTo("DEPOSIT");
+            assertThat(transaction.getTimestamp()).isEqualTo("2025-12-15T10:30");
+            assertThat(transaction.getToAccountId()).isEqualTo(3L);
+            assertThat(transaction.hasFromAccountId()).isFalse();
+            assertThat(transaction.hasDescription()).isFalse();
+            assertThat(transaction.getCreatedAt()).isEmpty();
+        }
+    }
+}
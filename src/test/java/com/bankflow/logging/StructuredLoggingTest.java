@@ -0,0 +1,138 @@
+package com.bankflow.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the key-value encoder and per-category log sampling.
+ * Each test builds its own Logback context so the application's configuration is untouched.
+ */
+@DisplayName("Structured Logging Unit Tests")
+class StructuredLoggingTest {
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    private SamplingTurboFilter sampling(String category, long oneIn) {
+        SamplingTurboFilter.Sample sample = new SamplingTurboFilter.Sample();
+        sample.setCategory(category);
+        sample.setOneIn(oneIn);
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.addSample(sample);
+        filter.start();
+        context.addTurboFilter(filter);
+        return filter;
+    }
+
+    @Nested
+    @DisplayName("Key-Value Encoder Tests")
+    class EncoderTests {
+
+        @Test
+        @DisplayName("Should render message and key-value pairs as one logfmt line")
+        void testEncodesKeyValues() {
+            context.getLogger(LogCategories.MONEY_MOVEMENT).atInfo()
+                    .setMessage("AUDIT: Deposit completed")
+                    .addKeyValue("transactionId", 42L)
+                    .addKeyValue("amount", new BigDecimal("1.50E+2"))
+                    .addKeyValue("description", "rent \"march\"")
+                    .log();
+
+            KeyValueEncoder encoder = new KeyValueEncoder();
+            encoder.setContext(context);
+            encoder.start();
+            String line = new String(encoder.encode(appender.list.get(0)), StandardCharsets.UTF_8);
+
+            assertThat(line)
+                    .matches("ts=\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z level=INFO .*\\n")
+                    .contains(" logger=com.bankflow.money ")
+                    .contains(" msg=\"AUDIT: Deposit completed\"")
+                    .contains(" transactionId=42")
+                    .contains(" amount=150")
+                    .contains(" description=\"rent \\\"march\\\"\"")
+                    .endsWith("\n")
+                    .doesNotContain("\n ");
+        }
+
+        @Test
+        @DisplayName("Should append key-value pairs to the plain console message")
+        void testMessageConverterAppendsKeyValues() {
+            context.getLogger(LogCategories.READ).atInfo()
+                    .setMessage("Fetching account")
+                    .addKeyValue("accountNumber", "123456789012")
+                    .log();
+
+            String message = new KeyValueMessageConverter().convert(appender.list.get(0));
+
+            assertThat(message).isEqualTo("Fetching account accountNumber=123456789012");
+        }
+    }
+
+    @Nested
+    @DisplayName("Sampling Tests")
+    class SamplingTests {
+
+        @Test
+        @DisplayName("Should keep one in N events for a sampled category")
+        void testSamplesCategory() {
+            sampling(LogCategories.READ, 10);
+            Logger readLog = context.getLogger(LogCategories.READ);
+
+            for (int i = 0; i < 100; i++) {
+                readLog.atInfo().setMessage("Fetching account").addKeyValue("i", i).log();
+            }
+
+            assertThat(appender.list).hasSize(10);
+        }
+
+        @Test
+        @DisplayName("Should never sample warnings or other categories")
+        void testDoesNotSampleWarningsOrOtherCategories() {
+            sampling(LogCategories.READ, 10);
+
+            for (int i = 0; i < 20; i++) {
+                context.getLogger(LogCategories.READ).warn("Slow read");
+                context.getLogger("com.bankflow.service.impl.BankingServiceImpl").info("Customer updated");
+                context.getLogger("com.bankflow.readiness").info("Not a child of the read category");
+            }
+
+            assertThat(appender.list).hasSize(60);
+        }
+
+        @Test
+        @DisplayName("Should never sample money-movement events even when a parent category is sampled")
+        void testNeverSamplesMoneyMovement() {
+            sampling("com.bankflow", 10);
+
+            for (int i = 0; i < 50; i++) {
+                context.getLogger(LogCategories.MONEY_MOVEMENT).atInfo().setMessage("AUDIT: Transfer completed").log();
+            }
+
+            assertThat(appender.list).hasSize(50);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bankflow.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every Flyway migration on an empty PostgreSQL database and starts JPA with
+ * {@code ddl-auto=validate}, so a migration that fails, or a schema that no longer matches the
+ * entities, fails the build. The H2 tests create their schema from the entities and never run the
+ * migrations. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Migrations PostgreSQL Integration Tests")
+class MigrationsPostgresIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should apply every migration and validate the entities against the result")
+    void testMigrationsApplied() {
+        MigrationInfo[] migrations = flyway.info().all();
+
+        assertThat(migrations).isNotEmpty();
+        assertThat(migrations).allSatisfy(migration ->
+                assertThat(migration.getState()).as(migration.getScript()).isEqualTo(MigrationState.SUCCESS));
+        assertThat(flyway.info().current().getVersion())
+                .isEqualTo(Arrays.stream(migrations).map(MigrationInfo::getVersion).max(Comparable::compareTo).orElseThrow());
+        assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the constraints the services rely on")
+    void testConstraints() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = 'accounts'::regclass", String.class))
+                .contains("check_account_balance");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = 'account_statements' AND column_name = 'content'",
+                String.class))
+                .isEqualTo("bytea");
+    }
+}
@@ -6,6 +6,7 @@ import com.bankflow.model.TransactionRecord;
 import com.bankflow.model.User;
 import com.bankflow.model.enums.AccountStatus;
 import com.bankflow.model.enums.TransactionType;
+import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,6 +23,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
@@ -119,6 +121,16 @@ class RepositoryIntegrationTest {
             assertThat(accounts).hasSize(2);
         }
 
+        @Test
+        @DisplayName("Should reject a negative balance")
+        void testNegativeBalanceRejected() {
+            testAccount.setBalance(new BigDecimal("-0.01"));
+
+            assertThatThrownBy(() -> accountRepository.saveAndFlush(testAccount))
+                    .isInstanceOf(ConstraintViolationException.class)
+                    .hasMessageContaining("Balance must be greater than or equal to 0");
+        }
+
         @Test
         @DisplayName("Should return empty for non-existent account")
         void testFindByIdNotFound() {
@@ -0,0 +1,67 @@
+package com.bankflow.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for access to the actuator endpoints: health is public, everything else is for admins.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Actuator Security Integration Tests")
+class ActuatorSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String bearer(String role) {
+        return "Bearer " + jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                "actuator-" + role.toLowerCase(), null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+
+    @Test
+    @DisplayName("Should serve health without a token")
+    void testHealthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should refuse operational endpoints to customers")
+    void testCustomerForbidden() throws Exception {
+        String customer = bearer("CUSTOMER");
+
+        mockMvc.perform(get("/actuator/reconciliation").header("Authorization", customer)).andExpect(status().isForbidden());
+        mockMvc.perform(post("/actuator/rollups").header("Authorization", customer)).andExpect(status().isForbidden());
+        mockMvc.perform(post("/actuator/accountdirectory").header("Authorization", customer)).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should require a token for operational endpoints")
+    void testAnonymousUnauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/reconciliation")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should serve operational endpoints to admins")
+    void testAdminAllowed() throws Exception {
+        mockMvc.perform(get("/actuator/reconciliation").header("Authorization", bearer("ADMIN"))).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/accountdirectory").header("Authorization", bearer("ADMIN"))).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,180 @@
+package com.bankflow.security;
+
+import com.bankflow.config.security.RateLimitProperties;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the token bucket and the rate limiting filter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitFilter Unit Tests")
+class RateLimitFilterTest {
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Group auth = new RateLimitProperties.Group();
+        auth.setKey(RateLimitProperties.KeyType.IP);
+        auth.setPaths(List.of("/v1/auth/login"));
+        auth.setCapacity(2);
+        auth.setRefillPeriod(Duration.ofMinutes(1));
+
+        RateLimitProperties.Group money = new RateLimitProperties.Group();
+        money.setKey(RateLimitProperties.KeyType.USER);
+        money.setPaths(List.of("/v1/accounts/*/withdraw"));
+        money.setCapacity(1);
+        money.setRefillPeriod(Duration.ofMinutes(1));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("auth", auth);
+        properties.getGroups().put("money-movement", money);
+
+        filter = new RateLimitFilter(properties, new RateLimiter(properties, tokenProvider));
+    }
+
+    private MockHttpServletResponse perform(String path, String remoteAddr, String token) throws Exception {
+        return perform(path, remoteAddr, token, null);
+    }
+
+    private MockHttpServletResponse perform(String path, String remoteAddr, String token, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api" + path);
+        request.setContextPath("/api");
+        request.setRemoteAddr(remoteAddr);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Nested
+    @DisplayName("Token Bucket Tests")
+    class TokenBucketTests {
+
+        @Test
+        @DisplayName("Should allow a full burst and then reject")
+        void testBurstThenReject() {
+            TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), 0L);
+
+            assertThat(bucket.tryConsume(0L)).isZero();
+            assertThat(bucket.tryConsume(0L)).isZero();
+            assertThat(bucket.tryConsume(0L)).isZero();
+            assertThat(bucket.tryConsume(0L)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        }
+
+        @Test
+        @DisplayName("Should refill one token per emission interval")
+        void testRefill() {
+            TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(2), 0L);
+            bucket.tryConsume(0L);
+            bucket.tryConsume(0L);
+
+            long oneSecond = TimeUnit.SECONDS.toNanos(1);
+            assertThat(bucket.tryConsume(oneSecond / 2)).isPositive();
+            assertThat(bucket.tryConsume(oneSecond)).isZero();
+            assertThat(bucket.tryConsume(oneSecond)).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should not accumulate more than capacity while idle")
+        void testIdleDoesNotExceedCapacity() {
+            TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(2), 0L);
+            long later = TimeUnit.MINUTES.toNanos(10);
+
+            assertThat(bucket.tryConsume(later)).isZero();
+            assertThat(bucket.tryConsume(later)).isZero();
+            assertThat(bucket.tryConsume(later)).isPositive();
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should throttle login per client IP with 429 and Retry-After")
+        void testLoginThrottledPerIp() throws Exception {
+            assertThat(perform("/v1/auth/login", "10.0.0.1", null).getStatus()).isEqualTo(200);
+            assertThat(perform("/v1/auth/login", "10.0.0.1", null).getStatus()).isEqualTo(200);
+
+            MockHttpServletResponse rejected = perform("/v1/auth/login", "10.0.0.1", null);
+            assertThat(rejected.getStatus()).isEqualTo(429);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("30");
+
+            // Another client keeps its own bucket
+            assertThat(perform("/v1/auth/login", "10.0.0.2", null).getStatus()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("Should key money-movement limits by authenticated username")
+        void testMoneyMovementThrottledPerUser() throws Exception {
+            when(tokenProvider.getUsernameFromToken("alice-token")).thenReturn("alice");
+            when(tokenProvider.getUsernameFromToken("bob-token")).thenReturn("bob");
+
+            assertThat(perform("/v1/accounts/123456789012/withdraw", "10.0.0.1", "alice-token").getStatus()).isEqualTo(200);
+            assertThat(perform("/v1/accounts/123456789012/withdraw", "10.0.0.9", "alice-token").getStatus()).isEqualTo(429);
+            assertThat(perform("/v1/accounts/123456789012/withdraw", "10.0.0.1", "bob-token").getStatus()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("Should fall back to client IP for invalid tokens")
+        void testInvalidTokenFallsBackToIp() throws Exception {
+            when(tokenProvider.getUsernameFromToken("bad")).thenThrow(new JwtException("bad signature"));
+
+            assertThat(perform("/v1/accounts/123456789012/withdraw", "10.0.0.3", "bad").getStatus()).isEqualTo(200);
+            assertThat(perform("/v1/accounts/123456789012/withdraw", "10.0.0.3", null).getStatus()).isEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("Should key IP limits by the forwarded client address behind a trusted proxy")
+        void testForwardedClientsThrottledSeparately() throws Exception {
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setTrustedProxies(1);
+            RateLimitProperties.Group auth = new RateLimitProperties.Group();
+            auth.setKey(RateLimitProperties.KeyType.IP);
+            auth.setPaths(List.of("/v1/auth/login"));
+            auth.setCapacity(1);
+            properties.getGroups().put("auth", auth);
+            filter = new RateLimitFilter(properties, new RateLimiter(properties, tokenProvider));
+
+            assertThat(perform("/v1/auth/login", "169.254.1.1", null, "203.0.113.1").getStatus()).isEqualTo(200);
+            assertThat(perform("/v1/auth/login", "169.254.1.1", null, "203.0.113.2").getStatus()).isEqualTo(200);
+            assertThat(perform("/v1/auth/login", "169.254.1.1", null, "203.0.113.1").getStatus()).isEqualTo(429);
+            // Entries the client sent itself come before the proxy's and are ignored
+            assertThat(perform("/v1/auth/login", "169.254.1.1", null, "198.51.100.7, 203.0.113.2").getStatus()).isEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("Should not limit paths outside configured groups")
+        void testUnmatchedPathNotLimited() throws Exception {
+            for (int i = 0; i < 10; i++) {
+                assertThat(perform("/actuator/health", "10.0.0.4", null).getStatus()).isEqualTo(200);
+            }
+        }
+    }
+}
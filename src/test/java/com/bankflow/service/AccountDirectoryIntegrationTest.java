@@ -0,0 +1,296 @@
+package com.bankflow.service;
+
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.directory.AccountDirectory;
+import com.bankflow.service.directory.AccountDirectoryProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the memory-mapped account directory. Accounts commit with each operation,
+ * so tests run without a surrounding transaction and clean up after themselves.
+ */
+@DataJpaTest
+@Import(BankingServiceTestConfiguration.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.account-directory.enabled=true",
+        "app.account-directory.path=target/account-directory-test/account-directory.idx",
+        "app.account-directory.initial-capacity=16"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Account Directory Integration Tests")
+class AccountDirectoryIntegrationTest {
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private Account account;
+
+    private Account other;
+
+    @BeforeEach
+    void setUp() {
+        // Clears entries left by earlier tests and runs, whose accounts were deleted
+        accountDirectory.rebuild();
+
+        User user = new User();
+        user.setUsername("directoryuser");
+        user.setEmail("directory@example.com");
+        user.setFullName("Directory Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber("00000000000000000701");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setStatus(AccountStatus.ACTIVE);
+        account = accountRepository.save(account);
+
+        other = new Account();
+        other.setCustomer(customer);
+        other.setAccountNumber("00000000000000000702");
+        other.setBalance(new BigDecimal("100.00"));
+        other.setStatus(AccountStatus.ACTIVE);
+        other = accountRepository.save(other);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private AccountDirectory openDirectory(Path file) {
+        AccountDirectoryProperties properties = new AccountDirectoryProperties();
+        properties.setEnabled(true);
+        properties.setPath(file);
+        properties.setInitialCapacity(16);
+        return new AccountDirectory(properties, jdbcTemplate, transactionManager);
+    }
+
+    @Nested
+    @DisplayName("Index Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class IndexTests {
+
+        @Test
+        @DisplayName("Should keep numbers that differ only in leading zeros apart")
+        void testLeadingZeros() {
+            AccountDirectory directory = openDirectory(tempDir.resolve("directory.idx"));
+            directory.put(1L, "000000000001", AccountStatus.ACTIVE);
+            directory.put(2L, "0000000000001", AccountStatus.ACTIVE);
+            directory.put(3L, "99999999999999999999", AccountStatus.CLOSED);
+
+            assertThat(directory.find("000000000001").accountId()).isEqualTo(1L);
+            assertThat(directory.find("0000000000001").accountId()).isEqualTo(2L);
+            assertThat(directory.find("99999999999999999999"))
+                    .isEqualTo(new AccountDirectory.Entry(3L, AccountStatus.CLOSED));
+            assertThat(directory.find("00000000000001")).isNull();
+            assertThat(directory.find("12345abc")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should replace the status of an existing entry")
+        void testStatusUpdate() {
+            AccountDirectory directory = openDirectory(tempDir.resolve("directory.idx"));
+            directory.put(7L, "123456789012", AccountStatus.ACTIVE);
+            directory.put(7L, "123456789012", AccountStatus.SUSPENDED);
+
+            assertThat(directory.find("123456789012").status()).isEqualTo(AccountStatus.SUSPENDED);
+            assertThat(directory.stats().entries()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should grow past its initial capacity and map the same entries after a restart")
+        void testGrowAndReopen() {
+            Path file = tempDir.resolve("directory.idx");
+            AccountDirectory directory = openDirectory(file);
+            for (long n = 1; n <= 1_000; n++) {
+                directory.put(account.getId(), String.format("%016d", n * 7919), AccountStatus.ACTIVE);
+            }
+            directory.close();
+
+            AccountDirectory reopened = openDirectory(file);
+            assertThat(reopened.stats().entries()).isEqualTo(1_000);
+            assertThat(reopened.stats().capacity()).isEqualTo(2_048);
+            for (long n = 1; n <= 1_000; n++) {
+                assertThat(reopened.find(String.format("%016d", n * 7919)).accountId()).isEqualTo(account.getId());
+            }
+        }
+
+        @Test
+        @DisplayName("Should discard a file holding account ids the database does not have")
+        void testDiscardFileFromAnotherDatabase() {
+            Path file = tempDir.resolve("directory.idx");
+            AccountDirectory directory = openDirectory(file);
+            directory.put(other.getId() + 1_000, "123456789012", AccountStatus.ACTIVE);
+            directory.close();
+
+            AccountDirectory reopened = openDirectory(file);
+            assertThat(reopened.stats().entries()).isZero();
+            assertThat(reopened.find("123456789012")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Banking Service Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class BankingServiceTests {
+
+        @Test
+        @DisplayName("Should add a new account once its transaction commits")
+        void testCreateAccount() {
+            Account created = bankingService.createAccount("directoryuser", new BigDecimal("50.00"));
+
+            assertThat(accountDirectory.find(created.getAccountNumber()))
+                    .isEqualTo(new AccountDirectory.Entry(created.getId(), AccountStatus.ACTIVE));
+        }
+
+        @Test
+        @DisplayName("Should not add an account whose transaction rolls back")
+        void testCreateAccountRolledBack() {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            String accountNumber = transaction.execute(status -> {
+                status.setRollbackOnly();
+                return bankingService.createAccount("directoryuser", null).getAccountNumber();
+            });
+
+            assertThat(accountDirectory.find(accountNumber)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should add an account resolved from the database")
+        void testResolveAddsAccount() {
+            assertThat(accountDirectory.find(account.getAccountNumber())).isNull();
+
+            bankingService.depositByAccountNumber(account.getAccountNumber(), new BigDecimal("25.00"));
+
+            assertThat(accountDirectory.find(account.getAccountNumber()).accountId()).isEqualTo(account.getId());
+            assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualByComparingTo("125.00");
+        }
+
+        @Test
+        @DisplayName("Should deposit to the requested account when the directory entry is stale")
+        void testStaleEntryDeposit() {
+            accountDirectory.put(other.getId(), account.getAccountNumber(), AccountStatus.ACTIVE);
+
+            bankingService.depositByAccountNumber(account.getAccountNumber(), new BigDecimal("25.00"));
+
+            assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualByComparingTo("125.00");
+            assertThat(accountRepository.findById(other.getId()).orElseThrow().getBalance()).isEqualByComparingTo("100.00");
+            assertThat(accountDirectory.find(account.getAccountNumber()).accountId()).isEqualTo(account.getId());
+        }
+
+        @Test
+        @DisplayName("Should not keep the stale entry's account locked while retrying in the same transaction")
+        void testStaleEntryLeavesOtherAccountUnlocked() {
+            accountDirectory.put(other.getId(), account.getAccountNumber(), AccountStatus.ACTIVE);
+            TransactionTemplate outer = new TransactionTemplate(transactionManager);
+            TransactionTemplate elsewhere = new TransactionTemplate(transactionManager);
+            elsewhere.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            elsewhere.setTimeout(5);
+
+            outer.executeWithoutResult(status -> {
+                bankingService.depositByAccountNumber(account.getAccountNumber(), new BigDecimal("25.00"));
+
+                // Another transaction can still update the account the stale entry pointed at
+                elsewhere.executeWithoutResult(inner ->
+                        jdbcTemplate.update("UPDATE accounts SET balance = balance + 1 WHERE id = ?", other.getId()));
+            });
+
+            assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualByComparingTo("125.00");
+            assertThat(accountRepository.findById(other.getId()).orElseThrow().getBalance()).isEqualByComparingTo("101.00");
+        }
+
+        @Test
+        @DisplayName("Should transfer between the requested accounts when the directory entries are stale")
+        void testStaleEntryTransfer() {
+            accountDirectory.put(account.getId(), other.getAccountNumber(), AccountStatus.ACTIVE);
+            accountDirectory.put(other.getId(), account.getAccountNumber(), AccountStatus.ACTIVE);
+
+            bankingService.transferByAccountNumber(account.getAccountNumber(), other.getAccountNumber(), new BigDecimal("30.00"), null);
+
+            assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualByComparingTo("70.00");
+            assertThat(accountRepository.findById(other.getId()).orElseThrow().getBalance()).isEqualByComparingTo("130.00");
+        }
+
+        @Test
+        @DisplayName("Should read the requested account's history when the directory entry is stale")
+        void testStaleEntryHistory() {
+            bankingService.deposit(other.getId(), new BigDecimal("5.00"));
+            accountDirectory.put(other.getId(), account.getAccountNumber(), AccountStatus.ACTIVE);
+
+            List<TransactionRecord> history = bankingService.getTransactionsByAccountNumber(account.getAccountNumber());
+
+            assertThat(history).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should rebuild from accounts with current statuses")
+        void testRebuild() {
+            jdbcTemplate.update("UPDATE accounts SET status = 'SUSPENDED' WHERE id = ?", account.getId());
+
+            AccountDirectory.Stats stats = accountDirectory.rebuild();
+
+            assertThat(stats.entries()).isEqualTo(accountRepository.count());
+            assertThat(accountDirectory.find(account.getAccountNumber()))
+                    .isEqualTo(new AccountDirectory.Entry(account.getId(), AccountStatus.SUSPENDED));
+        }
+    }
+}
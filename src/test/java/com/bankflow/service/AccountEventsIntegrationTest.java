@@ -0,0 +1,385 @@
+package com.bankflow.service;
+
+import com.bankflow.config.AccountEventsConfig;
+import com.bankflow.dto.AccountResponse;
+import com.bankflow.dto.TransactionResponse;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.exception.SubscriberLimitExceededException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.events.AccountEventHub;
+import com.bankflow.service.events.AccountEventsProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for account event streams. Emitters record what the hub sends instead of
+ * writing to a response. Rows commit with each operation, so tests run without a surrounding
+ * transaction and clean up after themselves.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, AccountEventsConfig.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.account-events.buffer-size=4",
+        "app.account-events.max-replay=2",
+        "app.account-events.max-subscribers=3",
+        "app.account-events.heartbeat-interval=1h",
+        "app.account-events.poll-interval=50ms"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Account Events Integration Tests")
+class AccountEventsIntegrationTest {
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private AccountEventHub accountEventHub;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("eventsuser");
+        user.setEmail("events@example.com");
+        user.setFullName("Events Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber("00000000000000001001");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setStatus(AccountStatus.ACTIVE);
+        account = accountRepository.save(account);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        emitters.forEach(RecordingEmitter::release);
+        emitters.forEach(RecordingEmitter::complete);
+        await(() -> accountEventHub.stats().subscribers() == 0);
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private RecordingEmitter subscribe(Long lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitters.add(emitter);
+        return accountEventHub.subscribe(account.getAccountNumber(), lastEventId, emitter);
+    }
+
+    private TransactionRecord deposit(String amount) {
+        return bankingService.depositByAccountNumber(account.getAccountNumber(), new BigDecimal(amount));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(ex);
+            }
+        }
+    }
+
+    private static void assertBalance(Sent event, String balance) {
+        assertThat(event.text()).startsWith("event:" + AccountEventHub.BALANCE_EVENT);
+        assertThat(((AccountResponse) event.data()).getBalance()).isEqualByComparingTo(balance);
+    }
+
+    private static void assertTransaction(Sent event, TransactionRecord transaction) {
+        assertThat(event.text()).startsWith("id:" + transaction.getId() + "\nevent:" + AccountEventHub.TRANSACTION_EVENT);
+        assertThat(((TransactionResponse) event.data()).getId()).isEqualTo(transaction.getId());
+    }
+
+    @Nested
+    @DisplayName("Streaming Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Should start with the balance and push each committed transaction followed by the new balance")
+        void testLiveEvents() {
+            RecordingEmitter emitter = subscribe(null);
+            await(() -> emitter.sent.size() == 1);
+
+            TransactionRecord deposit = deposit("25.00");
+            await(() -> emitter.sent.size() == 3);
+
+            assertBalance(emitter.sent.get(0), "100.00");
+            assertTransaction(emitter.sent.get(1), deposit);
+            assertBalance(emitter.sent.get(2), "125.00");
+            assertThat(accountEventHub.stats().accounts()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should send every subscriber of the account the same events")
+        void testFanOut() {
+            RecordingEmitter first = subscribe(null);
+            RecordingEmitter second = subscribe(null);
+
+            TransactionRecord deposit = deposit("10.00");
+            await(() -> first.sent.size() == 3 && second.sent.size() == 3);
+
+            assertTransaction(first.sent.get(1), deposit);
+            assertTransaction(second.sent.get(1), deposit);
+            assertThat(accountEventHub.stats().subscribers()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should find transactions made by another instance, which are not announced")
+        void testOtherInstance() {
+            RecordingEmitter emitter = subscribe(null);
+            await(() -> emitter.sent.size() == 1);
+
+            // As another instance commits a deposit: no invalidation reaches this one
+            TransactionRecord transaction = new TransactionRecord();
+            transaction.setType(TransactionType.DEPOSIT);
+            transaction.setAmount(new BigDecimal("15.00"));
+            transaction.setFromAccount(account);
+            transaction.setDescription("Deposit");
+            transaction.setTimestamp(LocalDateTime.now());
+            TransactionRecord saved = transactionRepository.save(transaction);
+            await(() -> emitter.sent.size() == 3);
+
+            assertTransaction(emitter.sent.get(1), saved);
+            assertBalance(emitter.sent.get(2), "100.00");
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown account")
+        void testUnknownAccount() {
+            assertThatThrownBy(() -> accountEventHub.subscribe("00000000000000001999", null, new RecordingEmitter()))
+                    .isInstanceOf(NotFoundException.class);
+            assertThat(accountEventHub.stats().subscribers()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should refuse streams beyond the instance limit")
+        void testSubscriberLimit() {
+            subscribe(null);
+            subscribe(null);
+            subscribe(null);
+
+            assertThatThrownBy(() -> subscribe(null)).isInstanceOf(SubscriberLimitExceededException.class);
+            assertThat(accountEventHub.stats().subscribers()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Resume Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class ResumeTests {
+
+        @Test
+        @DisplayName("Should replay transactions after Last-Event-ID before the balance")
+        void testResume() {
+            TransactionRecord seen = deposit("1.00");
+            TransactionRecord missed = deposit("2.00");
+
+            RecordingEmitter emitter = subscribe(seen.getId());
+            await(() -> emitter.sent.size() == 2);
+
+            assertTransaction(emitter.sent.get(0), missed);
+            assertBalance(emitter.sent.get(1), "103.00");
+        }
+
+        @Test
+        @DisplayName("Should send a reset with the latest id when too many transactions were missed")
+        void testReset() {
+            TransactionRecord seen = deposit("1.00");
+            deposit("1.00");
+            deposit("1.00");
+            TransactionRecord latest = deposit("1.00");
+
+            RecordingEmitter emitter = subscribe(seen.getId());
+            await(() -> emitter.sent.size() == 2);
+
+            assertThat(emitter.sent.get(0).text()).startsWith("id:" + latest.getId() + "\nevent:" + AccountEventHub.RESET_EVENT);
+            assertBalance(emitter.sent.get(1), "104.00");
+        }
+    }
+
+    @Nested
+    @DisplayName("Slow Consumer Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class SlowConsumerTests {
+
+        @Test
+        @DisplayName("Should disconnect a subscriber whose buffer fills without holding up the others")
+        void testSlowConsumer() {
+            RecordingEmitter slow = subscribe(null);
+            slow.block();
+            RecordingEmitter fast = subscribe(null);
+
+            for (int i = 1; i <= 4; i++) {
+                deposit("1.00");
+                int expected = 1 + 2 * i;
+                await(() -> fast.sent.size() == expected);
+            }
+            await(() -> accountEventHub.stats().slowConsumers() == 1);
+            slow.release();
+
+            await(() -> slow.completed);
+            assertThat(accountEventHub.stats().subscribers()).isEqualTo(1);
+            assertBalance(fast.sent.get(8), "104.00");
+        }
+    }
+
+    @Nested
+    @DisplayName("Retry Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class RetryTests {
+
+        @Test
+        @DisplayName("Should retry a failed check after a short backoff, not at the next heartbeat, and send what it missed")
+        void testRetryBackoff() throws InterruptedException {
+            AccountEventsProperties properties = new AccountEventsProperties();
+            properties.setHeartbeatInterval(Duration.ofHours(1));
+            properties.setPollInterval(Duration.ofMillis(20));
+            properties.setRetryBackoff(Duration.ofMillis(10));
+            AtomicInteger failures = new AtomicInteger();
+            AccountEventHub hub = new AccountEventHub(properties, transactionRepository, accountRepository,
+                    applicationContext.getBeanProvider(BankingService.class), loaded -> {
+                        if (failures.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                            throw new IllegalStateException("Database unavailable");
+                        }
+                        return loaded.getBalance();
+                    }, transactionManager);
+            hub.start();
+            try {
+                RecordingEmitter emitter = hub.subscribe(account.getAccountNumber(), null, new RecordingEmitter());
+                await(() -> emitter.sent.size() == 1);
+
+                failures.set(2);
+                TransactionRecord deposit = deposit("5.00");
+                await(() -> emitter.sent.size() == 3);
+
+                assertTransaction(emitter.sent.get(1), deposit);
+                assertBalance(emitter.sent.get(2), "105.00");
+                assertThat(hub.stats().dispatchFailures()).isEqualTo(2);
+            } finally {
+                hub.close();
+            }
+        }
+    }
+
+    private record Sent(String text, Object data) {
+    }
+
+    /**
+     * Records sent events in place of a response, and runs completion callbacks as the container would.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Sent> sent = new CopyOnWriteArrayList<>();
+        private final List<Runnable> completionCallbacks = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean completed;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            Object data = null;
+            for (DataWithMediaType item : items) {
+                if (item.getData() instanceof String part) {
+                    text.append(part);
+                } else {
+                    data = item.getData();
+                }
+            }
+            sent.add(new Sent(text.toString(), data));
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+        }
+
+        @Override
+        public void complete() {
+            if (!completed) {
+                completed = true;
+                completionCallbacks.forEach(Runnable::run);
+            }
+        }
+    }
+}
@@ -7,13 +7,23 @@ import com.bankflow.exception.InsufficientFundsException;
 import com.bankflow.exception.NotFoundException;
 import com.bankflow.model.Account;
 import com.bankflow.model.Customer;
+import com.bankflow.model.Money;
 import com.bankflow.model.TransactionRecord;
 import com.bankflow.model.enums.AccountStatus;
 import com.bankflow.model.enums.TransactionType;
 import com.bankflow.repository.AccountRepository;
 import com.bankflow.repository.CustomerRepository;
 import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.bloom.KeyFilterProperties;
+import com.bankflow.service.bloom.KeyFilters;
+import com.bankflow.service.coalescing.ReadCoalescer;
+import com.bankflow.service.coalescing.ReadCoalescingProperties;
+import com.bankflow.service.directory.AccountDirectory;
 import com.bankflow.service.impl.BankingServiceImpl;
+import com.bankflow.service.invalidation.InvalidationBus;
+import com.bankflow.service.limits.TransactionLimitService;
+import com.bankflow.service.rollups.MonthlyRollupService;
+import com.bankflow.service.velocity.VelocityEngine;
 import com.bankflow.util.AccountNumberGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -56,6 +67,28 @@ class BankingServiceImplTest {
     @Mock
     private AccountNumberGenerator accountNumberGenerator;
 
+    @Mock
+    private VelocityEngine velocityEngine;
+
+    @Mock
+    private TransactionLimitService transactionLimitService;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private AccountDirectory accountDirectory;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    // Never loaded, so every key might exist and lookups go to the repositories
+    @Spy
+    private KeyFilters keyFilters = new KeyFilters(new KeyFilterProperties(), null, null);
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer(new ReadCoalescingProperties());
+
     @InjectMocks
     private BankingServiceImpl bankingService;
 
@@ -204,7 +237,7 @@ class BankingServiceImplTest {
             // Arrange
             String username = "testuser";
             when(customerRepository.findByUser_Username(username)).thenReturn(Optional.of(new Customer()));
-            when(accountRepository.save(any(Account.class))).thenReturn(new Account(1L, "0000000000001", testCustomer, BigDecimal.ZERO, AccountStatus.ACTIVE, 0L, LocalDateTime.now(), LocalDateTime.now()));
+            when(accountRepository.save(any(Account.class))).thenReturn(new Account(1L, "0000000000001", testCustomer, Money.ZERO, AccountStatus.ACTIVE, 0L, LocalDateTime.now(), LocalDateTime.now(), null));
 
             // Act
             Account result = bankingService.createAccount(username, BigDecimal.ZERO);
@@ -310,6 +343,15 @@ class BankingServiceImplTest {
             verify(accountRepository, never()).findByIdForUpdate(anyLong());
         }
 
+        @Test
+        @DisplayName("Should throw BadRequestException for a fraction of a cent")
+        void testDepositSubCentAmount() {
+            assertThatThrownBy(() -> bankingService.deposit(1L, new BigDecimal("10.005")))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("whole number of cents");
+            verify(accountRepository, never()).findByIdForUpdate(anyLong());
+        }
+
         @Test
         @DisplayName("Should throw AccountInactiveException for inactive account")
         void testDepositToInactiveAccount() {
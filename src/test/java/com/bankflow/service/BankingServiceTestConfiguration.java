@@ -0,0 +1,23 @@
+package com.bankflow.service;
+
+import com.bankflow.config.AccountDirectoryConfig;
+import com.bankflow.config.InvalidationConfig;
+import com.bankflow.config.KeyFilterConfig;
+import com.bankflow.config.ReadCoalescingConfig;
+import com.bankflow.config.TransactionLimitConfig;
+import com.bankflow.config.VelocityConfig;
+import com.bankflow.service.impl.BankingServiceImpl;
+import com.bankflow.service.rollups.MonthlyRollupService;
+import com.bankflow.util.AccountNumberGenerator;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * {@link BankingServiceImpl} and everything it needs, for {@code @DataJpaTest}s that use the banking
+ * service. Tests import this and add the beans they cover on top.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import({BankingServiceImpl.class, AccountNumberGenerator.class, VelocityConfig.class, TransactionLimitConfig.class, MonthlyRollupService.class,
+        AccountDirectoryConfig.class, KeyFilterConfig.class, ReadCoalescingConfig.class, InvalidationConfig.class})
+public class BankingServiceTestConfiguration {
+}
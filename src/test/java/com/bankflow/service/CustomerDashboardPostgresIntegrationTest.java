@@ -0,0 +1,175 @@
+package com.bankflow.service;
+
+import com.bankflow.dto.CustomerDashboardResponse;
+import com.bankflow.dto.TransactionResponse;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.repository.AccountMonthlyRollupRepository;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.dashboard.CustomerDashboardService;
+import com.bankflow.service.dashboard.RecentTransactionsQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the customer dashboard's recent transactions on PostgreSQL, whose lateral
+ * join H2 cannot run. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, CustomerDashboardService.class, RecentTransactionsQuery.class})
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Customer Dashboard PostgreSQL Integration Tests")
+class CustomerDashboardPostgresIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private CustomerDashboardService customerDashboardService;
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountMonthlyRollupRepository rollupRepository;
+
+    private Account checking;
+    private Account savings;
+    private Account other;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer("dashboarduser", "dashboard@example.com");
+        Customer otherCustomer = createCustomer("otheruser", "other@example.com");
+        checking = createAccount(customer, "0000000000000611", "1000.00");
+        savings = createAccount(customer, "0000000000000612", "0.00");
+        other = createAccount(otherCustomer, "0000000000000613", "500.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Customer createCustomer(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setFullName("Dashboard Customer " + username);
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        return customerRepository.save(customer);
+    }
+
+    private Account createAccount(Customer customer, String accountNumber, String balance) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    private List<TransactionResponse> recentOf(CustomerDashboardResponse dashboard, Account account) {
+        return dashboard.getAccounts().stream()
+                .filter(activity -> activity.getAccount().getId().equals(account.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getRecentTransactions();
+    }
+
+    @Test
+    @DisplayName("Should return profile, accounts and the newest transactions of each account")
+    void testDashboard() {
+        bankingService.deposit(checking.getId(), new BigDecimal("10.00"));
+        bankingService.deposit(checking.getId(), new BigDecimal("20.00"));
+        bankingService.withdraw(checking.getId(), new BigDecimal("5.00"));
+        bankingService.transfer(checking.getId(), savings.getId(), new BigDecimal("100.00"), "Savings");
+        bankingService.transfer(other.getId(), checking.getId(), new BigDecimal("50.00"), "Refund");
+
+        CustomerDashboardResponse dashboard = customerDashboardService.getDashboard("dashboarduser", 3);
+
+        assertThat(dashboard.getCustomer().getEmail()).isEqualTo("dashboard@example.com");
+        assertThat(dashboard.getAccounts()).extracting(activity -> activity.getAccount().getId())
+                .containsExactlyInAnyOrder(checking.getId(), savings.getId());
+        assertThat(recentOf(dashboard, checking)).extracting(TransactionResponse::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("50.00"), new BigDecimal("100.00"), new BigDecimal("5.00"));
+        assertThat(recentOf(dashboard, savings)).singleElement().satisfies(transaction -> {
+            assertThat(transaction.getFromAccountId()).isEqualTo(checking.getId());
+            assertThat(transaction.getToAccountId()).isEqualTo(savings.getId());
+        });
+        assertThat(recentOf(dashboard, checking).get(2).getToAccountId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep the newest transactions when an account has more than asked for in each direction")
+    void testRecentAcrossDirections() {
+        for (int i = 1; i <= 4; i++) {
+            bankingService.transfer(checking.getId(), savings.getId(), new BigDecimal(i * 10), "Out " + i);
+            bankingService.transfer(savings.getId(), checking.getId(), new BigDecimal(i), "In " + i);
+        }
+
+        CustomerDashboardResponse dashboard = customerDashboardService.getDashboard("dashboarduser", 3);
+
+        assertThat(recentOf(dashboard, checking)).extracting(TransactionResponse::getDescription)
+                .containsExactly("In 4", "Out 4", "In 3");
+        assertThat(recentOf(dashboard, savings)).extracting(TransactionResponse::getDescription)
+                .containsExactly("In 4", "Out 4", "In 3");
+    }
+
+    @Test
+    @DisplayName("Should fail for unknown customers")
+    void testUnknownCustomer() {
+        assertThatThrownBy(() -> customerDashboardService.getDashboard("nobody", 5))
+                .isInstanceOf(NotFoundException.class);
+    }
+}
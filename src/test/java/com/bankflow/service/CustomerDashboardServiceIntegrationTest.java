@@ -0,0 +1,159 @@
+package com.bankflow.service;
+
+import com.bankflow.dto.CustomerDashboardResponse;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.repository.AccountMonthlyRollupRepository;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.dashboard.CustomerDashboardService;
+import com.bankflow.service.dashboard.RecentTransactionsQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Integration tests for how the customer dashboard runs its reads. Its queries run on other threads
+ * in their own transactions, so tests commit their data and clean up after themselves. H2 has no
+ * lateral joins, so the recent transactions query itself is covered by
+ * {@link CustomerDashboardPostgresIntegrationTest}.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, CustomerDashboardService.class, RecentTransactionsQuery.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Customer Dashboard Service Integration Tests")
+class CustomerDashboardServiceIntegrationTest {
+
+    @Autowired
+    private CustomerDashboardService customerDashboardService;
+
+    @SpyBean
+    private RecentTransactionsQuery recentTransactionsQuery;
+
+    @SpyBean
+    private BankingService bankingService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountMonthlyRollupRepository rollupRepository;
+
+    private Account checking;
+    private Account savings;
+    private Account other;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer("dashboarduser", "dashboard@example.com");
+        Customer otherCustomer = createCustomer("otheruser", "other@example.com");
+        checking = createAccount(customer, "0000000000000601", "1000.00");
+        savings = createAccount(customer, "0000000000000602", "0.00");
+        other = createAccount(otherCustomer, "0000000000000603", "500.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Customer createCustomer(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setFullName("Dashboard Customer " + username);
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        return customerRepository.save(customer);
+    }
+
+    private Account createAccount(Customer customer, String accountNumber, String balance) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    @Test
+    @DisplayName("Should list accounts without transactions and skip transactions when none are asked for")
+    void testEmptyActivity() {
+        bankingService.deposit(checking.getId(), new BigDecimal("10.00"));
+
+        CustomerDashboardResponse dashboard = customerDashboardService.getDashboard("dashboarduser", 0);
+
+        assertThat(dashboard.getAccounts()).hasSize(2)
+                .allSatisfy(activity -> assertThat(activity.getRecentTransactions()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail for unknown customers and out-of-range counts")
+    void testErrors() {
+        assertThatThrownBy(() -> customerDashboardService.getDashboard("nobody", 0))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> customerDashboardService.getDashboard("dashboarduser", CustomerDashboardService.MAX_RECENT + 1))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail as soon as one read fails without waiting for the others")
+    void testFailFast() {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw new NotFoundException("Customer with username", "dashboarduser");
+        }).when(bankingService).getCustomerByUsername("dashboarduser");
+        doThrow(new QueryTimeoutException("Recent transactions timed out"))
+                .when(recentTransactionsQuery).findByUsername(anyString(), anyInt());
+
+        long started = System.nanoTime();
+        try {
+            assertThatThrownBy(() -> customerDashboardService.getDashboard("dashboarduser", 5))
+                    .isInstanceOf(QueryTimeoutException.class);
+
+            assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.bankflow.service;
+
+import com.bankflow.dto.CustomerResponse;
+import com.bankflow.dto.CustomerSearchResponse;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(CustomerSearchService.class)
+@ActiveProfiles("test")
+@DisplayName("Customer Search Service Integration Tests")
+class CustomerSearchServiceIntegrationTest {
+
+    @Autowired
+    private CustomerSearchService customerSearchService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Customer alice;
+    private Customer bob;
+    private Customer carol;
+
+    @BeforeEach
+    void setUp() {
+        alice = createCustomer("alice", "Alice Johnson", "alice.j@example.com", "+15550001111");
+        bob = createCustomer("bob", "Bob Johnston", "bob@acme.test", "+15550002222");
+        carol = createCustomer("carol", "Carol 100%_Real", "carol@example.com", "+447700900333");
+        createAccount(alice, "1111222233334444");
+        createAccount(bob, "5555666677778888");
+        createAccount(carol, "1111999900001111");
+        accountRepository.flush();
+    }
+
+    private Customer createCustomer(String username, String fullName, String email, String phoneNumber) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setFullName(fullName);
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setPhoneNumber(phoneNumber);
+        return customerRepository.save(customer);
+    }
+
+    private void createAccount(Customer customer, String accountNumber) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(BigDecimal.ZERO);
+        account.setStatus(AccountStatus.ACTIVE);
+        accountRepository.save(account);
+    }
+
+    @Nested
+    @DisplayName("Matching Tests")
+    class MatchingTests {
+
+        @Test
+        @DisplayName("Should match names anywhere, ignoring case")
+        void testNameContains() {
+            CustomerSearchResponse response = customerSearchService.search("JOHNS", null, 20);
+
+            assertThat(response.getCustomers()).extracting(CustomerResponse::getId)
+                    .containsExactly(alice.getId(), bob.getId());
+            assertThat(response.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should match email addresses anywhere")
+        void testEmailContains() {
+            assertThat(customerSearchService.search("@example.com", null, 20).getCustomers())
+                    .extracting(CustomerResponse::getId)
+                    .containsExactly(alice.getId(), carol.getId());
+        }
+
+        @Test
+        @DisplayName("Should match phone numbers by prefix only")
+        void testPhonePrefix() {
+            assertThat(customerSearchService.search("+44770", null, 20).getCustomers())
+                    .extracting(CustomerResponse::getId)
+                    .containsExactly(carol.getId());
+            assertThat(customerSearchService.search("0002222", null, 20).getCustomers()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should match account numbers by prefix and list each customer once")
+        void testAccountNumberPrefix() {
+            createAccount(alice, "1111222200000000");
+            accountRepository.flush();
+
+            assertThat(customerSearchService.search("1111", null, 20).getCustomers())
+                    .extracting(CustomerResponse::getId)
+                    .containsExactly(alice.getId(), carol.getId());
+        }
+
+        @Test
+        @DisplayName("Should treat LIKE wildcards in the term literally")
+        void testWildcardsEscaped() {
+            assertThat(customerSearchService.search("100%_", null, 20).getCustomers())
+                    .extracting(CustomerResponse::getId)
+                    .containsExactly(carol.getId());
+            assertThat(customerSearchService.search("a%n", null, 20).getCustomers()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Paging Tests")
+    class PagingTests {
+
+        @Test
+        @DisplayName("Should page through results with the returned cursor")
+        void testKeysetPaging() {
+            CustomerSearchResponse first = customerSearchService.search("+1555", null, 1);
+            assertThat(first.getCustomers()).extracting(CustomerResponse::getId).containsExactly(alice.getId());
+            assertThat(first.getNextCursor()).isEqualTo(alice.getId());
+
+            CustomerSearchResponse second = customerSearchService.search("+1555", first.getNextCursor(), 1);
+            assertThat(second.getCustomers()).extracting(CustomerResponse::getId).containsExactly(bob.getId());
+            assertThat(second.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject short terms and out-of-range limits")
+        void testValidation() {
+            assertThatThrownBy(() -> customerSearchService.search(" al ", null, 20))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("at least 3 characters");
+            assertThatThrownBy(() -> customerSearchService.search("alice", null, 101))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+}
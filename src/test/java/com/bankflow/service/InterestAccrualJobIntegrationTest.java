@@ -0,0 +1,310 @@
+package com.bankflow.service;
+
+import com.bankflow.config.SchedulingConfig;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.InterestAccrual;
+import com.bankflow.model.InterestAccrualCheckpoint;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.InterestAccrualCheckpointRepository;
+import com.bankflow.repository.InterestAccrualRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.interest.InterestAccrualJob;
+import com.bankflow.service.interest.InterestAccrualProgress;
+import com.bankflow.service.interest.InterestAccrualProperties;
+import com.bankflow.service.interest.InterestPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the end-of-day interest accrual job. Ranges commit on fork-join threads,
+ * so tests run without a surrounding transaction.
+ */
+@DataJpaTest
+@Import({InterestAccrualJob.class, SchedulingConfig.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"app.interest.chunk-size=3", "app.interest.batch-size=2", "app.interest.annual-rate=0.0365"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Interest Accrual Job Integration Tests")
+class InterestAccrualJobIntegrationTest {
+
+    private static final LocalDate ACCRUAL_DATE = LocalDate.of(2026, 3, 31);
+    private static final LocalDateTime CUTOFF = ACCRUAL_DATE.plusDays(1).atStartOfDay();
+
+    @Autowired
+    private InterestAccrualJob interestAccrualJob;
+
+    @Autowired
+    private InterestAccrualRepository accrualRepository;
+
+    @Autowired
+    private InterestAccrualCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("interestuser");
+        user.setEmail("interest@example.com");
+        user.setFullName("Interest Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        // Ten accounts: 1000.00 .. 10000.00, one suspended and one empty
+        for (int i = 1; i <= 10; i++) {
+            Account account = new Account();
+            account.setCustomer(customer);
+            account.setAccountNumber(String.format("%016d", 900 + i));
+            account.setBalance(i == 10 ? BigDecimal.ZERO.setScale(2) : new BigDecimal(i * 1000).setScale(2));
+            account.setStatus(i == 5 ? AccountStatus.SUSPENDED : AccountStatus.ACTIVE);
+            accounts.add(accountRepository.save(account));
+        }
+        // Opened well before the accrual date
+        jdbcTemplate.update("UPDATE accounts SET created_at = ?", Timestamp.valueOf(CUTOFF.minusDays(30)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM postings");
+        jdbcTemplate.update("DELETE FROM balance_checkpoints");
+        transactionRepository.deleteAll();
+        accrualRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Nested
+    @DisplayName("Interest Policy Tests")
+    class InterestPolicyTests {
+
+        @Test
+        @DisplayName("Should round the daily accrual half-even to six places")
+        void testDailyAccrualRounding() {
+            InterestPolicy policy = new InterestPolicy(new BigDecimal("0.015"), 365);
+
+            assertThat(policy.dailyAccrual(new BigDecimal("1000.00"))).isEqualTo(new BigDecimal("0.041096"));
+            assertThat(policy.dailyAccrual(new BigDecimal("-50.00"))).isEqualTo(new BigDecimal("0.000000"));
+        }
+
+        @Test
+        @DisplayName("Should reject unsupported day counts")
+        void testRejectsUnsupportedDayCount() {
+            assertThatThrownBy(() -> new InterestPolicy(new BigDecimal("0.015"), 366))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Accrual Run Tests")
+    class AccrualRunTests {
+
+        @Test
+        @DisplayName("Should accrue active positive balances across all ranges")
+        void testAccruesAllRanges() {
+            InterestAccrualProgress.Snapshot result = interestAccrualJob.accrue(ACCRUAL_DATE);
+
+            List<InterestAccrual> accruals = accrualRepository.findByAccrualDateOrderByAccountIdAsc(ACCRUAL_DATE);
+            assertThat(result.status()).isEqualTo(InterestAccrualProgress.Status.COMPLETED);
+            assertThat(result.failedChunks()).isZero();
+            assertThat(result.percentComplete()).isEqualTo(100.0);
+            assertThat(result.accounts()).isEqualTo(8);
+            assertThat(accruals).hasSize(8);
+            // 3.65% over 365 days is 0.01% a day
+            assertThat(accruals.get(0).getAmount()).isEqualByComparingTo("0.10");
+            // 1+2+3+4+6+7+8+9 thousand at 0.01%
+            assertThat(result.amount()).isEqualByComparingTo("4.00");
+            assertThat(checkpointRepository.findByAccrualDate(ACCRUAL_DATE)).hasSize(result.totalChunks());
+            assertThat(interestAccrualJob.getProgress().status()).isEqualTo(InterestAccrualProgress.Status.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("Re-running a completed date should not accrue twice")
+        void testRerunIsIdempotent() {
+            interestAccrualJob.accrue(ACCRUAL_DATE);
+
+            InterestAccrualProgress.Snapshot rerun = interestAccrualJob.accrue(ACCRUAL_DATE);
+
+            assertThat(rerun.completedChunks()).isZero();
+            assertThat(rerun.resumedChunks()).isEqualTo(rerun.totalChunks());
+            assertThat(rerun.accounts()).isZero();
+            assertThat(accrualRepository.findByAccrualDateOrderByAccountIdAsc(ACCRUAL_DATE)).hasSize(8);
+        }
+
+        @Test
+        @DisplayName("Should resume with only the ranges that have no checkpoint")
+        void testResumesMissingRanges() {
+            interestAccrualJob.accrue(ACCRUAL_DATE);
+            uncommit(firstCheckpoint());
+
+            InterestAccrualProgress.Snapshot resumed = interestAccrualJob.accrue(ACCRUAL_DATE);
+
+            assertThat(resumed.status()).isEqualTo(InterestAccrualProgress.Status.COMPLETED);
+            assertThat(resumed.completedChunks()).isEqualTo(1);
+            assertThat(resumed.resumedChunks()).isEqualTo(resumed.totalChunks() - 1);
+            assertThat(accrualRepository.findByAccrualDateOrderByAccountIdAsc(ACCRUAL_DATE)).hasSize(8);
+        }
+
+        @Test
+        @DisplayName("Should resume with a different chunk size without accruing any account twice")
+        void testResumesWithDifferentChunkSize() {
+            interestAccrualJob.accrue(ACCRUAL_DATE);
+            uncommit(firstCheckpoint());
+
+            InterestAccrualProgress.Snapshot resumed = newJob(4, "jpa").accrue(ACCRUAL_DATE);
+
+            assertThat(resumed.status()).isEqualTo(InterestAccrualProgress.Status.COMPLETED);
+            assertThat(resumed.failedChunks()).isZero();
+            assertThat(accrualRepository.findByAccrualDateOrderByAccountIdAsc(ACCRUAL_DATE)).hasSize(8);
+            assertThat(newJob(2, "jpa").accrue(ACCRUAL_DATE).completedChunks()).isZero();
+        }
+
+        private InterestAccrualCheckpoint firstCheckpoint() {
+            return checkpointRepository.findByAccrualDate(ACCRUAL_DATE).stream()
+                    .min((a, b) -> Long.compare(a.getFirstAccountId(), b.getFirstAccountId()))
+                    .orElseThrow();
+        }
+
+        /**
+         * Simulates a crash before {@code checkpoint}'s range committed.
+         */
+        private void uncommit(InterestAccrualCheckpoint checkpoint) {
+            checkpointRepository.delete(checkpoint);
+            accrualRepository.findByAccrualDateOrderByAccountIdAsc(ACCRUAL_DATE).stream()
+                    .filter(accrual -> accrual.getAccountId() <= checkpoint.getLastAccountId())
+                    .forEach(accrualRepository::delete);
+        }
+    }
+
+    @Nested
+    @DisplayName("Balance Cutoff Tests")
+    class BalanceCutoffTests {
+
+        @Test
+        @DisplayName("Should accrue on the balance at the end of the accrual date")
+        void testAccruesBalanceAtCutoff() {
+            Account first = accounts.get(0);
+            Account second = accounts.get(1);
+            // Before midnight: already in the balances
+            record(TransactionType.TRANSFER, first, second, "500.00", CUTOFF.minusHours(1));
+            // After midnight: taken back off the current balances
+            record(TransactionType.DEPOSIT, first, null, "4000.00", CUTOFF.plusMinutes(2));
+            record(TransactionType.TRANSFER, second, first, "1000.00", CUTOFF.plusMinutes(3));
+            record(TransactionType.WITHDRAW, second, null, "500.00", CUTOFF.plusMinutes(4));
+            // Opened after midnight
+            jdbcTemplate.update("UPDATE accounts SET created_at = ? WHERE id = ?", Timestamp.valueOf(CUTOFF.plusMinutes(1)), accounts.get(2).getId());
+
+            interestAccrualJob.accrue(ACCRUAL_DATE);
+
+            assertThat(accrualOf(first).getBalance()).isEqualByComparingTo("500.00");
+            assertThat(accrualOf(second).getBalance()).isEqualByComparingTo("2500.00");
+            assertThat(accrualRepository.findByAccrualDateOrderByAccountIdAsc(ACCRUAL_DATE))
+                    .noneMatch(accrual -> accrual.getAccountId().equals(accounts.get(2).getId()));
+        }
+
+        @Test
+        @DisplayName("Should accrue on the checkpointed balance at the end of the accrual date with postings")
+        void testAccruesPostingsBalanceAtCutoff() {
+            Account first = accounts.get(0);
+            Account second = accounts.get(1);
+            long transactionId = record(TransactionType.DEPOSIT, first, null, "1.00", CUTOFF.minusHours(2)).getId();
+            // First: opening 1000.00, checkpoint taken after midnight includes a posting from after midnight
+            post(1, transactionId, first, "CREDIT", "500.00", CUTOFF.minusHours(1));
+            post(2, transactionId, first, "CREDIT", "200.00", CUTOFF.plusMinutes(1));
+            jdbcTemplate.update("INSERT INTO balance_checkpoints (account_id, balance, last_posting_id, updated_at) VALUES (?, ?, ?, ?)",
+                    first.getId(), new BigDecimal("1700.00"), 2L, Timestamp.valueOf(CUTOFF.plusMinutes(5)));
+            post(3, transactionId, first, "DEBIT", "100.00", CUTOFF.plusMinutes(10));
+            // Second: opening 2000.00, no checkpoint
+            post(4, transactionId, second, "CREDIT", "100.00", CUTOFF.minusHours(1));
+            post(5, transactionId, second, "DEBIT", "50.00", CUTOFF.plusMinutes(1));
+
+            newJob(3, "postings").accrue(ACCRUAL_DATE);
+
+            assertThat(accrualOf(first).getBalance()).isEqualByComparingTo("1500.00");
+            assertThat(accrualOf(second).getBalance()).isEqualByComparingTo("2100.00");
+        }
+
+        private TransactionRecord record(TransactionType type, Account from, Account to, String amount, LocalDateTime timestamp) {
+            TransactionRecord transaction = new TransactionRecord();
+            transaction.setType(type);
+            transaction.setAmount(new BigDecimal(amount));
+            transaction.setFromAccount(from);
+            transaction.setToAccount(to);
+            transaction.setTimestamp(timestamp);
+            transaction.setDescription(type.getDisplayName());
+            BigDecimal signed = type == TransactionType.DEPOSIT ? transaction.getAmount() : transaction.getAmount().negate();
+            jdbcTemplate.update("UPDATE accounts SET balance = balance + ? WHERE id = ?", signed, from.getId());
+            if (to != null) {
+                jdbcTemplate.update("UPDATE accounts SET balance = balance + ? WHERE id = ?", transaction.getAmount(), to.getId());
+            }
+            return transactionRepository.save(transaction);
+        }
+
+        private void post(long id, long transactionId, Account account, String direction, String amount, LocalDateTime createdAt) {
+            jdbcTemplate.update("INSERT INTO postings (id, transaction_id, account_id, direction, amount, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                    id, transactionId, account.getId(), direction, new BigDecimal(amount), Timestamp.valueOf(createdAt));
+        }
+
+        private InterestAccrual accrualOf(Account account) {
+            return accrualRepository.findByAccrualDateOrderByAccountIdAsc(ACCRUAL_DATE).stream()
+                    .filter(accrual -> accrual.getAccountId().equals(account.getId()))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    private InterestAccrualJob newJob(long chunkSize, String engine) {
+        InterestAccrualProperties properties = new InterestAccrualProperties();
+        properties.setChunkSize(chunkSize);
+        properties.setBatchSize(2);
+        properties.setAnnualRate(new BigDecimal("0.0365"));
+        return new InterestAccrualJob(jdbcTemplate, transactionManager, checkpointRepository, properties, engine);
+    }
+}
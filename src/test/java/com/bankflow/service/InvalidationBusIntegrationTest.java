@@ -0,0 +1,247 @@
+package com.bankflow.service;
+
+import com.bankflow.service.bloom.KeyFilterProperties;
+import com.bankflow.service.bloom.KeyFilters;
+import com.bankflow.service.invalidation.InvalidationBus;
+import com.bankflow.service.invalidation.InvalidationKind;
+import com.bankflow.service.invalidation.InvalidationListener;
+import com.bankflow.service.invalidation.InvalidationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the invalidation bus. H2 has no LISTEN/NOTIFY, so {@code pg_notify} is an
+ * alias recording its payloads, and notifications are received by calling the bus's dispatch
+ * directly as its listen connection would.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Invalidation Bus Integration Tests")
+class InvalidationBusIntegrationTest {
+
+    private static final List<String> NOTIFICATIONS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+    /**
+     * Target of the {@code pg_notify} alias; public so H2 can call it.
+     */
+    public static final class PgNotify {
+
+        public static String pgNotify(String channel, String payload) {
+            NOTIFICATIONS.add(channel + "|" + payload);
+            return null;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS PG_NOTIFY FOR 'com.bankflow.service.InvalidationBusIntegrationTest$PgNotify.pgNotify'");
+        NOTIFICATIONS.clear();
+    }
+
+    private InvalidationBus newBus(InvalidationProperties properties, InvalidationListener... listeners) {
+        List<InvalidationListener> all = new ArrayList<>(List.of(listeners));
+        all.add(new InvalidationListener() {
+            @Override
+            public void invalidate(InvalidationKind kind, Collection<String> keys) {
+                delivered.add(kind + "=" + keys);
+            }
+
+            @Override
+            public void invalidateAll() {
+                delivered.add("ALL");
+            }
+        });
+        return new InvalidationBus(properties, jdbcTemplate, null, all);
+    }
+
+    private InvalidationBus newBus() {
+        return newBus(new InvalidationProperties());
+    }
+
+    @Nested
+    @DisplayName("Publish Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class PublishTests {
+
+        @Test
+        @DisplayName("Should send one notification when the transaction commits and tell local listeners after it")
+        void testPublishInTransaction() {
+            InvalidationBus bus = newBus();
+            String node = bus.stats().node();
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bus.publish(InvalidationKind.ACCOUNT, 1L, 2L);
+                bus.publish(InvalidationKind.ACCOUNT, 1L);
+                bus.publish(InvalidationKind.USERNAME, "alice");
+
+                assertThat(NOTIFICATIONS).isEmpty();
+                assertThat(delivered).isEmpty();
+            });
+
+            assertThat(NOTIFICATIONS).containsExactly("bankflow_invalidation|" + node + "\na1\na2\nualice");
+            assertThat(delivered).containsExactly("ACCOUNT=[1, 2]", "USERNAME=[alice]");
+            assertThat(bus.stats().notificationsSent()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should tell only local listeners about local keys, after the transaction commits")
+        void testPublishLocal() {
+            InvalidationBus bus = newBus();
+            String node = bus.stats().node();
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bus.publishLocal(InvalidationKind.ACCOUNT, 1L, 2L);
+                bus.publish(InvalidationKind.ACCOUNT, 3L);
+                bus.publish(InvalidationKind.USERNAME, "alice");
+
+                assertThat(delivered).isEmpty();
+            });
+
+            assertThat(NOTIFICATIONS).containsExactly("bankflow_invalidation|" + node + "\na3\nualice");
+            assertThat(delivered).containsExactly("ACCOUNT=[3, 1, 2]", "USERNAME=[alice]");
+        }
+
+        @Test
+        @DisplayName("Should send no notification for a transaction with only local keys")
+        void testPublishLocalOnly() {
+            InvalidationBus bus = newBus();
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    bus.publishLocal(InvalidationKind.ACCOUNT, 1L));
+            bus.publishLocal(InvalidationKind.ACCOUNT, 2L);
+
+            assertThat(NOTIFICATIONS).isEmpty();
+            assertThat(delivered).containsExactly("ACCOUNT=[1]", "ACCOUNT=[2]");
+            assertThat(bus.stats().notificationsSent()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should send nothing for a rolled back transaction")
+        void testRollback() {
+            InvalidationBus bus = newBus();
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bus.publish(InvalidationKind.ACCOUNT, 1L);
+                status.setRollbackOnly();
+            });
+
+            assertThat(NOTIFICATIONS).isEmpty();
+            assertThat(delivered).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should send at once without a transaction")
+        void testPublishWithoutTransaction() {
+            InvalidationBus bus = newBus();
+
+            bus.publish(InvalidationKind.USERNAME, "alice");
+
+            assertThat(NOTIFICATIONS).hasSize(1);
+            assertThat(delivered).containsExactly("USERNAME=[alice]");
+        }
+
+        @Test
+        @DisplayName("Should only tell local listeners when disabled")
+        void testDisabled() {
+            InvalidationProperties properties = new InvalidationProperties();
+            properties.setEnabled(false);
+            InvalidationBus bus = newBus(properties);
+
+            bus.publish(InvalidationKind.ACCOUNT, 1L);
+
+            assertThat(NOTIFICATIONS).isEmpty();
+            assertThat(delivered).containsExactly("ACCOUNT=[1]");
+        }
+
+        @Test
+        @DisplayName("Should split a large batch into payloads under the limit")
+        void testSplit() {
+            InvalidationProperties properties = new InvalidationProperties();
+            properties.setMaxPayloadBytes(100);
+            InvalidationBus bus = newBus(properties);
+            Object[] ids = LongStream.rangeClosed(1_000_000, 1_000_049).boxed().toArray();
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    bus.publish(InvalidationKind.ACCOUNT, ids));
+
+            assertThat(NOTIFICATIONS).hasSizeGreaterThan(1);
+            List<String> items = new ArrayList<>();
+            for (String notification : NOTIFICATIONS) {
+                String payload = notification.substring(notification.indexOf('|') + 1);
+                assertThat(payload.getBytes()).hasSizeLessThanOrEqualTo(100);
+                List<String> lines = List.of(payload.split("\n"));
+                items.addAll(lines.subList(1, lines.size()));
+            }
+            assertThat(items).hasSize(50).startsWith("a1000000").endsWith("a1000049");
+        }
+    }
+
+    @Nested
+    @DisplayName("Receive Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class ReceiveTests {
+
+        @Test
+        @DisplayName("Should hand a batch of notifications to listeners by kind and skip this instance's own")
+        void testDispatch() {
+            InvalidationBus bus = newBus();
+
+            bus.dispatch(List.of("node0001\na5\nn123456789012", "node0002\na6\na5", bus.stats().node() + "\na7"));
+
+            assertThat(delivered).containsExactly("ACCOUNT=[5, 6]", "ACCOUNT_NUMBER=[123456789012]");
+        }
+
+        @Test
+        @DisplayName("Should add keys inserted on other instances to the key filters")
+        void testKeyFilters() {
+            KeyFilterProperties filterProperties = new KeyFilterProperties();
+            filterProperties.setMaxStaleness(Duration.ofHours(1));
+            KeyFilters keyFilters = new KeyFilters(filterProperties, jdbcTemplate, transactionManager);
+            keyFilters.load();
+            InvalidationBus bus = newBus(new InvalidationProperties(), keyFilters);
+            assertThat(keyFilters.usernames().mightExist("elsewhere")).isFalse();
+
+            bus.dispatch(List.of("node0001\nuelsewhere"));
+
+            assertThat(keyFilters.usernames().mightExist("elsewhere")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should tell every listener to invalidate everything")
+        void testInvalidateAll() {
+            InvalidationBus bus = newBus();
+
+            bus.invalidateAll();
+
+            assertThat(delivered).containsExactly("ALL");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bankflow.service;
+
+import com.bankflow.service.batch.JobLock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the advisory lock that keeps scheduled jobs to one instance at a time. Each
+ * call takes its own pooled connection, as separate instances would. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Job Lock PostgreSQL Integration Tests")
+class JobLockPostgresIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should skip a job while another session runs it and run it again once released")
+    void testExclusive() {
+        AtomicBoolean nestedRan = new AtomicBoolean();
+        AtomicBoolean otherJobRan = new AtomicBoolean();
+
+        boolean ran = JobLock.runExclusively(jdbcTemplate, "test-job", () -> {
+            assertThat(JobLock.runExclusively(jdbcTemplate, "test-job", () -> nestedRan.set(true))).isFalse();
+            assertThat(JobLock.runExclusively(jdbcTemplate, "other-job", () -> otherJobRan.set(true))).isTrue();
+        });
+
+        assertThat(ran).isTrue();
+        assertThat(nestedRan).isFalse();
+        assertThat(otherJobRan).isTrue();
+        assertThat(JobLock.runExclusively(jdbcTemplate, "test-job", () -> nestedRan.set(true))).isTrue();
+        assertThat(nestedRan).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should release the lock when the job fails")
+    void testReleasedOnFailure() {
+        assertThatThrownBy(() -> JobLock.runExclusively(jdbcTemplate, "failing-job", () -> {
+            throw new IllegalStateException("Job failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(JobLock.runExclusively(jdbcTemplate, "failing-job", () -> {
+        })).isTrue();
+    }
+}
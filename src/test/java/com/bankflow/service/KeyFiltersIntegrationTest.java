@@ -0,0 +1,308 @@
+package com.bankflow.service;
+
+import com.bankflow.dto.SignupRequest;
+import com.bankflow.dto.UpdateCustomerRequest;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.repository.UserRepository;
+import com.bankflow.service.bloom.KeyFilter;
+import com.bankflow.service.bloom.KeyFilterProperties;
+import com.bankflow.service.bloom.KeyFilters;
+import com.bankflow.service.bloom.ScalableBloomFilter;
+import com.bankflow.service.invalidation.InvalidationBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the Bloom filters over account numbers and usernames. Rows commit
+ * with each operation, so tests run without a surrounding transaction and clean up after themselves.
+ */
+@DataJpaTest
+@Import(BankingServiceTestConfiguration.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.key-filters.enabled=true",
+        "app.key-filters.expected-keys=16",
+        "app.key-filters.max-staleness=1h"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Key Filters Integration Tests")
+class KeyFiltersIntegrationTest {
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private KeyFilters keyFilters;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Customer customer;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        customer = saveCustomer("filteruser", "filter@example.com");
+
+        account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber("00000000000000000801");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setStatus(AccountStatus.ACTIVE);
+        account = accountRepository.save(account);
+
+        // Loaded once the context started, before these rows existed
+        keyFilters.load();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Customer saveCustomer(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setFullName("Filter Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer saved = new Customer();
+        saved.setUser(user);
+        return customerRepository.save(saved);
+    }
+
+    private Account saveAccount(String accountNumber) {
+        Account other = new Account();
+        other.setCustomer(customer);
+        other.setAccountNumber(accountNumber);
+        other.setBalance(BigDecimal.ZERO);
+        other.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(other);
+    }
+
+    private KeyFilters newKeyFilters(Duration maxStaleness) {
+        KeyFilterProperties properties = new KeyFilterProperties();
+        properties.setExpectedKeys(16);
+        properties.setMaxStaleness(maxStaleness);
+        KeyFilters filters = new KeyFilters(properties, jdbcTemplate, transactionManager);
+        filters.load();
+        return filters;
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should grow past its first stage without false negatives or exceeding its false positive rate")
+        void testScalableBloomFilter() {
+            ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+            for (int i = 0; i < 10_000; i++) {
+                filter.put("key-" + i);
+            }
+
+            assertThat(filter.stageCount()).isGreaterThan(1);
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(filter.mightContain("key-" + i)).isTrue();
+            }
+            long falsePositives = 0;
+            for (int i = 0; i < 100_000; i++) {
+                if (filter.mightContain("absent-" + i)) {
+                    falsePositives++;
+                }
+            }
+            assertThat(falsePositives).isLessThan(1_000);
+        }
+
+        @Test
+        @DisplayName("Should answer might-exist for every key until loaded")
+        void testNotLoaded() {
+            KeyFilters filters = new KeyFilters(new KeyFilterProperties(), jdbcTemplate, transactionManager);
+
+            assertThat(filters.accountNumbers().mightExist("00000000000000000000")).isTrue();
+            assertThat(filters.stats()).allSatisfy(stats -> assertThat(stats.loaded()).isFalse());
+        }
+
+        @Test
+        @DisplayName("Should load in the background once started")
+        void testStart() throws InterruptedException {
+            KeyFilterProperties properties = new KeyFilterProperties();
+            properties.setExpectedKeys(16);
+            properties.setMaxStaleness(Duration.ofHours(1));
+            KeyFilters filters = new KeyFilters(properties, jdbcTemplate, transactionManager);
+
+            filters.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!filters.stats().stream().allMatch(KeyFilter.Stats::loaded) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            filters.stop();
+
+            assertThat(filters.accountNumbers().mightExist(account.getAccountNumber())).isTrue();
+            assertThat(filters.accountNumbers().mightExist("00000000000000000802")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should load existing keys and miss absent ones")
+        void testLoad() {
+            assertThat(keyFilters.accountNumbers().mightExist(account.getAccountNumber())).isTrue();
+            assertThat(keyFilters.usernames().mightExist("filteruser")).isTrue();
+            assertThat(keyFilters.accountNumbers().mightExist("00000000000000000802")).isFalse();
+            assertThat(keyFilters.usernames().mightExist("nobody")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should read rows inserted elsewhere before trusting a stale miss")
+        void testCatchUp() {
+            KeyFilters filters = newKeyFilters(Duration.ZERO);
+
+            saveAccount("00000000000000000803");
+
+            assertThat(filters.accountNumbers().mightExist("00000000000000000803")).isTrue();
+            assertThat(filters.accountNumbers().mightExist("00000000000000000804")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep answering from the previous filter while reloading")
+        void testReloadKeepsPreviousFilter() {
+            AtomicReference<KeyFilters> reloading = new AtomicReference<>();
+            List<Boolean> answers = new ArrayList<>();
+            JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+                @Override
+                public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+                    super.query(creator, rs -> {
+                        if (reloading.get() != null) {
+                            answers.add(reloading.get().accountNumbers().mightExist(account.getAccountNumber()));
+                        }
+                        handler.processRow(rs);
+                    });
+                }
+            };
+            KeyFilterProperties properties = new KeyFilterProperties();
+            properties.setExpectedKeys(16);
+            properties.setMaxStaleness(Duration.ofHours(1));
+            KeyFilters filters = new KeyFilters(properties, streaming, transactionManager);
+            filters.load();
+
+            reloading.set(filters);
+            filters.load();
+
+            assertThat(answers).isNotEmpty().containsOnly(true);
+            assertThat(filters.accountNumbers().mightExist(account.getAccountNumber())).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should add created accounts and find them by number")
+        void testCreateAccount() {
+            Account created = bankingService.createAccount("filteruser", new BigDecimal("50.00"));
+
+            assertThat(keyFilters.accountNumbers().mightExist(created.getAccountNumber())).isTrue();
+            assertThat(bankingService.getAccountByNumber(created.getAccountNumber()).getId()).isEqualTo(created.getId());
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown account number")
+        void testUnknownAccountNumber() {
+            assertThatThrownBy(() -> bankingService.getAccountByNumber("00000000000000000805"))
+                    .isInstanceOf(NotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Should report taken and free usernames")
+        void testUsernameAvailable() {
+            UserService userService = new UserService(jdbcTemplate, null, userRepository, customerRepository, keyFilters, invalidationBus, null);
+
+            assertThat(userService.isUsernameAvailable("filteruser")).isFalse();
+            assertThat(userService.isUsernameAvailable("someone_new")).isTrue();
+            assertThatThrownBy(() -> userService.isUsernameAvailable("a b"))
+                    .isInstanceOf(BadRequestException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject signing up with an email another instance changed a customer to")
+        void testSignupWithUpdatedEmail() {
+            // Another instance's filters, loaded before the update and reading new rows on every miss
+            KeyFilterProperties properties = new KeyFilterProperties();
+            properties.setExpectedKeys(16);
+            properties.setMaxStaleness(Duration.ZERO);
+            properties.setIdOverlap(0);
+            KeyFilters filters = new KeyFilters(properties, jdbcTemplate, transactionManager);
+            filters.load();
+            UserService elsewhere = new UserService(jdbcTemplate, NoOpPasswordEncoder.getInstance(), userRepository,
+                    customerRepository, filters, invalidationBus, null);
+
+            bankingService.updateCustomer("filteruser", UpdateCustomerRequest.builder().email("changed@example.com").build());
+
+            SignupRequest signup = SignupRequest.builder()
+                    .username("newcomer")
+                    .password("password123")
+                    .email("changed@example.com")
+                    .build();
+            assertThatThrownBy(() -> elsewhere.registerUser(signup))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("Email already exists");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bankflow.service;
+
+import com.bankflow.config.LedgerConfig;
+import com.bankflow.exception.InsufficientFundsException;
+import com.bankflow.model.Account;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.service.impl.LedgerBankingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the BankingService integration suite against the in-memory ledger engine.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, LedgerConfig.class, LedgerBankingService.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"app.banking.engine=ledger", "app.banking.ledger.partitions=3"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // @DataJpaTest would otherwise hold setUp data uncommitted
+@DisplayName("Ledger BankingService Integration Tests")
+class LedgerBankingServiceIntegrationTest extends AbstractBankingServiceIntegrationTest {
+
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Should conserve money and never overdraw under concurrent transfers across partitions")
+        void testConcurrentTransfersConserveMoney() throws Exception {
+            // Arrange - five accounts spread over the three partitions
+            List<Long> accountIds = new ArrayList<>(List.of(account1.getId(), account2.getId()));
+            for (int i = 3; i <= 5; i++) {
+                Account account = new Account();
+                account.setCustomer(testCustomer);
+                account.setAccountNumber("000000000000000" + i);
+                account.setBalance(new BigDecimal("100.00"));
+                account.setStatus(AccountStatus.ACTIVE);
+                accountIds.add(accountRepository.save(account).getId());
+            }
+            BigDecimal totalBefore = totalBalance(accountIds);
+
+            // Act
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                results.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    Long from = accountIds.get(random.nextInt(accountIds.size()));
+                    Long to = accountIds.get(random.nextInt(accountIds.size()));
+                    if (from.equals(to)) {
+                        return false;
+                    }
+                    try {
+                        bankingService.transfer(from, to, BigDecimal.valueOf(random.nextInt(1, 200)), "Concurrent");
+                        return true;
+                    } catch (InsufficientFundsException ex) {
+                        return false;
+                    }
+                }));
+            }
+            long completed = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    completed++;
+                }
+            }
+            executor.shutdown();
+
+            // Assert
+            assertThat(totalBalance(accountIds)).isEqualByComparingTo(totalBefore);
+            assertThat(accountRepository.findAllById(accountIds))
+                    .allSatisfy(account -> assertThat(account.getBalance()).isGreaterThanOrEqualTo(BigDecimal.ZERO));
+            assertThat(transactionRepository.findAll())
+                    .filteredOn(record -> record.getType() == TransactionType.TRANSFER)
+                    .hasSize((int) completed);
+        }
+
+        private BigDecimal totalBalance(List<Long> accountIds) {
+            return accountRepository.findAllById(accountIds).stream()
+                    .map(Account::getBalance)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.bankflow.service;
+
+import com.bankflow.config.RollupConfig;
+import com.bankflow.dto.AccountSummaryResponse;
+import com.bankflow.exception.InsufficientFundsException;
+import com.bankflow.model.Account;
+import com.bankflow.model.AccountMonthlyRollup;
+import com.bankflow.model.Customer;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountMonthlyRollupRepository;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.rollups.MonthlyRollupRebuildJob;
+import com.bankflow.service.rollups.MonthlyRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for monthly rollups. Rollups commit with each operation, so tests run without
+ * a surrounding transaction and clean up after themselves.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, MonthlyRollupRebuildJob.class, RollupConfig.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.rollups.range-size=1")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Monthly Rollup Integration Tests")
+class MonthlyRollupIntegrationTest {
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private MonthlyRollupRebuildJob rebuildJob;
+
+    @Autowired
+    private AccountMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account1;
+    private Account account2;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("rollupsuser");
+        user.setEmail("rollups@example.com");
+        user.setFullName("Rollups Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        account1 = createAccount(customer, "0000000000000501", "1000.00");
+        account2 = createAccount(customer, "0000000000000502", "0.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Account createAccount(Customer customer, String accountNumber, String balance) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    private TransactionRecord transaction(TransactionType type, String amount, Account from, Account to, LocalDateTime timestamp) {
+        TransactionRecord record = new TransactionRecord();
+        record.setType(type);
+        record.setAmount(new BigDecimal(amount));
+        record.setFromAccount(from);
+        record.setToAccount(to);
+        record.setTimestamp(timestamp);
+        return transactionRepository.save(record);
+    }
+
+    private AccountSummaryResponse summary(Account account, YearMonth month) {
+        return monthlyRollupService.summarize(account.getAccountNumber(), month);
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should count deposits, withdrawals and both sides of a transfer")
+        void testSummaryFromRollups() {
+            bankingService.deposit(account1.getId(), new BigDecimal("200.00"));
+            bankingService.deposit(account1.getId(), new BigDecimal("50.00"));
+            bankingService.withdraw(account1.getId(), new BigDecimal("30.00"));
+            bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("120.00"), "Rent");
+
+            AccountSummaryResponse source = summary(account1, YearMonth.now());
+            assertThat(source.getMonth()).isEqualTo(YearMonth.now().toString());
+            assertThat(source.getDeposits().getCount()).isEqualTo(2);
+            assertThat(source.getDeposits().getTotal()).isEqualByComparingTo("250.00");
+            assertThat(source.getWithdrawals().getCount()).isEqualTo(1);
+            assertThat(source.getTransfersOut().getTotal()).isEqualByComparingTo("120.00");
+            assertThat(source.getTransfersIn().getCount()).isZero();
+            assertThat(source.getMoneyIn()).isEqualByComparingTo("250.00");
+            assertThat(source.getMoneyOut()).isEqualByComparingTo("150.00");
+
+            AccountSummaryResponse destination = summary(account2, YearMonth.now());
+            assertThat(destination.getTransfersIn().getCount()).isEqualTo(1);
+            assertThat(destination.getMoneyIn()).isEqualByComparingTo("120.00");
+            assertThat(destination.getMoneyOut()).isEqualByComparingTo("0");
+        }
+
+        @Test
+        @DisplayName("Should leave rollups unchanged when an operation is rejected")
+        void testRejectedOperationNotCounted() {
+            assertThatThrownBy(() -> bankingService.withdraw(account2.getId(), new BigDecimal("10.00")))
+                    .isInstanceOf(InsufficientFundsException.class);
+
+            assertThat(rollupRepository.findByAccountIdOrderByMonthStartAsc(account2.getId())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should keep each calendar month in its own rollup")
+        void testMonthsKeptApart() {
+            monthlyRollupService.add(List.of(
+                    transaction(TransactionType.DEPOSIT, "10.00", account1, null, LocalDateTime.of(2026, 1, 31, 23, 59)),
+                    transaction(TransactionType.DEPOSIT, "20.00", account1, null, LocalDateTime.of(2026, 2, 1, 0, 0)),
+                    transaction(TransactionType.DEPOSIT, "30.00", account1, null, LocalDateTime.of(2026, 2, 14, 12, 0))));
+
+            assertThat(summary(account1, YearMonth.of(2026, 1)).getMoneyIn()).isEqualByComparingTo("10.00");
+            assertThat(summary(account1, YearMonth.of(2026, 2)).getDeposits().getCount()).isEqualTo(2);
+            assertThat(summary(account1, YearMonth.of(2026, 3)).getMoneyIn()).isEqualByComparingTo("0");
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebuild Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class RebuildTests {
+
+        @Test
+        @DisplayName("Should rebuild rollups identical to the incrementally maintained ones")
+        void testRebuildMatchesIncremental() {
+            bankingService.deposit(account1.getId(), new BigDecimal("200.00"));
+            bankingService.withdraw(account1.getId(), new BigDecimal("30.00"));
+            bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("120.00"), "Rent");
+            List<AccountMonthlyRollup> incremental = rollupRepository.findAll();
+
+            jdbcTemplate.update("UPDATE account_monthly_rollups SET transaction_count = 99, total_amount = 99");
+            MonthlyRollupRebuildJob.Progress progress = rebuildJob.rebuild(null);
+
+            assertThat(progress.failedRanges()).isZero();
+            assertThat(progress.completedRanges()).isEqualTo(progress.ranges());
+            assertThat(progress.rowsWritten()).isEqualTo(incremental.size());
+            assertThat(rollupRepository.findAll())
+                    .usingRecursiveFieldByFieldElementComparatorIgnoringFields("totalAmount", "updatedAt")
+                    .containsExactlyInAnyOrderElementsOf(incremental);
+            assertThat(summary(account1, YearMonth.now()).getMoneyOut()).isEqualByComparingTo("150.00");
+        }
+
+        @Test
+        @DisplayName("Should rebuild only months from the given one on")
+        void testRebuildFromMonth() {
+            transaction(TransactionType.DEPOSIT, "10.00", account1, null, LocalDateTime.of(2026, 1, 15, 9, 0));
+            transaction(TransactionType.TRANSFER, "5.00", account1, account2, LocalDateTime.of(2026, 2, 15, 9, 0));
+
+            rebuildJob.rebuild(YearMonth.of(2026, 2));
+
+            assertThat(rollupRepository.findByAccountIdOrderByMonthStartAsc(account1.getId()))
+                    .extracting(AccountMonthlyRollup::getMonthStart, AccountMonthlyRollup::getType)
+                    .containsExactly(tuple(LocalDate.of(2026, 2, 1), TransactionType.TRANSFER));
+            assertThat(summary(account2, YearMonth.of(2026, 2)).getTransfersIn().getTotal()).isEqualByComparingTo("5.00");
+        }
+    }
+}
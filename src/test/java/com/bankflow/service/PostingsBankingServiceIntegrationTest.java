@@ -0,0 +1,131 @@
+package com.bankflow.service;
+
+import com.bankflow.model.Account;
+import com.bankflow.model.Posting;
+import com.bankflow.model.enums.PostingDirection;
+import com.bankflow.repository.BalanceCheckpointRepository;
+import com.bankflow.repository.PostingRepository;
+import com.bankflow.service.impl.PostingsBankingService;
+import com.bankflow.service.postings.BalanceCheckpointer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the BankingService integration suite against the append-only postings engine.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, PostingsBankingService.class, BalanceCheckpointer.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.banking.engine=postings")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // @DataJpaTest would otherwise wrap each test in a transaction
+@DisplayName("Postings BankingService Integration Tests")
+class PostingsBankingServiceIntegrationTest extends AbstractBankingServiceIntegrationTest {
+
+    @Autowired
+    private PostingsBankingService postingsService;
+
+    @Autowired
+    private BalanceCheckpointer checkpointer;
+
+    @Autowired
+    private PostingRepository postingRepository;
+
+    @Autowired
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Override
+    protected BigDecimal balanceOf(Account account) {
+        return postingsService.currentBalance(accountRepository.findById(account.getId()).orElseThrow());
+    }
+
+    @AfterEach
+    void deletePostings() {
+        checkpointRepository.deleteAll();
+        postingRepository.deleteAll();
+    }
+
+    @Nested
+    @DisplayName("Postings Tests")
+    class PostingsTests {
+
+        @Test
+        @DisplayName("Should book balanced debit and credit postings without updating the account row")
+        void testPostingsAreBalancedAndAccountRowUntouched() {
+            Long versionBefore = accountRepository.findById(account1.getId()).orElseThrow().getVersion();
+
+            bankingService.deposit(account1.getId(), new BigDecimal("100.00"));
+            bankingService.withdraw(account1.getId(), new BigDecimal("30.00"));
+            bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("20.00"), "Rent");
+
+            Account stored = accountRepository.findById(account1.getId()).orElseThrow();
+            assertThat(stored.getVersion()).isEqualTo(versionBefore);
+            assertThat(stored.getBalance()).isEqualByComparingTo("1000.00");
+
+            Map<PostingDirection, BigDecimal> totals = postingRepository.findAll().stream()
+                    .collect(Collectors.groupingBy(Posting::getDirection,
+                            Collectors.reducing(BigDecimal.ZERO, Posting::getAmount, BigDecimal::add)));
+            assertThat(totals.get(PostingDirection.DEBIT)).isEqualByComparingTo(totals.get(PostingDirection.CREDIT));
+            assertThat(postingRepository.count()).isEqualTo(6);
+
+            assertThat(bankingService.getAccountByNumber(account1.getAccountNumber()).getBalance()).isEqualByComparingTo("1050.00");
+        }
+
+        @Test
+        @DisplayName("Should keep balances unchanged across a checkpoint and count later postings on top")
+        void testCheckpointFoldsPostings() {
+            bankingService.deposit(account1.getId(), new BigDecimal("200.00"));
+            bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("50.00"), "Before checkpoint");
+
+            int checkpointed = checkpointer.checkpoint(LocalDateTime.now().plusSeconds(1));
+
+            assertThat(checkpointed).isEqualTo(2);
+            assertThat(checkpointRepository.findById(account1.getId()).orElseThrow().getBalance()).isEqualByComparingTo("1150.00");
+            assertThat(balanceOf(account1)).isEqualByComparingTo("1150.00");
+            assertThat(balanceOf(account2)).isEqualByComparingTo("550.00");
+
+            bankingService.withdraw(account1.getId(), new BigDecimal("150.00"));
+
+            assertThat(balanceOf(account1)).isEqualByComparingTo("1000.00");
+            assertThat(checkpointer.checkpoint(LocalDateTime.now().plusSeconds(1))).isEqualTo(1);
+            assertThat(checkpointRepository.findById(account1.getId()).orElseThrow().getBalance()).isEqualByComparingTo("1000.00");
+        }
+
+        @Test
+        @DisplayName("Should leave postings newer than the cutoff for a later checkpoint")
+        void testCheckpointSkipsUnsettledPostings() {
+            bankingService.deposit(account1.getId(), new BigDecimal("10.00"));
+
+            assertThat(checkpointer.checkpoint(LocalDateTime.now().minusMinutes(1))).isZero();
+            assertThat(checkpointRepository.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should list customer accounts with their current balances")
+        void testCustomerAccountsShowCurrentBalances() {
+            bankingService.deposit(account2.getId(), new BigDecimal("25.00"));
+
+            List<Account> accounts = bankingService.getCustomerAccountsByUsername("integrationuser");
+
+            assertThat(accounts).filteredOn(account -> account.getId().equals(account2.getId()))
+                    .singleElement()
+                    .satisfies(account -> assertThat(account.getBalance()).isEqualByComparingTo("525.00"));
+        }
+    }
+}
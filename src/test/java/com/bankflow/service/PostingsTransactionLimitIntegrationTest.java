@@ -0,0 +1,137 @@
+package com.bankflow.service;
+
+import com.bankflow.exception.LimitExceededException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.LimitUsage;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.BalanceCheckpointRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.LimitUsageRepository;
+import com.bankflow.repository.PostingRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.impl.PostingsBankingService;
+import com.bankflow.service.postings.BalanceCheckpointer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that the postings engine records limit usage for withdrawals and transfers but not deposits.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, PostingsBankingService.class, BalanceCheckpointer.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.banking.engine=postings",
+        "app.limits.enabled=true",
+        "app.limits.daily.WITHDRAW=500",
+        "app.limits.daily.TRANSFER=1000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Postings Transaction Limit Integration Tests")
+class PostingsTransactionLimitIntegrationTest {
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private LimitUsageRepository limitUsageRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PostingRepository postingRepository;
+
+    @Autowired
+    private BalanceCheckpointRepository checkpointRepository;
+
+    private Account account1;
+    private Account account2;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("postingslimits");
+        user.setEmail("postings.limits@example.com");
+        user.setFullName("Postings Limits Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        account1 = createAccount(customer, "0000000000000411", "3000.00");
+        account2 = createAccount(customer, "0000000000000412", "0.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        limitUsageRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        postingRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Account createAccount(Customer customer, String accountNumber, String balance) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    @Test
+    @DisplayName("Should count withdrawals against the daily limit and leave deposits unlimited")
+    void testWithdrawalsCountedDepositsNot() {
+        bankingService.deposit(account1.getId(), new BigDecimal("800.00"));
+        bankingService.withdraw(account1.getId(), new BigDecimal("500.00"));
+
+        assertThatThrownBy(() -> bankingService.withdraw(account1.getId(), new BigDecimal("0.01")))
+                .isInstanceOf(LimitExceededException.class);
+
+        List<LimitUsage> usage = limitUsageRepository.findByAccountIdOrderByPeriodStartAsc(account1.getId());
+        assertThat(usage).hasSize(2).allSatisfy(row -> {
+            assertThat(row.getOperation()).isEqualTo(TransactionType.WITHDRAW);
+            assertThat(row.getAmount()).isEqualByComparingTo("500.00");
+        });
+    }
+
+    @Test
+    @DisplayName("Should count transfers against the source account only")
+    void testTransfersCountedOnSource() {
+        bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("1000.00"), "Savings");
+
+        assertThatThrownBy(() -> bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("1.00"), "Savings"))
+                .isInstanceOf(LimitExceededException.class);
+        assertThat(limitUsageRepository.findByAccountIdOrderByPeriodStartAsc(account2.getId())).isEmpty();
+    }
+}
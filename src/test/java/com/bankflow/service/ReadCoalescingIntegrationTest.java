@@ -0,0 +1,268 @@
+package com.bankflow.service;
+
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.coalescing.ReadCoalescer;
+import com.bankflow.service.coalescing.ReadCoalescingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for single-flight account reads. Accounts commit with each operation, so tests
+ * run without a surrounding transaction and clean up after themselves.
+ */
+@DataJpaTest
+@Import(BankingServiceTestConfiguration.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Read Coalescing Integration Tests")
+class ReadCoalescingIntegrationTest {
+
+    private static final long ACCOUNT_ID = 7L;
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReadCoalescer coalescer = new ReadCoalescer(new ReadCoalescingProperties());
+    private final AtomicInteger queries = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Thread> threads = new ArrayList<>();
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("coalescinguser");
+        user.setEmail("coalescing@example.com");
+        user.setFullName("Coalescing Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber("00000000000000000901");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setStatus(AccountStatus.ACTIVE);
+        account = accountRepository.save(account);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        release.countDown();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    /**
+     * An account read that counts its queries and blocks until released.
+     */
+    private Supplier<Account> blockingQuery() {
+        return () -> {
+            queries.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            Account result = new Account();
+            result.setId(ACCOUNT_ID);
+            return result;
+        };
+    }
+
+    private CompletableFuture<Account> readInBackground(Supplier<Account> query) {
+        CompletableFuture<Account> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                result.complete(coalescer.read("getAccountByNumber", "123456789012", query, Account::getId, Account::copy));
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        threads.add(thread);
+        thread.start();
+        return result;
+    }
+
+    /**
+     * Waits until the leader is inside its query and every other reader is parked on it.
+     */
+    private void awaitWaiting(int expectedQueries) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            boolean parked = threads.stream().skip(1).allMatch(thread -> thread.getState() == Thread.State.WAITING);
+            if (queries.get() == expectedQueries && parked) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Readers did not start waiting");
+    }
+
+    @Nested
+    @DisplayName("Coalescing Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class CoalescingTests {
+
+        @Test
+        @DisplayName("Should run one query for concurrent identical reads and hand each joiner its own copy")
+        void testConcurrentReadsShareQuery() throws Exception {
+            List<CompletableFuture<Account>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(readInBackground(blockingQuery()));
+                if (i == 0) {
+                    awaitWaiting(1);
+                }
+            }
+            awaitWaiting(1);
+            release.countDown();
+
+            List<Account> accounts = new ArrayList<>();
+            for (CompletableFuture<Account> result : results) {
+                accounts.add(result.get(10, TimeUnit.SECONDS));
+            }
+            assertThat(queries.get()).isEqualTo(1);
+            assertThat(accounts).allSatisfy(read -> assertThat(read.getId()).isEqualTo(ACCOUNT_ID));
+            Set<Account> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            instances.addAll(accounts);
+            assertThat(instances).hasSize(8);
+            assertThat(coalescer.stats().coalesced()).isEqualTo(7);
+            assertThat(coalescer.stats().inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should read again when a write to the account completed after the shared query started")
+        void testWriteWhileWaiting() throws Exception {
+            CompletableFuture<Account> leader = readInBackground(blockingQuery());
+            awaitWaiting(1);
+            coalescer.written(ACCOUNT_ID);
+            CompletableFuture<Account> follower = readInBackground(blockingQuery());
+            awaitWaiting(1);
+            release.countDown();
+
+            leader.get(10, TimeUnit.SECONDS);
+            follower.get(10, TimeUnit.SECONDS);
+            assertThat(queries.get()).isEqualTo(2);
+            assertThat(coalescer.stats().reread()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should still share a query when only another account was written")
+        void testWriteToOtherAccount() throws Exception {
+            CompletableFuture<Account> leader = readInBackground(blockingQuery());
+            awaitWaiting(1);
+            coalescer.written(ACCOUNT_ID + 1);
+            CompletableFuture<Account> follower = readInBackground(blockingQuery());
+            awaitWaiting(1);
+            release.countDown();
+
+            leader.get(10, TimeUnit.SECONDS);
+            follower.get(10, TimeUnit.SECONDS);
+            assertThat(queries.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should share a failed query's exception")
+        void testSharedFailure() throws Exception {
+            Supplier<Account> failing = () -> {
+                blockingQuery().get();
+                throw new NotFoundException("Account with number", "123456789012");
+            };
+            CompletableFuture<Account> leader = readInBackground(failing);
+            awaitWaiting(1);
+            CompletableFuture<Account> follower = readInBackground(failing);
+            awaitWaiting(1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(NotFoundException.class);
+            assertThatThrownBy(() -> follower.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(NotFoundException.class);
+            assertThat(queries.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not join a running query from inside a read-write transaction")
+        void testReadWriteTransaction() throws Exception {
+            CompletableFuture<Account> leader = readInBackground(blockingQuery());
+            awaitWaiting(1);
+
+            Account own = new TransactionTemplate(transactionManager).execute(status -> coalescer.read(
+                    "getAccountByNumber", "123456789012", () -> {
+                        queries.incrementAndGet();
+                        return account;
+                    }, Account::getId, Account::copy));
+            release.countDown();
+
+            assertThat(own).isSameAs(account);
+            assertThat(queries.get()).isEqualTo(2);
+            leader.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Banking Service Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class BankingServiceTests {
+
+        @Test
+        @DisplayName("Should read an account and its history after a deposit completes")
+        void testReadAfterWrite() {
+            assertThat(bankingService.getAccountByNumber(account.getAccountNumber()).getBalance()).isEqualByComparingTo("100.00");
+            assertThat(bankingService.getTransactionsByAccountNumber(account.getAccountNumber())).isEmpty();
+
+            bankingService.depositByAccountNumber(account.getAccountNumber(), new BigDecimal("25.00"));
+
+            assertThat(bankingService.getAccountByNumber(account.getAccountNumber()).getBalance()).isEqualByComparingTo("125.00");
+            assertThat(bankingService.getTransactionsByAccountNumber(account.getAccountNumber())).hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.bankflow.service;
+
+import com.bankflow.config.SchedulingConfig;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.ReconciliationDiscrepancy;
+import com.bankflow.model.ReconciliationRun;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.ReconciliationMode;
+import com.bankflow.model.enums.ReconciliationStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.ReconciliationDiscrepancyRepository;
+import com.bankflow.repository.ReconciliationRunRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.reconciliation.ReconciliationJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the balance reconciliation job. Ranges commit on fork-join threads, so
+ * tests run without a surrounding transaction.
+ */
+@DataJpaTest
+@Import({ReconciliationJob.class, SchedulingConfig.class, SimpleMeterRegistry.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"app.reconciliation.range-size=2", "app.reconciliation.batch-size=2"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Reconciliation Job Integration Tests")
+class ReconciliationJobIntegrationTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2020, 1, 1, 9, 0);
+
+    @Autowired
+    private ReconciliationJob reconciliationJob;
+
+    @Autowired
+    private ReconciliationRunRepository runRepository;
+
+    @Autowired
+    private ReconciliationDiscrepancyRepository discrepancyRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Account account1;
+    private Account account2;
+    private Account account3;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("reconciliationuser");
+        user.setEmail("reconciliation@example.com");
+        user.setFullName("Reconciliation Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        // Balances match the log: 750.00, 225.00, 0.00
+        account1 = createAccount(customer, "0000000000000201", "750.00");
+        account2 = createAccount(customer, "0000000000000202", "225.00");
+        account3 = createAccount(customer, "0000000000000203", "0.00");
+        record(TransactionType.DEPOSIT, "1000.00", account1, null);
+        record(TransactionType.TRANSFER, "200.00", account1, account2);
+        record(TransactionType.WITHDRAW, "50.00", account1, null);
+        record(TransactionType.DEPOSIT, "25.00", account2, null);
+
+        jdbcTemplate.update("UPDATE accounts SET updated_at = ?", LONG_AGO);
+        jdbcTemplate.update("UPDATE transaction_records SET created_at = ?", LONG_AGO);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        discrepancyRepository.deleteAll();
+        runRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Account createAccount(Customer customer, String accountNumber, String balance) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    private void record(TransactionType type, String amount, Account from, Account to) {
+        TransactionRecord transaction = new TransactionRecord();
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transactionRepository.save(transaction);
+    }
+
+    /**
+     * Changes a stored balance without touching {@code updated_at}, as a bad manual fix would.
+     */
+    private void corruptBalance(Account account, String balance) {
+        jdbcTemplate.update("UPDATE accounts SET balance = ? WHERE id = ?", new BigDecimal(balance), account.getId());
+    }
+
+    @Nested
+    @DisplayName("Full Run Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class FullRunTests {
+
+        @Test
+        @DisplayName("Should report no discrepancies when balances match the transaction log")
+        void testConsistentBalances() {
+            ReconciliationRun run = reconciliationJob.reconcile(ReconciliationMode.FULL);
+
+            assertThat(run.getStatus()).isEqualTo(ReconciliationStatus.COMPLETED);
+            assertThat(run.getAccountsChecked()).isEqualTo(3);
+            assertThat(run.getDiscrepancies()).isZero();
+            assertThat(run.getFailedRanges()).isZero();
+            assertThat(run.getFinishedAt()).isNotNull();
+            assertThat(discrepancyRepository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should record a discrepancy for each mismatched balance")
+        void testMismatchedBalance() {
+            corruptBalance(account2, "300.00");
+
+            ReconciliationRun run = reconciliationJob.reconcile(ReconciliationMode.FULL);
+
+            assertThat(run.getDiscrepancies()).isEqualTo(1);
+            List<ReconciliationDiscrepancy> discrepancies =
+                    discrepancyRepository.findByRunIdOrderByAccountIdAsc(run.getId(), Limit.unlimited());
+            assertThat(discrepancies).singleElement().satisfies(discrepancy -> {
+                assertThat(discrepancy.getAccountId()).isEqualTo(account2.getId());
+                assertThat(discrepancy.getBalance()).isEqualByComparingTo("300.00");
+                assertThat(discrepancy.getExpectedBalance()).isEqualByComparingTo("225.00");
+                assertThat(discrepancy.getDifference()).isEqualByComparingTo("75.00");
+            });
+        }
+
+        @Test
+        @DisplayName("Should publish progress and duration metrics")
+        void testMetrics() {
+            corruptBalance(account3, "1.00");
+
+            reconciliationJob.reconcile(ReconciliationMode.FULL);
+
+            assertThat(meterRegistry.get("bankflow.reconciliation.accounts.checked").gauge().value()).isEqualTo(3);
+            assertThat(meterRegistry.get("bankflow.reconciliation.discrepancies").gauge().value()).isEqualTo(1);
+            assertThat(meterRegistry.get("bankflow.reconciliation.ranges").tag("state", "completed").gauge().value())
+                    .isEqualTo(meterRegistry.get("bankflow.reconciliation.ranges").tag("state", "total").gauge().value())
+                    .isPositive();
+            assertThat(meterRegistry.get("bankflow.reconciliation.duration").tag("mode", "FULL").timer().count())
+                    .isPositive();
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Run Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class IncrementalRunTests {
+
+        @Test
+        @DisplayName("Should check every account when no run has completed")
+        void testFallsBackToFullRun() {
+            ReconciliationRun run = reconciliationJob.reconcile(ReconciliationMode.INCREMENTAL);
+
+            assertThat(run.getMode()).isEqualTo(ReconciliationMode.FULL);
+            assertThat(run.getSince()).isNull();
+            assertThat(run.getAccountsChecked()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should only re-check accounts touched since the last completed run")
+        void testChecksTouchedAccounts() {
+            ReconciliationRun full = reconciliationJob.reconcile(ReconciliationMode.FULL);
+            corruptBalance(account3, "5.00");
+            record(TransactionType.DEPOSIT, "10.00", account1, null);
+            jdbcTemplate.update("UPDATE accounts SET balance = balance + 10, updated_at = ? WHERE id = ?",
+                    LocalDateTime.now(), account1.getId());
+
+            ReconciliationRun incremental = reconciliationJob.reconcile(ReconciliationMode.INCREMENTAL);
+
+            assertThat(incremental.getMode()).isEqualTo(ReconciliationMode.INCREMENTAL);
+            assertThat(incremental.getSince()).isBefore(full.getStartedAt());
+            assertThat(incremental.getAccountsChecked()).isEqualTo(1);
+            assertThat(incremental.getDiscrepancies()).isZero();
+
+            // The untouched corruption is left for the next full run
+            ReconciliationRun nextFull = reconciliationJob.reconcile(ReconciliationMode.FULL);
+            assertThat(discrepancyRepository.findByRunIdOrderByAccountIdAsc(nextFull.getId(), Limit.unlimited()))
+                    .extracting(ReconciliationDiscrepancy::getAccountId)
+                    .containsExactly(account3.getId());
+        }
+
+        @Test
+        @DisplayName("Should catch a mismatch on an account with new transactions")
+        void testTouchedMismatch() {
+            reconciliationJob.reconcile(ReconciliationMode.FULL);
+            record(TransactionType.WITHDRAW, "25.00", account2, null);
+
+            ReconciliationRun incremental = reconciliationJob.reconcile(ReconciliationMode.INCREMENTAL);
+
+            assertThat(incremental.getAccountsChecked()).isEqualTo(1);
+            assertThat(discrepancyRepository.findByRunIdOrderByAccountIdAsc(incremental.getId(), Limit.unlimited()))
+                    .singleElement()
+                    .satisfies(discrepancy -> {
+                        assertThat(discrepancy.getAccountId()).isEqualTo(account2.getId());
+                        assertThat(discrepancy.getExpectedBalance()).isEqualByComparingTo("200.00");
+                    });
+        }
+    }
+}
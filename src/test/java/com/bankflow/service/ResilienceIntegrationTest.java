@@ -0,0 +1,145 @@
+package com.bankflow.service;
+
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.repository.AccountRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Integration tests for the bulkheads and circuit breaker wrapped around the service layer.
+ * The read bulkhead is saturated by holding all of its permits, and concurrent reads wait at a
+ * barrier in the repository inside their transactions, so each holds a connection until all have arrived.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Resilience Integration Tests")
+class ResilienceIntegrationTest {
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @SpyBean
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    void tearDown() {
+        circuitBreakerRegistry.circuitBreaker("database").reset();
+    }
+
+    @Test
+    @DisplayName("Should reject reads when the read bulkhead is full without affecting writes")
+    void testReadBulkheadIsolatedFromWrites() {
+        Bulkhead readBulkhead = bulkheadRegistry.bulkhead("banking-read");
+        int permits = readBulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        for (int i = 0; i < permits; i++) {
+            readBulkhead.acquirePermission();
+        }
+
+        try {
+            assertThatThrownBy(() -> bankingService.getAccountByNumber("000000000000"))
+                    .isInstanceOf(BulkheadFullException.class);
+
+            // Writes go through their own bulkhead and reach the service
+            assertThatThrownBy(() -> bankingService.depositByAccountNumber("000000000000", BigDecimal.TEN))
+                    .isInstanceOf(NotFoundException.class);
+        } finally {
+            for (int i = 0; i < permits; i++) {
+                readBulkhead.releasePermission();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should fit every bulkhead permit in the connection pool")
+    void testBulkheadsFitConnectionPool() throws SQLException {
+        int permits = bulkheadRegistry.getAllBulkheads().stream()
+                .mapToInt(bulkhead -> bulkhead.getBulkheadConfig().getMaxConcurrentCalls())
+                .sum();
+
+        assertThat(permits).isLessThan(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("Should admit as many concurrent reads as the read bulkhead allows, each with its own connection")
+    void testConcurrentReadsWithinBulkhead() throws Exception {
+        int reads = bulkheadRegistry.bulkhead("banking-read").getBulkheadConfig().getMaxConcurrentCalls();
+        CyclicBarrier allInFlight = new CyclicBarrier(reads);
+        doAnswer(invocation -> {
+            allInFlight.await(10, TimeUnit.SECONDS);
+            return Optional.empty();
+        }).when(accountRepository).findByAccountNumber(anyString());
+
+        ExecutorService executor = Executors.newFixedThreadPool(reads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < reads; i++) {
+                // Distinct numbers so the reads are not coalesced into one
+                String accountNumber = String.format("%012d", 900 + i);
+                results.add(executor.submit(() -> bankingService.getAccountByNumber(accountNumber)));
+            }
+            for (Future<?> result : results) {
+                assertThatThrownBy(() -> result.get(30, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(NotFoundException.class);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail fast while the database circuit breaker is open")
+    void testOpenCircuitFailsFast() {
+        circuitBreakerRegistry.circuitBreaker("database").transitionToForcedOpenState();
+
+        assertThatThrownBy(() -> bankingService.depositByAccountNumber("000000000000", BigDecimal.TEN))
+                .isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    @DisplayName("Should not count business exceptions as database failures")
+    void testBusinessExceptionsNotRecorded() {
+        assertThatThrownBy(() -> bankingService.depositByAccountNumber("000000000000", BigDecimal.TEN))
+                .isInstanceOf(NotFoundException.class);
+
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker("database").getMetrics();
+        assertThat(metrics.getNumberOfFailedCalls()).isZero();
+    }
+}
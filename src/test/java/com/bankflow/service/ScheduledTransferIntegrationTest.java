@@ -0,0 +1,337 @@
+package com.bankflow.service;
+
+import com.bankflow.config.SchedulingConfig;
+import com.bankflow.dto.ScheduledTransferRequest;
+import com.bankflow.dto.UpdateScheduledTransferRequest;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.ScheduledTransfer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.ScheduledTransferStatus;
+import com.bankflow.model.enums.TransferFrequency;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.ScheduledTransferRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.impl.ScheduledTransferServiceImpl;
+import com.bankflow.service.scheduling.ScheduledTransferExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for standing orders: the CRUD service, recurrence rules and the executor.
+ * The executor commits on its own worker threads, so tests run without a surrounding transaction.
+ */
+@DataJpaTest
+@Import({BankingServiceTestConfiguration.class, ScheduledTransferServiceImpl.class, ScheduledTransferExecutor.class, SchedulingConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Scheduled Transfer Integration Tests")
+class ScheduledTransferIntegrationTest {
+
+    private static final String USERNAME = "standingorderuser";
+
+    @Autowired
+    private ScheduledTransferService scheduledTransferService;
+
+    @Autowired
+    private ScheduledTransferExecutor executor;
+
+    @Autowired
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account account1;
+    private Account account2;
+    private Account otherCustomerAccount;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer(USERNAME);
+        account1 = createAccount(customer, "0000000000000011", "1000.00");
+        account2 = createAccount(customer, "0000000000000012", "500.00");
+        otherCustomerAccount = createAccount(createCustomer("otheruser"), "0000000000000013", "100.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        scheduledTransferRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Customer createCustomer(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setFullName("Standing Order Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        return customerRepository.save(customer);
+    }
+
+    private Account createAccount(Customer customer, String accountNumber, String balance) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    private ScheduledTransferRequest request(TransferFrequency frequency, String amount, LocalDate startDate) {
+        return ScheduledTransferRequest.builder()
+                .fromAccountNumber(account1.getAccountNumber())
+                .toAccountNumber(account2.getAccountNumber())
+                .amount(new BigDecimal(amount))
+                .description("Rent")
+                .frequency(frequency)
+                .startDate(startDate)
+                .build();
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    @Nested
+    @DisplayName("Recurrence Tests")
+    class RecurrenceTests {
+
+        @Test
+        @DisplayName("Monthly orders clamp to short months and return to the anchor day")
+        void testMonthlyClampsToMonthEnd() {
+            LocalDate anchor = LocalDate.of(2026, 1, 31);
+
+            LocalDate february = TransferFrequency.MONTHLY.nextOccurrence(anchor, anchor);
+            LocalDate march = TransferFrequency.MONTHLY.nextOccurrence(anchor, february);
+
+            assertThat(february).isEqualTo(LocalDate.of(2026, 2, 28));
+            assertThat(march).isEqualTo(LocalDate.of(2026, 3, 31));
+        }
+
+        @Test
+        @DisplayName("Weekly orders keep the weekday of the start date")
+        void testWeeklyKeepsWeekday() {
+            LocalDate monday = LocalDate.of(2026, 3, 2);
+
+            assertThat(TransferFrequency.WEEKLY.nextOccurrence(monday, LocalDate.of(2026, 3, 4)))
+                    .isEqualTo(LocalDate.of(2026, 3, 9));
+        }
+
+        @Test
+        @DisplayName("One-off orders have no occurrence after their date")
+        void testOnceHasSingleOccurrence() {
+            LocalDate date = LocalDate.of(2026, 3, 2);
+
+            assertThat(TransferFrequency.ONCE.nextOccurrence(date, date.minusDays(1))).isEqualTo(date);
+            assertThat(TransferFrequency.ONCE.nextOccurrence(date, date)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Create and Update Tests")
+    class CreateAndUpdateTests {
+
+        @Test
+        @DisplayName("Should schedule the first run at the start of the start date")
+        void testCreateSchedulesFirstRun() {
+            LocalDate startDate = LocalDate.now().plusDays(3);
+
+            ScheduledTransfer created = scheduledTransferService.createScheduledTransfer(USERNAME,
+                    request(TransferFrequency.MONTHLY, "100.00", startDate));
+
+            assertThat(created.getId()).isNotNull();
+            assertThat(created.getStatus()).isEqualTo(ScheduledTransferStatus.ACTIVE);
+            assertThat(created.getNextRunAt()).isEqualTo(startDate.atStartOfDay());
+            assertThat(scheduledTransferService.getScheduledTransfers(USERNAME))
+                    .extracting(ScheduledTransfer::mapToResponse)
+                    .singleElement()
+                    .satisfies(response -> assertThat(response.getToAccountNumber()).isEqualTo(account2.getAccountNumber()));
+        }
+
+        @Test
+        @DisplayName("Should reject a source account owned by another customer")
+        void testRejectForeignSourceAccount() {
+            ScheduledTransferRequest request = request(TransferFrequency.DAILY, "10.00", LocalDate.now());
+            request.setFromAccountNumber(otherCustomerAccount.getAccountNumber());
+
+            assertThatThrownBy(() -> scheduledTransferService.createScheduledTransfer(USERNAME, request))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("does not belong to customer");
+        }
+
+        @Test
+        @DisplayName("Should reject a start date in the past or an end date before it")
+        void testRejectInvalidDates() {
+            ScheduledTransferRequest past = request(TransferFrequency.DAILY, "10.00", LocalDate.now().minusDays(1));
+            ScheduledTransferRequest endBeforeStart = request(TransferFrequency.DAILY, "10.00", LocalDate.now().plusDays(5));
+            endBeforeStart.setEndDate(LocalDate.now().plusDays(4));
+
+            assertThatThrownBy(() -> scheduledTransferService.createScheduledTransfer(USERNAME, past))
+                    .isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> scheduledTransferService.createScheduledTransfer(USERNAME, endBeforeStart))
+                    .isInstanceOf(BadRequestException.class);
+        }
+
+        @Test
+        @DisplayName("Should not expose another customer's scheduled transfer")
+        void testOtherCustomerCannotReadOrder() {
+            ScheduledTransfer created = scheduledTransferService.createScheduledTransfer(USERNAME,
+                    request(TransferFrequency.DAILY, "10.00", LocalDate.now()));
+
+            assertThatThrownBy(() -> scheduledTransferService.getScheduledTransfer("otheruser", created.getId()))
+                    .isInstanceOf(NotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Should apply partial updates and reject statuses other than active or paused")
+        void testPartialUpdate() {
+            LocalDate startDate = LocalDate.now().plusDays(2);
+            ScheduledTransfer created = scheduledTransferService.createScheduledTransfer(USERNAME,
+                    request(TransferFrequency.DAILY, "10.00", startDate));
+
+            ScheduledTransfer updated = scheduledTransferService.updateScheduledTransfer(USERNAME, created.getId(),
+                    UpdateScheduledTransferRequest.builder().amount(new BigDecimal("20.00")).build());
+            assertThat(updated.getAmount()).isEqualByComparingTo("20.00");
+
+            assertThatThrownBy(() -> scheduledTransferService.updateScheduledTransfer(USERNAME, created.getId(),
+                    UpdateScheduledTransferRequest.builder().status(ScheduledTransferStatus.COMPLETED).build()))
+                    .isInstanceOf(BadRequestException.class);
+
+            ScheduledTransfer ended = scheduledTransferService.updateScheduledTransfer(USERNAME, created.getId(),
+                    UpdateScheduledTransferRequest.builder().endDate(startDate).build());
+            assertThat(ended.getStatus()).isEqualTo(ScheduledTransferStatus.ACTIVE);
+            assertThat(ended.getNextRunAt()).isEqualTo(startDate.atStartOfDay());
+        }
+    }
+
+    @Nested
+    @DisplayName("Execution Tests")
+    class ExecutionTests {
+
+        @Test
+        @DisplayName("Should transfer a due daily order and schedule it for tomorrow")
+        void testDueDailyOrderExecutes() {
+            ScheduledTransfer created = scheduledTransferService.createScheduledTransfer(USERNAME,
+                    request(TransferFrequency.DAILY, "100.00", LocalDate.now()));
+
+            int processed = executor.runDueTransfers();
+
+            ScheduledTransfer after = scheduledTransferRepository.findById(created.getId()).orElseThrow();
+            assertThat(processed).isEqualTo(1);
+            assertThat(balanceOf(account1)).isEqualByComparingTo("900.00");
+            assertThat(balanceOf(account2)).isEqualByComparingTo("600.00");
+            assertThat(after.getLastTransactionId()).isNotNull();
+            assertThat(after.getLastRunAt()).isNotNull();
+            assertThat(after.getClaimedUntil()).isNull();
+            assertThat(after.getNextRunAt()).isEqualTo(LocalDate.now().plusDays(1).atStartOfDay());
+            assertThat(executor.runDueTransfers()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should complete a one-off order after it runs")
+        void testOnceOrderCompletes() {
+            ScheduledTransfer created = scheduledTransferService.createScheduledTransfer(USERNAME,
+                    request(TransferFrequency.ONCE, "50.00", LocalDate.now()));
+
+            executor.runDueTransfers();
+
+            ScheduledTransfer after = scheduledTransferRepository.findById(created.getId()).orElseThrow();
+            assertThat(after.getStatus()).isEqualTo(ScheduledTransferStatus.COMPLETED);
+            assertThat(after.getNextRunAt()).isNull();
+            assertThat(balanceOf(account1)).isEqualByComparingTo("950.00");
+        }
+
+        @Test
+        @DisplayName("Should skip an occurrence without funds and record why")
+        void testInsufficientFundsSkipsOccurrence() {
+            ScheduledTransfer created = scheduledTransferService.createScheduledTransfer(USERNAME,
+                    request(TransferFrequency.WEEKLY, "5000.00", LocalDate.now()));
+
+            executor.runDueTransfers();
+
+            ScheduledTransfer after = scheduledTransferRepository.findById(created.getId()).orElseThrow();
+            assertThat(after.getStatus()).isEqualTo(ScheduledTransferStatus.ACTIVE);
+            assertThat(after.getLastFailure()).containsIgnoringCase("insufficient");
+            assertThat(after.getLastTransactionId()).isNull();
+            assertThat(after.getNextRunAt()).isEqualTo(LocalDate.now().plusWeeks(1).atStartOfDay());
+            assertThat(balanceOf(account1)).isEqualByComparingTo("1000.00");
+            assertThat(transactionRepository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not run paused or cancelled orders")
+        void testPausedAndCancelledOrdersDoNotRun() {
+            ScheduledTransfer paused = scheduledTransferService.createScheduledTransfer(USERNAME,
+                    request(TransferFrequency.DAILY, "10.00", LocalDate.now()));
+            ScheduledTransfer cancelled = scheduledTransferService.createScheduledTransfer(USERNAME,
+                    request(TransferFrequency.DAILY, "20.00", LocalDate.now()));
+            scheduledTransferService.updateScheduledTransfer(USERNAME, paused.getId(),
+                    UpdateScheduledTransferRequest.builder().status(ScheduledTransferStatus.PAUSED).build());
+            scheduledTransferService.cancelScheduledTransfer(USERNAME, cancelled.getId());
+
+            assertThat(executor.runDueTransfers()).isZero();
+            assertThat(balanceOf(account1)).isEqualByComparingTo("1000.00");
+
+            scheduledTransferService.updateScheduledTransfer(USERNAME, paused.getId(),
+                    UpdateScheduledTransferRequest.builder().status(ScheduledTransferStatus.ACTIVE).build());
+            assertThat(executor.runDueTransfers()).isEqualTo(1);
+            assertThat(balanceOf(account1)).isEqualByComparingTo("990.00");
+        }
+
+        @Test
+        @DisplayName("Concurrent executors should run each due order exactly once")
+        void testConcurrentExecutorsRunEachOrderOnce() {
+            int orders = 60;
+            for (int i = 0; i < orders; i++) {
+                ScheduledTransferRequest request = request(TransferFrequency.DAILY, "1.00", LocalDate.now());
+                if (i % 2 == 1) {
+                    request.setFromAccountNumber(account2.getAccountNumber());
+                    request.setToAccountNumber(account1.getAccountNumber());
+                    request.setAmount(new BigDecimal("2.00"));
+                }
+                scheduledTransferService.createScheduledTransfer(USERNAME, request);
+            }
+
+            CompletableFuture<Integer> first = CompletableFuture.supplyAsync(executor::runDueTransfers);
+            CompletableFuture<Integer> second = CompletableFuture.supplyAsync(executor::runDueTransfers);
+
+            assertThat(first.join() + second.join()).isEqualTo(orders);
+            assertThat(transactionRepository.count()).isEqualTo(orders);
+            assertThat(balanceOf(account1)).isEqualByComparingTo("1030.00");
+            assertThat(balanceOf(account2)).isEqualByComparingTo("470.00");
+        }
+    }
+}
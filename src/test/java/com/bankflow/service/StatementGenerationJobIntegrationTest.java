@@ -0,0 +1,219 @@
+package com.bankflow.service;
+
+import com.bankflow.config.SchedulingConfig;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.AccountStatement;
+import com.bankflow.model.Customer;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.AccountStatementRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.statements.StatementGenerationJob;
+import com.bankflow.service.statements.StatementService;
+import com.bankflow.service.statements.StatementService.StatementFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for monthly statement rendering. Ranges commit on fork-join threads, so tests
+ * run without a surrounding transaction. Batches of one statement exercise the inserts made
+ * part-way through a range.
+ */
+@DataJpaTest
+@Import({StatementGenerationJob.class, StatementService.class, SchedulingConfig.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"app.statements.enabled=true", "app.statements.cron=-", "app.statements.range-size=2", "app.statements.batch-size=1"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Statement Generation Integration Tests")
+class StatementGenerationJobIntegrationTest {
+
+    private static final YearMonth FEBRUARY = YearMonth.of(2026, 2);
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    @Autowired
+    private StatementGenerationJob statementGenerationJob;
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private AccountStatementRepository statementRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account1;
+    private Account account2;
+    private Account account3;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("statementuser");
+        user.setEmail("statement@example.com");
+        user.setFullName("Statement Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        account1 = createAccount(customer, "0000000000000101");
+        account2 = createAccount(customer, "0000000000000102");
+        account3 = createAccount(customer, "0000000000000103");
+        jdbcTemplate.update("UPDATE accounts SET created_at = ?", LocalDateTime.of(2026, 1, 1, 9, 0));
+
+        record(TransactionType.DEPOSIT, "1000.00", account1, null, LocalDateTime.of(2026, 1, 5, 10, 0), "Initial deposit");
+        record(TransactionType.TRANSFER, "200.00", account1, account2, LocalDateTime.of(2026, 2, 10, 12, 0), "Rent, February");
+        record(TransactionType.WITHDRAW, "50.00", account1, null, LocalDateTime.of(2026, 2, 15, 8, 30), "Withdrawal");
+        record(TransactionType.DEPOSIT, "25.00", account2, null, LocalDateTime.of(2026, 3, 3, 16, 45), "Deposit");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        statementRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Account createAccount(Customer customer, String accountNumber) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(BigDecimal.ZERO);
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    private void record(TransactionType type, String amount, Account from, Account to, LocalDateTime timestamp, String description) {
+        TransactionRecord transaction = new TransactionRecord();
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setTimestamp(timestamp);
+        transaction.setDescription(description);
+        transactionRepository.save(transaction);
+    }
+
+    private AccountStatement statementOf(Account account, YearMonth period) {
+        return statementRepository.findById(new AccountStatement.Key(account.getId(), period.atDay(1))).orElseThrow();
+    }
+
+    private static List<String> lines(byte[] content) {
+        return new String(content, StandardCharsets.UTF_8).lines().toList();
+    }
+
+    @Nested
+    @DisplayName("Rendering Tests")
+    class RenderingTests {
+
+        @Test
+        @DisplayName("Should render every account with balances derived from history")
+        void testRendersAllAccounts() {
+            StatementGenerationJob.StatementRun run = statementGenerationJob.generate(FEBRUARY);
+
+            assertThat(run.rendered()).isEqualTo(3);
+            assertThat(run.failedRanges()).isZero();
+            assertThat(statementOf(account1, FEBRUARY).getOpeningBalance()).isEqualByComparingTo("1000.00");
+            assertThat(statementOf(account1, FEBRUARY).getClosingBalance()).isEqualByComparingTo("750.00");
+            assertThat(statementOf(account2, FEBRUARY).getClosingBalance()).isEqualByComparingTo("200.00");
+            assertThat(statementOf(account3, FEBRUARY).getTransactions()).isZero();
+
+            StatementFile file = statementService.getStatement(account1.getAccountNumber(), FEBRUARY);
+            byte[] content = statementService.getContent(file);
+            List<String> lines = lines(content);
+            assertThat(file.size()).isEqualTo(content.length);
+            assertThat(lines).containsExactly(
+                    "account,0000000000000101",
+                    "period,2026-02",
+                    "opening_balance,1000.00",
+                    "timestamp,id,type,amount,balance,counterparty,description",
+                    lines.get(4),
+                    lines.get(5),
+                    "closing_balance,750.00");
+            assertThat(lines.get(4)).startsWith("2026-02-10T12:00,").endsWith(",TRANSFER,-200.00,800.00,0000000000000102,\"Rent, February\"");
+            assertThat(lines.get(5)).endsWith(",WITHDRAW,-50.00,750.00,,Withdrawal");
+            assertThat(lines(statementService.getContent(statementService.getStatement(account2.getAccountNumber(), FEBRUARY))))
+                    .anyMatch(line -> line.endsWith(",TRANSFER,+200.00,200.00,0000000000000101,\"Rent, February\""));
+        }
+
+        @Test
+        @DisplayName("Should open each month with the previous statement's closing balance")
+        void testChainsFromPreviousStatement() {
+            statementGenerationJob.generate(FEBRUARY);
+            jdbcTemplate.update("UPDATE account_statements SET closing_balance = 999.00 WHERE account_id = ?", account1.getId());
+
+            statementGenerationJob.generate(MARCH);
+
+            assertThat(statementOf(account1, MARCH).getOpeningBalance()).isEqualByComparingTo("999.00");
+            assertThat(statementOf(account2, MARCH).getOpeningBalance()).isEqualByComparingTo("200.00");
+            assertThat(statementOf(account2, MARCH).getClosingBalance()).isEqualByComparingTo("225.00");
+        }
+
+        @Test
+        @DisplayName("Re-running a month should only render missing statements")
+        void testRerunRendersOnlyMissing() {
+            statementGenerationJob.generate(FEBRUARY);
+            statementRepository.delete(statementOf(account2, FEBRUARY));
+
+            StatementGenerationJob.StatementRun rerun = statementGenerationJob.generate(FEBRUARY);
+
+            assertThat(rerun.rendered()).isEqualTo(1);
+            assertThat(rerun.skipped()).isEqualTo(2);
+            assertThat(statementOf(account2, FEBRUARY).getClosingBalance()).isEqualByComparingTo("200.00");
+        }
+
+        @Test
+        @DisplayName("Should render the previous month on schedule without an advisory lock outside PostgreSQL")
+        void testScheduledRun() {
+            statementGenerationJob.renderPreviousMonth();
+
+            YearMonth previous = YearMonth.now().minusMonths(1);
+            assertThat(statementRepository.findById(new AccountStatement.Key(account1.getId(), previous.atDay(1)))).isPresent();
+        }
+
+        @Test
+        @DisplayName("Should not find a statement that was not rendered")
+        void testMissingStatement() {
+            assertThatThrownBy(() -> statementService.getStatement(account1.getAccountNumber(), MARCH))
+                    .isInstanceOf(NotFoundException.class);
+        }
+    }
+}
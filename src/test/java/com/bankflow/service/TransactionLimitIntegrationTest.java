@@ -0,0 +1,279 @@
+package com.bankflow.service;
+
+import com.bankflow.exception.LimitExceededException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.LimitUsage;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.LimitPeriod;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.LimitUsageRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.limits.TransactionLimitProperties;
+import com.bankflow.service.limits.TransactionLimitService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for daily and monthly transaction limits. Usage commits with each operation,
+ * so tests run without a surrounding transaction and create fresh accounts each time.
+ */
+@DataJpaTest
+@Import(BankingServiceTestConfiguration.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.limits.enabled=true",
+        "app.limits.daily.WITHDRAW=500",
+        "app.limits.daily.TRANSFER=1000",
+        "app.limits.monthly.WITHDRAW=800"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Transaction Limit Integration Tests")
+class TransactionLimitIntegrationTest {
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private TransactionLimitService transactionLimitService;
+
+    @Autowired
+    private TransactionLimitProperties transactionLimitProperties;
+
+    @Autowired
+    private LimitUsageRepository limitUsageRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Account account1;
+    private Account account2;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("limitsuser");
+        user.setEmail("limits@example.com");
+        user.setFullName("Limits Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        account1 = createAccount(customer, "0000000000000401", "3000.00");
+        account2 = createAccount(customer, "0000000000000402", "0.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        limitUsageRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Account createAccount(Customer customer, String accountNumber, String balance) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    @Nested
+    @DisplayName("Banking Service Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class BankingServiceTests {
+
+        @Test
+        @DisplayName("Should reject a withdrawal over the daily limit and persist usage")
+        void testDailyWithdrawalLimit() {
+            bankingService.withdraw(account1.getId(), new BigDecimal("300.00"));
+            bankingService.withdraw(account1.getId(), new BigDecimal("200.00"));
+
+            assertThatThrownBy(() -> bankingService.withdraw(account1.getId(), new BigDecimal("0.01")))
+                    .isInstanceOf(LimitExceededException.class)
+                    .satisfies(ex -> {
+                        LimitExceededException limit = (LimitExceededException) ex;
+                        assertThat(limit.getPeriod()).isEqualTo(LimitPeriod.DAILY);
+                        assertThat(limit.getLimit()).isEqualByComparingTo("500");
+                        assertThat(limit.getUsed()).isEqualByComparingTo("500.00");
+                    });
+
+            assertThat(balanceOf(account1)).isEqualByComparingTo("2500.00");
+            List<LimitUsage> usage = limitUsageRepository.findByAccountIdOrderByPeriodStartAsc(account1.getId());
+            assertThat(usage).hasSize(2).allSatisfy(row -> {
+                assertThat(row.getOperation()).isEqualTo(TransactionType.WITHDRAW);
+                assertThat(row.getAmount()).isEqualByComparingTo("500.00");
+            });
+        }
+
+        @Test
+        @DisplayName("Should count withdrawals and transfers separately")
+        void testLimitsPerOperation() {
+            bankingService.withdraw(account1.getId(), new BigDecimal("500.00"));
+            bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("1000.00"), "Savings");
+
+            assertThatThrownBy(() -> bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("1.00"), "Savings"))
+                    .isInstanceOf(LimitExceededException.class)
+                    .hasMessageContaining("daily transfer limit");
+
+            // Deposits and incoming transfers are never limited
+            bankingService.deposit(account2.getId(), new BigDecimal("5000.00"));
+            assertThat(balanceOf(account2)).isEqualByComparingTo("6000.00");
+        }
+
+        @Test
+        @DisplayName("Should not count usage from a rolled back transaction")
+        void testRolledBackUsage() {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.executeWithoutResult(status -> {
+                bankingService.withdraw(account1.getId(), new BigDecimal("400.00"));
+                status.setRollbackOnly();
+            });
+
+            assertThat(limitUsageRepository.findByAccountIdOrderByPeriodStartAsc(account1.getId())).isEmpty();
+            bankingService.withdraw(account1.getId(), new BigDecimal("500.00"));
+            assertThat(balanceOf(account1)).isEqualByComparingTo("2500.00");
+        }
+
+        @Test
+        @DisplayName("Should pre-check against usage already in the table")
+        void testPreCheckLoadsUsage() {
+            LocalDate today = LocalDate.now();
+            jdbcTemplate.update("INSERT INTO limit_usage (account_id, operation, period, period_start, amount, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                    account1.getId(), "WITHDRAW", "DAILY", today, new BigDecimal("450.00"), LocalDateTime.now());
+
+            assertThatThrownBy(() -> transactionLimitService.preCheck(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("60.00")))
+                    .isInstanceOf(LimitExceededException.class);
+            transactionLimitService.preCheck(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("50.00"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Period Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class PeriodTests {
+
+        private MutableClock clock;
+        private TransactionLimitService service;
+
+        @BeforeEach
+        void setUpService() {
+            clock = new MutableClock(Instant.parse("2026-03-30T23:30:00Z"));
+            service = new TransactionLimitService(transactionLimitProperties, jdbcTemplate, clock);
+        }
+
+        @Test
+        @DisplayName("Should start a new daily total at midnight without a reset")
+        void testDailyRollover() {
+            service.record(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("500.00"));
+            assertThatThrownBy(() -> service.preCheck(TransactionType.WITHDRAW, account1.getId(), BigDecimal.ONE))
+                    .isInstanceOf(LimitExceededException.class);
+
+            clock.advance(Duration.ofHours(1));
+            service.preCheck(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("300.00"));
+            service.record(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("300.00"));
+
+            // 800.00 used this month
+            clock.advance(Duration.ofHours(1));
+            assertThatThrownBy(() -> service.record(TransactionType.WITHDRAW, account1.getId(), BigDecimal.ONE))
+                    .isInstanceOf(LimitExceededException.class)
+                    .satisfies(ex -> assertThat(((LimitExceededException) ex).getPeriod()).isEqualTo(LimitPeriod.MONTHLY));
+        }
+
+        @Test
+        @DisplayName("Should start a new monthly total on the first of the month")
+        void testMonthlyRollover() {
+            service.record(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("500.00"));
+            clock.advance(Duration.ofDays(1));
+            service.record(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("300.00"));
+
+            clock.advance(Duration.ofDays(1));
+            service.record(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("500.00"));
+
+            List<LimitUsage> monthly = limitUsageRepository.findByAccountIdOrderByPeriodStartAsc(account1.getId()).stream()
+                    .filter(row -> row.getPeriod() == LimitPeriod.MONTHLY)
+                    .toList();
+            assertThat(monthly).extracting(LimitUsage::getPeriodStart)
+                    .containsExactly(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 4, 1));
+            assertThat(monthly.get(0).getAmount()).isEqualByComparingTo("800.00");
+            assertThat(monthly.get(1).getAmount()).isEqualByComparingTo("500.00");
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.bankflow.service;
+
+import com.bankflow.dto.TransactionResponse;
+import com.bankflow.dto.TransactionSearchResponse;
+import com.bankflow.exception.BadRequestException;
+import com.bankflow.exception.NotFoundException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.TransactionRecord;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.search.TransactionSearchCriteria;
+import com.bankflow.service.search.TransactionSearchQuery;
+import com.bankflow.service.search.TransactionSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(TransactionSearchService.class)
+@ActiveProfiles("test")
+@DisplayName("Transaction Search Service Integration Tests")
+class TransactionSearchServiceIntegrationTest {
+
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+): (.*?)\\*/", Pattern.DOTALL);
+    private static final Pattern CREATE_INDEX = Pattern.compile("CREATE INDEX (\\w+)\\s+ON transaction_records\\s*\\(([^;]+)\\);");
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account accountA;
+    private Account accountB;
+    private Account accountC;
+    private final List<TransactionRecord> records = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("searchuser");
+        user.setEmail("search@example.com");
+        user.setFullName("Search Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        accountA = createAccount(customer, "0000000000000501");
+        accountB = createAccount(customer, "0000000000000502");
+        accountC = createAccount(customer, "0000000000000503");
+
+        record(TransactionType.DEPOSIT, "1000.00", accountA, null, "2026-03-01T09:00");
+        record(TransactionType.TRANSFER, "200.00", accountA, accountB, "2026-03-02T09:00");
+        record(TransactionType.WITHDRAW, "50.00", accountA, null, "2026-03-03T09:00");
+        record(TransactionType.TRANSFER, "75.00", accountB, accountA, "2026-03-04T09:00");
+        record(TransactionType.TRANSFER, "300.00", accountA, accountC, "2026-03-05T09:00");
+        record(TransactionType.TRANSFER, "20.00", accountC, accountA, "2026-03-05T09:00");
+        transactionRepository.flush();
+    }
+
+    private Account createAccount(Customer customer, String accountNumber) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(BigDecimal.ZERO);
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    private void record(TransactionType type, String amount, Account from, Account to, String timestamp) {
+        TransactionRecord transaction = new TransactionRecord();
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setTimestamp(LocalDateTime.parse(timestamp));
+        records.add(transactionRepository.save(transaction));
+    }
+
+    /**
+     * Ids of the records added in {@link #setUp()}, by their 1-based position there.
+     */
+    private List<Long> ids(int... positions) {
+        List<Long> ids = new ArrayList<>();
+        for (int position : positions) {
+            ids.add(records.get(position - 1).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> search(TransactionSearchCriteria criteria) {
+        return transactionSearchService.search(accountA.getAccountNumber(), criteria, null, 20).getTransactions().stream()
+                .map(TransactionResponse::getId)
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should return both sides of the account's history, newest first")
+        void testNoFilters() {
+            assertThat(search(new TransactionSearchCriteria())).containsExactlyElementsOf(ids(6, 5, 4, 3, 2, 1));
+        }
+
+        @Test
+        @DisplayName("Should filter by transaction type")
+        void testTypes() {
+            assertThat(search(TransactionSearchCriteria.builder()
+                    .types(Set.of(TransactionType.DEPOSIT, TransactionType.WITHDRAW))
+                    .build()))
+                    .containsExactlyElementsOf(ids(3, 1));
+        }
+
+        @Test
+        @DisplayName("Should filter by inclusive amount range")
+        void testAmountRange() {
+            assertThat(search(TransactionSearchCriteria.builder()
+                    .minAmount(new BigDecimal("50.00"))
+                    .maxAmount(new BigDecimal("200.00"))
+                    .build()))
+                    .containsExactlyElementsOf(ids(4, 3, 2));
+        }
+
+        @Test
+        @DisplayName("Should filter by inclusive date range")
+        void testDateRange() {
+            assertThat(search(TransactionSearchCriteria.builder()
+                    .fromDate(LocalDate.of(2026, 3, 2))
+                    .toDate(LocalDate.of(2026, 3, 4))
+                    .build()))
+                    .containsExactlyElementsOf(ids(4, 3, 2));
+        }
+
+        @Test
+        @DisplayName("Should filter by counterparty in both directions")
+        void testCounterparty() {
+            assertThat(search(TransactionSearchCriteria.builder().counterparty(accountB.getAccountNumber()).build()))
+                    .containsExactlyElementsOf(ids(4, 2));
+        }
+
+        @Test
+        @DisplayName("Should combine filters")
+        void testCombined() {
+            assertThat(search(TransactionSearchCriteria.builder()
+                    .types(Set.of(TransactionType.TRANSFER))
+                    .counterparty(accountC.getAccountNumber())
+                    .minAmount(new BigDecimal("100.00"))
+                    .build()))
+                    .containsExactlyElementsOf(ids(5));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown counterparties, bad cursors and inverted ranges")
+        void testValidation() {
+            TransactionSearchCriteria unknown = TransactionSearchCriteria.builder().counterparty("9999999999999999").build();
+            assertThatThrownBy(() -> transactionSearchService.search(accountA.getAccountNumber(), unknown, null, 20))
+                    .isInstanceOf(NotFoundException.class);
+            assertThatThrownBy(() -> transactionSearchService.search(accountA.getAccountNumber(), new TransactionSearchCriteria(), "not-a-cursor", 20))
+                    .isInstanceOf(BadRequestException.class);
+            TransactionSearchCriteria inverted = TransactionSearchCriteria.builder()
+                    .minAmount(new BigDecimal("10.00"))
+                    .maxAmount(new BigDecimal("5.00"))
+                    .build();
+            assertThatThrownBy(() -> transactionSearchService.search(accountA.getAccountNumber(), inverted, null, 20))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Paging Tests")
+    class PagingTests {
+
+        @Test
+        @DisplayName("Should page with the returned cursor, including across equal timestamps")
+        void testKeysetPaging() {
+            List<Long> seen = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                TransactionSearchResponse page = transactionSearchService.search(accountA.getAccountNumber(),
+                        new TransactionSearchCriteria(), cursor, 2);
+                page.getTransactions().forEach(transaction -> seen.add(transaction.getId()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(3);
+            assertThat(seen).containsExactlyElementsOf(ids(6, 5, 4, 3, 2, 1));
+        }
+    }
+
+    /**
+     * Creates the Flyway indexes on {@code transaction_records} in the H2 test schema and checks the
+     * plan of each branch. DDL commits in H2, so these tests run without a test transaction.
+     */
+    @Nested
+    @DisplayName("Query Plan Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class QueryPlanTests {
+
+        private final List<String> indexes = new ArrayList<>();
+
+        @BeforeEach
+        void createIndexes() throws IOException {
+            for (String migration : List.of("V1__init.sql", "V8__create_account_statements.sql", "V12__create_transaction_search_indexes.sql")) {
+                String sql = new ClassPathResource("db/migration/" + migration).getContentAsString(StandardCharsets.UTF_8);
+                Matcher matcher = CREATE_INDEX.matcher(sql);
+                while (matcher.find()) {
+                    jdbcTemplate.execute("CREATE INDEX " + matcher.group(1) + " ON transaction_records(" + matcher.group(2) + ")");
+                    indexes.add(matcher.group(1));
+                }
+            }
+            assertThat(indexes).contains("idx_transaction_records_from_account_type_timestamp");
+            jdbcTemplate.execute("ANALYZE");
+        }
+
+        @AfterEach
+        void cleanUp() {
+            indexes.forEach(index -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + index));
+            transactionRepository.deleteAll();
+            accountRepository.deleteAll();
+            customerRepository.deleteAll();
+        }
+
+        /**
+         * The index each branch reads, outgoing first; fails if a branch scans the table.
+         */
+        private List<IndexScan> indexesUsed(TransactionSearchCriteria criteria, Long counterpartyId) {
+            TransactionSearchQuery query = TransactionSearchQuery.of(accountA.getId(), criteria, counterpartyId, null, 21);
+            return query.branches().stream()
+                    .map(branch -> String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + branch.sql(), String.class, branch.args())))
+                    .map(plan -> {
+                        Matcher matcher = PLAN_INDEX.matcher(plan);
+                        assertThat(matcher.find()).as("Index in plan %s", plan).isTrue();
+                        return new IndexScan(matcher.group(1).toLowerCase(), matcher.group(2));
+                    })
+                    .toList();
+        }
+
+        @Test
+        @DisplayName("Should read every branch of every filter combination through an index on its account column")
+        void testAccountIndexes() {
+            List<TransactionSearchCriteria> combinations = List.of(
+                    new TransactionSearchCriteria(),
+                    TransactionSearchCriteria.builder().types(Set.of(TransactionType.WITHDRAW)).build(),
+                    TransactionSearchCriteria.builder().minAmount(BigDecimal.ONE).maxAmount(BigDecimal.TEN).build(),
+                    TransactionSearchCriteria.builder().fromDate(LocalDate.of(2026, 3, 1)).toDate(LocalDate.of(2026, 3, 31)).build(),
+                    TransactionSearchCriteria.builder().types(Set.of(TransactionType.TRANSFER)).fromDate(LocalDate.of(2026, 3, 1)).build());
+
+            for (TransactionSearchCriteria criteria : combinations) {
+                List<IndexScan> used = indexesUsed(criteria, null);
+                assertThat(used.get(0).condition()).as("Outgoing index for %s", criteria).contains("FROM_ACCOUNT_ID = ?1");
+                used.stream().skip(1).forEach(scan -> assertThat(scan.condition()).as("Incoming index for %s", criteria)
+                        .contains("TO_ACCOUNT_ID = ?1"));
+            }
+        }
+
+        @Test
+        @DisplayName("Should use the composite type index and skip the incoming branch for non-transfer types")
+        void testTypeIndex() {
+            assertThat(indexesUsed(TransactionSearchCriteria.builder()
+                    .types(Set.of(TransactionType.DEPOSIT, TransactionType.WITHDRAW))
+                    .build(), null))
+                    .extracting(IndexScan::index)
+                    .containsExactly("idx_transaction_records_from_account_type_timestamp");
+        }
+
+        @Test
+        @DisplayName("Should use the two-account index for both branches when filtering by counterparty")
+        void testCounterpartyIndex() {
+            assertThat(indexesUsed(new TransactionSearchCriteria(), accountB.getId()))
+                    .extracting(IndexScan::index)
+                    .containsExactly("idx_transaction_records_account_activity", "idx_transaction_records_account_activity");
+        }
+
+        private record IndexScan(String index, String condition) {
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.bankflow.service;
+
+import com.bankflow.exception.InsufficientFundsException;
+import com.bankflow.exception.VelocityLimitExceededException;
+import com.bankflow.model.Account;
+import com.bankflow.model.Customer;
+import com.bankflow.model.User;
+import com.bankflow.model.enums.AccountStatus;
+import com.bankflow.model.enums.TransactionType;
+import com.bankflow.repository.AccountRepository;
+import com.bankflow.repository.CustomerRepository;
+import com.bankflow.repository.TransactionRepository;
+import com.bankflow.service.velocity.VelocityEngine;
+import com.bankflow.service.velocity.VelocityProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for velocity checks in front of the JPA banking service. Every test creates
+ * fresh accounts, so counters left by earlier tests never apply.
+ */
+@DataJpaTest
+@Import(BankingServiceTestConfiguration.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.velocity.enabled=true",
+        "app.velocity.rules.test-withdrawals.operations=WITHDRAW",
+        "app.velocity.rules.test-withdrawals.window=1m",
+        "app.velocity.rules.test-withdrawals.buckets=6",
+        "app.velocity.rules.test-withdrawals.max-count=3",
+        "app.velocity.rules.test-customer-outflow.scope=CUSTOMER",
+        "app.velocity.rules.test-customer-outflow.window=1h",
+        "app.velocity.rules.test-customer-outflow.max-amount=1000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Velocity Engine Integration Tests")
+class VelocityEngineIntegrationTest {
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private VelocityEngine velocityEngine;
+
+    @Autowired
+    private VelocityProperties velocityProperties;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account1;
+    private Account account2;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("velocityuser");
+        user.setEmail("velocity@example.com");
+        user.setFullName("Velocity Test Customer");
+        user.setPassword("password");
+        user.setEnabled(true);
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer = customerRepository.save(customer);
+
+        account1 = createAccount(customer, "0000000000000301", "700.00");
+        account2 = createAccount(customer, "0000000000000302", "700.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Account createAccount(Customer customer, String accountNumber, String balance) {
+        Account account = new Account();
+        account.setCustomer(customer);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        return accountRepository.save(account);
+    }
+
+    @Nested
+    @DisplayName("Banking Service Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class BankingServiceTests {
+
+        @Test
+        @DisplayName("Should reject a burst of withdrawals before touching the account")
+        void testWithdrawalBurst() {
+            for (int i = 0; i < 3; i++) {
+                bankingService.withdraw(account1.getId(), new BigDecimal("10.00"));
+            }
+
+            assertThatThrownBy(() -> bankingService.withdraw(account1.getId(), new BigDecimal("10.00")))
+                    .isInstanceOf(VelocityLimitExceededException.class)
+                    .satisfies(ex -> {
+                        VelocityLimitExceededException limit = (VelocityLimitExceededException) ex;
+                        assertThat(limit.getRule()).isEqualTo("test-withdrawals");
+                        assertThat(limit.getRetryAfter()).isEqualTo(Duration.ofSeconds(10));
+                    });
+
+            assertThat(accountRepository.findById(account1.getId()).orElseThrow().getBalance()).isEqualByComparingTo("670.00");
+            // Account-scoped: the other account is unaffected
+            bankingService.withdraw(account2.getId(), new BigDecimal("10.00"));
+        }
+
+        @Test
+        @DisplayName("Should not count operations that rolled back")
+        void testRolledBackOperationReleased() {
+            assertThatThrownBy(() -> bankingService.withdraw(account1.getId(), new BigDecimal("800.00")))
+                    .isInstanceOf(InsufficientFundsException.class);
+
+            for (int i = 0; i < 3; i++) {
+                bankingService.withdraw(account1.getId(), new BigDecimal("100.00"));
+            }
+        }
+
+        @Test
+        @DisplayName("Should limit the amount moved out across a customer's accounts")
+        void testCustomerOutflow() {
+            bankingService.transfer(account1.getId(), account2.getId(), new BigDecimal("600.00"), "Savings");
+
+            assertThatThrownBy(() -> bankingService.withdraw(account2.getId(), new BigDecimal("500.00")))
+                    .isInstanceOf(VelocityLimitExceededException.class)
+                    .hasMessageContaining("test-customer-outflow");
+
+            bankingService.withdraw(account2.getId(), new BigDecimal("400.00"));
+        }
+
+        @Test
+        @DisplayName("Should rebuild counters from recent transactions")
+        void testRebuild() {
+            for (int i = 0; i < 3; i++) {
+                bankingService.withdraw(account1.getId(), new BigDecimal("10.00"));
+            }
+
+            VelocityEngine restarted = new VelocityEngine(velocityProperties, accountRepository, jdbcTemplate, Clock.systemDefaultZone());
+            assertThat(restarted.rebuild()).isGreaterThanOrEqualTo(3);
+
+            assertThatThrownBy(() -> restarted.acquire(TransactionType.WITHDRAW, account1.getId(), new BigDecimal("10.00")))
+                    .isInstanceOf(VelocityLimitExceededException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sliding Window Tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class SlidingWindowTests {
+
+        private MutableClock clock;
+        private VelocityEngine engine;
+
+        @BeforeEach
+        void setUpEngine() {
+            VelocityProperties properties = new VelocityProperties();
+            properties.getRules().put("burst", engineRule());
+
+            clock = new MutableClock(Instant.parse("2026-03-02T10:00:00Z"));
+            engine = new VelocityEngine(properties, accountRepository, jdbcTemplate, clock);
+        }
+
+        private VelocityProperties.Rule engineRule() {
+            VelocityProperties.Rule rule = new VelocityProperties.Rule();
+            rule.setOperations(List.of(TransactionType.WITHDRAW));
+            rule.setWindow(Duration.ofMinutes(1));
+            rule.setBuckets(6);
+            rule.setMaxCount(2L);
+            return rule;
+        }
+
+        @Test
+        @DisplayName("Should allow operations again once they slide out of the window")
+        void testWindowSlides() {
+            engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN);
+            clock.advance(Duration.ofSeconds(30));
+            engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN);
+
+            assertThatThrownBy(() -> engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN))
+                    .isInstanceOf(VelocityLimitExceededException.class);
+
+            clock.advance(Duration.ofSeconds(40));
+            engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN);
+
+            assertThatThrownBy(() -> engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN))
+                    .isInstanceOf(VelocityLimitExceededException.class);
+        }
+
+        @Test
+        @DisplayName("Should ignore operation types no rule counts and free released reservations")
+        void testReleaseAndUncountedTypes() {
+            for (int i = 0; i < 5; i++) {
+                engine.acquire(TransactionType.TRANSFER, 1L, BigDecimal.TEN);
+            }
+
+            VelocityEngine.Reservation first = engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN);
+            engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN);
+            first.release();
+            first.release();
+
+            engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN);
+            assertThatThrownBy(() -> engine.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN))
+                    .isInstanceOf(VelocityLimitExceededException.class);
+        }
+
+        @Test
+        @DisplayName("Should start and count from an empty window when the rebuild fails")
+        void testStartWithoutDatabase() {
+            JdbcTemplate unreachable = new JdbcTemplate() {
+                @Override
+                public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+                    throw new CannotGetJdbcConnectionException("Database unreachable");
+                }
+            };
+            VelocityProperties properties = new VelocityProperties();
+            properties.getRules().put("burst", engineRule());
+            VelocityEngine started = new VelocityEngine(properties, accountRepository, unreachable, clock);
+
+            started.start();
+            assertThat(started.isRunning()).isTrue();
+
+            started.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN);
+            started.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN);
+            assertThatThrownBy(() -> started.acquire(TransactionType.WITHDRAW, 1L, BigDecimal.TEN))
+                    .isInstanceOf(VelocityLimitExceededException.class);
+            started.stop();
+        }
+
+        @Test
+        @DisplayName("Should reject a rule that sets both or neither limit")
+        void testInvalidRule() {
+            VelocityProperties properties = new VelocityProperties();
+            properties.getRules().put("invalid", new VelocityProperties.Rule());
+
+            assertThatThrownBy(() -> new VelocityEngine(properties, accountRepository, jdbcTemplate, clock))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("invalid");
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
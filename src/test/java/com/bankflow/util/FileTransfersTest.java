@@ -0,0 +1,129 @@
+package com.bankflow.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FileTransfers Tests")
+class FileTransfersTest {
+
+    private static final String ETAG = "\"s0123\"";
+    private static final String CONTENT = "account,0000000000000101\nperiod,2026-02\n";
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(directory.resolve("statement.csv"), CONTENT);
+        request = new MockHttpServletRequest("GET", "/v1/accounts/0000000000000101/statements/2026-02");
+        response = new MockHttpServletResponse();
+    }
+
+    private void send() throws IOException {
+        FileTransfers.send(file, Files.size(file), ETAG, "text/csv", request, response);
+    }
+
+    @Test
+    @DisplayName("Should send the whole file with range support advertised")
+    void testWholeFile() throws IOException {
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length());
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+    }
+
+    @Test
+    @DisplayName("Should send a single byte range with 206")
+    void testSingleRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=8-23");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(CONTENT.substring(8, 24));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-23/" + CONTENT.length());
+    }
+
+    @Test
+    @DisplayName("Should send the tail for a suffix range")
+    void testSuffixRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-8");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(CONTENT.substring(CONTENT.length() - 8));
+    }
+
+    @Test
+    @DisplayName("Should answer 416 for a range past the end")
+    void testUnsatisfiableRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=500-600");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + CONTENT.length());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore the range when If-Range names another version")
+    void testStaleIfRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"s-other\"");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("Should hand the range to the container when it supports sendfile")
+    void testSendfile() throws IOException {
+        request.setAttribute(FileTransfers.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(FileTransfers.SENDFILE_FILENAME)).isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute(FileTransfers.SENDFILE_START)).isEqualTo(4L);
+        assertThat(request.getAttribute(FileTransfers.SENDFILE_END)).isEqualTo((long) CONTENT.length());
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length() - 4);
+    }
+
+    @Test
+    @DisplayName("Should send a single byte range of in-memory content")
+    void testContentRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=8-23");
+
+        FileTransfers.send(CONTENT.getBytes(StandardCharsets.UTF_8), ETAG, "text/csv", request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(CONTENT.substring(8, 24));
+        assertThat(response.getContentLengthLong()).isEqualTo(16);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-23/" + CONTENT.length());
+    }
+}